@@ -0,0 +1,160 @@
+package com.jumunhasyeo.ratelimiter.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jumunhasyeo.ratelimiter.RatelimiterServiceApplication;
+import com.jumunhasyeo.ratelimiter.domain.HttpRequestData;
+import com.jumunhasyeo.ratelimiter.domain.QueueItem;
+import com.jumunhasyeo.ratelimiter.properties.QueueWeightProperties;
+import com.jumunhasyeo.ratelimiter.service.global.GlobalQueueService;
+import com.jumunhasyeo.ratelimiter.service.global.GlobalQueueService.QueueType;
+import com.jumunhasyeo.ratelimiter.service.global.queue.QueueBackend;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.connection.stream.StreamRecords;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ZSET vs Redis Streams 대기열 backend 비교
+ * <p>
+ * 로컬 Redis(localhost:6379, -Dspring.data.redis.host 로 변경 가능)가 필요합니다.
+ * ./gradlew jmh -Pjmh.includes=QueueBackendBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+public class QueueBackendBenchmark {
+
+    private static final int FILL_BATCH = 10_000;
+    private static final int POLL_SLOTS = 10;
+
+    @Param({"zset", "stream"})
+    public String backend;
+
+    @Param({"10000", "100000", "1000000"})
+    public int depth;
+
+    private ConfigurableApplicationContext context;
+    private GlobalQueueService queueService;
+    private QueueBackend queueBackend;
+    private QueueWeightProperties weights;
+    private StringRedisTemplate redisTemplate;
+    private long userSeq;
+    private long lookupSeq;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        context = new SpringApplicationBuilder(RatelimiterServiceApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "queue.backend=" + backend,
+                        "queue.processor-interval-ms=999999999",
+                        "queue.reliable.reclaim-interval-ms=999999999",
+                        "feedback-loop.interval-ms=999999999",
+                        "queue.limit.order-max-depth=0",
+                        "queue.limit.other-max-depth=0"
+                )
+                .run();
+        queueService = context.getBean(GlobalQueueService.class);
+        queueBackend = context.getBean(QueueBackend.class);
+        weights = context.getBean(QueueWeightProperties.class);
+        redisTemplate = context.getBean(StringRedisTemplate.class);
+
+        clear();
+        fill(QueueType.ORDER, context.getBean(ObjectMapper.class));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        clear();
+        context.close();
+    }
+
+    /**
+     * 1건 적재 후 1건 폴링해 깊이를 depth로 유지 (폴링 비용 포함)
+     */
+    @Benchmark
+    public void offer(Blackhole bh) {
+        bh.consume(queueService.tryOffer(newItem(), QueueType.ORDER));
+        bh.consume(queueService.pollWeightedGlobalOnly(1, weights));
+    }
+
+    /**
+     * 처리기 1회분 폴링 후 같은 수만큼 다시 채워 깊이를 유지
+     */
+    @Benchmark
+    public void pollAndRefill(Blackhole bh) {
+        bh.consume(queueService.pollWeightedGlobalOnly(POLL_SLOTS, weights));
+        for (int i = 0; i < POLL_SLOTS; i++) {
+            queueService.tryOffer(newItem(), QueueType.ORDER);
+        }
+    }
+
+    @Benchmark
+    public void position(Blackhole bh) {
+        bh.consume(queueService.getQueuePosition(lookupSeq++ % depth, QueueType.ORDER));
+    }
+
+    private QueueItem newItem() {
+        return new QueueItem(userSeq++,
+                "token",
+                new HttpRequestData("POST", "/api/v1/orders", Map.of(), "{}"));
+    }
+
+    // 큐를 depth만큼 파이프라인으로 미리 채움 (스크립트 경로와 동일한 키/ID 형식)
+    private void fill(QueueType queueType, ObjectMapper objectMapper) throws Exception {
+        String key = queueBackend.physicalKey(queueType.getKey());
+        boolean stream = "stream".equals(backend);
+        for (int start = 0; start < depth; start += FILL_BATCH) {
+            int end = Math.min(depth, start + FILL_BATCH);
+            String[] members = new String[end - start];
+            String[] requestIds = new String[end - start];
+            for (int i = start; i < end; i++) {
+                QueueItem item = newItem();
+                members[i - start] = objectMapper.writeValueAsString(item);
+                requestIds[i - start] = item.getRequestId();
+            }
+            final int base = start;
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                StringRedisConnection conn = (StringRedisConnection) connection;
+                for (int i = 0; i < members.length; i++) {
+                    long seq = base + i + 1;
+                    String userIndexKey = key + ":users:" + (base + i);
+                    if (stream) {
+                        conn.xAdd(StreamRecords.string(Map.of("d", members[i], "s", String.valueOf(seq)))
+                                .withStreamKey(key)
+                                .withId(RecordId.of(seq, 0)));
+                        conn.zAdd(userIndexKey, seq, seq + "-0");
+                    } else {
+                        conn.zAdd(key, seq, members[i]);
+                        conn.zAdd(userIndexKey, seq, requestIds[i]);
+                    }
+                }
+                return null;
+            });
+        }
+        if (stream) {
+            redisTemplate.opsForHash().put(key + ":meta", "seq", String.valueOf(depth));
+        }
+    }
+
+    private void clear() {
+        for (QueueType queueType : QueueType.values()) {
+            String key = queueBackend.physicalKey(queueType.getKey());
+            redisTemplate.delete(List.of(key, key + ":user_counts", key + ":meta", queueType.getRetryKey()));
+            redisTemplate.delete(redisTemplate.keys(key + ":users:*"));
+        }
+    }
+}
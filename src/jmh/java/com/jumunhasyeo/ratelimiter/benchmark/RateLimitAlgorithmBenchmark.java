@@ -0,0 +1,96 @@
+package com.jumunhasyeo.ratelimiter.benchmark;
+
+import com.jumunhasyeo.ratelimiter.RatelimiterServiceApplication;
+import com.jumunhasyeo.ratelimiter.service.algorithm.RateLimitAlgorithm;
+import com.jumunhasyeo.ratelimiter.service.algorithm.RateLimitAlgorithm.BucketLimit;
+import com.jumunhasyeo.ratelimiter.service.algorithm.RateLimitAlgorithmRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * leaky / gcra / token 알고리즘의 판정 1회당 Redis CPU 비교
+ * <p>
+ * 각 iteration 시작 시 CONFIG RESETSTAT 후, 종료 시 INFO commandstats의 EVALSHA usec_per_call
+ * (스크립트 실행에 Redis가 쓴 CPU 시간)을 출력합니다.
+ * allow: 항상 허용되는 한도 (상태 쓰기 발생), deny: 항상 거절되는 한도 (GCRA는 쓰기 없음)
+ * ./gradlew jmh -Pjmh.includes=RateLimitAlgorithmBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+public class RateLimitAlgorithmBenchmark {
+
+    private static final String SCOPE = "benchmark:bucket";
+    private static final int TTL_SECONDS = 60;
+
+    @Param({"leaky", "gcra", "token"})
+    public String algorithmName;
+
+    @Param({"allow", "deny"})
+    public String mode;
+
+    private ConfigurableApplicationContext context;
+    private StringRedisTemplate redisTemplate;
+    private RateLimitAlgorithm algorithm;
+    private BucketLimit limit;
+    private String key;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(RatelimiterServiceApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "queue.processor-interval-ms=999999999",
+                        "queue.reliable.reclaim-interval-ms=999999999",
+                        "feedback-loop.interval-ms=999999999"
+                )
+                .run();
+        redisTemplate = context.getBean(StringRedisTemplate.class);
+        algorithm = context.getBean(RateLimitAlgorithmRegistry.class).get(algorithmName);
+        key = algorithm.stateKey(SCOPE);
+        limit = "allow".equals(mode)
+                ? new BucketLimit(1_000_000_000, 1_000_000_000)
+                : new BucketLimit(0.001, 1);
+        redisTemplate.delete(key);
+        // deny 모드는 버스트를 먼저 소진
+        algorithm.acquire(key, limit, 1, TTL_SECONDS);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        redisTemplate.delete(key);
+        context.close();
+    }
+
+    @Setup(Level.Iteration)
+    public void resetStats() {
+        redisTemplate.execute((RedisCallback<Void>) connection -> {
+            connection.serverCommands().resetConfigStats();
+            return null;
+        });
+    }
+
+    @TearDown(Level.Iteration)
+    public void reportRedisCpu() {
+        Properties stats = redisTemplate.execute(
+                (RedisCallback<Properties>) connection -> connection.serverCommands().info("commandstats"));
+        String evalsha = stats != null ? stats.getProperty("cmdstat_evalsha") : null;
+        System.out.printf("%n[%s/%s] redis cmdstat_evalsha: %s%n", algorithmName, mode, evalsha);
+    }
+
+    @Benchmark
+    public void decide(Blackhole bh) {
+        bh.consume(algorithm.acquire(key, limit, 1, TTL_SECONDS));
+    }
+}
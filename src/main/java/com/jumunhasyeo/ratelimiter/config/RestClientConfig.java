@@ -1,5 +1,7 @@
 package com.jumunhasyeo.ratelimiter.config;
 
+import com.jumunhasyeo.ratelimiter.properties.FeedbackLoopProperties;
+import com.jumunhasyeo.ratelimiter.properties.PrometheusProperties;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -14,9 +16,6 @@ public class RestClientConfig {
     @Value("${backend.order-service.url}")
     private String orderServiceUrl;
 
-    @Value("${prometheus.url}")
-    private String prometheusUrl;
-
     @Bean
     public RestClient orderServiceRestClient() {
         return RestClient.builder()
@@ -26,17 +25,34 @@ public class RestClientConfig {
     }
 
     @Bean
-    public RestClient prometheusRestClient() {
+    public RestClient prometheusRestClient(PrometheusProperties prometheusProperties) {
         return RestClient.builder()
-                .baseUrl(prometheusUrl)
-                .requestFactory(createRequestFactory())
+                .baseUrl(prometheusProperties.getUrl())
+                .requestFactory(createRequestFactory(
+                        Duration.ofMillis(prometheusProperties.getConnectTimeoutMs()),
+                        Duration.ofMillis(prometheusProperties.getReadTimeoutMs())))
+                .build();
+    }
+
+    // order-service actuator 직접 수집용 (대상 URL은 요청마다 절대 경로로 지정)
+    @Bean
+    public RestClient orderServiceScrapeRestClient(FeedbackLoopProperties feedbackLoopProperties) {
+        var scrape = feedbackLoopProperties.getScrape();
+        return RestClient.builder()
+                .requestFactory(createRequestFactory(
+                        Duration.ofMillis(scrape.getConnectTimeoutMs()),
+                        Duration.ofMillis(scrape.getReadTimeoutMs())))
                 .build();
     }
 
     private SimpleClientHttpRequestFactory createRequestFactory() {
+        return createRequestFactory(Duration.ofSeconds(5), Duration.ofSeconds(15));
+    }
+
+    private SimpleClientHttpRequestFactory createRequestFactory(Duration connectTimeout, Duration readTimeout) {
         SimpleClientHttpRequestFactory factory = new SimpleClientHttpRequestFactory();
-        factory.setConnectTimeout(Duration.ofSeconds(5));
-        factory.setReadTimeout(Duration.ofSeconds(15));
+        factory.setConnectTimeout(connectTimeout);
+        factory.setReadTimeout(readTimeout);
         return factory;
     }
 }
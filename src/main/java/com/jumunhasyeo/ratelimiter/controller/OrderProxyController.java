@@ -0,0 +1,130 @@
+package com.jumunhasyeo.ratelimiter.controller;
+
+import com.jumunhasyeo.ratelimiter.domain.QueueItem;
+import com.jumunhasyeo.ratelimiter.dto.RateLimitResponse;
+import com.jumunhasyeo.ratelimiter.properties.ForwardProperties;
+import com.jumunhasyeo.ratelimiter.properties.RouteRuleProperties.RouteRule;
+import com.jumunhasyeo.ratelimiter.service.forward.BackendForwarder;
+import com.jumunhasyeo.ratelimiter.service.global.BackendLoadTracker;
+import com.jumunhasyeo.ratelimiter.service.global.GlobalRateLimiterService;
+import com.jumunhasyeo.ratelimiter.service.global.GlobalRateLimiterService.TryConsumeResult;
+import com.jumunhasyeo.ratelimiter.service.pg.RateLimiterService;
+import com.jumunhasyeo.ratelimiter.service.route.RouteRuleService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+
+/**
+ * order-service 앞단의 리버스 프록시
+ * <p>
+ * /check와 같은 순서(경로 규칙 → 사용자/경로/전역 → PG)로 처리율 제한을 적용하되,
+ * 요청을 RateLimitRequest로 감싸지 않고 실제 HTTP 요청을 받아 본문을 스트림 그대로 전달합니다.
+ * 사용자 ID와 PG는 헤더에서, 토큰은 Authorization 헤더에서 읽습니다 (등록되지 않은 PG는 경로 규칙의 provider 사용).
+ * 통과한 요청은 order-service 응답을 그대로 반환하고, 거절/대기열 응답만 RateLimitResponse JSON입니다.
+ */
+@Slf4j
+@RestController
+@RequiredArgsConstructor
+public class OrderProxyController {
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final GlobalRateLimiterService globalRateLimiterService;
+    private final RateLimiterService pgRateLimiterService;
+    private final RouteRuleService routeRuleService;
+    private final BackendLoadTracker loadTracker;
+    private final BackendForwarder backendForwarder;
+    private final ForwardProperties forwardProperties;
+    private final RateLimitResponder responder;
+
+    @RequestMapping("/api/v1/orders/**")
+    public ResponseEntity<RateLimitResponse> proxy(HttpServletRequest request,
+                                                   HttpServletResponse response) throws IOException {
+        String path = request.getRequestURI();
+        String rawUri = request.getQueryString() != null ? path + "?" + request.getQueryString() : path;
+        Long userId = parseUserId(request.getHeader(forwardProperties.getUserIdHeader()));
+        String accessToken = bearerToken(request.getHeader(HttpHeaders.AUTHORIZATION));
+
+        RouteRule route = routeRuleService.match(request.getMethod(), path);
+        if (route != null && route.isLimited()) {
+            TryConsumeResult result = globalRateLimiterService.tryConsume(userId, accessToken, route);
+
+            if (result == TryConsumeResult.DENIED_USER || result == TryConsumeResult.DENIED_ROUTE) {
+                log.debug("계층 한도 초과 userId={}, route={}, result={}", userId, route.limitKey(), result);
+                return responder.denied(result);
+            }
+            if (result != TryConsumeResult.ALLOWED) {
+                log.debug("Rate Limit 초과, Global Queue에 추가: {}", path);
+                return enqueue(request, rawUri, path, userId, accessToken);
+            }
+
+            // 규칙에 provider가 있는 경로만 PG 처리율 제한 확인 (알 수 없는 헤더 값은 규칙의 provider로 대체)
+            if (route.getProvider() != null) {
+                String provider = pgRateLimiterService.resolveProvider(
+                        request.getHeader(forwardProperties.getProviderHeader()), route.getProvider());
+                if (!pgRateLimiterService.tryConsume(provider)) {
+                    return enqueue(request, rawUri, path, userId, accessToken);
+                }
+            }
+        }
+
+        return forward(request, rawUri, userId, response);
+    }
+
+    /**
+     * order-service 응답을 직접 썼으므로 null을 반환하고, 응답을 쓰기 전에 실패한 경우에만 502 JSON으로 응답합니다.
+     */
+    private ResponseEntity<RateLimitResponse> forward(HttpServletRequest request, String rawUri, Long userId,
+                                                      HttpServletResponse response) {
+        long startNanos = loadTracker.begin();
+        int backendStatus = 0;
+        try {
+            backendStatus = backendForwarder.proxy(request, rawUri, response);
+            log.debug("프록시 전달 완료 userId={}, uri={}, status={}", userId, rawUri, backendStatus);
+            return null;
+        } catch (Exception e) {
+            log.error("프록시 전달 실패 userId={}: {}", userId, e.getMessage());
+            if (response.isCommitted()) {
+                return null;
+            }
+            response.reset();
+            return responder.backendFailure(e);
+        } finally {
+            loadTracker.end(startNanos, backendStatus);
+        }
+    }
+
+    // 대기열 경로에서만 본문을 읽어 버퍼링 (처리기가 나중에 재전송)
+    private ResponseEntity<RateLimitResponse> enqueue(HttpServletRequest request, String rawUri, String path,
+                                                      Long userId, String accessToken) throws IOException {
+        QueueItem item = new QueueItem(userId, accessToken, backendForwarder.capture(request, rawUri));
+        return responder.enqueue(item, path);
+    }
+
+    private static Long parseUserId(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return Long.valueOf(value.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static String bearerToken(String authorization) {
+        if (authorization == null) {
+            return null;
+        }
+        return authorization.regionMatches(true, 0, BEARER_PREFIX, 0, BEARER_PREFIX.length())
+                ? authorization.substring(BEARER_PREFIX.length())
+                : authorization;
+    }
+}
@@ -1,11 +1,17 @@
 package com.jumunhasyeo.ratelimiter.controller;
 
+import com.jumunhasyeo.ratelimiter.dto.QueueCompletion;
 import com.jumunhasyeo.ratelimiter.service.global.GlobalQueueService;
+import com.jumunhasyeo.ratelimiter.service.global.GlobalQueueService.ClassPosition;
+import com.jumunhasyeo.ratelimiter.service.global.GlobalQueueService.QueuePosition;
 import com.jumunhasyeo.ratelimiter.service.global.GlobalQueueService.QueueType;
+import com.jumunhasyeo.ratelimiter.service.global.QueueCompletionNotifier;
+import com.jumunhasyeo.ratelimiter.service.global.QueueWaitEstimator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
 
 @Slf4j
 @RestController
@@ -14,6 +20,10 @@ import org.springframework.web.bind.annotation.*;
 public class QueueController {
 
     private final GlobalQueueService globalQueueService;
+    private final QueueWaitEstimator queueWaitEstimator;
+    private final QueueCompletionNotifier completionNotifier;
+
+    private static final long MAX_RESULT_WAIT_MS = 60000;
 
     @GetMapping("/status")
     public ResponseEntity<QueueStatusResponse> getQueueStatus() {
@@ -39,17 +49,30 @@ public class QueueController {
             type = QueueType.ORDER;
         }
 
-        Long position = globalQueueService.findSequence(userId, type);
-        Long queueSize = globalQueueService.getQueueSize(type);
+        ClassPosition classPosition = globalQueueService.findClassPosition(userId, type);
+        QueuePosition position = classPosition.position();
 
         return ResponseEntity.ok(new QueuePositionResponse(
                 userId,
-                position,
-                queueSize,
-                type.name()
+                position.rank(),
+                position.depth(),
+                type.name(),
+                queueWaitEstimator.estimateWaitMs(type, classPosition.key(), position)
         ));
     }
 
+    /**
+     * 대기열 요청의 처리 결과를 long-poll로 기다립니다.
+     * 처리되면 200과 결과를, timeoutMs 내에 처리되지 않으면 204를 반환합니다.
+     */
+    @GetMapping("/result/{requestId}")
+    public DeferredResult<ResponseEntity<QueueCompletion>> awaitResult(
+            @PathVariable String requestId,
+            @RequestParam(defaultValue = "30000") long timeoutMs) {
+        long timeout = Math.max(1, Math.min(timeoutMs, MAX_RESULT_WAIT_MS));
+        return completionNotifier.await(requestId, timeout);
+    }
+
     public record QueueStatusResponse(
             long orderQueueSize,
             long otherQueueSize,
@@ -63,6 +86,7 @@ public class QueueController {
             Long userId,
             Long position,
             Long totalInQueue,
-            String queueType
+            String queueType,
+            Long estimatedWaitMs
     ) {}
 }
@@ -4,11 +4,21 @@ import com.jumunhasyeo.ratelimiter.domain.HttpRequestData;
 import com.jumunhasyeo.ratelimiter.domain.QueueItem;
 import com.jumunhasyeo.ratelimiter.dto.RateLimitRequest;
 import com.jumunhasyeo.ratelimiter.dto.RateLimitResponse;
+import com.jumunhasyeo.ratelimiter.metrics.StageTimers;
+import com.jumunhasyeo.ratelimiter.properties.ForwardProperties;
+import com.jumunhasyeo.ratelimiter.properties.RouteRuleProperties.RouteRule;
+import com.jumunhasyeo.ratelimiter.properties.StageTimingProperties;
+import com.jumunhasyeo.ratelimiter.service.forward.BackendForwarder;
+import com.jumunhasyeo.ratelimiter.service.global.BackendLoadTracker;
 import com.jumunhasyeo.ratelimiter.service.global.GlobalQueueService;
 import com.jumunhasyeo.ratelimiter.service.global.GlobalQueueService.QueueType;
 import com.jumunhasyeo.ratelimiter.service.global.GlobalRateLimiterService;
 import com.jumunhasyeo.ratelimiter.service.global.GlobalRateLimiterService.TryConsumeResult;
 import com.jumunhasyeo.ratelimiter.service.pg.RateLimiterService;
+import com.jumunhasyeo.ratelimiter.service.route.RouteRuleService;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpMethod;
@@ -17,8 +27,7 @@ import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.client.RestClient;
-
-import java.net.URI;
+import org.springframework.web.client.RestClientResponseException;
 
 @Slf4j
 @RestController
@@ -30,15 +39,39 @@ public class RateLimitController {
     private final GlobalQueueService globalQueueService;
     private final RateLimiterService pgRateLimiterService;
     private final RestClient orderServiceRestClient;
+    private final RouteRuleService routeRuleService;
+    private final BackendLoadTracker loadTracker;
+    private final MeterRegistry meterRegistry;
+    private final StageTimingProperties stageTimingProperties;
+    private final BackendForwarder backendForwarder;
+    private final ForwardProperties forwardProperties;
+    private final RateLimitResponder responder;
+
+    // /check 처리 단계 (요청 본문 역직렬화는 핸들러 진입 전이므로 http.server.requests와의 차이로 확인)
+    private enum Stage {
+        ROUTE, GLOBAL_LIMIT, PG_LIMIT, ENQUEUE, FORWARD
+    }
+
+    private StageTimers<Stage> stageTimers;
 
-    private static final String DEFAULT_PROVIDER = "TOSS";
+    @PostConstruct
+    public void registerMeters() {
+        stageTimers = StageTimers.register(meterRegistry, "ratelimit.stage.time",
+                "처리 단계별 소요 시간", "check", Stage.class, stageTimingProperties);
+    }
 
     @PostMapping("/check")
-    public ResponseEntity<RateLimitResponse> checkRateLimit(@RequestBody RateLimitRequest request) {
+    public ResponseEntity<RateLimitResponse> checkRateLimit(@RequestBody RateLimitRequest request,
+                                                            HttpServletResponse servletResponse) {
         String path = request.getPath();
+        HttpRequestData httpRequest = request.getHttpRequest();
+        String method = httpRequest != null ? httpRequest.getMethod() : null;
 
-        // /api/v1/orders 경로만 처리율 제한 적용
-        if (path == null || !path.startsWith("/api/v1/orders")) {
+        // 경로 규칙에 일치하는 요청만 처리율 제한 적용
+        long t = stageTimers.start();
+        RouteRule route = routeRuleService.match(method, path);
+        t = stageTimers.record(Stage.ROUTE, t);
+        if (route == null || !route.isLimited()) {
             return ResponseEntity.ok(RateLimitResponse.builder()
                     .allowed(true)
                     .queued(false)
@@ -46,32 +79,47 @@ public class RateLimitController {
                     .build());
         }
 
-        // 전역 처리율 제한 확인
-        TryConsumeResult result = globalRateLimiterService.tryConsume(true);
+        // 사용자 → 경로 → 전역 처리율 제한 확인 (한 번의 스크립트 호출)
+        TryConsumeResult result = globalRateLimiterService.tryConsume(
+                request.getUserId(), request.getAccessToken(), route);
+        t = stageTimers.record(Stage.GLOBAL_LIMIT, t);
+
+        if (result == TryConsumeResult.DENIED_USER || result == TryConsumeResult.DENIED_ROUTE) {
+            log.debug("계층 한도 초과 userId={}, route={}, result={}", request.getUserId(), route.limitKey(), result);
+            return responder.denied(result);
+        }
 
         if (result == TryConsumeResult.ALLOWED) {
-            // PG 처리율 제한 확인
-            String provider = request.getProvider() != null ? request.getProvider() : DEFAULT_PROVIDER;
-            if (path.startsWith("/api/v1/orders/bf")) {
+            // 규칙에 provider가 있는 경로만 PG 처리율 제한 확인
+            if (route.getProvider() != null) {
+                String provider = pgRateLimiterService.resolveProvider(request.getProvider(), route.getProvider());
                 boolean pgAllowed = pgRateLimiterService.tryConsume(provider);
+                t = stageTimers.record(Stage.PG_LIMIT, t);
                 if (!pgAllowed) {
                     // PG 큐에 추가
-                    return addToQueue(request, true);
+                    ResponseEntity<RateLimitResponse> response = addToQueue(request, true);
+                    stageTimers.record(Stage.ENQUEUE, t);
+                    return response;
                 }
             }
 
             log.debug("Rate Limit 통과: {}", path);
 
             // 백엔드로 요청 전달
-            return forwardRequestToBackend(request);
+            ResponseEntity<RateLimitResponse> response = forwardRequestToBackend(request, servletResponse);
+            stageTimers.record(Stage.FORWARD, t);
+            return response;
         }
 
         // 처리율 초과, 대기열에 추가
         log.debug("Rate Limit 초과, Global Queue에 추가: {}", path);
-        return addToQueue(request, false);
+        ResponseEntity<RateLimitResponse> response = addToQueue(request, false);
+        stageTimers.record(Stage.ENQUEUE, t);
+        return response;
     }
 
-    private ResponseEntity<RateLimitResponse> forwardRequestToBackend(RateLimitRequest request) {
+    private ResponseEntity<RateLimitResponse> forwardRequestToBackend(RateLimitRequest request,
+                                                                      HttpServletResponse servletResponse) {
         HttpRequestData httpRequest = request.getHttpRequest();
         if (httpRequest == null) {
             log.warn("HTTP 요청 데이터 없음 userId={}", request.getUserId());
@@ -83,15 +131,16 @@ public class RateLimitController {
                     .build());
         }
 
-        try {
-            URI originalUri = URI.create(httpRequest.getUri());
+        if (forwardProperties.isStreaming()) {
+            return streamFromBackend(request, servletResponse);
+        }
 
+        long startNanos = loadTracker.begin();
+        int backendStatus = 0;
+        try {
             RestClient.RequestBodySpec requestSpec = orderServiceRestClient
                     .method(HttpMethod.valueOf(httpRequest.getMethod()))
-                    .uri(uriBuilder -> uriBuilder
-                            .path(originalUri.getPath())
-                            .query(originalUri.getQuery())
-                            .build());
+                    .uri(backendForwarder.targetUri(httpRequest.getUri()));
 
             requestSpec.contentType(MediaType.APPLICATION_JSON);
 
@@ -107,6 +156,7 @@ public class RateLimitController {
             }
 
             String backendResponse = requestSpec.retrieve().body(String.class);
+            backendStatus = HttpStatus.OK.value();
 
             log.debug("Backend로 요청 전달 완료 userId={}, path={}", request.getUserId(), request.getPath());
 
@@ -118,52 +168,49 @@ public class RateLimitController {
                     .build());
 
         } catch (Exception e) {
+            if (e instanceof RestClientResponseException responseException) {
+                backendStatus = responseException.getStatusCode().value();
+            }
             log.error("Backend 요청 전달 실패 userId={}: {}", request.getUserId(), e.getMessage());
-            return ResponseEntity.status(HttpStatus.BAD_GATEWAY)
-                    .body(RateLimitResponse.builder()
-                            .allowed(true)
-                            .queued(false)
-                            .currentLimit(globalRateLimiterService.getCurrentLimit())
-                            .message("Backend request failed: " + e.getMessage())
-                            .build());
+            return responder.backendFailure(e);
+        } finally {
+            loadTracker.end(startNanos, backendStatus);
         }
     }
 
-    private ResponseEntity<RateLimitResponse> addToQueue(RateLimitRequest request, boolean isPgQueue) {
-        QueueType queueType = globalQueueService.resolveQueueType(
-                request.getHttpRequest() != null ? request.getHttpRequest().getMethod() : "GET",
-                request.getPath()
-        );
+    /**
+     * 스트리밍 모드: order-service 응답의 상태/헤더/본문을 그대로 클라이언트에 씁니다.
+     * 응답을 직접 썼으므로 null을 반환하고, 응답을 쓰기 전에 실패한 경우에만 502 JSON으로 응답합니다.
+     */
+    private ResponseEntity<RateLimitResponse> streamFromBackend(RateLimitRequest request,
+                                                                HttpServletResponse servletResponse) {
+        long startNanos = loadTracker.begin();
+        int backendStatus = 0;
+        try {
+            backendStatus = backendForwarder.forward(
+                    request.getHttpRequest(), request.getAccessToken(), servletResponse);
+            log.debug("Backend 응답 스트리밍 완료 userId={}, path={}, status={}",
+                    request.getUserId(), request.getPath(), backendStatus);
+            return null;
+        } catch (Exception e) {
+            log.error("Backend 스트리밍 전달 실패 userId={}: {}", request.getUserId(), e.getMessage());
+            if (servletResponse.isCommitted()) {
+                return null;
+            }
+            servletResponse.reset();
+            return responder.backendFailure(e);
+        } finally {
+            loadTracker.end(startNanos, backendStatus);
+        }
+    }
 
+    private ResponseEntity<RateLimitResponse> addToQueue(RateLimitRequest request, boolean isPgQueue) {
         QueueItem item = new QueueItem(
                 request.getUserId(),
                 request.getAccessToken(),
                 request.getHttpRequest()
         );
-
-        boolean added = globalQueueService.offer(item, queueType);
-
-        if (!added) {
-            log.error("Queue 추가 실패 userId={}", request.getUserId());
-            return ResponseEntity.status(503)
-                    .body(RateLimitResponse.builder()
-                            .allowed(false)
-                            .queued(false)
-                            .message("Failed to add to queue")
-                            .build());
-        }
-
-        Long position = globalQueueService.findSequence(request.getUserId(), queueType);
-
-        return ResponseEntity.accepted()
-                .body(RateLimitResponse.builder()
-                        .allowed(false)
-                        .queued(true)
-                        .queuePosition(position)
-                        .currentLimit(globalRateLimiterService.getCurrentLimit())
-                        .queueType(queueType.name())
-                        .message("Request queued")
-                        .build());
+        return responder.enqueue(item, request.getPath());
     }
 
     @GetMapping("/status")
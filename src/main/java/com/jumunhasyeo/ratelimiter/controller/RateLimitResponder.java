@@ -0,0 +1,122 @@
+package com.jumunhasyeo.ratelimiter.controller;
+
+import com.jumunhasyeo.ratelimiter.domain.HttpRequestData;
+import com.jumunhasyeo.ratelimiter.domain.QueueItem;
+import com.jumunhasyeo.ratelimiter.dto.RateLimitResponse;
+import com.jumunhasyeo.ratelimiter.properties.QueueSchedulerProperties.QueueClass;
+import com.jumunhasyeo.ratelimiter.service.global.GlobalQueueService;
+import com.jumunhasyeo.ratelimiter.service.global.GlobalQueueService.OfferOutcome;
+import com.jumunhasyeo.ratelimiter.service.global.GlobalQueueService.OfferResult;
+import com.jumunhasyeo.ratelimiter.service.global.GlobalQueueService.QueueType;
+import com.jumunhasyeo.ratelimiter.service.global.GlobalRateLimiterService;
+import com.jumunhasyeo.ratelimiter.service.global.GlobalRateLimiterService.TryConsumeResult;
+import com.jumunhasyeo.ratelimiter.service.global.QueueWaitEstimator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+/**
+ * /check와 리버스 프록시가 공유하는 거절/대기열/백엔드 실패 응답
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RateLimitResponder {
+
+    private final GlobalRateLimiterService globalRateLimiterService;
+    private final GlobalQueueService globalQueueService;
+    private final QueueWaitEstimator queueWaitEstimator;
+
+    /**
+     * 사용자/경로 한도 초과 응답 (DENIED_USER, DENIED_ROUTE)
+     */
+    public ResponseEntity<RateLimitResponse> denied(TryConsumeResult result) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .body(RateLimitResponse.builder()
+                        .allowed(false)
+                        .queued(false)
+                        .currentLimit(globalRateLimiterService.getCurrentLimit())
+                        .message(result == TryConsumeResult.DENIED_USER
+                                ? "Rate limit exceeded for user"
+                                : "Rate limit exceeded for route")
+                        .build());
+    }
+
+    /**
+     * 요청을 대기열에 추가하고 결과를 응답으로 변환합니다.
+     * @param path 대기열 클래스 매칭에 사용할 경로
+     */
+    public ResponseEntity<RateLimitResponse> enqueue(QueueItem item, String path) {
+        HttpRequestData httpRequest = item.getHttpRequest();
+        QueueClass queueClass = globalQueueService.resolveQueueClass(
+                httpRequest != null ? httpRequest.getMethod() : "GET",
+                path,
+                httpRequest != null ? httpRequest.getHeaders() : null
+        );
+        QueueType queueType = queueClass.getQueueType();
+
+        OfferOutcome offerOutcome = globalQueueService.tryOffer(item, queueClass);
+
+        if (offerOutcome.result() == OfferResult.REJECTED_FULL) {
+            return ResponseEntity.status(503)
+                    .body(RateLimitResponse.builder()
+                            .allowed(false)
+                            .queued(false)
+                            .currentLimit(globalRateLimiterService.getCurrentLimit())
+                            .queueType(queueType.name())
+                            .message("Queue full, request shed")
+                            .build());
+        }
+
+        if (offerOutcome.result() == OfferResult.REJECTED_USER_LIMIT) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .body(RateLimitResponse.builder()
+                            .allowed(false)
+                            .queued(false)
+                            .currentLimit(globalRateLimiterService.getCurrentLimit())
+                            .queueType(queueType.name())
+                            .message("Too many queued requests for user")
+                            .build());
+        }
+
+        if (!offerOutcome.isAccepted()) {
+            log.error("Queue 추가 실패 userId={}", item.getUserId());
+            return ResponseEntity.status(503)
+                    .body(RateLimitResponse.builder()
+                            .allowed(false)
+                            .queued(false)
+                            .message("Failed to add to queue")
+                            .build());
+        }
+
+        // 추가 시점의 ZRANK를 그대로 사용 (별도 위치 조회 없음)
+        var position = offerOutcome.position();
+
+        return ResponseEntity.accepted()
+                .body(RateLimitResponse.builder()
+                        .allowed(false)
+                        .queued(true)
+                        .requestId(item.getRequestId())
+                        .queuePosition(position.rank())
+                        .estimatedWaitMs(queueWaitEstimator.estimateWaitMs(queueType, queueClass.getKey(), position))
+                        .currentLimit(globalRateLimiterService.getCurrentLimit())
+                        .queueType(queueType.name())
+                        .message("Request queued")
+                        .build());
+    }
+
+    /**
+     * 처리율 제한은 통과했지만 order-service 전달에 실패한 경우의 502 응답
+     */
+    public ResponseEntity<RateLimitResponse> backendFailure(Exception e) {
+        return ResponseEntity.status(HttpStatus.BAD_GATEWAY)
+                .body(RateLimitResponse.builder()
+                        .allowed(true)
+                        .queued(false)
+                        .currentLimit(globalRateLimiterService.getCurrentLimit())
+                        .message("Backend request failed: " + e.getMessage())
+                        .build());
+    }
+}
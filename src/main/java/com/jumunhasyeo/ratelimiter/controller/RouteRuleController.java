@@ -0,0 +1,45 @@
+package com.jumunhasyeo.ratelimiter.controller;
+
+import com.jumunhasyeo.ratelimiter.properties.RouteRuleProperties.RouteRule;
+import com.jumunhasyeo.ratelimiter.service.route.RouteRuleService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@Slf4j
+@RestController
+@RequestMapping("/internal/routes")
+@RequiredArgsConstructor
+public class RouteRuleController {
+
+    private final RouteRuleService routeRuleService;
+
+    @GetMapping
+    public ResponseEntity<List<RouteRule>> getRules() {
+        return ResponseEntity.ok(routeRuleService.getRules());
+    }
+
+    /**
+     * 규칙 전체를 교체합니다 (Redis에 저장 후 즉시 적용하고, 변경 채널로 다른 노드에도 반영).
+     */
+    @PutMapping
+    public ResponseEntity<List<RouteRule>> replaceRules(@RequestBody List<RouteRule> rules) {
+        try {
+            return ResponseEntity.ok(routeRuleService.replace(rules));
+        } catch (IllegalArgumentException e) {
+            log.warn("잘못된 Route 규칙: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Redis에 저장된 규칙을 다시 읽어 적용합니다 (변경 알림을 놓친 노드의 수동 반영용).
+     */
+    @PostMapping("/reload")
+    public ResponseEntity<List<RouteRule>> reload() {
+        return ResponseEntity.ok(routeRuleService.reload());
+    }
+}
@@ -3,6 +3,7 @@ package com.jumunhasyeo.ratelimiter.controller;
 import com.jumunhasyeo.ratelimiter.dto.FeedbackLoopStatus;
 import com.jumunhasyeo.ratelimiter.dto.ScaleEventResponse;
 import com.jumunhasyeo.ratelimiter.dto.ScaleOutEventRequest;
+import com.jumunhasyeo.ratelimiter.service.global.FeedbackLoopLeaderElector;
 import com.jumunhasyeo.ratelimiter.service.global.FeedbackLoopStateManager;
 import com.jumunhasyeo.ratelimiter.service.global.GlobalRateLimiterService;
 import com.jumunhasyeo.ratelimiter.service.global.RedisLatencyHistogramService;
@@ -22,12 +23,14 @@ public class ScaleEventController {
     private final FeedbackLoopStateManager stateManager;
     private final GlobalRateLimiterService rateLimiterService;
     private final RedisLatencyHistogramService histogramService;
+    private final FeedbackLoopLeaderElector leaderElector;
 
     @PostMapping("/out")
     public ResponseEntity<ScaleEventResponse> handleScaleOut(@RequestBody ScaleOutEventRequest request) {
         log.debug("Scale-Out 이벤트 수신: source={}, newInstanceCount={}",
                 request.getSource(), request.getNewInstanceCount());
 
+        stateManager.syncFromRedis();
         if (stateManager.isActive()) {
             var state = stateManager.getCurrentState();
             return ResponseEntity.ok(ScaleEventResponse.builder()
@@ -50,6 +53,7 @@ public class ScaleEventController {
 
     @GetMapping("/status")
     public ResponseEntity<FeedbackLoopStatus> getStatus() {
+        stateManager.syncFromRedis();
         var state = stateManager.getCurrentState();
         int currentLimit = rateLimiterService.getCurrentLimit();
 
@@ -60,11 +64,11 @@ public class ScaleEventController {
                     .currentLimit(currentLimit)
                     .targetLimit(0)
                     .activeSince(0)
+                    .leaderNodeId(leaderElector.getLeaderNodeId())
                     .build());
         }
 
-        double p95 = histogramService.getP95Latency();
-        double p99 = histogramService.getP99Latency();
+        var latency = histogramService.getLatencySnapshot();
 
         return ResponseEntity.ok(FeedbackLoopStatus.builder()
                 .active(true)
@@ -72,13 +76,15 @@ public class ScaleEventController {
                 .currentLimit(currentLimit)
                 .targetLimit(state.getTargetLimit())
                 .activeSince(state.getActivatedAt())
-                .p95Latency(p95)
-                .p99Latency(p99)
+                .p95Latency(latency.p95())
+                .p99Latency(latency.p99())
+                .leaderNodeId(leaderElector.getLeaderNodeId())
                 .build());
     }
 
     @PostMapping("/deactivate")
     public ResponseEntity<ScaleEventResponse> deactivate() {
+        stateManager.syncFromRedis();
         if (!stateManager.isActive()) {
             return ResponseEntity.ok(ScaleEventResponse.builder()
                     .accepted(false)
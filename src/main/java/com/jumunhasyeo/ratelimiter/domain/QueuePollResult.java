@@ -7,6 +7,7 @@ import lombok.NoArgsConstructor;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 @Data
 @NoArgsConstructor
@@ -32,6 +33,8 @@ public class QueuePollResult {
         private String queue;
         private String data;
         private long score;
+        // 신뢰 모드에서 ack에 사용하는 in-flight receipt (비활성 시 null)
+        private String receipt;
     }
 
     @Data
@@ -50,6 +53,14 @@ public class QueuePollResult {
         private int totalPolled;
         @JsonProperty("remaining_slots")
         private int remainingSlots;
+        // DRR 큐 클래스별 폴링 수 (위 4개 필드는 queueType/retry 기준 합계)
+        private Map<String, Integer> classes = Collections.emptyMap();
+
+        public QueueStats(int orderRetry, int orderNormal, int otherRetry, int otherNormal,
+                          int totalPolled, int remainingSlots) {
+            this(orderRetry, orderNormal, otherRetry, otherNormal, totalPolled, remainingSlots,
+                    Collections.emptyMap());
+        }
     }
 
     @Data
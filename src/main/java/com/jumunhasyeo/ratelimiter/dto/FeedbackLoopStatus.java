@@ -17,4 +17,5 @@ public class FeedbackLoopStatus {
     private long activeSince;
     private Double p95Latency;
     private Double p99Latency;
+    private String leaderNodeId;
 }
@@ -0,0 +1,27 @@
+package com.jumunhasyeo.ratelimiter.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class QueueCompletion {
+    private String requestId;
+    private Long userId;
+    private Status status;
+    private Integer backendStatus;
+    private String backendResponse;
+    private String message;
+    private long completedAt;
+
+    public enum Status {
+        COMPLETED,
+        FAILED,
+        // 수용 후 부하 차단으로 대기열에서 제거됨 (DROP_OLDEST/PRIORITY 축출, 재시도 큐 가득 참)
+        SHED
+    }
+}
@@ -12,7 +12,9 @@ import lombok.NoArgsConstructor;
 public class RateLimitResponse {
     private boolean allowed;
     private boolean queued;
+    private String requestId;
     private Long queuePosition;
+    private Long estimatedWaitMs;
     private int currentLimit;
     private String queueType;
     private String message;
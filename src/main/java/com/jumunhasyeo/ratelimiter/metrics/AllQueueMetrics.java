@@ -1,10 +1,14 @@
 package com.jumunhasyeo.ratelimiter.metrics;
 
+import com.jumunhasyeo.ratelimiter.service.global.FeedbackLoopLeaderElector;
 import com.jumunhasyeo.ratelimiter.service.global.GlobalQueueService;
 import com.jumunhasyeo.ratelimiter.service.global.GlobalQueueService.QueueType;
 import com.jumunhasyeo.ratelimiter.service.global.GlobalRateLimiterService;
+import com.jumunhasyeo.ratelimiter.service.global.MonitoringSnapshotService;
+import com.jumunhasyeo.ratelimiter.service.global.MonitoringSnapshotService.MonitoringSnapshot;
 import com.jumunhasyeo.ratelimiter.service.pg.PaymentProviderRateLimiter;
 import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
 import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
@@ -12,11 +16,19 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicLong;
 
+/**
+ * 대기열/처리율 제한 지표
+ * <p>
+ * 클러스터 전체 값(대기열 길이, 버킷 사용량)은 피드백 루프 리더만 스냅샷 스크립트 한 번으로 조회하여 게시하므로
+ * 노드 수가 늘어도 모니터링용 Redis 호출은 일정합니다. 리더가 바뀌면 이전 리더는 해당 게이지를 제거합니다.
+ * 노드별 게이지는 이 노드의 offer 스크립트 반환값과 설정값만 사용하며 Redis를 조회하지 않습니다.
+ */
 @Slf4j
 @Component
 @RequiredArgsConstructor
@@ -25,6 +37,8 @@ public class AllQueueMetrics {
     private final GlobalQueueService globalQueueService;
     private final GlobalRateLimiterService globalRateLimiterService;
     private final List<PaymentProviderRateLimiter> paymentProviderRateLimiters;
+    private final MonitoringSnapshotService snapshotService;
+    private final FeedbackLoopLeaderElector leaderElector;
     private final MeterRegistry meterRegistry;
 
     private final AtomicLong cachedGlobalOrderQueueSize = new AtomicLong(0);
@@ -34,24 +48,41 @@ public class AllQueueMetrics {
     private final AtomicLong cachedGlobalWindowCount = new AtomicLong(0);
     private final Map<String, AtomicLong> cachedPgCurrentTokens = new ConcurrentHashMap<>();
 
+    // 리더일 때만 등록되는 클러스터 게이지
+    private final List<Meter> clusterMeters = new ArrayList<>();
+
     @PostConstruct
     public void init() {
         log.debug("Metrics 초기화 중 (PG Provider: {} 개)", paymentProviderRateLimiters.size());
 
-        Gauge.builder("queue.waiting.users.global.order", cachedGlobalOrderQueueSize, AtomicLong::get)
-                .description("Number of users waiting in global ORDER queue")
+        Gauge.builder("queue.observed.depth.order", globalQueueService,
+                        service -> service.getObservedDepth(QueueType.ORDER))
+                .description("ORDER queue depth last seen by this node's offer")
                 .register(meterRegistry);
 
-        Gauge.builder("queue.waiting.users.global.other", cachedGlobalOtherQueueSize, AtomicLong::get)
-                .description("Number of users waiting in global OTHER queue")
+        Gauge.builder("queue.observed.depth.other", globalQueueService,
+                        service -> service.getObservedDepth(QueueType.OTHER))
+                .description("OTHER queue depth last seen by this node's offer")
                 .register(meterRegistry);
 
-        Gauge.builder("queue.retry.order", cachedOrderRetryQueueSize, AtomicLong::get)
-                .description("Number of requests in ORDER retry queue")
+        Gauge.builder("queue.observed.retry.order", globalQueueService,
+                        service -> service.getObservedRetryDepth(QueueType.ORDER))
+                .description("ORDER retry queue depth last seen by this node's offer")
                 .register(meterRegistry);
 
-        Gauge.builder("queue.retry.other", cachedOtherRetryQueueSize, AtomicLong::get)
-                .description("Number of requests in OTHER retry queue")
+        Gauge.builder("queue.observed.retry.other", globalQueueService,
+                        service -> service.getObservedRetryDepth(QueueType.OTHER))
+                .description("OTHER retry queue depth last seen by this node's offer")
+                .register(meterRegistry);
+
+        Gauge.builder("queue.max.depth.global.order", globalQueueService,
+                        service -> service.getMaxDepth(QueueType.ORDER))
+                .description("Max depth of global ORDER queue before load shedding")
+                .register(meterRegistry);
+
+        Gauge.builder("queue.max.depth.global.other", globalQueueService,
+                        service -> service.getMaxDepth(QueueType.OTHER))
+                .description("Max depth of global OTHER queue before load shedding")
                 .register(meterRegistry);
 
         Gauge.builder("rate.limit.global.max", globalRateLimiterService,
@@ -59,92 +90,112 @@ public class AllQueueMetrics {
                 .description("Global rate limit (leaky bucket leak rate)")
                 .register(meterRegistry);
 
-        Gauge.builder("rate.limit.global.current", cachedGlobalWindowCount, AtomicLong::get)
+        for (PaymentProviderRateLimiter rateLimiter : paymentProviderRateLimiters) {
+            Gauge.builder("rate.limit.pg." + rateLimiter.getProviderName() + ".max", rateLimiter,
+                            PaymentProviderRateLimiter::getRateLimit)
+                    .description("PG rate limit (leaky bucket leak rate)")
+                    .register(meterRegistry);
+
+            cachedPgCurrentTokens.put(rateLimiter.getProviderName(), new AtomicLong(0));
+        }
+
+        log.debug("모든 Metrics 등록 완료");
+    }
+
+    private void registerClusterMeters() {
+        clusterMeters.add(Gauge.builder("queue.waiting.users.global.order", cachedGlobalOrderQueueSize, AtomicLong::get)
+                .description("Number of users waiting in global ORDER queue")
+                .register(meterRegistry));
+
+        clusterMeters.add(Gauge.builder("queue.waiting.users.global.other", cachedGlobalOtherQueueSize, AtomicLong::get)
+                .description("Number of users waiting in global OTHER queue")
+                .register(meterRegistry));
+
+        clusterMeters.add(Gauge.builder("queue.retry.order", cachedOrderRetryQueueSize, AtomicLong::get)
+                .description("Number of requests in ORDER retry queue")
+                .register(meterRegistry));
+
+        clusterMeters.add(Gauge.builder("queue.retry.other", cachedOtherRetryQueueSize, AtomicLong::get)
+                .description("Number of requests in OTHER retry queue")
+                .register(meterRegistry));
+
+        clusterMeters.add(Gauge.builder("rate.limit.global.current", cachedGlobalWindowCount, AtomicLong::get)
                 .description("Current water level in global leaky bucket")
-                .register(meterRegistry);
+                .register(meterRegistry));
 
-        Gauge.builder("rate.limit.global.usage", this, metrics -> {
+        clusterMeters.add(Gauge.builder("rate.limit.global.usage", this, metrics -> {
                     long current = cachedGlobalWindowCount.get();
                     int max = globalRateLimiterService.getCurrentLimit();
                     return max > 0 ? (double) current / max * 100 : 0;
                 })
                 .description("Global rate limit usage percentage")
                 .baseUnit("percent")
-                .register(meterRegistry);
+                .register(meterRegistry));
 
         for (PaymentProviderRateLimiter rateLimiter : paymentProviderRateLimiters) {
             String provider = rateLimiter.getProviderName();
 
-            Gauge.builder("rate.limit.pg." + provider + ".max", rateLimiter,
-                            PaymentProviderRateLimiter::getRateLimit)
-                    .description("PG rate limit (leaky bucket leak rate)")
-                    .register(meterRegistry);
-
-            cachedPgCurrentTokens.put(provider, new AtomicLong(0));
-
-            Gauge.builder("rate.limit.pg." + provider + ".current",
+            clusterMeters.add(Gauge.builder("rate.limit.pg." + provider + ".current",
                             cachedPgCurrentTokens.get(provider),
                             AtomicLong::get)
                     .description("PG current available capacity (leaky bucket)")
-                    .register(meterRegistry);
+                    .register(meterRegistry));
 
-            Gauge.builder("rate.limit.pg." + provider + ".usage", this, metrics -> {
+            clusterMeters.add(Gauge.builder("rate.limit.pg." + provider + ".usage", this, metrics -> {
                         long current = cachedPgCurrentTokens.get(provider).get();
                         int max = rateLimiter.getRateLimit();
                         return max > 0 ? (double) (max - current) / max * 100 : 0;
                     })
                     .description("PG rate limit usage percentage")
                     .baseUnit("percent")
-                    .register(meterRegistry);
+                    .register(meterRegistry));
         }
-
-        log.debug("모든 Metrics 등록 완료");
+        log.debug("클러스터 Metrics 등록 ({} 개)", clusterMeters.size());
     }
 
-    @Scheduled(fixedDelay = 5000, initialDelay = 2000)
-    public void updateGlobalQueueSize() {
-        try {
-            cachedGlobalOrderQueueSize.set(globalQueueService.getQueueSize(QueueType.ORDER));
-            cachedGlobalOtherQueueSize.set(globalQueueService.getQueueSize(QueueType.OTHER));
-            cachedOrderRetryQueueSize.set(globalQueueService.getRetryQueueSize(QueueType.ORDER));
-            cachedOtherRetryQueueSize.set(globalQueueService.getRetryQueueSize(QueueType.OTHER));
-
-            log.debug("Global Queue - ORDER: {}, OTHER: {}",
-                    cachedGlobalOrderQueueSize.get(), cachedGlobalOtherQueueSize.get());
-        } catch (Exception e) {
-            log.warn("Global Queue 크기 업데이트 실패: {}", e.getMessage());
-        }
+    private void removeClusterMeters() {
+        clusterMeters.forEach(meterRegistry::remove);
+        clusterMeters.clear();
+        log.debug("리더가 아니므로 클러스터 Metrics 제거");
     }
 
     @Scheduled(fixedDelay = 1000, initialDelay = 1000)
-    public void updateGlobalWaterLevel() {
-        try {
-            long waterLevel = globalRateLimiterService.getCurrentWindowCount();
-            cachedGlobalWindowCount.set(waterLevel);
+    public void refreshClusterMetrics() {
+        if (!leaderElector.isLeader()) {
+            if (!clusterMeters.isEmpty()) {
+                removeClusterMeters();
+            }
+            return;
+        }
 
-            int capacity = globalRateLimiterService.getCurrentLimit();
-            double usage = capacity > 0 ? (double) waterLevel / capacity * 100 : 0;
-            log.debug("Global Leaky Bucket: {}/{} ({}%)", waterLevel, capacity, String.format("%.1f", usage));
+        MonitoringSnapshot snapshot;
+        try {
+            snapshot = snapshotService.read();
         } catch (Exception e) {
-            log.warn("Global Water Level 업데이트 실패: {}", e.getMessage());
+            log.warn("모니터링 스냅샷 조회 실패: {}", e.getMessage());
+            return;
         }
-    }
 
-    @Scheduled(fixedDelay = 2000, initialDelay = 1500)
-    public void updatePgCurrentTokens() {
+        cachedGlobalOrderQueueSize.set(snapshot.depth(QueueType.ORDER));
+        cachedGlobalOtherQueueSize.set(snapshot.depth(QueueType.OTHER));
+        cachedOrderRetryQueueSize.set(snapshot.retryDepth(QueueType.ORDER));
+        cachedOtherRetryQueueSize.set(snapshot.retryDepth(QueueType.OTHER));
+        // 사용량 * 1000 단위 (getCurrentWindowCount와 같은 반올림)
+        cachedGlobalWindowCount.set(Math.round(snapshot.globalLevel() / 1000.0));
+
         for (PaymentProviderRateLimiter rateLimiter : paymentProviderRateLimiters) {
             String provider = rateLimiter.getProviderName();
-            try {
-                long available = rateLimiter.getAvailableTokens();
-                cachedPgCurrentTokens.get(provider).set(available);
-
-                int max = rateLimiter.getRateLimit();
-                long used = max - available;
-                double usage = max > 0 ? (double) used / max * 100 : 0;
-                log.debug("PG {} 사용량: {}/{} ({}%)", provider, used, max, String.format("%.1f", usage));
-            } catch (Exception e) {
-                log.warn("PG {} Token 조회 실패: {}", provider, e.getMessage());
-            }
+            long used = snapshot.pgLevels().getOrDefault(provider, 0L) / 1000;
+            long burst = rateLimiter.getBucketRef().limit().burst();
+            cachedPgCurrentTokens.get(provider).set(Math.max(0, burst - used));
         }
+
+        if (clusterMeters.isEmpty()) {
+            registerClusterMeters();
+        }
+
+        log.debug("Cluster Metrics - ORDER: {}, OTHER: {}, Global Bucket: {}/{}",
+                cachedGlobalOrderQueueSize.get(), cachedGlobalOtherQueueSize.get(),
+                cachedGlobalWindowCount.get(), globalRateLimiterService.getBurstCapacity());
     }
 }
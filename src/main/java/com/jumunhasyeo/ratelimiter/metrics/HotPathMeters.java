@@ -0,0 +1,53 @@
+package com.jumunhasyeo.ratelimiter.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * 요청/드레인 경로처럼 호출이 잦은 곳에서 쓰는 메터를 기동 시 미리 등록
+ * <p>
+ * {@code Timer.builder(...).register(registry)}를 매번 호출하면 태그 생성, 레지스트리 조회가 반복되므로
+ * (enum 태그 × boolean 태그) 조합을 모두 등록해 두고 {@link #index(Enum, boolean)}로 배열에서 꺼내 씁니다.
+ */
+public final class HotPathMeters {
+
+    private HotPathMeters() {
+    }
+
+    public static int index(Enum<?> value, boolean flag) {
+        return value.ordinal() * 2 + (flag ? 1 : 0);
+    }
+
+    public static <E extends Enum<E>> Timer[] timers(MeterRegistry registry, String name, String description,
+                                                     Class<E> enumType, String enumTag, String flagTag) {
+        E[] values = enumType.getEnumConstants();
+        Timer[] timers = new Timer[values.length * 2];
+        for (E value : values) {
+            for (boolean flag : new boolean[]{false, true}) {
+                timers[index(value, flag)] = Timer.builder(name)
+                        .description(description)
+                        .tag(enumTag, value.name())
+                        .tag(flagTag, String.valueOf(flag))
+                        .register(registry);
+            }
+        }
+        return timers;
+    }
+
+    public static <E extends Enum<E>> Counter[] counters(MeterRegistry registry, String name, String description,
+                                                         Class<E> enumType, String enumTag, String flagTag) {
+        E[] values = enumType.getEnumConstants();
+        Counter[] counters = new Counter[values.length * 2];
+        for (E value : values) {
+            for (boolean flag : new boolean[]{false, true}) {
+                counters[index(value, flag)] = Counter.builder(name)
+                        .description(description)
+                        .tag(enumTag, value.name())
+                        .tag(flagTag, String.valueOf(flag))
+                        .register(registry);
+            }
+        }
+        return counters;
+    }
+}
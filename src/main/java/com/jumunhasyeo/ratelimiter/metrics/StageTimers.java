@@ -0,0 +1,92 @@
+package com.jumunhasyeo.ratelimiter.metrics;
+
+import com.jumunhasyeo.ratelimiter.metrics.jfr.StageSpanEvent;
+import com.jumunhasyeo.ratelimiter.properties.StageTimingProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jdk.jfr.EventType;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 처리 단계별 nanoTime 구간 타이머
+ * <p>
+ * 단계(enum)마다 Timer를 미리 등록해 두고, 호출 측은 이전 단계 종료 시각을 넘겨 다음 구간을 이어서 잽니다.
+ * <pre>
+ * long t = timers.start();
+ * route = match(...);
+ * t = timers.record(Stage.ROUTE, t);
+ * </pre>
+ * 비활성 시 start/record는 nanoTime도 호출하지 않고 0을 반환합니다.
+ */
+public final class StageTimers<E extends Enum<E>> {
+
+    private static final EventType SPAN_EVENT_TYPE = EventType.getEventType(StageSpanEvent.class);
+
+    private final String pipeline;
+    private final Timer[] timers;
+    private final String[] stageNames;
+    private final boolean enabled;
+    private final boolean jfr;
+
+    private StageTimers(String pipeline, Timer[] timers, String[] stageNames, boolean enabled, boolean jfr) {
+        this.pipeline = pipeline;
+        this.timers = timers;
+        this.stageNames = stageNames;
+        this.enabled = enabled;
+        this.jfr = jfr;
+    }
+
+    /**
+     * @param pipeline 타이머 태그와 JFR 이벤트에 쓰는 처리 경로 이름 (check, drain)
+     */
+    public static <E extends Enum<E>> StageTimers<E> register(MeterRegistry registry, String name, String description,
+                                                              String pipeline, Class<E> stageType,
+                                                              StageTimingProperties properties) {
+        E[] stages = stageType.getEnumConstants();
+        Timer[] timers = new Timer[stages.length];
+        String[] stageNames = new String[stages.length];
+        for (E stage : stages) {
+            String stageName = stage.name().toLowerCase();
+            stageNames[stage.ordinal()] = stageName;
+            if (properties.isEnabled()) {
+                timers[stage.ordinal()] = Timer.builder(name)
+                        .description(description)
+                        .tag("pipeline", pipeline)
+                        .tag("stage", stageName)
+                        .publishPercentileHistogram(properties.isHistogram())
+                        .minimumExpectedValue(Duration.ofNanos(10_000))
+                        .maximumExpectedValue(Duration.ofSeconds(10))
+                        .register(registry);
+            }
+        }
+        return new StageTimers<>(pipeline, timers, stageNames, properties.isEnabled(), properties.isJfr());
+    }
+
+    public long start() {
+        return enabled ? System.nanoTime() : 0L;
+    }
+
+    /**
+     * startNanos부터 지금까지를 stage 구간으로 기록합니다.
+     * @return 현재 시각 (다음 구간의 시작으로 사용)
+     */
+    public long record(E stage, long startNanos) {
+        if (!enabled) {
+            return 0L;
+        }
+        long now = System.nanoTime();
+        long elapsed = now - startNanos;
+        timers[stage.ordinal()].record(elapsed, TimeUnit.NANOSECONDS);
+
+        if (jfr && SPAN_EVENT_TYPE.isEnabled()) {
+            StageSpanEvent event = new StageSpanEvent();
+            event.pipeline = pipeline;
+            event.stage = stageNames[stage.ordinal()];
+            event.durationNanos = elapsed;
+            event.commit();
+        }
+        return now;
+    }
+}
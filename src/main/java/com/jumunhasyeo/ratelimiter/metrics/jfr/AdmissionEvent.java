@@ -0,0 +1,32 @@
+package com.jumunhasyeo.ratelimiter.metrics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * 처리율 제한 토큰 소비 결정 한 건 (이벤트 구간 = Redis 스크립트 호출 시간)
+ */
+@Name("ratelimiter.Admission")
+@Label("Admission")
+@Category({"Rate Limiter", "Admission"})
+@Description("tryConsume 결과와 스크립트 호출 시간")
+@StackTrace(false)
+public class AdmissionEvent extends jdk.jfr.Event {
+
+    @Label("Scope")
+    @Description("global | pg:{provider}")
+    public String scope;
+
+    @Label("Result")
+    public String result;
+
+    @Label("Route")
+    public String route;
+
+    @Label("New Request")
+    @Description("false이면 대기열 처리 중의 재시도 소비")
+    public boolean newRequest;
+}
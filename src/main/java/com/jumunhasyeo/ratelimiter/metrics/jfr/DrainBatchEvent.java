@@ -0,0 +1,43 @@
+package com.jumunhasyeo.ratelimiter.metrics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * 대기열 폴링 한 배치 (이벤트 구간 = 토큰 반환부터 배치 내 요청 처리 완료까지)
+ */
+@Name("ratelimiter.DrainBatch")
+@Label("Drain Batch")
+@Category({"Rate Limiter", "Queue"})
+@Description("대기열 폴링 배치 크기, 큐별 폴링 수, 반환한 토큰 수")
+@StackTrace(false)
+public class DrainBatchEvent extends jdk.jfr.Event {
+
+    @Label("Lane")
+    @Description("pg | global")
+    public String lane;
+
+    @Label("Reserved")
+    public int reserved;
+
+    @Label("Polled")
+    public int polled;
+
+    @Label("Refunded")
+    public int refunded;
+
+    @Label("Order Retry")
+    public int orderRetry;
+
+    @Label("Order Normal")
+    public int orderNormal;
+
+    @Label("Other Retry")
+    public int otherRetry;
+
+    @Label("Other Normal")
+    public int otherNormal;
+}
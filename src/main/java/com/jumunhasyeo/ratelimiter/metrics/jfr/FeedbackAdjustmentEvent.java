@@ -0,0 +1,44 @@
+package com.jumunhasyeo.ratelimiter.metrics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * 피드백 루프의 한도 조정 한 건
+ */
+@Name("ratelimiter.FeedbackAdjustment")
+@Label("Feedback Adjustment")
+@Category({"Rate Limiter", "Feedback Loop"})
+@Description("피드백 루프/적응형 제어기의 전역 한도 변경")
+@StackTrace(false)
+public class FeedbackAdjustmentEvent extends jdk.jfr.Event {
+
+    @Label("Controller")
+    @Description("scale-out | adaptive")
+    public String controller;
+
+    @Label("Decision")
+    public String decision;
+
+    @Label("Health Score")
+    @Description("적응형 제어기는 NaN")
+    public double healthScore = Double.NaN;
+
+    @Label("Previous Limit")
+    public int previousLimit;
+
+    @Label("New Limit")
+    public int newLimit;
+
+    @Label("Floor")
+    public int floor;
+
+    @Label("Short RTT (us)")
+    public double shortRttMicros;
+
+    @Label("Long RTT (us)")
+    public double longRttMicros;
+}
@@ -0,0 +1,33 @@
+package com.jumunhasyeo.ratelimiter.metrics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * 요청/드레인 처리 단계 하나의 소요 시간
+ * <p>
+ * 기본 비활성이며 JFR 설정에서 ratelimiter.StageSpan을 켜야 기록됩니다.
+ */
+@Name("ratelimiter.StageSpan")
+@Label("Stage Span")
+@Category({"Rate Limiter", "Stage"})
+@Description("요청/드레인 처리 단계별 소요 시간")
+@Enabled(false)
+@StackTrace(false)
+public class StageSpanEvent extends jdk.jfr.Event {
+
+    @Label("Pipeline")
+    public String pipeline;
+
+    @Label("Stage")
+    public String stage;
+
+    @Label("Duration")
+    @Timespan(Timespan.NANOSECONDS)
+    public long durationNanos;
+}
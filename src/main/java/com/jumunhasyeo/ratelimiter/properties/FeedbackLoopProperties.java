@@ -1,33 +1,66 @@
 package com.jumunhasyeo.ratelimiter.properties;
 
+import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
 @Component
 @ConfigurationProperties(prefix = "feedback-loop")
 @Data
 public class FeedbackLoopProperties {
 
     private int intervalMs = 2000;
-    private LatencyThresholds latency = new LatencyThresholds();
-    private PoolThresholds pool = new PoolThresholds();
+    // order-service 지표 공급원 (prometheus: PromQL 조회 | scrape: actuator 직접 수집)
+    private String metricsSource = "prometheus";
+    private HealthParams health = new HealthParams();
     private AdjustmentParams adjustment = new AdjustmentParams();
     private ScaleOutParams scaleOut = new ScaleOutParams();
     private HistogramParams histogram = new HistogramParams();
+    private LeaderParams leader = new LeaderParams();
+    private AdaptiveParams adaptive = new AdaptiveParams();
+    private ScrapeParams scrape = new ScrapeParams();
 
     @Data
-    public static class LatencyThresholds {
-        private int p95Good = 500;
-        private int p95Bad = 1000;
-        private int p99Good = 1000;
-        private int p99Bad = 2000;
+    public static class HealthParams {
+        // 신호 원시값 EWMA 계수 (1이면 평활화 없음)
+        private double ewmaAlpha = 0.5;
+        private Map<String, SignalParams> signals = defaultSignals();
+
+        private static Map<String, SignalParams> defaultSignals() {
+            Map<String, SignalParams> signals = new LinkedHashMap<>();
+            signals.put("p95-latency", new SignalParams(true, 0.3, 500, 1000));
+            signals.put("p99-latency", new SignalParams(true, 0.4, 1000, 2000));
+            signals.put("pool-usage", new SignalParams(true, 0.3, 80, 95));
+            // 배포 환경에서 과부하를 잘 예측하는 신호만 켜서 사용
+            signals.put("error-rate", new SignalParams(false, 0.3, 1, 10));
+            signals.put("pg-429-rate", new SignalParams(false, 0.2, 1, 10));
+            signals.put("queue-growth", new SignalParams(false, 0.2, 0, 50));
+            signals.put("inflight", new SignalParams(false, 0.2, 100, 500));
+            // order-service가 보고한 지연 시간 (metrics-source 기준, ms)
+            signals.put("order-p95-latency", new SignalParams(false, 0.3, 500, 1000));
+            signals.put("order-p99-latency", new SignalParams(false, 0.4, 1000, 2000));
+            return signals;
+        }
     }
 
+    /**
+     * good 이하(또는 이상)이면 100점, bad 이상(또는 이하)이면 0점, 그 사이는 선형
+     */
     @Data
-    public static class PoolThresholds {
-        private int good = 80;
-        private int bad = 95;
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class SignalParams {
+        private boolean enabled = true;
+        private double weight;
+        private double good;
+        private double bad;
     }
 
     @Data
@@ -53,6 +86,39 @@ public class FeedbackLoopProperties {
     public static class HistogramParams {
         private int timeSliceDurationMs = 10000;
         private int maxSlices = 6;
-        private int[] bucketBoundaries = {5, 10, 25, 50, 100, 250, 500, 1000, 2500, 5000, 10000};
+        // 노드 로컬 히스토그램을 Redis에 반영하는 주기
+        private int flushIntervalMs = 1000;
+    }
+
+    @Data
+    public static class LeaderParams {
+        // 리더 리스 유지 시간 (intervalMs보다 충분히 길어야 리더가 유지됨)
+        private long leaseMs = 10000;
+    }
+
+    @Data
+    public static class AdaptiveParams {
+        // true이면 scale-out 구간 조정 대신 지연 시간 기울기 기반으로 한도를 상시 조정
+        private boolean enabled = false;
+        private int intervalMs = 1000;
+        // 한 주기에 이보다 적은 응답이 관측되면 한도 유지
+        private int minSamples = 10;
+        // 단기 지연이 장기 기준의 이 배수까지는 정상으로 간주
+        private double rttTolerance = 1.5;
+        private double minGradient = 0.5;
+        // 장기 기준 지연 시간 EWMA 윈도우 (주기 수)
+        private int longWindow = 600;
+        private double smoothing = 0.2;
+    }
+
+    @Data
+    public static class ScrapeParams {
+        // order-service 인스턴스별 actuator 엔드포인트 (예: http://order-1:8081/actuator/prometheus)
+        private List<String> targets = new ArrayList<>();
+        private int intervalMs = 1000;
+        // 지연 시간 백분위를 계산할 구간
+        private long windowMs = 10000;
+        private int connectTimeoutMs = 500;
+        private int readTimeoutMs = 1000;
     }
 }
@@ -0,0 +1,20 @@
+package com.jumunhasyeo.ratelimiter.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "backend.forward")
+@Data
+public class ForwardProperties {
+
+    // true이면 /check 통과 요청은 RateLimitResponse 대신 order-service 응답(상태/헤더/본문)을 그대로 스트리밍
+    private boolean streaming = false;
+
+    // 리버스 프록시(/api/v1/orders/**)에서 사용자 ID를 읽을 헤더
+    private String userIdHeader = "X-User-Id";
+
+    // 리버스 프록시에서 PG를 읽을 헤더 (없으면 경로 규칙의 provider 사용)
+    private String providerHeader = "X-Payment-Provider";
+}
@@ -0,0 +1,35 @@
+package com.jumunhasyeo.ratelimiter.properties;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 사용자(userId 또는 API key) → 경로 → 전역 계층형 처리율 제한 설정
+ * <p>
+ * 사용자/경로 단계는 GCRA TAT 키(rl:user:..., rl:route:...)로 관리되며,
+ * TAT가 지나면 만료되므로 유휴 사용자 키는 Redis에 남지 않습니다.
+ * 경로 단계 한도는 경로 규칙(ratelimit.route.rules)의 rate/burst를 사용합니다.
+ */
+@Component
+@ConfigurationProperties(prefix = "ratelimit.hierarchy")
+@Data
+public class HierarchicalLimitProperties {
+
+    private boolean enabled = true;
+
+    // 사용자 1명의 한도 (0 이하 rate이면 사용자 단계 생략, 기본값은 생략이며 경로 규칙 한도만 적용)
+    private TierLimit user = new TierLimit(0, 0);
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class TierLimit {
+        // 초당 허용량
+        private double rate;
+        // 유휴 상태에서 한 번에 허용하는 최대 요청 수
+        private long burst;
+    }
+}
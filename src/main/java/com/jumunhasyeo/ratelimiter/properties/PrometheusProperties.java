@@ -0,0 +1,27 @@
+package com.jumunhasyeo.ratelimiter.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "prometheus")
+@Data
+public class PrometheusProperties {
+
+    private String url;
+
+    // 피드백 루프 한 주기가 Prometheus 응답 지연에 묶이지 않도록 짧게 유지
+    private int connectTimeoutMs = 1000;
+    private int readTimeoutMs = 2000;
+
+    // 이 시간 안에 다시 요청하면 캐시된 값을 사용
+    private long cacheTtlMs = 1000;
+
+    // 조회 실패 시 이 시간 이내의 마지막 값까지는 대신 사용
+    private long maxStalenessMs = 30000;
+
+    // 연속 실패가 이 횟수에 도달하면 openMs 동안 조회하지 않음
+    private int failureThreshold = 3;
+    private long openMs = 30000;
+}
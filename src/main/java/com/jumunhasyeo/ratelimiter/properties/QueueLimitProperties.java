@@ -0,0 +1,32 @@
+package com.jumunhasyeo.ratelimiter.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "queue.limit")
+@Data
+public class QueueLimitProperties {
+
+    private ShedPolicy policy = ShedPolicy.REJECT;
+
+    // 0 이하이면 제한 없음
+    private long orderMaxDepth = 100000;
+    private long otherMaxDepth = 50000;
+
+    // 사용자 1명이 한 큐에 동시에 대기시킬 수 있는 최대 요청 수 (0 이하이면 제한 없음)
+    private long perUserMaxDepth = 100;
+
+    // QueueType별 재시도 큐 최대 길이 (0 이하이면 제한 없음), 초과분은 정책과 무관하게 거절
+    private long retryMaxDepth = 20000;
+
+    public enum ShedPolicy {
+        // 가득 찬 큐에 대한 신규 요청 거절 (503)
+        REJECT,
+        // 가장 오래된 항목을 버리고 신규 요청 수용
+        DROP_OLDEST,
+        // ORDER/OTHER가 전체 한도를 공유하고, 초과 시 OTHER의 최신 항목을 버려 ORDER 수용
+        PRIORITY
+    }
+}
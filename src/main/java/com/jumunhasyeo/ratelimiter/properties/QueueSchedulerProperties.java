@@ -0,0 +1,95 @@
+package com.jumunhasyeo.ratelimiter.properties;
+
+import com.jumunhasyeo.ratelimiter.service.global.GlobalQueueService.QueueType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Deficit Round-Robin 폴링 대상 큐 클래스 설정
+ * <p>
+ * 비어 있으면 queue.weight(order/other/retry-ratio)로 기본 4개 클래스
+ * (order_retry, order_normal, other_retry, other_normal)를 구성합니다.
+ * <p>
+ * 일반 큐 클래스에 match 조건(path/method/header)을 두면 우선순위 클래스가 되며,
+ * 설정 순서대로 처음 일치하는 클래스의 key로 대기열에 추가됩니다.
+ */
+@Component
+@ConfigurationProperties(prefix = "queue.scheduler")
+@Data
+public class QueueSchedulerProperties {
+
+    private List<QueueClass> classes = new ArrayList<>();
+
+    // aging: 클래스 가중치 x min(maxAgingBoost, 1 + agingPerSec x 맨 앞 항목 대기 시간(초))
+    private double agingPerSec = 0.2;
+    private double maxAgingBoost = 5.0;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class QueueClass {
+        // 폴링 결과의 queue 라벨 + DRR deficit 필드명
+        private String name;
+        // 전역 레인 논리 키 (queue:global:...), PG 레인은 queue:pg:... 로 변환
+        private String key;
+        // DRR 가중치 (대기 항목이 있는 클래스끼리의 상대 비율)
+        private double weight;
+        // true이면 재시도 큐 (ZSET, score = 재시도 가능 시각)
+        private boolean retry;
+        private QueueType queueType = QueueType.OTHER;
+        // 우선순위 클래스 매칭 조건 (null이면 매칭에 사용하지 않음)
+        private Match match;
+
+        public QueueClass(String name, String key, double weight, boolean retry, QueueType queueType) {
+            this(name, key, weight, retry, queueType, null);
+        }
+
+        public boolean matches(String method, String path, Map<String, String> headers) {
+            return !retry && match != null && match.matches(method, path, headers);
+        }
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Match {
+        private String pathPrefix;
+        private String method;
+        // "Header-Name" (존재 여부) 또는 "Header-Name=value"
+        private String header;
+
+        public boolean matches(String requestMethod, String path, Map<String, String> headers) {
+            if (pathPrefix == null && method == null && header == null) {
+                return false;
+            }
+            if (pathPrefix != null && (path == null || !path.startsWith(pathPrefix))) {
+                return false;
+            }
+            if (method != null && !method.equalsIgnoreCase(requestMethod)) {
+                return false;
+            }
+            return header == null || matchesHeader(headers);
+        }
+
+        private boolean matchesHeader(Map<String, String> headers) {
+            if (headers == null) {
+                return false;
+            }
+            int sep = header.indexOf('=');
+            String name = sep < 0 ? header : header.substring(0, sep);
+            for (Map.Entry<String, String> entry : headers.entrySet()) {
+                if (entry.getKey().equalsIgnoreCase(name)) {
+                    return sep < 0 || header.substring(sep + 1).equals(entry.getValue());
+                }
+            }
+            return false;
+        }
+    }
+}
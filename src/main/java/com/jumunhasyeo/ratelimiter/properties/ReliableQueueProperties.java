@@ -0,0 +1,24 @@
+package com.jumunhasyeo.ratelimiter.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+@Component
+@ConfigurationProperties(prefix = "queue.reliable")
+@Data
+public class ReliableQueueProperties {
+
+    // Lua 폴링(queue.use-lua-polling=true)에서만 in-flight receipt를 기록하므로 함께 켜야 함 (아니면 기동 실패)
+    private boolean enabled = false;
+
+    // 폴링 후 ack 되지 않으면 회수되기까지의 시간 (배치 전체 처리 시간보다 길어야 함)
+    private long visibilityTimeoutMs = 60000;
+
+    private int reclaimBatchSize = 100;
+
+    // 노드별 in-flight ZSET 식별자 (미설정 시 기동마다 새로 생성)
+    private String nodeId = UUID.randomUUID().toString();
+}
@@ -0,0 +1,70 @@
+package com.jumunhasyeo.ratelimiter.properties;
+
+import com.jumunhasyeo.ratelimiter.service.global.GlobalQueueService.QueueType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 경로별 처리율 제한 규칙 (기본값, Redis에 저장된 규칙이 있으면 그쪽이 우선)
+ * <p>
+ * 가장 긴 pathPrefix가 일치하는 규칙이 선택되며, 같은 prefix 안에서는
+ * 설정 순서대로 method가 일치하는(null이면 모두 일치) 첫 규칙을 사용합니다.
+ * 일치하는 규칙이 없으면 처리율 제한 없이 통과합니다.
+ */
+@Component
+@ConfigurationProperties(prefix = "ratelimit.route")
+@Data
+public class RouteRuleProperties {
+
+    private List<RouteRule> rules = new ArrayList<>(List.of(
+            new RouteRule("orders-bf-post", "/api/v1/orders/bf", "POST", QueueType.ORDER, "TOSS"),
+            new RouteRule("orders-bf", "/api/v1/orders/bf", null, QueueType.OTHER, "TOSS"),
+            new RouteRule("orders-post", "/api/v1/orders", "POST", QueueType.ORDER, null),
+            new RouteRule("orders", "/api/v1/orders", null, QueueType.OTHER, null)
+    ));
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RouteRule {
+        // 경로 단계 한도 키(rl:route:{name})와 로그에 사용
+        private String name;
+        private String pathPrefix;
+        // null이면 모든 method
+        private String method;
+        // false이면 처리율 제한 없이 통과
+        private boolean limited = true;
+        // 대기열 진입 시 QueueType (queueClass가 없을 때 기본 클래스 결정)
+        private QueueType queueType = QueueType.OTHER;
+        // queue.scheduler.classes의 클래스 이름 (선택)
+        private String queueClass;
+        // PG 처리율 제한 대상 provider (null이면 PG 검사 없음)
+        private String provider;
+        // 경로 단계 한도 (0 이하 rate이면 경로 단계 생략)
+        private double rate;
+        private long burst;
+
+        public RouteRule(String name, String pathPrefix, String method, QueueType queueType, String provider) {
+            this(name, pathPrefix, method, true, queueType, null, provider, 0, 0);
+        }
+
+        public boolean matchesMethod(String requestMethod) {
+            return method == null || method.equalsIgnoreCase(requestMethod);
+        }
+
+        public boolean hasRouteLimit() {
+            return rate > 0;
+        }
+
+        // 경로 단계 한도 키 식별자 (name이 없으면 pathPrefix)
+        public String limitKey() {
+            return name != null ? name : pathPrefix;
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.jumunhasyeo.ratelimiter.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "metrics.stage-timing")
+@Data
+public class StageTimingProperties {
+
+    // false이면 nanoTime 호출도 하지 않음
+    private boolean enabled = true;
+
+    // 단계별 타이머의 Prometheus 히스토그램 버킷 게시 여부
+    private boolean histogram = true;
+
+    // 단계별 JFR 이벤트 기록 여부 (기록 중인 JFR 설정에서도 이벤트가 켜져 있어야 함)
+    private boolean jfr = false;
+}
@@ -0,0 +1,22 @@
+package com.jumunhasyeo.ratelimiter.service.algorithm;
+
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * 키당 TAT 정수 하나만 유지하며, 허용 시 SET 1회 / 거절 시 쓰기 없음
+ */
+@Component
+public class GcraAlgorithm extends LuaRateLimitAlgorithm {
+
+    public static final String NAME = "gcra";
+
+    public GcraAlgorithm(StringRedisTemplate redisTemplate) {
+        super(redisTemplate, "gcra", "gcra");
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+}
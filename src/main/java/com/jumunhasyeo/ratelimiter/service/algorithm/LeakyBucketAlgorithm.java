@@ -0,0 +1,22 @@
+package com.jumunhasyeo.ratelimiter.service.algorithm;
+
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * float 수위(water_level)와 마지막 누수 시각을 HASH로 유지하는 기본 알고리즘
+ */
+@Component
+public class LeakyBucketAlgorithm extends LuaRateLimitAlgorithm {
+
+    public static final String NAME = "leaky";
+
+    public LeakyBucketAlgorithm(StringRedisTemplate redisTemplate) {
+        super(redisTemplate, "leaky", "leaky");
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+}
@@ -0,0 +1,31 @@
+package com.jumunhasyeo.ratelimiter.service.algorithm;
+
+import java.util.Map;
+
+/**
+ * 알고리즘별 스크립트 원문을 다른 스크립트 안의 함수 테이블로 끼워 넣는 도우미
+ * <p>
+ * 같은 계산식을 스크립트마다 복사하지 않도록, 템플릿의 표식 줄을
+ * {@code table['name'] = function(KEYS, ARGV) {원문} end}로 치환합니다.
+ */
+public final class LuaFunctionTables {
+
+    private LuaFunctionTables() {
+    }
+
+    /**
+     * @param template 표식 줄과 {@code local table = {}} 선언을 포함한 스크립트
+     * @param sources  알고리즘 이름 -> 스크립트 원문
+     * @throws IllegalStateException 템플릿에 표식이 없는 경우
+     */
+    public static String assemble(String template, String marker, String table, Map<String, String> sources) {
+        if (!template.contains(marker)) {
+            throw new IllegalStateException("script has no function table marker: " + marker);
+        }
+        StringBuilder functions = new StringBuilder();
+        sources.forEach((name, source) -> functions
+                .append(table).append("['").append(name).append("'] = function(KEYS, ARGV)\n")
+                .append(source.strip()).append("\nend\n"));
+        return template.replace(marker, functions.toString());
+    }
+}
@@ -0,0 +1,122 @@
+package com.jumunhasyeo.ratelimiter.service.algorithm;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * scripts/{scriptPrefix}_acquire.lua, _refund.lua, _level.lua 로 동작하는 알고리즘 공통 구현
+ */
+@Slf4j
+public abstract class LuaRateLimitAlgorithm implements RateLimitAlgorithm {
+
+    private final StringRedisTemplate redisTemplate;
+    private final String keyPrefix;
+    private final String scriptPrefix;
+
+    private RedisScript<Long> acquireScript;
+    private RedisScript<Long> refundScript;
+    private RedisScript<Long> levelScript;
+    private String levelSource;
+    private String acquireSource;
+
+    protected LuaRateLimitAlgorithm(StringRedisTemplate redisTemplate, String keyPrefix, String scriptPrefix) {
+        this.redisTemplate = redisTemplate;
+        this.keyPrefix = keyPrefix;
+        this.scriptPrefix = scriptPrefix;
+    }
+
+    @PostConstruct
+    public void init() throws IOException {
+        acquireSource = read("acquire");
+        acquireScript = RedisScript.of(acquireSource, Long.class);
+        refundScript = load("refund");
+        levelSource = read("level");
+        levelScript = RedisScript.of(levelSource, Long.class);
+        log.debug("{}: Lua script 파일 로드 완료", getName());
+    }
+
+    private RedisScript<Long> load(String operation) throws IOException {
+        return RedisScript.of(read(operation), Long.class);
+    }
+
+    private String read(String operation) throws IOException {
+        ClassPathResource resource = new ClassPathResource("scripts/" + scriptPrefix + "_" + operation + ".lua");
+        return resource.getContentAsString(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public String stateKey(String scope) {
+        return keyPrefix + ":" + scope;
+    }
+
+    @Override
+    public long acquire(String stateKey, BucketLimit limit, long requested, int ttlSeconds, QueueGuard guard) {
+        if (requested <= 0) return 0L;
+
+        List<String> keys = new ArrayList<>(1 + guard.queueKeys().size() + guard.retryKeys().size());
+        keys.add(stateKey);
+        keys.addAll(guard.queueKeys());
+        keys.addAll(guard.retryKeys());
+
+        Long result = redisTemplate.execute(
+                acquireScript,
+                keys,
+                String.valueOf(System.currentTimeMillis()),
+                String.valueOf(limit.rate()),
+                String.valueOf(limit.burst()),
+                String.valueOf(ttlSeconds),
+                String.valueOf(requested),
+                guard.isEnabled() ? "1" : "0",
+                guard.lengthCommand(),
+                String.valueOf(guard.retryKeys().size()),
+                guard.consumerGroup()
+        );
+        return result != null ? result : 0L;
+    }
+
+    @Override
+    public void refund(String stateKey, BucketLimit limit, long n, int ttlSeconds) {
+        if (n <= 0) return;
+
+        redisTemplate.execute(
+                refundScript,
+                Collections.singletonList(stateKey),
+                String.valueOf(System.currentTimeMillis()),
+                String.valueOf(limit.rate()),
+                String.valueOf(limit.burst()),
+                String.valueOf(ttlSeconds),
+                String.valueOf(n)
+        );
+    }
+
+    @Override
+    public long level(String stateKey, BucketLimit limit) {
+        Long result = redisTemplate.execute(
+                levelScript,
+                Collections.singletonList(stateKey),
+                String.valueOf(System.currentTimeMillis()),
+                String.valueOf(limit.rate()),
+                String.valueOf(limit.burst())
+        );
+        return result != null ? result : 0L;
+    }
+
+    @Override
+    public String levelScriptSource() {
+        return levelSource;
+    }
+
+    @Override
+    public String acquireScriptSource() {
+        return acquireSource;
+    }
+}
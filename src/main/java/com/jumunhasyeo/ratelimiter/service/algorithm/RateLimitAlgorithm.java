@@ -0,0 +1,82 @@
+package com.jumunhasyeo.ratelimiter.service.algorithm;
+
+import java.util.List;
+
+/**
+ * 처리율 제한 알고리즘 SPI
+ * <p>
+ * 모든 구현은 같은 호출 규약의 Lua 스크립트(acquire / refund / level)로 동작하며,
+ * 사용량은 leaky bucket 수위와 같은 단위(요청 수 * 1000)로 반환합니다.
+ */
+public interface RateLimitAlgorithm {
+
+    String getName();
+
+    /**
+     * 알고리즘별 상태 키 (예: leaky:global:bucket, gcra:pg:toss)
+     */
+    String stateKey(String scope);
+
+    /**
+     * @return 실제 소비된 토큰 수 (0 ~ requested), guard의 대기열에 항목이 있으면 -1
+     */
+    long acquire(String stateKey, BucketLimit limit, long requested, int ttlSeconds, QueueGuard guard);
+
+    default long acquire(String stateKey, BucketLimit limit, long requested, int ttlSeconds) {
+        return acquire(stateKey, limit, requested, ttlSeconds, QueueGuard.NONE);
+    }
+
+    void refund(String stateKey, BucketLimit limit, long n, int ttlSeconds);
+
+    /**
+     * @return 현재 사용량 * 1000
+     */
+    long level(String stateKey, BucketLimit limit);
+
+    /**
+     * level 스크립트 원문 (metrics_snapshot.lua가 알고리즘별 함수로 감싸 같은 계산식을 재사용)
+     */
+    String levelScriptSource();
+
+    /**
+     * acquire 스크립트 원문 (hierarchical_acquire.lua가 알고리즘별 함수로 감싸 전역 단계에 재사용)
+     */
+    String acquireScriptSource();
+
+    /**
+     * @param rate  초당 허용량 (leak / refill / emission rate)
+     * @param burst 유휴 상태에서 한 번에 허용하는 최대 요청 수 (버킷 용량)
+     */
+    record BucketLimit(double rate, long burst) {
+    }
+
+    /**
+     * 버킷 하나의 조회에 필요한 정보 (여러 버킷을 한 스크립트로 조회할 때 사용)
+     *
+     * @param algorithm 알고리즘 이름 (leaky | gcra | token)
+     * @param stateKey  {@link #stateKey(String)}로 만든 상태 키
+     */
+    record BucketRef(String algorithm, String stateKey, BucketLimit limit) {
+    }
+
+    /**
+     * 신규 요청 소비 전 대기열 존재 여부 검사 (대기 중인 요청 추월 방지)
+     *
+     * @param queueKeys     lengthCommand로 길이를 검사할 일반 큐 키
+     * @param retryKeys     ZCARD로 길이를 검사할 재시도 큐 키
+     * @param lengthCommand 일반 큐 길이 명령 (ZCARD | XLEN)
+     * @param consumerGroup XLEN일 때 대기 길이에서 제외할 PEL의 consumer group (없으면 빈 문자열)
+     */
+    record QueueGuard(List<String> queueKeys, List<String> retryKeys, String lengthCommand, String consumerGroup) {
+
+        public static final QueueGuard NONE = new QueueGuard(List.of(), List.of(), "ZCARD");
+
+        public QueueGuard(List<String> queueKeys, List<String> retryKeys, String lengthCommand) {
+            this(queueKeys, retryKeys, lengthCommand, "");
+        }
+
+        public boolean isEnabled() {
+            return !queueKeys.isEmpty() || !retryKeys.isEmpty();
+        }
+    }
+}
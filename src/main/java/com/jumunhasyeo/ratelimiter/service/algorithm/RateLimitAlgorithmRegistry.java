@@ -0,0 +1,42 @@
+package com.jumunhasyeo.ratelimiter.service.algorithm;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Component
+public class RateLimitAlgorithmRegistry {
+
+    private final Map<String, RateLimitAlgorithm> algorithmMap;
+
+    public RateLimitAlgorithmRegistry(List<RateLimitAlgorithm> algorithms) {
+        this.algorithmMap = algorithms.stream()
+                .collect(Collectors.toMap(
+                        RateLimitAlgorithm::getName,
+                        Function.identity()
+                ));
+    }
+
+    /**
+     * @param name 알고리즘 이름 (leaky | gcra | token, 대소문자 무관)
+     * @throws IllegalArgumentException 등록되지 않은 알고리즘인 경우
+     */
+    public RateLimitAlgorithm get(String name) {
+        RateLimitAlgorithm algorithm = algorithmMap.get(name.toLowerCase());
+        if (algorithm == null) {
+            throw new IllegalArgumentException("Unknown rate limit algorithm: " + name);
+        }
+        return algorithm;
+    }
+
+    /**
+     * 등록된 모든 알고리즘 (스크립트에 알고리즘별 함수를 끼워 넣을 때 사용)
+     */
+    public Collection<RateLimitAlgorithm> getAll() {
+        return algorithmMap.values();
+    }
+}
@@ -0,0 +1,22 @@
+package com.jumunhasyeo.ratelimiter.service.algorithm;
+
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * 충전 속도(rate)와 버스트 용량(burst)을 분리한 token bucket
+ */
+@Component
+public class TokenBucketAlgorithm extends LuaRateLimitAlgorithm {
+
+    public static final String NAME = "token";
+
+    public TokenBucketAlgorithm(StringRedisTemplate redisTemplate) {
+        super(redisTemplate, "token", "token_bucket");
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+}
@@ -0,0 +1,205 @@
+package com.jumunhasyeo.ratelimiter.service.forward;
+
+import com.jumunhasyeo.ratelimiter.domain.HttpRequestData;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.StreamingHttpOutputMessage;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.util.UriComponents;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Consumer;
+
+/**
+ * order-service로 요청을 전달하고 응답을 클라이언트에 그대로 스트리밍
+ * <p>
+ * 원본 URI의 경로와 쿼리를 order-service 기준 URL로 옮기고, 본문은 바이트 또는 스트림으로 전달합니다.
+ * 응답은 문자열로 버퍼링하지 않고 상태 코드/헤더/본문을 그대로 HttpServletResponse에 복사합니다.
+ * 4xx/5xx 응답도 예외 없이 그대로 전달합니다.
+ * /check 스트리밍 모드와 /api/v1/orders 리버스 프록시가 함께 사용합니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BackendForwarder {
+
+    // 연결 단위 헤더와 전달 과정에서 다시 계산되는 헤더는 복사하지 않음
+    private static final Set<String> HOP_BY_HOP_HEADERS = caseInsensitive(
+            "Connection", "Keep-Alive", "Proxy-Authenticate", "Proxy-Authorization", "TE", "Trailer",
+            "Transfer-Encoding", "Upgrade", "Host", "Content-Length");
+
+    private final RestClient orderServiceRestClient;
+
+    @Value("${backend.order-service.url}")
+    private String orderServiceUrl;
+
+    /**
+     * 원본 URI의 경로와 쿼리만 order-service 기준 URL 뒤에 붙입니다.
+     * 절대 URI(http://host/path)면 scheme/host를 버리고, '/'로 시작하지 않는 경로는 '/'를 붙여 해석합니다.
+     * 경로와 쿼리는 클라이언트가 보낸 인코딩 그대로 유지합니다.
+     *
+     * @param rawUri 클라이언트가 요청한 경로와 쿼리 (예: /api/v1/orders?page=1)
+     * @return order-service 절대 URI
+     * @throws IllegalArgumentException 인코딩되지 않은 문자가 포함된 경우
+     */
+    public URI targetUri(String rawUri) {
+        UriComponents parsed = UriComponentsBuilder.fromUriString(rawUri).build();
+        String path = parsed.getPath() != null ? parsed.getPath() : "";
+        return UriComponentsBuilder.fromUriString(orderServiceUrl)
+                .path(path.startsWith("/") ? path : "/" + path)
+                .query(parsed.getQuery())
+                .build(true)
+                .toUri();
+    }
+
+    /**
+     * /check 요청에 포함된 원본 요청을 전달하고 응답을 스트리밍합니다.
+     * @return order-service 응답 상태 코드
+     */
+    public int forward(HttpRequestData request, String accessToken, HttpServletResponse response) throws IOException {
+        Map<String, String> headers = request.getHeaders();
+        byte[] body = request.getBody() != null && !request.getBody().isEmpty()
+                ? request.getBody().getBytes(StandardCharsets.UTF_8)
+                : null;
+
+        return exchange(
+                HttpMethod.valueOf(request.getMethod()),
+                targetUri(request.getUri()),
+                target -> {
+                    if (headers != null) {
+                        headers.forEach((name, value) -> {
+                            if (!isHopByHop(name)) {
+                                target.set(name, value);
+                            }
+                        });
+                    }
+                    if (target.getContentType() == null) {
+                        target.setContentType(MediaType.APPLICATION_JSON);
+                    }
+                    if (accessToken != null) {
+                        target.setBearerAuth(accessToken);
+                    }
+                    if (body != null) {
+                        target.setContentLength(body.length);
+                    }
+                },
+                body != null ? outputStream -> outputStream.write(body) : null,
+                response
+        );
+    }
+
+    /**
+     * 리버스 프록시로 받은 요청을 전달합니다. 본문은 버퍼링하지 않고 요청 스트림에서 그대로 전송합니다.
+     * @param rawUri 원본 경로와 쿼리
+     * @return order-service 응답 상태 코드
+     */
+    public int proxy(HttpServletRequest request, String rawUri, HttpServletResponse response) throws IOException {
+        long contentLength = request.getContentLengthLong();
+        boolean hasBody = contentLength > 0 || request.getHeader(HttpHeaders.TRANSFER_ENCODING) != null;
+
+        return exchange(
+                HttpMethod.valueOf(request.getMethod()),
+                targetUri(rawUri),
+                target -> {
+                    Enumeration<String> names = request.getHeaderNames();
+                    while (names.hasMoreElements()) {
+                        String name = names.nextElement();
+                        if (!isHopByHop(name)) {
+                            target.addAll(name, Collections.list(request.getHeaders(name)));
+                        }
+                    }
+                    // 길이를 알면 고정 길이로, 모르면 chunked로 전송
+                    if (contentLength >= 0) {
+                        target.setContentLength(contentLength);
+                    }
+                },
+                hasBody ? outputStream -> request.getInputStream().transferTo(outputStream) : null,
+                response
+        );
+    }
+
+    /**
+     * 대기열에 넣는 경우에만 본문을 읽어 처리기가 재전송할 수 있는 형태로 변환합니다.
+     * Authorization은 QueueItem의 accessToken으로 전달하므로 헤더에서 제외합니다.
+     */
+    public HttpRequestData capture(HttpServletRequest request, String rawUri) throws IOException {
+        Map<String, String> headers = new LinkedHashMap<>();
+        Enumeration<String> names = request.getHeaderNames();
+        while (names.hasMoreElements()) {
+            String name = names.nextElement();
+            if (!isHopByHop(name) && !HttpHeaders.AUTHORIZATION.equalsIgnoreCase(name)) {
+                headers.put(name, request.getHeader(name));
+            }
+        }
+        String body = new String(request.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+        return new HttpRequestData(request.getMethod(), rawUri, headers, body);
+    }
+
+    public static boolean isHopByHop(String name) {
+        return HOP_BY_HOP_HEADERS.contains(name);
+    }
+
+    /**
+     * @param headers 전달할 요청 헤더 설정 (hop-by-hop 헤더는 호출 측에서 제외)
+     * @param body    요청 본문 (없으면 null)
+     */
+    int exchange(HttpMethod method, URI uri, Consumer<HttpHeaders> headers,
+                 StreamingHttpOutputMessage.Body body, HttpServletResponse response) throws IOException {
+        RestClient.RequestBodySpec requestSpec = orderServiceRestClient
+                .method(method)
+                .uri(uri)
+                .headers(headers);
+        if (body != null) {
+            requestSpec.body(body);
+        }
+
+        Integer status = requestSpec.exchange((clientRequest, backendResponse) -> {
+            int code = backendResponse.getStatusCode().value();
+            response.setStatus(code);
+            backendResponse.getHeaders().forEach((name, values) -> {
+                if (!isHopByHopResponseHeader(name)) {
+                    for (String value : values) {
+                        response.addHeader(name, value);
+                    }
+                }
+            });
+            try (InputStream in = backendResponse.getBody()) {
+                OutputStream out = response.getOutputStream();
+                in.transferTo(out);
+                out.flush();
+            }
+            return code;
+        });
+        return status != null ? status : 0;
+    }
+
+    // 응답은 Content-Length를 유지해 고정 길이로 전달
+    private static boolean isHopByHopResponseHeader(String name) {
+        return isHopByHop(name) && !HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name);
+    }
+
+    private static Set<String> caseInsensitive(String... names) {
+        Set<String> set = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+        set.addAll(List.of(names));
+        return set;
+    }
+}
@@ -0,0 +1,320 @@
+package com.jumunhasyeo.ratelimiter.service.global;
+
+import com.jumunhasyeo.ratelimiter.properties.FeedbackLoopProperties;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * order-service 인스턴스의 actuator Prometheus 엔드포인트를 직접 수집하는 지표 공급원
+ * <p>
+ * Prometheus의 scrape 주기와 rate([1m]) 윈도우를 거치지 않으므로 수 초 단위로 최신 지표를 얻습니다.
+ * 인스턴스별 누적 버킷의 증가분을 합산(재시작으로 값이 줄면 현재 값을 증가분으로 간주)하여
+ * 단조 증가하는 전체 누적값을 만들고, windowMs 전 샘플과의 차이로 histogram_quantile과 같은 방식의 백분위를 계산합니다.
+ * 커넥션 풀 사용률은 마지막 수집 값의 인스턴스 평균입니다.
+ * <p>
+ * 수집은 대상마다 블로킹 HTTP 호출이므로, 대기열 처리기 등과 공유하는 @Scheduled 스레드 대신 전용 스레드에서 실행합니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ActuatorScrapeCollector implements OrderServiceMetricsSource {
+
+    private static final String SOURCE_NAME = "scrape";
+
+    private static final int METRIC_BUCKET = 0;
+    private static final int METRIC_POOL_ACTIVE = 1;
+    private static final int METRIC_POOL_MAX = 2;
+
+    private static final byte[] LABEL_LE = "le".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] LABEL_URI = "uri".getBytes(StandardCharsets.US_ASCII);
+    // 수집 요청 자체가 지연 시간에 섞이지 않도록 제외
+    private static final byte[] ACTUATOR_URI_PREFIX = "/actuator".getBytes(StandardCharsets.US_ASCII);
+
+    private final RestClient orderServiceScrapeRestClient;
+    private final FeedbackLoopProperties properties;
+
+    private final ExpositionParser parser = new ExpositionParser(
+            "http_server_requests_seconds_bucket",
+            "hikaricp_connections_active",
+            "hikaricp_connections_max"
+    );
+
+    // 버킷 경계(le) 오름차순, 마지막은 +Inf
+    private double[] bounds = new double[0];
+    private final Map<String, double[]> lastBucketsByTarget = new HashMap<>();
+    private double[] monotonicTotals = new double[0];
+
+    // 이번 수집의 인스턴스 값
+    private double[] scrapeBuckets = new double[0];
+    private double scrapePoolActive;
+    private double scrapePoolMax;
+
+    // 윈도우 계산용 링 버퍼
+    private double[][] ring = new double[0][];
+    private long[] ringTimes = new long[0];
+    private int ringHead;
+    private int ringSize;
+
+    private volatile MetricsSnapshot latest = new MetricsSnapshot();
+    private volatile long latestAt;
+
+    private ScheduledExecutorService scrapeExecutor;
+
+    @Override
+    public String getName() {
+        return SOURCE_NAME;
+    }
+
+    @Override
+    public MetricsSnapshot collectOrderServiceMetrics() {
+        // 수집이 멈췄다면 오래된 값 대신 빈 스냅샷 (피드백 루프는 UNKNOWN으로 처리)
+        long staleMs = properties.getScrape().getIntervalMs() * 3L;
+        if (System.currentTimeMillis() - latestAt > staleMs) {
+            return new MetricsSnapshot();
+        }
+        return latest;
+    }
+
+    @PostConstruct
+    public void start() {
+        long intervalMs = Math.max(1, properties.getScrape().getIntervalMs());
+        scrapeExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "order-service-scrape");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scrapeExecutor.scheduleWithFixedDelay(this::scrapeSafely, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (scrapeExecutor != null) {
+            scrapeExecutor.shutdownNow();
+        }
+    }
+
+    // 예외가 나가면 scheduleWithFixedDelay가 이후 실행을 멈추므로 여기서 삼킴
+    private void scrapeSafely() {
+        try {
+            scrape();
+        } catch (Exception e) {
+            log.warn("order-service 지표 수집 오류", e);
+        }
+    }
+
+    public void scrape() {
+        if (!SOURCE_NAME.equalsIgnoreCase(properties.getMetricsSource())) {
+            return;
+        }
+        var scrapeParams = properties.getScrape();
+        if (scrapeParams.getTargets().isEmpty()) {
+            return;
+        }
+
+        int scraped = 0;
+        double poolUsageSum = 0;
+        int poolTargets = 0;
+
+        for (String target : scrapeParams.getTargets()) {
+            if (!scrapeTarget(target)) {
+                continue;
+            }
+            scraped++;
+            accumulate(target);
+            if (scrapePoolMax > 0) {
+                poolUsageSum += scrapePoolActive / scrapePoolMax * 100;
+                poolTargets++;
+            }
+        }
+
+        if (scraped == 0) {
+            log.warn("order-service 지표 수집 실패 - 모든 대상 응답 없음");
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        pushSample(now);
+
+        MetricsSnapshot snapshot = new MetricsSnapshot();
+        double[] window = windowDelta(now, scrapeParams.getWindowMs());
+        if (window != null) {
+            snapshot.setP95Latency(quantile(0.95, window));
+            snapshot.setP99Latency(quantile(0.99, window));
+        }
+        snapshot.setConnectionPoolUsage(poolTargets > 0 ? poolUsageSum / poolTargets : 0.0);
+
+        latest = snapshot;
+        latestAt = now;
+        log.debug("order-service 지표 수집: targets={}/{}, p95={}, p99={}, connPool={}",
+                scraped, scrapeParams.getTargets().size(),
+                snapshot.getP95Latency(), snapshot.getP99Latency(), snapshot.getConnectionPoolUsage());
+    }
+
+    private boolean scrapeTarget(String target) {
+        Arrays.fill(scrapeBuckets, 0.0);
+        scrapePoolActive = 0;
+        scrapePoolMax = 0;
+
+        try {
+            Boolean ok = orderServiceScrapeRestClient.get()
+                    .uri(target)
+                    .exchange((request, response) -> {
+                        if (!response.getStatusCode().is2xxSuccessful()) {
+                            return false;
+                        }
+                        parser.parse(response.getBody(), this::onSample);
+                        return true;
+                    });
+            return Boolean.TRUE.equals(ok);
+        } catch (Exception e) {
+            log.debug("order-service 지표 수집 실패 target={}: {}", target, e.getMessage());
+            return false;
+        }
+    }
+
+    private void onSample(int metricIndex, byte[] line, int labelStart, int labelEnd, double value) {
+        switch (metricIndex) {
+            case METRIC_BUCKET -> {
+                if (ExpositionParser.labelStartsWith(line, labelStart, labelEnd, LABEL_URI, ACTUATOR_URI_PREFIX)) {
+                    return;
+                }
+                double le = ExpositionParser.labelAsDouble(line, labelStart, labelEnd, LABEL_LE);
+                if (Double.isNaN(le)) {
+                    return;
+                }
+                // 같은 le의 여러 시리즈(uri/method/status별)를 합산
+                scrapeBuckets[boundIndex(le)] += value;
+            }
+            case METRIC_POOL_ACTIVE -> scrapePoolActive += value;
+            case METRIC_POOL_MAX -> scrapePoolMax += value;
+            default -> {
+            }
+        }
+    }
+
+    private int boundIndex(double le) {
+        int index = Arrays.binarySearch(bounds, le);
+        if (index >= 0) {
+            return index;
+        }
+        // 처음 보는 경계값: 배열을 늘리고 누적 상태를 초기화 (기동 직후에만 발생)
+        int insertAt = -index - 1;
+        bounds = insert(bounds, insertAt, le);
+        scrapeBuckets = insert(scrapeBuckets, insertAt, 0.0);
+        lastBucketsByTarget.clear();
+        monotonicTotals = new double[bounds.length];
+        ringSize = 0;
+        return insertAt;
+    }
+
+    private void accumulate(String target) {
+        double[] last = lastBucketsByTarget.get(target);
+        if (last == null || last.length != scrapeBuckets.length) {
+            // 첫 수집은 기준점으로만 사용
+            lastBucketsByTarget.put(target, scrapeBuckets.clone());
+            return;
+        }
+
+        boolean reset = false;
+        for (int i = 0; i < scrapeBuckets.length; i++) {
+            if (scrapeBuckets[i] < last[i]) {
+                reset = true;
+                break;
+            }
+        }
+        for (int i = 0; i < scrapeBuckets.length; i++) {
+            monotonicTotals[i] += reset ? scrapeBuckets[i] : scrapeBuckets[i] - last[i];
+        }
+        System.arraycopy(scrapeBuckets, 0, last, 0, scrapeBuckets.length);
+    }
+
+    private void pushSample(long now) {
+        var scrapeParams = properties.getScrape();
+        int capacity = (int) (scrapeParams.getWindowMs() / Math.max(1, scrapeParams.getIntervalMs())) + 2;
+        if (ring.length != capacity || (ring.length > 0 && ring[0].length != monotonicTotals.length)) {
+            ring = new double[capacity][monotonicTotals.length];
+            ringTimes = new long[capacity];
+            ringHead = 0;
+            ringSize = 0;
+        }
+
+        ringHead = (ringHead + 1) % capacity;
+        System.arraycopy(monotonicTotals, 0, ring[ringHead], 0, monotonicTotals.length);
+        ringTimes[ringHead] = now;
+        ringSize = Math.min(ringSize + 1, capacity);
+    }
+
+    /**
+     * 최신 샘플과 windowMs 이전(또는 가장 오래된) 샘플의 누적 버킷 차이
+     */
+    private double[] windowDelta(long now, long windowMs) {
+        if (ringSize < 2) {
+            return null;
+        }
+        int capacity = ring.length;
+        int oldest = ringHead;
+        for (int i = 1; i < ringSize; i++) {
+            int index = (ringHead - i + capacity) % capacity;
+            oldest = index;
+            if (now - ringTimes[index] >= windowMs) {
+                break;
+            }
+        }
+
+        double[] newest = ring[ringHead];
+        double[] base = ring[oldest];
+        double[] delta = new double[newest.length];
+        for (int i = 0; i < newest.length; i++) {
+            delta[i] = newest[i] - base[i];
+        }
+        return delta;
+    }
+
+    /**
+     * Prometheus histogram_quantile과 같은 방식 (버킷 내 선형 보간, +Inf 버킷이면 직전 경계)
+     * @return 초 단위 백분위, 데이터가 없으면 0
+     */
+    private double quantile(double q, double[] cumulative) {
+        int last = cumulative.length - 1;
+        if (last < 0 || cumulative[last] <= 0) {
+            return 0.0;
+        }
+
+        double rank = q * cumulative[last];
+        for (int i = 0; i <= last; i++) {
+            if (cumulative[i] >= rank) {
+                if (Double.isInfinite(bounds[i])) {
+                    return i > 0 ? bounds[i - 1] : 0.0;
+                }
+                double lower = i > 0 ? bounds[i - 1] : 0.0;
+                double lowerCount = i > 0 ? cumulative[i - 1] : 0.0;
+                double bucketCount = cumulative[i] - lowerCount;
+                if (bucketCount <= 0) {
+                    return bounds[i];
+                }
+                return lower + (bounds[i] - lower) * (rank - lowerCount) / bucketCount;
+            }
+        }
+        return bounds[last - 1 >= 0 ? last - 1 : 0];
+    }
+
+    private static double[] insert(double[] array, int index, double value) {
+        double[] result = new double[array.length + 1];
+        System.arraycopy(array, 0, result, 0, index);
+        result[index] = value;
+        System.arraycopy(array, index, result, index + 1, array.length - index);
+        return result;
+    }
+}
@@ -0,0 +1,184 @@
+package com.jumunhasyeo.ratelimiter.service.global;
+
+import com.jumunhasyeo.ratelimiter.metrics.jfr.FeedbackAdjustmentEvent;
+import com.jumunhasyeo.ratelimiter.properties.FeedbackLoopProperties;
+import com.jumunhasyeo.ratelimiter.properties.FeedbackLoopProperties.AdaptiveParams;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 지연 시간 기울기(gradient) 기반 적응형 전역 한도 제어기
+ * <p>
+ * 단기 평균 지연(이번 주기)과 장기 기준 지연(EWMA)의 비율로 한도를 조정합니다.
+ * <pre>
+ *   gradient = clamp(rttTolerance * longRtt / shortRtt, minGradient, 1.0)
+ *   newLimit = limit * gradient + sqrt(limit)
+ * </pre>
+ * 백엔드가 느려지면 gradient가 1보다 작아져 한도가 줄고, 정상이면 sqrt(limit)만큼 여유를 두고 늘어납니다.
+ * 한도를 다 쓰지 않는 상태(In-flight가 한도 대비 절반 미만이고 대기열이 비어 있음)에서는 늘리지 않습니다.
+ * <p>
+ * 리더 노드에서만 실행되며, 기준 지연과 마지막 누적값은 Redis에 저장하여 리더가 바뀌어도 이어집니다.
+ * Scale-out으로 피드백 루프가 활성화된 동안에는 활성화 시점의 한도를 하한으로 유지합니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AdaptiveLimitController {
+
+    private static final String STATE_KEY = "adaptive:limit:state";
+    private static final String FIELD_LAST_COUNT = "lastCount";
+    private static final String FIELD_LAST_SUM = "lastSumMicros";
+    private static final String FIELD_LONG_RTT = "longRttMicros";
+
+    private final BackendLoadTracker loadTracker;
+    private final GlobalRateLimiterService rateLimiterService;
+    private final GlobalQueueService queueService;
+    private final FeedbackLoopStateManager stateManager;
+    private final FeedbackLoopLeaderElector leaderElector;
+    private final FeedbackLoopProperties properties;
+    private final StringRedisTemplate redisTemplate;
+
+    @Scheduled(fixedDelayString = "${feedback-loop.adaptive.interval-ms:1000}")
+    public void adjust() {
+        AdaptiveParams params = properties.getAdaptive();
+        if (!params.isEnabled() || !leaderElector.isLeader()) {
+            return;
+        }
+
+        try {
+            BackendLoadTracker.ClusterLoad load = loadTracker.readClusterLoad();
+            List<Object> saved = redisTemplate.opsForHash()
+                    .multiGet(STATE_KEY, List.of(FIELD_LAST_COUNT, FIELD_LAST_SUM, FIELD_LONG_RTT));
+
+            Long lastCount = parseLong(saved.get(0));
+            Long lastSum = parseLong(saved.get(1));
+            Double savedLongRtt = parseDouble(saved.get(2));
+
+            redisTemplate.opsForHash().putAll(STATE_KEY, Map.of(
+                    FIELD_LAST_COUNT, String.valueOf(load.count()),
+                    FIELD_LAST_SUM, String.valueOf(load.sumMicros())));
+
+            // 첫 주기이거나 누적값이 초기화된 경우 기준점만 기록
+            if (lastCount == null || lastSum == null || load.count() < lastCount) {
+                return;
+            }
+
+            long deltaCount = load.count() - lastCount;
+            if (deltaCount < params.getMinSamples()) {
+                log.debug("적응형 한도 - 샘플 부족 ({}건), 한도 유지", deltaCount);
+                return;
+            }
+
+            double shortRtt = (double) (load.sumMicros() - lastSum) / deltaCount;
+            double longRtt = updateLongRtt(savedLongRtt, shortRtt, params);
+            redisTemplate.opsForHash().put(STATE_KEY, FIELD_LONG_RTT, String.valueOf(longRtt));
+
+            int current = rateLimiterService.getCurrentLimit();
+            int floor = stateManager.isActive() ? stateManager.getPreviousLimit() : 0;
+            int min = Math.max(properties.getAdjustment().getMinLimit(), floor);
+            int max = properties.getAdjustment().getMaxLimit();
+            Long queueSize = queueService.getTotalQueueSize();
+            boolean hasBacklog = (queueSize != null && queueSize > 0) || rateLimiterService.isTokenSaturated();
+
+            int newLimit = nextLimit(params, current, shortRtt, longRtt, load.inflight(), hasBacklog, min, max);
+
+            log.debug("적응형 한도 - shortRtt: {}us, longRtt: {}us, inflight: {}, backlog: {}, limit: {} -> {}",
+                    Math.round(shortRtt), Math.round(longRtt), load.inflight(), hasBacklog, current, newLimit);
+
+            if (newLimit != current) {
+                rateLimiterService.setLimitWithFloor(newLimit, min);
+
+                FeedbackAdjustmentEvent event = new FeedbackAdjustmentEvent();
+                if (event.shouldCommit()) {
+                    event.controller = "adaptive";
+                    event.decision = newLimit > current ? "increase" : "decrease";
+                    event.previousLimit = current;
+                    event.newLimit = newLimit;
+                    event.floor = min;
+                    event.shortRttMicros = shortRtt;
+                    event.longRttMicros = longRtt;
+                    event.commit();
+                }
+            }
+        } catch (Exception e) {
+            log.error("적응형 한도 조정 실패", e);
+        }
+    }
+
+    /**
+     * 다음 한도를 계산합니다.
+     *
+     * @param current    현재 한도 (req/s)
+     * @param shortRtt   이번 주기 평균 지연 (us)
+     * @param longRtt    장기 기준 지연 (us)
+     * @param inflight   클러스터 전체 In-flight 수
+     * @param hasBacklog 대기열이 있거나 버킷이 포화 상태인지 여부
+     */
+    static int nextLimit(AdaptiveParams params, int current, double shortRtt, double longRtt,
+                         int inflight, boolean hasBacklog, int min, int max) {
+        double gradient = shortRtt <= 0 ? 1.0 : Math.max(params.getMinGradient(),
+                Math.min(1.0, params.getRttTolerance() * longRtt / shortRtt));
+        double candidate = current * gradient + Math.sqrt(current);
+
+        // Little's law: 한도를 모두 사용할 때 예상 동시 요청 수 = 한도 × 지연(s)
+        double concurrencyAtLimit = current * shortRtt / 1_000_000.0;
+        boolean appLimited = !hasBacklog && inflight * 2 < concurrencyAtLimit;
+        if (appLimited && candidate > current) {
+            candidate = current;
+        }
+
+        double smoothed = current * (1 - params.getSmoothing()) + candidate * params.getSmoothing();
+
+        int next;
+        if (smoothed > current) {
+            next = Math.max(current + 1, (int) Math.round(smoothed));
+        } else if (smoothed < current) {
+            next = Math.min(current - 1, (int) Math.round(smoothed));
+        } else {
+            next = current;
+        }
+        return Math.max(min, Math.min(max, next));
+    }
+
+    private double updateLongRtt(Double savedLongRtt, double shortRtt, AdaptiveParams params) {
+        if (savedLongRtt == null || savedLongRtt <= 0) {
+            return shortRtt;
+        }
+        double alpha = 2.0 / (params.getLongWindow() + 1);
+        double longRtt = savedLongRtt + (shortRtt - savedLongRtt) * alpha;
+
+        // 지연이 크게 줄어든 뒤에는 기준값을 빠르게 따라 내려옴
+        if (longRtt / shortRtt > 2.0) {
+            longRtt *= 0.95;
+        }
+        return longRtt;
+    }
+
+    private Long parseLong(Object value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Long.parseLong(value.toString());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private Double parseDouble(Object value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Double.parseDouble(value.toString());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package com.jumunhasyeo.ratelimiter.service.global;
+
+import com.jumunhasyeo.ratelimiter.properties.FeedbackLoopProperties;
+import com.jumunhasyeo.ratelimiter.properties.FeedbackLoopProperties.SignalParams;
+import com.jumunhasyeo.ratelimiter.properties.ReliableQueueProperties;
+import com.jumunhasyeo.ratelimiter.service.global.health.HealthSignal;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * order-service로 전달 중인 요청 수와 응답 지연 시간을 추적
+ * <p>
+ * 요청 경로에서는 로컬 카운터만 갱신하고, 주기적으로 Redis에 누적하여
+ * 리더의 적응형 한도 제어기가 클러스터 전체 부하를 읽을 수 있게 합니다.
+ * 적응형 한도와 부하 기반 건강도 신호가 모두 꺼져 있으면 Redis에 반영하지 않습니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BackendLoadTracker {
+
+    private static final String LOAD_KEY = "adaptive:backend:load";
+    private static final String INFLIGHT_FIELD_PREFIX = "inflight:";
+
+    private final StringRedisTemplate redisTemplate;
+    private final FeedbackLoopProperties properties;
+    private final ReliableQueueProperties reliableProperties;
+    private final List<HealthSignal> healthSignals;
+
+    @Value("classpath:scripts/backend_load_flush.lua")
+    private Resource flushScriptResource;
+
+    private RedisScript<Long> flushScript;
+
+    private final AtomicInteger inflight = new AtomicInteger(0);
+    private final LongAdder completedCount = new LongAdder();
+    private final LongAdder latencySumMicros = new LongAdder();
+    private final LongAdder errorCount = new LongAdder();
+    private final LongAdder throttledCount = new LongAdder();
+
+    @PostConstruct
+    public void init() throws IOException {
+        flushScript = RedisScript.of(
+                flushScriptResource.getContentAsString(StandardCharsets.UTF_8), Long.class);
+    }
+
+    /**
+     * 백엔드 호출 직전에 호출합니다.
+     * @return end()에 전달할 시작 시각 (nanoTime)
+     */
+    public long begin() {
+        inflight.incrementAndGet();
+        return System.nanoTime();
+    }
+
+    /**
+     * 백엔드 호출이 끝나면 성공/실패와 관계없이 호출합니다.
+     * @param status 백엔드 응답 상태 코드 (응답을 받지 못한 경우 0)
+     */
+    public void end(long startNanos, int status) {
+        inflight.decrementAndGet();
+        completedCount.increment();
+        latencySumMicros.add(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startNanos));
+        if (status == 429) {
+            throttledCount.increment();
+        } else if (status == 0 || status >= 500) {
+            errorCount.increment();
+        }
+    }
+
+    public int getLocalInflight() {
+        return inflight.get();
+    }
+
+    @Scheduled(fixedDelayString = "${feedback-loop.adaptive.interval-ms:1000}")
+    public void flush() {
+        long count = completedCount.sumThenReset();
+        long sum = latencySumMicros.sumThenReset();
+        long errors = errorCount.sumThenReset();
+        long throttled = throttledCount.sumThenReset();
+
+        // 읽는 쪽이 없으면 EVAL 생략 (나중에 켜져도 이전 샘플이 한꺼번에 반영되지 않도록 버림)
+        if (!isLoadConsumed()) {
+            return;
+        }
+
+        try {
+            long now = System.currentTimeMillis();
+            redisTemplate.execute(
+                    flushScript,
+                    Collections.singletonList(LOAD_KEY),
+                    reliableProperties.getNodeId(),
+                    String.valueOf(inflight.get()),
+                    String.valueOf(count),
+                    String.valueOf(sum),
+                    String.valueOf(now),
+                    String.valueOf(staleMs()),
+                    String.valueOf(errors),
+                    String.valueOf(throttled)
+            );
+        } catch (Exception e) {
+            // 반영하지 못한 샘플은 다음 주기에 다시 시도
+            completedCount.add(count);
+            latencySumMicros.add(sum);
+            errorCount.add(errors);
+            throttledCount.add(throttled);
+            log.warn("백엔드 부하 샘플 반영 실패: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 클러스터 전체의 누적 응답 수/지연 시간 합계와 현재 In-flight 합계를 조회합니다.
+     */
+    public ClusterLoad readClusterLoad() {
+        Map<Object, Object> entries = redisTemplate.opsForHash().entries(LOAD_KEY);
+
+        long now = System.currentTimeMillis();
+        long staleMs = staleMs();
+        long count = 0;
+        long sumMicros = 0;
+        long errors = 0;
+        long throttled = 0;
+        int totalInflight = 0;
+
+        for (Map.Entry<Object, Object> entry : entries.entrySet()) {
+            String field = entry.getKey().toString();
+            String value = entry.getValue().toString();
+
+            if ("count".equals(field)) {
+                count = Long.parseLong(value);
+            } else if ("sumMicros".equals(field)) {
+                sumMicros = Long.parseLong(value);
+            } else if ("errors".equals(field)) {
+                errors = Long.parseLong(value);
+            } else if ("throttled".equals(field)) {
+                throttled = Long.parseLong(value);
+            } else if (field.startsWith(INFLIGHT_FIELD_PREFIX)) {
+                int sep = value.indexOf(':');
+                if (sep < 0) {
+                    continue;
+                }
+                long updatedAt = Long.parseLong(value.substring(sep + 1));
+                if (now - updatedAt <= staleMs) {
+                    totalInflight += Integer.parseInt(value.substring(0, sep));
+                }
+            }
+        }
+
+        return new ClusterLoad(count, sumMicros, errors, throttled, totalInflight);
+    }
+
+    private boolean isLoadConsumed() {
+        if (properties.getAdaptive().isEnabled()) {
+            return true;
+        }
+        Map<String, SignalParams> params = properties.getHealth().getSignals();
+        for (HealthSignal signal : healthSignals) {
+            SignalParams signalParams = params.get(signal.getName());
+            if (signal.usesBackendLoad() && signalParams != null
+                    && signalParams.isEnabled() && signalParams.getWeight() > 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private long staleMs() {
+        return properties.getAdaptive().getIntervalMs() * 3L;
+    }
+
+    /**
+     * @param count     전체 노드 누적 응답 건수
+     * @param sumMicros 전체 노드 누적 지연 시간 합계 (us)
+     * @param errors    전체 노드 누적 오류 응답 건수 (5xx, 연결 실패)
+     * @param throttled 전체 노드 누적 429 응답 건수
+     * @param inflight  최근 보고된 노드별 In-flight 합계
+     */
+    public record ClusterLoad(long count, long sumMicros, long errors, long throttled, int inflight) {
+    }
+}
@@ -0,0 +1,210 @@
+package com.jumunhasyeo.ratelimiter.service.global;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Prometheus 텍스트 exposition 형식 스트리밍 파서
+ * <p>
+ * 응답 본문을 줄 단위로 재사용 버퍼에 읽고, 관심 있는 메트릭 이름으로 시작하는 줄만 처리합니다.
+ * 그 외 줄은 바이트 비교만 하므로 객체를 생성하지 않습니다. 인스턴스는 스레드 안전하지 않습니다.
+ */
+final class ExpositionParser {
+
+    /**
+     * @param metricIndex 생성자에 전달한 메트릭 이름 순서
+     * @param line        현재 줄 버퍼 (콜백 안에서만 유효)
+     * @param labelStart  '{' 다음 위치 (라벨이 없으면 labelEnd와 같음)
+     * @param labelEnd    '}' 위치
+     */
+    interface SampleHandler {
+        void onSample(int metricIndex, byte[] line, int labelStart, int labelEnd, double value);
+    }
+
+    private static final int CHUNK_SIZE = 8192;
+
+    private final byte[][] metricNames;
+    private final byte[] chunk = new byte[CHUNK_SIZE];
+    private byte[] line = new byte[512];
+
+    ExpositionParser(String... metricNames) {
+        this.metricNames = new byte[metricNames.length][];
+        for (int i = 0; i < metricNames.length; i++) {
+            this.metricNames[i] = metricNames[i].getBytes(StandardCharsets.US_ASCII);
+        }
+    }
+
+    void parse(InputStream in, SampleHandler handler) throws IOException {
+        int length = 0;
+        int read;
+        while ((read = in.read(chunk)) > 0) {
+            for (int i = 0; i < read; i++) {
+                byte b = chunk[i];
+                if (b == '\n') {
+                    parseLine(length, handler);
+                    length = 0;
+                    continue;
+                }
+                if (length == line.length) {
+                    byte[] grown = new byte[line.length * 2];
+                    System.arraycopy(line, 0, grown, 0, length);
+                    line = grown;
+                }
+                line[length++] = b;
+            }
+        }
+        if (length > 0) {
+            parseLine(length, handler);
+        }
+    }
+
+    private void parseLine(int length, SampleHandler handler) {
+        if (length == 0 || line[0] == '#') {
+            return;
+        }
+
+        int metricIndex = matchMetric(length);
+        if (metricIndex < 0) {
+            return;
+        }
+
+        int pos = metricNames[metricIndex].length;
+        int labelStart = pos;
+        int labelEnd = pos;
+        if (line[pos] == '{') {
+            labelStart = pos + 1;
+            labelEnd = findLabelEnd(labelStart, length);
+            if (labelEnd < 0) {
+                return;
+            }
+            pos = labelEnd + 1;
+        }
+
+        while (pos < length && line[pos] == ' ') {
+            pos++;
+        }
+        int valueStart = pos;
+        while (pos < length && line[pos] != ' ' && line[pos] != '\r') {
+            pos++;
+        }
+        if (valueStart == pos) {
+            return;
+        }
+
+        handler.onSample(metricIndex, line, labelStart, labelEnd, parseDouble(line, valueStart, pos));
+    }
+
+    private int matchMetric(int length) {
+        for (int m = 0; m < metricNames.length; m++) {
+            byte[] name = metricNames[m];
+            if (length <= name.length) {
+                continue;
+            }
+            byte next = line[name.length];
+            if ((next == '{' || next == ' ') && regionEquals(line, 0, name)) {
+                return m;
+            }
+        }
+        return -1;
+    }
+
+    // 따옴표 안의 '}'는 무시
+    private int findLabelEnd(int start, int length) {
+        boolean quoted = false;
+        for (int i = start; i < length; i++) {
+            byte b = line[i];
+            if (quoted) {
+                if (b == '\\') {
+                    i++;
+                } else if (b == '"') {
+                    quoted = false;
+                }
+            } else if (b == '"') {
+                quoted = true;
+            } else if (b == '}') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 라벨 값의 위치를 찾습니다.
+     * @return (값 시작 << 32) | 값 끝, 라벨이 없으면 -1
+     */
+    static long findLabel(byte[] line, int labelStart, int labelEnd, byte[] labelName) {
+        int pos = labelStart;
+        while (pos < labelEnd) {
+            while (pos < labelEnd && (line[pos] == ',' || line[pos] == ' ')) {
+                pos++;
+            }
+            int nameStart = pos;
+            while (pos < labelEnd && line[pos] != '=') {
+                pos++;
+            }
+            int nameEnd = pos;
+            // ="
+            pos += 2;
+            int valueStart = pos;
+            while (pos < labelEnd && line[pos] != '"') {
+                if (line[pos] == '\\') {
+                    pos++;
+                }
+                pos++;
+            }
+            int valueEnd = Math.min(pos, labelEnd);
+            pos++;
+
+            if (nameEnd - nameStart == labelName.length && regionEquals(line, nameStart, labelName)) {
+                return ((long) valueStart << 32) | valueEnd;
+            }
+        }
+        return -1;
+    }
+
+    static double labelAsDouble(byte[] line, int labelStart, int labelEnd, byte[] labelName) {
+        long range = findLabel(line, labelStart, labelEnd, labelName);
+        if (range < 0) {
+            return Double.NaN;
+        }
+        return parseDouble(line, (int) (range >>> 32), (int) range);
+    }
+
+    static boolean labelStartsWith(byte[] line, int labelStart, int labelEnd, byte[] labelName, byte[] prefix) {
+        long range = findLabel(line, labelStart, labelEnd, labelName);
+        if (range < 0) {
+            return false;
+        }
+        int valueStart = (int) (range >>> 32);
+        int valueEnd = (int) range;
+        return valueEnd - valueStart >= prefix.length && regionEquals(line, valueStart, prefix);
+    }
+
+    static double parseDouble(byte[] buf, int start, int end) {
+        int length = end - start;
+        if (length == 4 && buf[start] == '+' && buf[start + 1] == 'I') {
+            return Double.POSITIVE_INFINITY;
+        }
+        if (length == 4 && buf[start] == '-' && buf[start + 1] == 'I') {
+            return Double.NEGATIVE_INFINITY;
+        }
+        if (length == 3 && buf[start] == 'N') {
+            return Double.NaN;
+        }
+        try {
+            return Double.parseDouble(new String(buf, start, length, StandardCharsets.US_ASCII));
+        } catch (NumberFormatException e) {
+            return Double.NaN;
+        }
+    }
+
+    private static boolean regionEquals(byte[] buf, int offset, byte[] expected) {
+        for (int i = 0; i < expected.length; i++) {
+            if (buf[offset + i] != expected[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,102 @@
+package com.jumunhasyeo.ratelimiter.service.global;
+
+import com.jumunhasyeo.ratelimiter.properties.FeedbackLoopProperties;
+import com.jumunhasyeo.ratelimiter.properties.ReliableQueueProperties;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+
+/**
+ * 피드백 루프를 한 노드에서만 실행하기 위한 Redis 리스 기반 리더 선출
+ * <p>
+ * 리더는 매 주기마다 리스를 연장하고, 리더가 종료되거나 멈추면 leaseMs 후 다른 노드가 이어받습니다.
+ * 노드 식별자는 queue.reliable.node-id를 공유합니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class FeedbackLoopLeaderElector {
+
+    private static final String LEADER_KEY = "feedback:loop:leader";
+
+    private final StringRedisTemplate redisTemplate;
+    private final FeedbackLoopProperties properties;
+    private final ReliableQueueProperties reliableProperties;
+
+    @Value("classpath:scripts/leader_acquire.lua")
+    private Resource acquireScriptResource;
+
+    @Value("classpath:scripts/leader_release.lua")
+    private Resource releaseScriptResource;
+
+    private RedisScript<Long> acquireScript;
+    private RedisScript<Long> releaseScript;
+
+    private volatile boolean leader = false;
+
+    @PostConstruct
+    public void init() throws IOException {
+        acquireScript = RedisScript.of(
+                acquireScriptResource.getContentAsString(StandardCharsets.UTF_8), Long.class);
+        releaseScript = RedisScript.of(
+                releaseScriptResource.getContentAsString(StandardCharsets.UTF_8), Long.class);
+    }
+
+    /**
+     * 리스를 획득하거나 연장합니다. Redis 오류 시에는 리더가 아닌 것으로 간주합니다.
+     * @return 이 노드가 리더인지 여부
+     */
+    public boolean tryAcquireOrRenew() {
+        boolean acquired;
+        try {
+            Long result = redisTemplate.execute(
+                    acquireScript,
+                    Collections.singletonList(LEADER_KEY),
+                    reliableProperties.getNodeId(),
+                    String.valueOf(properties.getLeader().getLeaseMs())
+            );
+            acquired = result != null && result == 1L;
+        } catch (Exception e) {
+            log.warn("피드백 루프 리더 리스 갱신 실패: {}", e.getMessage());
+            acquired = false;
+        }
+
+        if (acquired != leader) {
+            log.info("피드백 루프 리더 {} nodeId={}", acquired ? "획득" : "상실", reliableProperties.getNodeId());
+        }
+        leader = acquired;
+        return acquired;
+    }
+
+    public boolean isLeader() {
+        return leader;
+    }
+
+    public String getLeaderNodeId() {
+        return redisTemplate.opsForValue().get(LEADER_KEY);
+    }
+
+    @PreDestroy
+    public void release() {
+        if (!leader) {
+            return;
+        }
+        try {
+            redisTemplate.execute(releaseScript, Collections.singletonList(LEADER_KEY), reliableProperties.getNodeId());
+            leader = false;
+            log.debug("피드백 루프 리더 리스 반납");
+        } catch (Exception e) {
+            log.warn("피드백 루프 리더 리스 반납 실패: {}", e.getMessage());
+        }
+    }
+}
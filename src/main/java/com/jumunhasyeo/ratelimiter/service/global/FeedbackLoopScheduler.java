@@ -1,120 +1,109 @@
 package com.jumunhasyeo.ratelimiter.service.global;
 
+import com.jumunhasyeo.ratelimiter.metrics.jfr.FeedbackAdjustmentEvent;
 import com.jumunhasyeo.ratelimiter.properties.FeedbackLoopProperties;
-import lombok.AllArgsConstructor;
-import lombok.Data;
+import com.jumunhasyeo.ratelimiter.service.global.health.HealthEvaluation;
+import com.jumunhasyeo.ratelimiter.service.global.health.HealthSignalPipeline;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
-import java.time.LocalDateTime;
-import java.util.concurrent.atomic.AtomicInteger;
-
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class FeedbackLoopScheduler {
 
-    private final PrometheusMetricsCollector prometheusCollector;
-    private final RedisLatencyHistogramService histogramService;
+    private final HealthSignalPipeline healthPipeline;
     private final GlobalRateLimiterService rateLimiterService;
-    private final GlobalQueueService queueService;
     private final FeedbackLoopProperties properties;
     private final FeedbackLoopStateManager stateManager;
+    private final FeedbackLoopLeaderElector leaderElector;
 
-    private final AtomicInteger consecutiveHealthyCount = new AtomicInteger(0);
-    private final AtomicInteger consecutiveUnhealthyCount = new AtomicInteger(0);
-
+    /**
+     * 리더 노드에서만 한도를 조정합니다. 조정 결과는 Redis의 공유 한도(GlobalLimitStore)에 기록되어
+     * 팔로워 노드는 구독으로 읽기만 하므로, 노드 수와 무관하게 한 번씩만 증감됩니다.
+     */
     @Scheduled(fixedDelayString = "${feedback-loop.interval-ms:2000}")
     public void feedbackLoop() {
+        if (!leaderElector.tryAcquireOrRenew()) {
+            return;
+        }
+
+        // 활성화/비활성화는 다른 노드의 scale 이벤트로 일어날 수 있음
+        stateManager.syncFromRedis();
         if (!stateManager.isActive()) {
             return;
         }
 
+        // 적응형 제어기가 한도를 조정하는 동안에는 활성화 시점 한도(floor)만 제공
+        if (properties.getAdaptive().isEnabled()) {
+            return;
+        }
+
         try {
-            MetricsSnapshot metrics = collectMetrics();
-            Long queueSize = queueService.getTotalQueueSize();
-
-            log.debug("Feedback Loop - P95: {}ms, P99: {}ms, Queue: {}, Current: {}, Previous(floor): {}, Target: {}",
-                    String.format("%.1f", metrics.getP95Latency()),
-                    String.format("%.1f", metrics.getP99Latency()),
-                    queueSize,
-                    rateLimiterService.getCurrentLimit(),
-                    stateManager.getPreviousLimit(),
-                    stateManager.getTargetLimit());
-
-            evaluateAndAdjustScaleOut(metrics, queueSize);
+            HealthEvaluation health = healthPipeline.evaluate();
+            var latency = health.context().latency();
+
+            if (log.isDebugEnabled()) {
+                log.debug("Feedback Loop - P95: {}ms, P99: {}ms, Queue: {}, Current: {}, Previous(floor): {}, Target: {}",
+                        round1(latency.p95()),
+                        round1(latency.p99()),
+                        health.context().queueSize(),
+                        rateLimiterService.getCurrentLimit(),
+                        stateManager.getPreviousLimit(),
+                        stateManager.getTargetLimit());
+            }
+
+            evaluateAndAdjustScaleOut(health);
         } catch (Exception e) {
             log.error("Feedback Loop Metrics 수집 실패", e);
         }
     }
 
-    private MetricsSnapshot collectMetrics() {
-        double p95 = histogramService.getP95Latency();
-        double p99 = histogramService.getP99Latency();
-
-        PrometheusMetricsCollector.MetricsSnapshot promMetrics = prometheusCollector.collectOrderServiceMetrics();
-        double connPool = promMetrics.getConnectionPoolUsage();
-
-        MetricsSnapshot snapshot = new MetricsSnapshot();
-        snapshot.setP95Latency(p95);
-        snapshot.setP99Latency(p99);
-        snapshot.setConnectionPoolUsage(connPool);
-        return snapshot;
-    }
-
-    private void evaluateAndAdjustScaleOut(MetricsSnapshot metrics, Long queueSize) {
-        double p95Ms = metrics.getP95Latency();
-        double p99Ms = metrics.getP99Latency();
-        double connPool = metrics.getConnectionPoolUsage();
-
-        SystemHealthScore healthScore = calculateHealthScore(p95Ms, p99Ms, connPool);
-
-        log.debug("Health Score: {}/100 ({})",
-                String.format("%.1f", healthScore.getScore()),
-                healthScore.getLevel());
+    private void evaluateAndAdjustScaleOut(HealthEvaluation health) {
+        if (log.isDebugEnabled()) {
+            log.debug("Health Score: {}/100 ({}) {}", round1(health.score()), health.level(), health.signalScores());
+        }
 
         int currentLimit = rateLimiterService.getCurrentLimit();
         int previousLimit = stateManager.getPreviousLimit();
         var scaleOutParams = properties.getScaleOut();
 
-        if (healthScore.getScore() < 0) {
+        if (health.isUnknown()) {
             handleUnknown();
             return;
         }
 
-        if (healthScore.getScore() < 50) {
-            handleUnhealthyScaleOut(currentLimit, previousLimit, scaleOutParams, healthScore);
+        if (health.score() < 50) {
+            handleUnhealthyScaleOut(currentLimit, previousLimit, scaleOutParams, health);
             return;
         }
 
-        if (healthScore.getScore() >= 80) {
-            handleHealthyScaleOut(currentLimit, previousLimit, queueSize, scaleOutParams);
+        if (health.score() >= 80) {
+            handleHealthyScaleOut(currentLimit, previousLimit, health, scaleOutParams);
             return;
         }
 
-        log.debug("보통 상태 ({}) - 현재 유지 {}",
-                String.format("%.1f", healthScore.getScore()), currentLimit);
-        consecutiveHealthyCount.set(0);
-        consecutiveUnhealthyCount.set(0);
+        if (log.isDebugEnabled()) {
+            log.debug("보통 상태 ({}) - 현재 유지 {}", round1(health.score()), currentLimit);
+        }
+        stateManager.resetConsecutiveCounts();
     }
 
     private void handleUnhealthyScaleOut(int currentLimit, int previousLimit,
                                          FeedbackLoopProperties.ScaleOutParams params,
-                                         SystemHealthScore healthScore) {
-        int unhealthyCount = consecutiveUnhealthyCount.incrementAndGet();
-        consecutiveHealthyCount.set(0);
+                                         HealthEvaluation health) {
+        int unhealthyCount = stateManager.recordUnhealthy();
 
-        log.warn("UNHEALTHY - Score: {}/100, 연속 횟수: {}",
-                String.format("%.1f", healthScore.getScore()), unhealthyCount);
+        log.warn("UNHEALTHY - Score: {}/100, 연속 횟수: {}", round1(health.score()), unhealthyCount);
 
         if (unhealthyCount >= params.getConsecutiveUnhealthyRequired()) {
             int distanceToFloor = currentLimit - previousLimit;
 
             if (distanceToFloor <= 0) {
                 log.debug("이미 Floor Limit에 도달: {}", previousLimit);
-                consecutiveUnhealthyCount.set(0);
+                stateManager.resetUnhealthyCount();
                 return;
             }
 
@@ -126,7 +115,8 @@ public class FeedbackLoopScheduler {
 
             if (actualDecrease > 0) {
                 rateLimiterService.decreaseLimit(actualDecrease);
-                consecutiveUnhealthyCount.set(0);
+                stateManager.resetUnhealthyCount();
+                commitAdjustment("decrease", health.score(), currentLimit, newLimit, previousLimit);
 
                 log.warn("SCALE-OUT UNHEALTHY: {} -> {} (-{}) [floor={}]",
                         currentLimit, newLimit, actualDecrease, previousLimit);
@@ -137,10 +127,10 @@ public class FeedbackLoopScheduler {
     }
 
     private void handleHealthyScaleOut(int currentLimit, int previousLimit,
-                                       Long queueSize,
+                                       HealthEvaluation health,
                                        FeedbackLoopProperties.ScaleOutParams params) {
-        int healthyCount = consecutiveHealthyCount.incrementAndGet();
-        consecutiveUnhealthyCount.set(0);
+        long queueSize = health.context().queueSize();
+        int healthyCount = stateManager.recordHealthy();
 
         boolean saturated = rateLimiterService.isTokenSaturated();
         boolean hasDemand = queueSize > 0 || saturated;
@@ -168,7 +158,8 @@ public class FeedbackLoopScheduler {
                 );
 
                 rateLimiterService.increaseLimit(increase);
-                consecutiveHealthyCount.set(0);
+                stateManager.resetHealthyCount();
+                commitAdjustment("increase", health.score(), currentLimit, currentLimit + increase, previousLimit);
 
                 log.debug("SCALE-OUT HEALTHY: {} -> {} (+{}) [target={}, floor={}]",
                         currentLimit, currentLimit + increase, increase,
@@ -180,68 +171,25 @@ public class FeedbackLoopScheduler {
     private void handleUnknown() {
         log.debug("UNKNOWN 상태 - Limit 유지: {}",
                 rateLimiterService.getCurrentLimit());
-        consecutiveHealthyCount.set(0);
-        consecutiveUnhealthyCount.set(0);
-    }
-
-    private SystemHealthScore calculateHealthScore(double p95Ms, double p99Ms, double connPool) {
-        var latency = properties.getLatency();
-        var pool = properties.getPool();
-
-        double p95Score = calculateLatencyScore(p95Ms, latency.getP95Good(), latency.getP95Bad());
-        double p99Score = calculateLatencyScore(p99Ms, latency.getP99Good(), latency.getP99Bad());
-        double poolScore = calculatePoolScore(connPool, pool.getGood(), pool.getBad());
-
-        double totalScore = (p95Score * 0.3) + (p99Score * 0.4) + (poolScore * 0.3);
-
-        if (p95Ms == 0.0 && p99Ms == 0.0 && connPool == 0.0) {
-            return new SystemHealthScore(-1, p95Score, p99Score, poolScore);
-        }
-
-        return new SystemHealthScore(totalScore, p95Score, p99Score, poolScore);
-    }
-
-    private double calculateLatencyScore(double actual, double good, double bad) {
-        if (actual <= good) {
-            return 100.0;
-        } else if (actual >= bad) {
-            return 0.0;
-        } else {
-            return 100.0 * (1 - (actual - good) / (bad - good));
-        }
+        stateManager.resetConsecutiveCounts();
     }
 
-    private double calculatePoolScore(double usage, double good, double bad) {
-        if (usage <= good) {
-            return 100.0;
-        } else if (usage >= bad) {
-            return 0.0;
-        } else {
-            return 100.0 * (1 - (usage - good) / (bad - good));
-        }
-    }
-
-    @Data
-    @AllArgsConstructor
-    private static class SystemHealthScore {
-        private double score;
-        private double p95Score;
-        private double p99Score;
-        private double poolScore;
-
-        public String getLevel() {
-            if (score >= 80) return "EXCELLENT";
-            if (score >= 60) return "GOOD";
-            if (score >= 30) return "DEGRADED";
-            if (score == -1) return "UNKNOWN";
-            return "CRITICAL";
+    private static void commitAdjustment(String decision, double score, int previousLimit, int newLimit, int floor) {
+        FeedbackAdjustmentEvent event = new FeedbackAdjustmentEvent();
+        if (!event.shouldCommit()) {
+            return;
         }
+        event.controller = "scale-out";
+        event.decision = decision;
+        event.healthScore = score;
+        event.previousLimit = previousLimit;
+        event.newLimit = newLimit;
+        event.floor = floor;
+        event.commit();
     }
 
-    @Data
-    private static class MetricsSnapshot {
-        private double p95Latency;
-        private double p99Latency;
-        private double connectionPoolUsage;
+    // 로그 출력용 소수점 한 자리 반올림
+    private static double round1(double value) {
+        return Math.round(value * 10) / 10.0;
     }
 }
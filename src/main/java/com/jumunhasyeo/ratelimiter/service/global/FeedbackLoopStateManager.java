@@ -28,6 +28,8 @@ public class FeedbackLoopStateManager {
     private static final String FIELD_PREVIOUS_LIMIT = "previousLimit";
     private static final String FIELD_TARGET_LIMIT = "targetLimit";
     private static final String FIELD_ACTIVATED_AT = "activatedAt";
+    private static final String FIELD_HEALTHY_COUNT = "healthyCount";
+    private static final String FIELD_UNHEALTHY_COUNT = "unhealthyCount";
 
     private final AtomicBoolean active = new AtomicBoolean(false);
     private final AtomicInteger previousLimit = new AtomicInteger(0);
@@ -35,7 +37,10 @@ public class FeedbackLoopStateManager {
     private final AtomicLong activatedAt = new AtomicLong(0);
 
     public FeedbackLoopState activateOnScaleOut() {
-        if (active.get()) {
+        // 다른 노드에서 활성화했을 수 있으므로 Redis 상태 기준으로 판단
+        syncFromRedis();
+        if (active.get() || !claimActivation()) {
+            syncFromRedis();
             log.warn("Feedback Loop 이미 활성화됨 (since {})",
                     Instant.ofEpochMilli(activatedAt.get()));
             return getCurrentState();
@@ -102,11 +107,24 @@ public class FeedbackLoopStateManager {
 
     @PostConstruct
     public void restoreState() {
+        syncFromRedis();
+    }
+
+    /**
+     * Redis의 상태로 로컬 상태를 맞춥니다.
+     * 활성화/비활성화는 어느 노드에서든 일어날 수 있으므로 리더는 매 주기마다 호출합니다.
+     */
+    public void syncFromRedis() {
         try {
             Map<Object, Object> entries = redisTemplate.opsForHash().entries(STATE_KEY);
 
             if (entries.isEmpty()) {
-                log.debug("Redis에 기존 Feedback Loop 상태 없음");
+                if (active.getAndSet(false)) {
+                    log.debug("Redis에서 Feedback Loop 비활성화 확인");
+                }
+                previousLimit.set(0);
+                targetLimit.set(0);
+                activatedAt.set(0);
                 return;
             }
 
@@ -129,6 +147,57 @@ public class FeedbackLoopStateManager {
         }
     }
 
+    /**
+     * 연속 정상 판정 횟수를 증가시키고 연속 비정상 횟수를 초기화합니다.
+     * 리더가 바뀌어도 이어서 판단하도록 Redis에 저장합니다.
+     * @return 증가 후 연속 정상 횟수
+     */
+    public int recordHealthy() {
+        return recordConsecutive(FIELD_HEALTHY_COUNT, FIELD_UNHEALTHY_COUNT);
+    }
+
+    /**
+     * @return 증가 후 연속 비정상 횟수
+     */
+    public int recordUnhealthy() {
+        return recordConsecutive(FIELD_UNHEALTHY_COUNT, FIELD_HEALTHY_COUNT);
+    }
+
+    public void resetHealthyCount() {
+        persistField(FIELD_HEALTHY_COUNT, "0");
+    }
+
+    public void resetUnhealthyCount() {
+        persistField(FIELD_UNHEALTHY_COUNT, "0");
+    }
+
+    public void resetConsecutiveCounts() {
+        resetHealthyCount();
+        resetUnhealthyCount();
+    }
+
+    private int recordConsecutive(String incrementField, String resetField) {
+        try {
+            Long count = redisTemplate.opsForHash().increment(STATE_KEY, incrementField, 1);
+            redisTemplate.opsForHash().put(STATE_KEY, resetField, "0");
+            return count != null ? count.intValue() : 0;
+        } catch (Exception e) {
+            log.error("Feedback Loop 연속 판정 횟수 저장 오류: {}", incrementField, e);
+            return 0;
+        }
+    }
+
+    // 동시에 여러 노드가 scale-out 이벤트를 받아도 하나만 활성화
+    private boolean claimActivation() {
+        try {
+            Boolean claimed = redisTemplate.opsForHash().putIfAbsent(STATE_KEY, FIELD_ACTIVE, "true");
+            return claimed != null && claimed;
+        } catch (Exception e) {
+            log.error("Feedback Loop 활성화 선점 오류", e);
+            return false;
+        }
+    }
+
     private void persistState(FeedbackLoopState state) {
         try {
             redisTemplate.opsForHash().putAll(STATE_KEY, Map.of(
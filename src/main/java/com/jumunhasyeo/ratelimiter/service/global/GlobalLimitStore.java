@@ -0,0 +1,182 @@
+package com.jumunhasyeo.ratelimiter.service.global;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 전역 rate/burst의 기준값을 Redis(ratelimit:global:limit)에 두고 노드별로 캐시합니다.
+ * <p>
+ * 갱신은 limit_update.lua로 원자적으로 저장 + 발행되며, 각 노드는 채널 구독으로 즉시 반영하고
+ * 구독 메시지를 놓친 경우를 대비해 주기적으로 Redis 값과 다시 맞춥니다.
+ * 따라서 모든 노드가 같은 버킷을 같은 rate로 누수시킵니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class GlobalLimitStore {
+
+    public static final String LIMIT_KEY = "ratelimit:global:limit";
+    private static final String CHANNEL = "ratelimit:global:limit:changed";
+
+    private final StringRedisTemplate redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+
+    @Value("classpath:scripts/limit_update.lua")
+    private Resource updateScriptResource;
+
+    private RedisScript<List> updateScript;
+
+    private volatile LimitSnapshot current = new LimitSnapshot(15, 15, 0);
+
+    // Redis 키가 사라졌을 때 다시 채울 기본값
+    private volatile int seedRate = 15;
+    private volatile int seedBurst = 0;
+
+    @PostConstruct
+    public void init() throws IOException {
+        updateScript = RedisScript.of(
+                updateScriptResource.getContentAsString(StandardCharsets.UTF_8), List.class);
+        listenerContainer.addMessageListener(this::onMessage, new ChannelTopic(CHANNEL));
+        log.debug("GlobalLimitStore: {} 채널 구독", CHANNEL);
+    }
+
+    public LimitSnapshot current() {
+        return current;
+    }
+
+    /**
+     * Redis에 한도가 없을 때만 기본값으로 채우고, 있으면 Redis 값을 가져옵니다 (기동 시 사용).
+     */
+    public LimitSnapshot seed(int rate, int burst) {
+        seedRate = rate;
+        seedBurst = burst;
+        // 로컬 캐시는 Redis 조회 실패 시에도 설정값으로 동작
+        if (current.version() == 0) {
+            current = new LimitSnapshot(rate, burst > 0 ? burst : rate, 0);
+        }
+        return update(Mode.SEED, rate, burst, rate, rate);
+    }
+
+    /**
+     * @param fixedBurst 양수이면 고정 burst, 0 이하이면 burst = rate
+     * @return 갱신 후 한도 (Redis 오류 시 현재 캐시 값)
+     */
+    public LimitSnapshot update(Mode mode, int value, int fixedBurst, int minLimit, int maxLimit) {
+        try {
+            List<?> reply = redisTemplate.execute(
+                    updateScript,
+                    Collections.singletonList(LIMIT_KEY),
+                    mode.name().toLowerCase(),
+                    String.valueOf(value),
+                    String.valueOf(fixedBurst),
+                    String.valueOf(minLimit),
+                    String.valueOf(maxLimit),
+                    CHANNEL,
+                    String.valueOf(current.rate())
+            );
+            if (reply == null || reply.size() < 4) {
+                return current;
+            }
+            LimitSnapshot snapshot = new LimitSnapshot(
+                    toInt(reply.get(1)), toInt(reply.get(2)), ((Number) reply.get(0)).longValue());
+            // 스크립트 반환값이 Redis의 현재 값 (키가 다시 만들어져 version이 줄어든 경우도 반영)
+            apply(snapshot, true);
+            return new LimitSnapshot(snapshot.rate(), snapshot.burst(), snapshot.version(), toInt(reply.get(3)));
+        } catch (Exception e) {
+            log.error("전역 한도 갱신 실패 mode={}, value={}", mode, value, e);
+            return current;
+        }
+    }
+
+    /**
+     * 구독 메시지를 놓친 경우(재연결 등)를 대비해 Redis 값으로 다시 맞춥니다.
+     */
+    @Scheduled(fixedDelayString = "${ratelimit.limit-sync.resync-interval-ms:5000}")
+    public void resync() {
+        try {
+            List<Object> values = redisTemplate.opsForHash().multiGet(LIMIT_KEY, List.of("rate", "burst", "version"));
+            if (values.get(0) == null) {
+                log.warn("Redis 전역 한도 없음, 기본값으로 다시 채움 rate={}", seedRate);
+                update(Mode.SEED, seedRate, seedBurst, seedRate, seedRate);
+                return;
+            }
+            LimitSnapshot snapshot = new LimitSnapshot(
+                    Integer.parseInt((String) values.get(0)),
+                    Integer.parseInt((String) values.get(1)),
+                    values.get(2) != null ? Long.parseLong((String) values.get(2)) : 0L);
+            apply(snapshot, true);
+        } catch (Exception e) {
+            log.warn("전역 한도 재동기화 실패: {}", e.getMessage());
+        }
+    }
+
+    private void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        String[] parts = body.split(":");
+        if (parts.length != 3) {
+            log.warn("잘못된 전역 한도 메시지: {}", body);
+            return;
+        }
+        try {
+            apply(new LimitSnapshot(Integer.parseInt(parts[1]), Integer.parseInt(parts[2]),
+                    Long.parseLong(parts[0])), false);
+        } catch (NumberFormatException e) {
+            log.warn("잘못된 전역 한도 메시지: {}", body);
+        }
+    }
+
+    /**
+     * @param authoritative true이면 version이 달라도 적용 (Redis 값 기준 재동기화)
+     */
+    private synchronized void apply(LimitSnapshot snapshot, boolean authoritative) {
+        LimitSnapshot local = current;
+        boolean changed = snapshot.rate() != local.rate() || snapshot.burst() != local.burst();
+        if (authoritative ? (changed || snapshot.version() != local.version()) : snapshot.version() > local.version()) {
+            current = new LimitSnapshot(snapshot.rate(), snapshot.burst(), snapshot.version());
+            if (changed) {
+                log.debug("전역 한도 반영 rate={}, burst={}, version={}",
+                        snapshot.rate(), snapshot.burst(), snapshot.version());
+            }
+        }
+    }
+
+    private int toInt(Object value) {
+        return ((Number) value).intValue();
+    }
+
+    public enum Mode {
+        // Redis에 없을 때만 설정
+        SEED,
+        // 범위 검사 없이 설정 (초기화)
+        RESET,
+        // min/max 범위 내로 설정
+        SET,
+        // 현재 값에 증감 후 min/max 범위 적용
+        DELTA
+    }
+
+    /**
+     * @param previousRate 갱신 직전 rate (update 반환값에서만 의미 있음)
+     */
+    public record LimitSnapshot(int rate, int burst, long version, int previousRate) {
+
+        public LimitSnapshot(int rate, int burst, long version) {
+            this(rate, burst, version, rate);
+        }
+    }
+}
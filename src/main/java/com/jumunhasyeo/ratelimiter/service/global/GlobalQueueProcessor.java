@@ -5,25 +5,37 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.jumunhasyeo.ratelimiter.domain.HttpRequestData;
 import com.jumunhasyeo.ratelimiter.domain.QueueItem;
 import com.jumunhasyeo.ratelimiter.domain.QueuePollResult;
+import com.jumunhasyeo.ratelimiter.dto.QueueCompletion;
+import com.jumunhasyeo.ratelimiter.metrics.HotPathMeters;
+import com.jumunhasyeo.ratelimiter.metrics.StageTimers;
+import com.jumunhasyeo.ratelimiter.metrics.jfr.DrainBatchEvent;
+import com.jumunhasyeo.ratelimiter.properties.QueueSchedulerProperties;
 import com.jumunhasyeo.ratelimiter.properties.QueueWeightProperties;
+import com.jumunhasyeo.ratelimiter.properties.ReliableQueueProperties;
+import com.jumunhasyeo.ratelimiter.properties.StageTimingProperties;
+import com.jumunhasyeo.ratelimiter.service.forward.BackendForwarder;
 import com.jumunhasyeo.ratelimiter.service.global.GlobalQueueService.QueueType;
 import com.jumunhasyeo.ratelimiter.service.pg.RateLimiterService;
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.RestClient;
 import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestClientResponseException;
 
 import java.net.SocketTimeoutException;
 import java.net.URI;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 
@@ -40,7 +52,11 @@ public class GlobalQueueProcessor {
     private final ObjectMapper objectMapper;
     private final MeterRegistry meterRegistry;
     private final RedisLatencyHistogramService histogramService;
-    private final FeedbackLoopStateManager stateManager;
+    private final QueueCompletionNotifier completionNotifier;
+    private final BackendLoadTracker loadTracker;
+    private final StageTimingProperties stageTimingProperties;
+    private final BackendForwarder backendForwarder;
+    private final ReliableQueueProperties reliableProperties;
 
     @Value("${queue.use-lua-polling:true}")
     private boolean useLuaPolling;
@@ -50,6 +66,32 @@ public class GlobalQueueProcessor {
 
     private static final String DEFAULT_PROVIDER = "TOSS";
 
+    // (queueType, retry/success) 조합별로 미리 등록한 메터
+    private Timer[] waitTimers;
+    private Counter[] retryResultCounters;
+
+    // 드레인 처리 단계
+    private enum Stage {
+        ACQUIRE, POLL, DESERIALIZE, DISPATCH, BACKEND, NOTIFY, ACK
+    }
+
+    private StageTimers<Stage> stageTimers;
+
+    @PostConstruct
+    public void init() {
+        // Java 폴링 경로는 in-flight receipt 없이 꺼내므로 신뢰 모드를 보장할 수 없음
+        if (reliableProperties.isEnabled() && !useLuaPolling) {
+            throw new IllegalStateException(
+                    "queue.reliable.enabled=true requires queue.use-lua-polling=true");
+        }
+        waitTimers = HotPathMeters.timers(meterRegistry, "queue.wait.time",
+                "대기열에서 처리까지 소요된 시간", QueueType.class, "queue_type", "retry");
+        retryResultCounters = HotPathMeters.counters(meterRegistry, "queue.retry.result",
+                "재시도 요청 결과", QueueType.class, "queue_type", "success");
+        stageTimers = StageTimers.register(meterRegistry, "ratelimit.stage.time",
+                "처리 단계별 소요 시간", "drain", Stage.class, stageTimingProperties);
+    }
+
     @Scheduled(fixedDelayString = "${queue.processor-interval-ms:100}")
     public void processQueue() {
         try {
@@ -67,6 +109,7 @@ public class GlobalQueueProcessor {
         int desired = globalRateLimiterService.getCurrentLimit();
 
         // PG 레인: PG + 전역 토큰 모두 필요
+        long t = stageTimers.start();
         long pgReserved = pgRateLimiterService.tryConsumeN(DEFAULT_PROVIDER, desired);
         if (pgReserved > 0) {
             long globalReserved = globalRateLimiterService.tryConsumeNForQueue(pgReserved);
@@ -79,24 +122,34 @@ public class GlobalQueueProcessor {
 
             if (allowed <= 0) {
                 pgRateLimiterService.refundN(DEFAULT_PROVIDER, globalReserved);
+                stageTimers.record(Stage.ACQUIRE, t);
             } else {
+                t = stageTimers.record(Stage.ACQUIRE, t);
                 QueuePollResult result = globalQueueService.pollWeightedPg(allowed, weightProperties);
+                stageTimers.record(Stage.POLL, t);
                 refundIfShortAndProcess(result, allowed, true);
             }
+        } else {
+            stageTimers.record(Stage.ACQUIRE, t);
         }
 
         // 전역 전용 레인: 전역 토큰만 필요
         int remain = Math.max(0, desired - (int) pgReserved);
         if (remain > 0) {
+            t = stageTimers.start();
             long globalAllowed = globalRateLimiterService.tryConsumeNForQueue(remain);
+            t = stageTimers.record(Stage.ACQUIRE, t);
             if (globalAllowed > 0) {
                 QueuePollResult result = globalQueueService.pollWeightedGlobalOnly((int) globalAllowed, weightProperties);
+                stageTimers.record(Stage.POLL, t);
                 refundIfShortAndProcess(result, (int) globalAllowed, false);
             }
         }
     }
 
     private void refundIfShortAndProcess(QueuePollResult result, int allowed, boolean isPgLane) {
+        DrainBatchEvent event = new DrainBatchEvent();
+        event.begin();
         int polled = result.getStats().getTotalPolled();
         int refund = allowed - polled;
 
@@ -110,6 +163,19 @@ public class GlobalQueueProcessor {
         }
 
         processPolledItems(result);
+
+        if (event.shouldCommit()) {
+            QueuePollResult.QueueStats stats = result.getStats();
+            event.lane = isPgLane ? "pg" : "global";
+            event.reserved = allowed;
+            event.polled = polled;
+            event.refunded = Math.max(refund, 0);
+            event.orderRetry = stats.getOrderRetry();
+            event.orderNormal = stats.getOrderNormal();
+            event.otherRetry = stats.getOtherRetry();
+            event.otherNormal = stats.getOtherNormal();
+            event.commit();
+        }
     }
 
     private void processPolledItems(QueuePollResult result) {
@@ -117,23 +183,39 @@ public class GlobalQueueProcessor {
             return;
         }
 
-        log.debug("{} 건 처리 중 (Lua) - ORDER: retry={}, normal={} | OTHER: retry={}, normal={}",
-                result.getStats().getTotalPolled(),
-                result.getStats().getOrderRetry(),
-                result.getStats().getOrderNormal(),
-                result.getStats().getOtherRetry(),
-                result.getStats().getOtherNormal());
+        if (log.isDebugEnabled()) {
+            log.debug("{} 건 처리 중 (Lua) - ORDER: retry={}, normal={} | OTHER: retry={}, normal={} | classes={}",
+                    result.getStats().getTotalPolled(),
+                    result.getStats().getOrderRetry(),
+                    result.getStats().getOrderNormal(),
+                    result.getStats().getOtherRetry(),
+                    result.getStats().getOtherNormal(),
+                    result.getStats().getClasses());
+        }
+
+        Map<String, QueueSchedulerProperties.QueueClass> queueClasses =
+                globalQueueService.getQueueClassMap(weightProperties);
 
         for (QueuePollResult.QueuePollItem item : result.getItems()) {
-            QueueItem queueItem = deserializeQueueItem(item.getData());
-            if (queueItem == null) {
-                continue;
+            try {
+                long t = stageTimers.start();
+                QueueItem queueItem = deserializeQueueItem(item.getData());
+                stageTimers.record(Stage.DESERIALIZE, t);
+                if (queueItem == null) {
+                    continue;
+                }
+                QueueSchedulerProperties.QueueClass queueClass = queueClasses.get(item.getQueue());
+                QueueType queueType = queueClass != null ? queueClass.getQueueType()
+                        : item.getQueue().startsWith("order") ? QueueType.ORDER : QueueType.OTHER;
+                boolean isRetry = queueClass != null ? queueClass.isRetry() : item.getQueue().endsWith("retry");
+
+                executeRequest(queueItem, queueType, isRetry);
+            } finally {
+                // 신뢰 모드: 처리(성공/재시도 이동/삭제) 완료 후 in-flight에서 제거
+                long t = stageTimers.start();
+                globalQueueService.ack(item.getReceipt());
+                stageTimers.record(Stage.ACK, t);
             }
-            QueueType queueType = item.getQueue().startsWith("order") ?
-                    QueueType.ORDER : QueueType.OTHER;
-            boolean isRetry = item.getQueue().endsWith("retry");
-
-            executeRequest(queueItem, queueType, isRetry);
         }
     }
 
@@ -192,16 +274,20 @@ public class GlobalQueueProcessor {
 
         List<QueueItem> items = globalQueueService.pollRetryEligible(queueType, count);
         for (QueueItem item : items) {
-            processItem(item, queueType, true);
+            processItem(item, queueType, null);
         }
     }
 
+    // 처리하지 못한 항목을 꺼낸 클래스 키로 되돌릴 수 있도록 키별로 폴링
     private void processNormalQueue(QueueType queueType, int count) {
-        if (count <= 0) return;
-
-        List<QueueItem> items = globalQueueService.poll(queueType, count);
-        for (QueueItem item : items) {
-            processItem(item, queueType, false);
+        int remaining = count;
+        for (String key : globalQueueService.getNormalKeys(queueType)) {
+            if (remaining <= 0) return;
+            List<QueueItem> items = globalQueueService.poll(key, remaining);
+            remaining -= items.size();
+            for (QueueItem item : items) {
+                processItem(item, queueType, key);
+            }
         }
     }
 
@@ -246,52 +332,49 @@ public class GlobalQueueProcessor {
         return new int[]{actualOrderSlots, actualOtherSlots};
     }
 
-    private void processItem(QueueItem item, QueueType queueType, boolean isRetry) {
+    /**
+     * @param key 항목을 꺼낸 일반 큐 논리 키 (재시도 큐에서 꺼냈으면 null)
+     */
+    private void processItem(QueueItem item, QueueType queueType, String key) {
+        boolean isRetry = key == null;
         GlobalRateLimiterService.TryConsumeResult result = globalRateLimiterService.tryConsume(false);
         if (result != GlobalRateLimiterService.TryConsumeResult.ALLOWED) {
             log.debug("Global Token 소진 (result={}), 재대기열 추가 userId={}", result, item.getUserId());
-            requeue(item, queueType, isRetry);
+            requeue(item, queueType, key);
             return;
         }
 
         boolean pgOk = pgRateLimiterService.tryConsume(DEFAULT_PROVIDER);
         if (!pgOk) {
             log.debug("PG Token 소진, 재대기열 추가 userId={}", item.getUserId());
-            requeue(item, queueType, isRetry);
+            requeue(item, queueType, key);
             return;
         }
 
         executeRequest(item, queueType, isRetry);
     }
 
-    private void requeue(QueueItem item, QueueType queueType, boolean wasRetry) {
-        if (wasRetry) {
-            globalQueueService.offerToRetry(item, queueType);
+    // 이미 수용된 항목이므로 한도/부하 차단 없이 원래 큐로 되돌림 (실패는 서비스에서 로그/집계)
+    private void requeue(QueueItem item, QueueType queueType, String key) {
+        if (key == null) {
+            globalQueueService.requeueToRetry(item, queueType);
         } else {
-            globalQueueService.offer(item, queueType);
+            globalQueueService.requeue(item, queueType, key);
         }
     }
 
     private void recordWaitTime(long enqueueTimestamp, QueueType queueType, boolean isRetry) {
         long waitTimeMs = System.currentTimeMillis() - enqueueTimestamp;
-        Timer.builder("queue.wait.time")
-                .description("대기열에서 처리까지 소요된 시간")
-                .tag("queue_type", queueType.name())
-                .tag("retry", String.valueOf(isRetry))
-                .register(meterRegistry)
-                .record(waitTimeMs, TimeUnit.MILLISECONDS);
+        waitTimers[HotPathMeters.index(queueType, isRetry)].record(waitTimeMs, TimeUnit.MILLISECONDS);
     }
 
     private void recordRetryResult(boolean success, QueueType queueType) {
-        Counter.builder("queue.retry.result")
-                .description("재시도 요청 결과")
-                .tag("queue_type", queueType.name())
-                .tag("success", String.valueOf(success))
-                .register(meterRegistry)
-                .increment();
+        retryResultCounters[HotPathMeters.index(queueType, success)].increment();
     }
 
     private void executeRequest(QueueItem item, QueueType queueType, boolean isRetry) {
+        // DISPATCH: 대상 URI 계산과 요청 구성 (백엔드 호출 직전까지)
+        long dispatchStart = stageTimers.start();
         recordWaitTime(item.getOriginalTimestamp(), queueType, isRetry);
 
         HttpRequestData request = item.getHttpRequest();
@@ -301,16 +384,15 @@ public class GlobalQueueProcessor {
         }
 
         String path = extractPath(request.getUri());
-        URI original = URI.create(request.getUri());
-        long requestStartTime = System.currentTimeMillis();
+        URI target = backendForwarder.targetUri(request.getUri());
+        long startNanos = loadTracker.begin();
+        long backendStart = stageTimers.start();
+        int backendStatus = 0;
 
         try {
             RestClient.RequestBodySpec requestSpec = orderServiceRestClient
                     .method(HttpMethod.valueOf(request.getMethod()))
-                    .uri(uriBuilder -> uriBuilder
-                            .path(original.getPath())
-                            .query(original.getQuery())
-                            .build());
+                    .uri(target);
 
             requestSpec.contentType(MediaType.APPLICATION_JSON);
 
@@ -325,13 +407,13 @@ public class GlobalQueueProcessor {
                 requestSpec.body(request.getBody());
             }
 
-            String response = requestSpec.retrieve().body(String.class);
+            backendStart = stageTimers.record(Stage.DISPATCH, dispatchStart);
+            ResponseEntity<String> response = requestSpec.retrieve().toEntity(String.class);
+            long t = stageTimers.record(Stage.BACKEND, backendStart);
+            backendStatus = response.getStatusCode().value();
 
-            // 피드백 루프 활성 시 지연 시간 기록
-            if (stateManager.isActive()) {
-                long latency = System.currentTimeMillis() - requestStartTime;
-                histogramService.recordLatency(latency);
-            }
+            // 로컬 기록만 하므로 피드백 루프 활성 여부와 관계없이 항상 기록
+            histogramService.recordLatencyMicros(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startNanos));
 
             if (isRetry) {
                 recordRetryResult(true, queueType);
@@ -339,8 +421,27 @@ public class GlobalQueueProcessor {
             log.debug("{} 요청 처리 완료 userId={}, isRetry={}",
                     DEFAULT_PROVIDER, item.getUserId(), isRetry);
 
+            completionNotifier.publish(QueueCompletion.builder()
+                    .requestId(item.getRequestId())
+                    .userId(item.getUserId())
+                    .status(QueueCompletion.Status.COMPLETED)
+                    .backendStatus(response.getStatusCode().value())
+                    .backendResponse(response.getBody())
+                    .completedAt(System.currentTimeMillis())
+                    .build());
+            stageTimers.record(Stage.NOTIFY, t);
+
         } catch (Exception e) {
+            // 응답을 받은 뒤의 예외이면 BACKEND 구간은 이미 기록됨
+            if (backendStatus == 0) {
+                stageTimers.record(Stage.BACKEND, backendStart);
+            }
+            if (e instanceof RestClientResponseException responseException) {
+                backendStatus = responseException.getStatusCode().value();
+            }
             handleRequestError(e, item, queueType, isRetry);
+        } finally {
+            loadTracker.end(startNanos, backendStatus);
         }
     }
 
@@ -353,17 +454,36 @@ public class GlobalQueueProcessor {
         if (isRetry) {
             recordRetryResult(false, queueType);
             log.error("Retry 실패, 요청 삭제 userId={}", item.getUserId());
+            publishFailure(item, e, errorMsg);
             return;
         }
 
         if (isRetryable(e) && item.canRetry(maxRetryCount)) {
             item.incrementRetryCount();
             log.warn("재시도 가능한 오류 ({}), Retry Queue로 이동 userId={}", errorType, item.getUserId());
-            globalQueueService.offerToRetry(item, queueType);
+            if (!globalQueueService.offerToRetry(item, queueType)) {
+                publishFailure(item, e, "Retry queue full: " + errorMsg);
+            }
             return;
         }
 
         log.error("재시도 불가 오류 ({}), 요청 삭제 userId={}", errorType, item.getUserId());
+        publishFailure(item, e, errorMsg);
+    }
+
+    private void publishFailure(QueueItem item, Throwable e, String errorMsg) {
+        QueueCompletion.QueueCompletionBuilder completion = QueueCompletion.builder()
+                .requestId(item.getRequestId())
+                .userId(item.getUserId())
+                .status(QueueCompletion.Status.FAILED)
+                .message(errorMsg)
+                .completedAt(System.currentTimeMillis());
+
+        if (e instanceof RestClientResponseException responseException) {
+            completion.backendStatus(responseException.getStatusCode().value())
+                    .backendResponse(responseException.getResponseBodyAsString());
+        }
+        completionNotifier.publish(completion.build());
     }
 
     private boolean isRetryable(Throwable e) {
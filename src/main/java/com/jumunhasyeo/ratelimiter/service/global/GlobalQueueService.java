@@ -5,7 +5,19 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.jumunhasyeo.ratelimiter.domain.QueueItem;
 import com.jumunhasyeo.ratelimiter.domain.QueuePollResult;
+import com.jumunhasyeo.ratelimiter.dto.QueueCompletion;
+import com.jumunhasyeo.ratelimiter.metrics.HotPathMeters;
+import com.jumunhasyeo.ratelimiter.properties.QueueLimitProperties;
+import com.jumunhasyeo.ratelimiter.properties.QueueSchedulerProperties;
+import com.jumunhasyeo.ratelimiter.properties.QueueSchedulerProperties.QueueClass;
 import com.jumunhasyeo.ratelimiter.properties.QueueWeightProperties;
+import com.jumunhasyeo.ratelimiter.properties.ReliableQueueProperties;
+import com.jumunhasyeo.ratelimiter.properties.RouteRuleProperties.RouteRule;
+import com.jumunhasyeo.ratelimiter.service.global.queue.QueueBackend;
+import com.jumunhasyeo.ratelimiter.service.route.RouteMatcher;
+import com.jumunhasyeo.ratelimiter.service.route.RouteRuleService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.annotation.PostConstruct;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
@@ -19,6 +31,7 @@ import org.springframework.stereotype.Service;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicLongArray;
 import java.util.stream.Collectors;
 
 @Service
@@ -29,6 +42,13 @@ public class GlobalQueueService {
     private final StringRedisTemplate redisTemplate;
     private final ObjectMapper objectMapper;
     private final GlobalRateLimiterService rateLimiterService;
+    private final ReliableQueueProperties reliableProperties;
+    private final QueueLimitProperties limitProperties;
+    private final QueueSchedulerProperties schedulerProperties;
+    private final MeterRegistry meterRegistry;
+    private final QueueBackend queueBackend;
+    private final RouteRuleService routeRuleService;
+    private final QueueCompletionNotifier completionNotifier;
 
     // 전역 대기열 Redis 키
     private static final String GLOBAL_ORDER_KEY = "queue:global:order";
@@ -36,11 +56,17 @@ public class GlobalQueueService {
     private static final String GLOBAL_OTHER_KEY = "queue:global:other";
     private static final String GLOBAL_OTHER_RETRY_KEY = "queue:global:other:retry";
 
-    // PG 대기열 Redis 키
-    private static final String PG_ORDER_KEY = "queue:pg:order";
-    private static final String PG_ORDER_RETRY_KEY = "queue:pg:order:retry";
-    private static final String PG_OTHER_KEY = "queue:pg:other";
-    private static final String PG_OTHER_RETRY_KEY = "queue:pg:other:retry";
+    // 레인별 키 prefix (큐 클래스 키는 전역 레인 기준으로 설정)
+    private static final String GLOBAL_KEY_PREFIX = "queue:global:";
+    private static final String PG_KEY_PREFIX = "queue:pg:";
+
+    // DRR 상태 (클래스별 deficit + round-robin 포인터) Redis 키
+    private static final String DRR_GLOBAL_KEY = "queue:drr:global";
+    private static final String DRR_PG_KEY = "queue:drr:pg";
+
+    // in-flight (신뢰 모드) Redis 키
+    private static final String INFLIGHT_KEY_PREFIX = "queue:inflight:";
+    private static final String INFLIGHT_REGISTRY_KEY = "queue:inflight:nodes";
 
     // 재시도 대기 시간 (ms)
     private static final long RETRY_DELAY_MS = 4000;
@@ -48,11 +74,32 @@ public class GlobalQueueService {
     @Value("classpath:scripts/queue_weighting.lua")
     private Resource queueWeightingScriptResource;
 
-    @Value("classpath:scripts/queue_poll_only.lua")
-    private Resource queuePollOnlyScriptResource;
+    @Value("classpath:scripts/queue_reclaim_inflight.lua")
+    private Resource reclaimInflightScriptResource;
+
+    @Value("classpath:scripts/retry_offer.lua")
+    private Resource retryOfferScriptResource;
 
     private RedisScript<String> weightedPollScript;
-    private RedisScript<String> weightedPollOnlyScript;
+    @SuppressWarnings("rawtypes")
+    private RedisScript<List> reclaimInflightScript;
+    private RedisScript<Long> retryOfferScript;
+
+    // 우선순위 클래스 매처 (queue.scheduler.classes가 교체되면 다시 컴파일)
+    private volatile CompiledClasses compiledClasses;
+
+    // 이 노드의 offer 스크립트가 마지막으로 반환한 길이 (QueueType ordinal 기준, 노드별 지표용)
+    private final AtomicLongArray observedDepths = new AtomicLongArray(QueueType.values().length);
+    private final AtomicLongArray observedRetryDepths = new AtomicLongArray(QueueType.values().length);
+
+    // 축출/거절 경로마다 Counter.builder(...).register를 반복하지 않도록 기동 시 태그 조합별로 등록
+    private Counter[][][] shedCounters;
+    private Counter[] requeueFailureCounters;
+
+    // queue.shed 지표의 outcome 태그 (태그 값은 소문자 이름)
+    private enum ShedOutcome {
+        EVICTED, USER_LIMIT, REJECTED, RETRY_REJECTED
+    }
 
     @PostConstruct
     public void init() throws IOException {
@@ -63,9 +110,35 @@ public class GlobalQueueService {
         } else {
             log.warn("queue_weighting.lua script 파일 없음 (classpath)");
         }
-        weightedPollOnlyScript = RedisScript.of(
-                queuePollOnlyScriptResource.getContentAsString(StandardCharsets.UTF_8), String.class);
-        log.debug("GlobalQueueService: Lua script 파일 로드 완료");
+        reclaimInflightScript = RedisScript.of(
+                reclaimInflightScriptResource.getContentAsString(StandardCharsets.UTF_8), List.class);
+        retryOfferScript = RedisScript.of(
+                retryOfferScriptResource.getContentAsString(StandardCharsets.UTF_8), Long.class);
+        log.debug("GlobalQueueService: Lua script 파일 로드 완료 (queue backend={})", queueBackend.getName());
+
+        registerShedCounters();
+        requeueFailureCounters = HotPathMeters.counters(meterRegistry, "queue.requeue.failed",
+                "처리하지 못한 항목을 대기열로 되돌리지 못해 유실된 수", QueueType.class, "queue_type", "retry");
+    }
+
+    private void registerShedCounters() {
+        QueueType[] queueTypes = QueueType.values();
+        QueueLimitProperties.ShedPolicy[] policies = QueueLimitProperties.ShedPolicy.values();
+        ShedOutcome[] outcomes = ShedOutcome.values();
+        shedCounters = new Counter[queueTypes.length][policies.length][outcomes.length];
+        for (QueueType queueType : queueTypes) {
+            for (QueueLimitProperties.ShedPolicy policy : policies) {
+                for (ShedOutcome outcome : outcomes) {
+                    Counter counter = Counter.builder("queue.shed")
+                            .description("큐 최대 길이 초과로 거절/축출된 요청 수")
+                            .tag("queue_type", queueType.name())
+                            .tag("policy", policy.name())
+                            .tag("outcome", outcome.name().toLowerCase())
+                            .register(meterRegistry);
+                    shedCounters[queueType.ordinal()][policy.ordinal()][outcome.ordinal()] = counter;
+                }
+            }
+        }
     }
 
     @Getter
@@ -80,45 +153,91 @@ public class GlobalQueueService {
             this.key = key;
             this.retryKey = retryKey;
         }
+
+        public QueueType peer() {
+            return this == ORDER ? OTHER : ORDER;
+        }
+
+        // 사용자별 대기 항목 ZSET 접두사 ({key}:users:{userId}, 맨 앞이 가장 오래된 항목, O(log N) 위치 조회용)
+        public String getUserIndexKey() {
+            return key + ":users";
+        }
+
+        // userId -> 대기 중인 항목 수 (사용자별 최대 대기 수 제한용)
+        public String getUserCountKey() {
+            return key + ":user_counts";
+        }
+    }
+
+    public enum OfferResult {
+        ACCEPTED,
+        REJECTED_FULL,
+        // 사용자별 최대 대기 수 초과
+        REJECTED_USER_LIMIT,
+        ERROR;
+
+        public boolean isAccepted() {
+            return this == ACCEPTED;
+        }
+    }
+
+    /**
+     * 대기열 내 위치와 예상 대기 시간 계산에 필요한 큐 길이
+     * @param rank 0-based 순번 (대기열에 없으면 -1)
+     */
+    public record QueuePosition(long rank, long depth, long retryDepth, long peerDepth) {
+
+        public static final QueuePosition NOT_FOUND = new QueuePosition(-1, 0, 0, 0);
+
+        public boolean isQueued() {
+            return rank >= 0;
+        }
+    }
+
+    /**
+     * 항목이 들어 있는 큐 클래스 키와 그 키 안의 순번
+     */
+    public record ClassPosition(String key, QueuePosition position) {
+    }
+
+    public record OfferOutcome(OfferResult result, QueuePosition position) {
+
+        public boolean isAccepted() {
+            return result.isAccepted();
+        }
     }
 
     public QueuePollResult pollWeightedPg(int totalSlots, QueueWeightProperties props) {
-        List<String> keys = List.of(
-                PG_ORDER_KEY,
-                PG_ORDER_RETRY_KEY,
-                PG_OTHER_KEY,
-                PG_OTHER_RETRY_KEY
-        );
-        return pollWeightedInternal(keys, totalSlots, props);
+        return pollWeightedInternal(PG_KEY_PREFIX, DRR_PG_KEY, totalSlots, props);
     }
 
     public QueuePollResult pollWeightedGlobalOnly(int totalSlots, QueueWeightProperties props) {
-        List<String> keys = List.of(
-                GLOBAL_ORDER_KEY,
-                GLOBAL_ORDER_RETRY_KEY,
-                GLOBAL_OTHER_KEY,
-                GLOBAL_OTHER_RETRY_KEY
-        );
-        return pollWeightedInternal(keys, totalSlots, props);
+        return pollWeightedInternal(GLOBAL_KEY_PREFIX, DRR_GLOBAL_KEY, totalSlots, props);
     }
 
-    private QueuePollResult pollWeightedInternal(List<String> keys, int totalSlots, QueueWeightProperties props) {
+    private QueuePollResult pollWeightedInternal(String lanePrefix, String drrStateKey,
+                                                 int totalSlots, QueueWeightProperties props) {
         if (totalSlots <= 0) return QueuePollResult.empty();
 
         long now = System.currentTimeMillis();
         long retryThreshold = now - props.getRetryDelayMs();
 
+        // 신뢰 모드: 폴링 항목을 노드별 in-flight ZSET으로 이동 (Stream backend의 일반 큐는 PEL 사용)
+        long inflightDeadline = 0;
+        List<String> inflightKeys = Collections.emptyList();
+        if (reliableProperties.isEnabled()) {
+            inflightKeys = List.of(getInflightKey(), INFLIGHT_REGISTRY_KEY);
+            inflightDeadline = now + reliableProperties.getVisibilityTimeoutMs();
+        }
+
+        List<QueueClass> classes = getQueueClasses(props).stream()
+                .map(queueClass -> toLane(queueClass, lanePrefix))
+                .toList();
+
         try {
-            String result = redisTemplate.execute(
-                    weightedPollOnlyScript,
-                    keys,
-                    String.valueOf(now),
-                    String.valueOf(totalSlots),
-                    String.valueOf(props.getOrder()),
-                    String.valueOf(props.getOther()),
-                    String.valueOf(props.getRetryRatio()),
-                    String.valueOf(retryThreshold)
-            );
+            String result = queueBackend.pollWeighted(new QueueBackend.PollRequest(
+                    classes, drrStateKey, totalSlots, now, retryThreshold, inflightDeadline, inflightKeys,
+                    schedulerProperties.getAgingPerSec(), schedulerProperties.getMaxAgingBoost()));
             return parsePollResultSafely(result);
         } catch (Exception e) {
             log.error("pollWeightedInternal 오류 발생", e);
@@ -126,6 +245,113 @@ public class GlobalQueueService {
         }
     }
 
+    /**
+     * DRR 폴링 대상 큐 클래스.
+     * queue.scheduler.classes가 비어 있으면 queue.weight로 기본 4개 클래스를 구성합니다.
+     */
+    public List<QueueClass> getQueueClasses(QueueWeightProperties props) {
+        if (!schedulerProperties.getClasses().isEmpty()) {
+            return schedulerProperties.getClasses();
+        }
+        double retryRatio = props.getRetryRatio();
+        return List.of(
+                new QueueClass("order_retry", GLOBAL_ORDER_RETRY_KEY, props.getOrder() * retryRatio, true, QueueType.ORDER),
+                new QueueClass("order_normal", GLOBAL_ORDER_KEY, props.getOrder() * (1 - retryRatio), false, QueueType.ORDER),
+                new QueueClass("other_retry", GLOBAL_OTHER_RETRY_KEY, props.getOther() * retryRatio, true, QueueType.OTHER),
+                new QueueClass("other_normal", GLOBAL_OTHER_KEY, props.getOther() * (1 - retryRatio), false, QueueType.OTHER)
+        );
+    }
+
+    /**
+     * 폴링 결과의 queue 라벨(클래스명)로 큐 클래스를 찾습니다.
+     */
+    public Optional<QueueClass> findQueueClass(String name, QueueWeightProperties props) {
+        return Optional.ofNullable(getQueueClassMap(props).get(name));
+    }
+
+    /**
+     * 클래스명 -> 큐 클래스 맵. 폴링 배치마다 한 번 만들어 항목별 조회에 재사용합니다.
+     */
+    public Map<String, QueueClass> getQueueClassMap(QueueWeightProperties props) {
+        Map<String, QueueClass> classes = new HashMap<>();
+        for (QueueClass queueClass : getQueueClasses(props)) {
+            classes.putIfAbsent(queueClass.getName(), queueClass);
+        }
+        return classes;
+    }
+
+    /**
+     * 요청과 처음 일치하는 우선순위 클래스를 찾고, 없으면 경로 규칙의 queueClass / queueType 기준 클래스를 반환합니다.
+     */
+    public QueueClass resolveQueueClass(String method, String path, Map<String, String> headers) {
+        QueueClass matched = classMatcher().matchFirst(method, path,
+                queueClass -> queueClass.matches(method, path, headers));
+        if (matched != null) {
+            return matched;
+        }
+        RouteRule rule = routeRuleService.match(method, path);
+        if (rule != null && rule.getQueueClass() != null) {
+            for (QueueClass queueClass : schedulerProperties.getClasses()) {
+                if (!queueClass.isRetry() && queueClass.getName().equals(rule.getQueueClass())) {
+                    return queueClass;
+                }
+            }
+        }
+        QueueType queueType = rule != null ? rule.getQueueType() : QueueType.OTHER;
+        return new QueueClass(queueType.name().toLowerCase() + "_normal", queueType.getKey(), 0, false, queueType);
+    }
+
+    /**
+     * 우선순위 클래스의 match 조건을 경로 규칙과 같은 trie 매처로 컴파일합니다. (클래스 설정이 바뀌면 다시 컴파일)
+     * pathPrefix/method는 trie에서, header 조건은 후보 클래스에만 검사합니다.
+     */
+    private RouteMatcher<QueueClass> classMatcher() {
+        List<QueueClass> classes = schedulerProperties.getClasses();
+        CompiledClasses compiled = compiledClasses;
+        if (compiled == null || compiled.source() != classes) {
+            List<QueueClass> matchable = classes.stream()
+                    .filter(queueClass -> !queueClass.isRetry() && queueClass.getMatch() != null)
+                    .toList();
+            compiled = new CompiledClasses(classes, RouteMatcher.compile(matchable,
+                    queueClass -> queueClass.getMatch().getPathPrefix(),
+                    queueClass -> queueClass.getMatch().getMethod()));
+            compiledClasses = compiled;
+        }
+        return compiled.matcher();
+    }
+
+    private record CompiledClasses(List<QueueClass> source, RouteMatcher<QueueClass> matcher) {
+    }
+
+    /**
+     * QueueType에 속한 일반 큐 논리 키 (설정된 우선순위 클래스 키를 가중치 내림차순으로, 마지막에 기본 키)
+     */
+    public Set<String> getNormalKeys(QueueType queueType) {
+        Set<String> keys = new LinkedHashSet<>();
+        schedulerProperties.getClasses().stream()
+                .filter(queueClass -> !queueClass.isRetry() && queueClass.getQueueType() == queueType)
+                .sorted(Comparator.comparingDouble(QueueClass::getWeight).reversed())
+                .forEach(queueClass -> keys.add(queueClass.getKey()));
+        keys.add(queueType.getKey());
+        return keys;
+    }
+
+    // 설정에서 빠진 클래스 키로 추가하는 경우에도 한도 합산 대상에 포함
+    private Set<String> getTypeKeys(QueueType queueType, String key) {
+        Set<String> keys = getNormalKeys(queueType);
+        keys.add(key);
+        return keys;
+    }
+
+    private QueueClass toLane(QueueClass queueClass, String lanePrefix) {
+        String key = queueClass.getKey();
+        if (GLOBAL_KEY_PREFIX.equals(lanePrefix) || !key.startsWith(GLOBAL_KEY_PREFIX)) {
+            return queueClass;
+        }
+        return new QueueClass(queueClass.getName(), lanePrefix + key.substring(GLOBAL_KEY_PREFIX.length()),
+                queueClass.getWeight(), queueClass.isRetry(), queueClass.getQueueType(), queueClass.getMatch());
+    }
+
     private QueuePollResult parsePollResultSafely(String json) {
         if (json == null || json.isEmpty()) {
             return QueuePollResult.empty();
@@ -143,41 +369,309 @@ public class GlobalQueueService {
         }
     }
 
-    public QueueType resolveQueueType(String method, String uri) {
-        if (uri != null && uri.contains("/orders") && "POST".equalsIgnoreCase(method)) {
-            return QueueType.ORDER;
+    /**
+     * 신뢰 모드에서 처리 완료된 항목을 in-flight ZSET에서 제거합니다.
+     * @param receipt 폴링 결과의 receipt (신뢰 모드가 아니면 null)
+     */
+    public void ack(String receipt) {
+        if (receipt == null) {
+            return;
+        }
+        try {
+            if (!queueBackend.acknowledge(receipt)) {
+                redisTemplate.opsForZSet().remove(getInflightKey(), receipt);
+            }
+        } catch (Exception e) {
+            log.warn("In-flight ack 실패: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * visibility timeout이 지난 in-flight 항목을 원래 큐로 되돌립니다.
+     * 종료된 노드의 in-flight ZSET도 레지스트리를 통해 함께 회수합니다.
+     * 재시도 큐가 최대 길이에 도달한 경우 재시도 항목은 되돌리지 않고 버립니다 (queue.shed 지표).
+     * @return 회수된 항목 수
+     */
+    public long reclaimExpiredInflight() {
+        Set<String> inflightKeys = redisTemplate.opsForSet().members(INFLIGHT_REGISTRY_KEY);
+        if (inflightKeys == null || inflightKeys.isEmpty()) {
+            return 0L;
         }
-        return QueueType.OTHER;
+
+        long now = System.currentTimeMillis();
+        long total = 0;
+        for (String inflightKey : inflightKeys) {
+            try {
+                List<?> result = redisTemplate.execute(
+                        reclaimInflightScript,
+                        List.of(inflightKey, INFLIGHT_REGISTRY_KEY),
+                        String.valueOf(now),
+                        String.valueOf(reliableProperties.getReclaimBatchSize()),
+                        String.valueOf(limitProperties.getRetryMaxDepth())
+                );
+                if (result == null || result.isEmpty()) {
+                    continue;
+                }
+                total += ((Number) result.get(0)).longValue();
+                // 버려진 항목마다 (원본 재시도 큐 키, requestId)
+                for (int i = 1; i + 1 < result.size(); i += 2) {
+                    QueueType queueType = QueueType.ORDER.getRetryKey().equals(result.get(i))
+                            ? QueueType.ORDER : QueueType.OTHER;
+                    recordShed(queueType, limitProperties.getPolicy(), ShedOutcome.RETRY_REJECTED, 1);
+                    publishShed(String.valueOf(result.get(i + 1)), null, "Retry queue full");
+                }
+                if (result.size() > 1) {
+                    log.warn("재시도 큐 가득 참, in-flight 재시도 항목 {}건 삭제 key={}", result.size() / 2, inflightKey);
+                }
+            } catch (Exception e) {
+                log.error("In-flight 회수 실패 key={}", inflightKey, e);
+            }
+        }
+        return total;
+    }
+
+    public Long getInflightSize() {
+        Long size = redisTemplate.opsForZSet().size(getInflightKey());
+        return size != null ? size : 0L;
+    }
+
+    private String getInflightKey() {
+        return INFLIGHT_KEY_PREFIX + reliableProperties.getNodeId();
+    }
+
+    /**
+     * 경로 규칙의 queueType (일치하는 규칙이 없으면 OTHER)
+     */
+    public QueueType resolveQueueType(String method, String uri) {
+        RouteRule rule = routeRuleService.match(method, uri);
+        return rule != null ? rule.getQueueType() : QueueType.OTHER;
     }
 
     public boolean offer(QueueItem item, QueueType queueType) {
+        return tryOffer(item, queueType).isAccepted();
+    }
+
+    /**
+     * 최대 길이 제한과 부하 차단 정책을 적용하여 대기열에 추가합니다.
+     * @return 수용 여부 (REJECTED_FULL이면 호출 측에서 503 응답)와 추가된 위치
+     */
+    public OfferOutcome tryOffer(QueueItem item, QueueType queueType) {
+        return tryOffer(item, queueType, queueType.getKey());
+    }
+
+    /**
+     * 우선순위 클래스의 큐 키로 추가합니다. 최대 길이/부하 차단은 클래스의 QueueType 기준입니다.
+     */
+    public OfferOutcome tryOffer(QueueItem item, QueueClass queueClass) {
+        return tryOffer(item, queueClass.getQueueType(), queueClass.getKey());
+    }
+
+    private OfferOutcome tryOffer(QueueItem item, QueueType queueType, String key) {
+        String value;
         try {
-            String value = objectMapper.writeValueAsString(item);
-            double score = item.getOriginalTimestamp();
-            Boolean added = redisTemplate.opsForZSet().add(queueType.getKey(), value, score);
-            log.debug("Queue offer [{}]: 결과={}", queueType, added);
-            return added != null && added;
+            value = objectMapper.writeValueAsString(item);
         } catch (JsonProcessingException e) {
             log.error("QueueItem 직렬화 실패", e);
-            return false;
+            return new OfferOutcome(OfferResult.ERROR, QueuePosition.NOT_FOUND);
+        }
+
+        QueueLimitProperties.ShedPolicy policy = limitProperties.getPolicy();
+        try {
+            QueueBackend.OfferReply reply = queueBackend.offer(
+                    queueType,
+                    key,
+                    getTypeKeys(queueType, key),
+                    getNormalKeys(queueType.peer()),
+                    value,
+                    item.getOriginalTimestamp(),
+                    item.getUserId(),
+                    policy,
+                    getMaxDepth(queueType),
+                    getMaxDepth(queueType.peer()),
+                    limitProperties.getPerUserMaxDepth()
+            );
+            boolean accepted = reply.accepted();
+            long evicted = reply.evicted();
+            QueuePosition position = reply.position();
+            recordObservedDepths(queueType, position);
+            log.debug("Queue offer [{}]: 결과={}, 축출={}, 길이={}", queueType, accepted, evicted, position.depth());
+
+            if (evicted > 0) {
+                // PRIORITY 정책은 반대 큐(OTHER)에서 축출
+                QueueType evictedFrom = policy == QueueLimitProperties.ShedPolicy.PRIORITY
+                        ? queueType.peer() : queueType;
+                recordShed(evictedFrom, policy, ShedOutcome.EVICTED, evicted);
+                for (String requestId : reply.evictedRequestIds()) {
+                    publishShed(requestId, null, "Evicted from queue (" + policy + ")");
+                }
+            }
+            if (reply.userLimited()) {
+                recordShed(queueType, policy, ShedOutcome.USER_LIMIT, 1);
+                log.warn("사용자별 최대 대기 수 초과 [{}], 요청 거절 userId={}", queueType, item.getUserId());
+                return new OfferOutcome(OfferResult.REJECTED_USER_LIMIT, position);
+            }
+            if (!accepted) {
+                recordShed(queueType, policy, ShedOutcome.REJECTED, 1);
+                log.warn("Queue 가득 참 [{}], 요청 거절 userId={}", queueType, item.getUserId());
+                return new OfferOutcome(OfferResult.REJECTED_FULL, position);
+            }
+            return new OfferOutcome(OfferResult.ACCEPTED, position);
+        } catch (Exception e) {
+            log.error("Queue offer 오류 [{}]", queueType, e);
+            return new OfferOutcome(OfferResult.ERROR, QueuePosition.NOT_FOUND);
+        }
+    }
+
+    public long getMaxDepth(QueueType queueType) {
+        return queueType == QueueType.ORDER
+                ? limitProperties.getOrderMaxDepth()
+                : limitProperties.getOtherMaxDepth();
+    }
+
+    private void recordObservedDepths(QueueType queueType, QueuePosition position) {
+        observedDepths.set(queueType.ordinal(), position.depth());
+        observedRetryDepths.set(queueType.ordinal(), position.retryDepth());
+        observedDepths.set(queueType.peer().ordinal(), position.peerDepth());
+    }
+
+    /**
+     * 이 노드의 offer 시점에 관측한 일반 큐 길이 (Redis 조회 없음)
+     */
+    public long getObservedDepth(QueueType queueType) {
+        return observedDepths.get(queueType.ordinal());
+    }
+
+    /**
+     * 이 노드의 offer 시점에 관측한 재시도 큐 길이 (Redis 조회 없음)
+     */
+    public long getObservedRetryDepth(QueueType queueType) {
+        return observedRetryDepths.get(queueType.ordinal());
+    }
+
+    /**
+     * 이미 202로 수용된 뒤 부하 차단으로 제거된 요청의 결과를 발행합니다. (long-poll이 204 대신 SHED를 받도록)
+     */
+    private void publishShed(String requestId, Long userId, String message) {
+        if (requestId == null || requestId.isEmpty()) {
+            return;
         }
+        completionNotifier.publish(QueueCompletion.builder()
+                .requestId(requestId)
+                .userId(userId)
+                .status(QueueCompletion.Status.SHED)
+                .message(message)
+                .completedAt(System.currentTimeMillis())
+                .build());
+    }
+
+    private void recordShed(QueueType queueType, QueueLimitProperties.ShedPolicy policy, ShedOutcome outcome, long count) {
+        shedCounters[queueType.ordinal()][policy.ordinal()][outcome.ordinal()].increment(count);
     }
 
+    /**
+     * 재시도 큐에 추가합니다. 재시도 큐가 최대 길이(queue.limit.retry-max-depth)에 도달하면 거절합니다.
+     * @return 추가 여부 (false이면 호출 측에서 실패 처리)
+     */
     public boolean offerToRetry(QueueItem item, QueueType queueType) {
         try {
             String value = objectMapper.writeValueAsString(item);
-            double score = System.currentTimeMillis();
-            Boolean added = redisTemplate.opsForZSet().add(queueType.getRetryKey(), value, score);
+            Long added = redisTemplate.execute(
+                    retryOfferScript,
+                    List.of(queueType.getRetryKey()),
+                    value,
+                    String.valueOf(System.currentTimeMillis()),
+                    String.valueOf(limitProperties.getRetryMaxDepth())
+            );
             log.debug("Retry Queue offer [{}]: 결과={}", queueType, added);
-            return added != null && added;
+            if (added == null || added != 1L) {
+                recordShed(queueType, limitProperties.getPolicy(), ShedOutcome.RETRY_REJECTED, 1);
+                log.warn("Retry Queue 가득 참 [{}], 요청 거절 userId={}", queueType, item.getUserId());
+                return false;
+            }
+            return true;
         } catch (JsonProcessingException e) {
             log.error("Retry용 QueueItem 직렬화 실패", e);
             return false;
         }
     }
 
+    /**
+     * 이미 수용되었던 항목을 꺼낸 큐 키로 되돌립니다. (Java 폴링 경로에서 토큰이 없어 처리하지 못한 경우)
+     * 최대 길이/부하 차단/사용자별 한도를 적용하지 않고, 원래 score(최초 요청 시각)를 유지합니다.
+     * @return 추가 여부 (false이면 항목이 유실되므로 queue.requeue.failed로 집계)
+     */
+    public boolean requeue(QueueItem item, QueueType queueType, String key) {
+        try {
+            QueueBackend.OfferReply reply = queueBackend.offer(
+                    queueType,
+                    key,
+                    getTypeKeys(queueType, key),
+                    getNormalKeys(queueType.peer()),
+                    objectMapper.writeValueAsString(item),
+                    item.getOriginalTimestamp(),
+                    item.getUserId(),
+                    QueueLimitProperties.ShedPolicy.REJECT,
+                    0, 0, 0
+            );
+            if (reply.accepted()) {
+                return true;
+            }
+        } catch (Exception e) {
+            log.error("Queue requeue 오류 [{}] key={}", queueType, key, e);
+        }
+        recordRequeueFailure(queueType, false);
+        log.error("Queue requeue 실패, 항목 유실 [{}] key={}, requestId={}", queueType, key, item.getRequestId());
+        return false;
+    }
+
+    /**
+     * 재시도 큐에서 꺼낸 항목을 재시도 큐로 되돌립니다. 재시도 큐 최대 길이를 적용하지 않습니다.
+     */
+    public boolean requeueToRetry(QueueItem item, QueueType queueType) {
+        try {
+            Long added = redisTemplate.execute(
+                    retryOfferScript,
+                    List.of(queueType.getRetryKey()),
+                    objectMapper.writeValueAsString(item),
+                    String.valueOf(System.currentTimeMillis()),
+                    "0"
+            );
+            if (added != null && added == 1L) {
+                return true;
+            }
+        } catch (Exception e) {
+            log.error("Retry Queue requeue 오류 [{}]", queueType, e);
+        }
+        recordRequeueFailure(queueType, true);
+        log.error("Retry Queue requeue 실패, 항목 유실 [{}] requestId={}", queueType, item.getRequestId());
+        return false;
+    }
+
+    private void recordRequeueFailure(QueueType queueType, boolean retry) {
+        requeueFailureCounters[HotPathMeters.index(queueType, retry)].increment();
+    }
+
+    /**
+     * 우선순위 클래스 키부터 차례로 꺼냅니다. (Java 폴링 경로)
+     */
     public List<QueueItem> poll(QueueType queueType, int size) {
-        return pollFromKey(queueType.getKey(), size);
+        List<QueueItem> items = new ArrayList<>();
+        for (String key : getNormalKeys(queueType)) {
+            if (items.size() >= size) {
+                break;
+            }
+            items.addAll(poll(key, size - items.size()));
+        }
+        return items;
+    }
+
+    /**
+     * 일반 큐 논리 키 하나에서 꺼냅니다. (기본 키 또는 우선순위 클래스 키)
+     */
+    public List<QueueItem> poll(String key, int size) {
+        return queueBackend.poll(key, size).stream()
+                .map(this::deserialize)
+                .collect(Collectors.toList());
     }
 
     public List<QueueItem> pollFromRetry(QueueType queueType, int size) {
@@ -224,26 +718,60 @@ public class GlobalQueueService {
     }
 
     public Long findSequence(Long userId, QueueType queueType) {
-        Set<String> allItems = redisTemplate.opsForZSet().range(queueType.getKey(), 0, -1);
+        return getQueuePosition(userId, queueType).rank();
+    }
 
-        if (allItems == null) {
-            return -1L;
-        }
+    /**
+     * 사용자 위치 인덱스로 대기열 순번을 조회합니다. (ZRANK, O(log N))
+     * 같은 사용자의 항목이 여러 개이면 가장 먼저 추가된(가장 오래된) 항목 기준이며,
+     * 우선순위 클래스가 있으면 우선순위 클래스 키부터 차례로 조회하여 처음 찾은 클래스 내 순번을 반환합니다.
+     */
+    public QueuePosition getQueuePosition(Long userId, QueueType queueType) {
+        return findClassPosition(userId, queueType).position();
+    }
 
-        long position = 0;
-        for (String item : allItems) {
-            QueueItem queueItem = deserialize(item);
-            if (queueItem.getUserId().equals(userId)) {
-                return position;
+    /**
+     * getQueuePosition과 같으며, 순번이 속한 클래스 키를 함께 반환합니다. (DRR 대기 시간 추정용)
+     */
+    public ClassPosition findClassPosition(Long userId, QueueType queueType) {
+        if (userId == null) {
+            return new ClassPosition(queueType.getKey(), QueuePosition.NOT_FOUND);
+        }
+        try {
+            ClassPosition first = null;
+            for (String key : getNormalKeys(queueType)) {
+                QueuePosition position = queueBackend.position(queueType, key, userId);
+                if (position.isQueued()) {
+                    return new ClassPosition(key, position);
+                }
+                if (first == null) {
+                    first = new ClassPosition(key, position);
+                }
             }
-            position++;
+            return first;
+        } catch (Exception e) {
+            log.error("Queue 위치 조회 오류 userId={}", userId, e);
+            return new ClassPosition(queueType.getKey(), QueuePosition.NOT_FOUND);
         }
-        return -1L;
+    }
+
+    /**
+     * 큐 클래스의 대기 항목 수 (재시도 클래스는 재시도 가능 시각 전 항목 포함)
+     */
+    public long getClassDepth(QueueClass queueClass) {
+        if (queueClass.isRetry()) {
+            Long size = redisTemplate.opsForZSet().size(queueClass.getKey());
+            return size != null ? size : 0L;
+        }
+        return queueBackend.size(queueClass.getKey());
     }
 
     public Long getQueueSize(QueueType queueType) {
-        Long size = redisTemplate.opsForZSet().size(queueType.getKey());
-        return size != null ? size : 0L;
+        long size = 0;
+        for (String key : getNormalKeys(queueType)) {
+            size += queueBackend.size(key);
+        }
+        return size;
     }
 
     public Long getRetryQueueSize(QueueType queueType) {
@@ -329,7 +857,8 @@ public class GlobalQueueService {
                     QueuePollResult.QueuePollItem item = new QueuePollResult.QueuePollItem(
                             itemNode.get("queue").asText(),
                             itemNode.get("data").asText(),
-                            itemNode.get("score").asLong()
+                            itemNode.get("score").asLong(),
+                            itemNode.hasNonNull("receipt") ? itemNode.get("receipt").asText() : null
                     );
                     items.add(item);
                 }
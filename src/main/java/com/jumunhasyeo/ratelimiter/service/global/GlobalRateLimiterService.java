@@ -1,5 +1,15 @@
 package com.jumunhasyeo.ratelimiter.service.global;
 
+import com.jumunhasyeo.ratelimiter.metrics.jfr.AdmissionEvent;
+import com.jumunhasyeo.ratelimiter.properties.HierarchicalLimitProperties;
+import com.jumunhasyeo.ratelimiter.properties.HierarchicalLimitProperties.TierLimit;
+import com.jumunhasyeo.ratelimiter.properties.QueueSchedulerProperties;
+import com.jumunhasyeo.ratelimiter.properties.RouteRuleProperties.RouteRule;
+import com.jumunhasyeo.ratelimiter.service.algorithm.LuaFunctionTables;
+import com.jumunhasyeo.ratelimiter.service.algorithm.RateLimitAlgorithm;
+import com.jumunhasyeo.ratelimiter.service.algorithm.RateLimitAlgorithm.QueueGuard;
+import com.jumunhasyeo.ratelimiter.service.algorithm.RateLimitAlgorithmRegistry;
+import com.jumunhasyeo.ratelimiter.service.global.queue.QueueBackend;
 import jakarta.annotation.PostConstruct;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
@@ -9,13 +19,14 @@ import org.springframework.core.io.Resource;
 import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.stereotype.Service;
+import org.springframework.util.DigestUtils;
 
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
-import java.util.Arrays;
-import java.util.Collections;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.Map;
 
 @Slf4j
 @Service
@@ -23,8 +34,14 @@ import java.util.concurrent.atomic.AtomicInteger;
 public class GlobalRateLimiterService {
 
     private final StringRedisTemplate redisTemplate;
-
-    private static final String KEY = "leaky:global:bucket";
+    private final QueueBackend queueBackend;
+    private final QueueSchedulerProperties schedulerProperties;
+    private final RateLimitAlgorithmRegistry algorithmRegistry;
+    private final HierarchicalLimitProperties hierarchyProperties;
+    private final GlobalLimitStore limitStore;
+
+    private static final String SCOPE = "global:bucket";
+    private static final String ACQUIRE_FUNCTIONS_MARKER = "-- @acquire-functions";
     private static final String ORDER_QUEUE_KEY = "queue:global:order";
     private static final String OTHER_QUEUE_KEY = "queue:global:other";
     private static final String ORDER_RETRY_QUEUE_KEY = "queue:global:order:retry";
@@ -32,6 +49,12 @@ public class GlobalRateLimiterService {
     private static final int TTL_SECONDS = 60;
     private static final int MIN_LIMIT = 10;
     private static final int MAX_LIMIT = 100;
+    private static final String USER_TIER_PREFIX = "rl:user:";
+    private static final String API_KEY_TIER_PREFIX = "rl:key:";
+    private static final String ROUTE_TIER_PREFIX = "rl:route:";
+
+    @Value("${ratelimit.global.algorithm:leaky}")
+    private String algorithmName;
 
     @Value("${ratelimit.global.rate:15}")
     private int initialRate;
@@ -39,62 +62,34 @@ public class GlobalRateLimiterService {
     @Value("${ratelimit.global.capacity:15}")
     private int initialCapacity;
 
-    @Value("classpath:scripts/global_refund.lua")
-    private Resource refundScriptResource;
-
-    @Value("classpath:scripts/global_try_consume.lua")
-    private Resource tryConsumeScriptResource;
+    // 0 이하이면 capacity로 시작해 rate 변경을 따라가고, 양수이면 rate와 무관하게 고정
+    @Value("${ratelimit.global.burst:0}")
+    private int fixedBurst;
 
-    @Value("classpath:scripts/global_try_consume_n.lua")
-    private Resource tryConsumeNScriptResource;
+    @Value("classpath:scripts/hierarchical_acquire.lua")
+    private Resource hierarchicalScriptResource;
 
-    @Value("classpath:scripts/global_get_water_level.lua")
-    private Resource getWaterLevelScriptResource;
-
-    private final AtomicInteger leakRate = new AtomicInteger(15);
-    private final AtomicInteger capacity = new AtomicInteger(15);
-
-    private RedisScript<Long> tryConsumeNForQueueScript;
-    private RedisScript<Long> tryConsumeScript;
-    private RedisScript<Long> getWaterLevelScript;
-    private RedisScript<Long> refundNForQueueScript;
+    private RateLimitAlgorithm algorithm;
+    private String bucketKey;
+    private RedisScript<Long> hierarchicalScript;
 
     @PostConstruct
     public void init() throws IOException {
-        // Lua 스크립트 파일 로드
-        tryConsumeScript = RedisScript.of(
-                tryConsumeScriptResource.getContentAsString(StandardCharsets.UTF_8), Long.class);
-        getWaterLevelScript = RedisScript.of(
-                getWaterLevelScriptResource.getContentAsString(StandardCharsets.UTF_8), Long.class);
-        tryConsumeNForQueueScript = RedisScript.of(
-                tryConsumeNScriptResource.getContentAsString(StandardCharsets.UTF_8), Long.class);
-        refundNForQueueScript = RedisScript.of(
-                refundScriptResource.getContentAsString(StandardCharsets.UTF_8), Long.class);
-        log.debug("Lua script 파일 로드 완료");
-
-        // application.yml 설정값 적용
-        leakRate.set(initialRate);
-        capacity.set(initialCapacity);
-        log.debug("GlobalRateLimiterService 초기화 완료 rate={}, capacity={}", initialRate, initialCapacity);
-
-        // Redis 버킷 초기화 (첫 요청 시 누수가 정상 작동하도록)
-        initializeBucket();
-    }
-
-    private void initializeBucket() {
-        try {
-            // 버킷이 존재하지 않으면 초기화
-            Boolean exists = redisTemplate.hasKey(KEY);
-            if (exists == null || !exists) {
-                long now = System.currentTimeMillis();
-                redisTemplate.opsForHash().put(KEY, "water_level", "0");
-                redisTemplate.opsForHash().put(KEY, "last_leak_time", String.valueOf(now));
-                redisTemplate.expire(KEY, java.time.Duration.ofSeconds(TTL_SECONDS));
-                log.debug("Redis Bucket 초기화 완료 water_level=0, last_leak_time={}", now);
-            }
-        } catch (Exception e) {
-            log.warn("Redis Bucket 초기화 실패, 첫 요청 시 생성됨", e);
+        algorithm = algorithmRegistry.get(algorithmName);
+        bucketKey = algorithm.stateKey(SCOPE);
+        // 전역 단계는 알고리즘별 acquire 스크립트를 함수로 끼워 넣어 같은 계산식을 재사용
+        Map<String, String> acquireSources = new LinkedHashMap<>();
+        for (RateLimitAlgorithm registered : algorithmRegistry.getAll()) {
+            acquireSources.put(registered.getName(), registered.acquireScriptSource());
         }
+        hierarchicalScript = RedisScript.of(LuaFunctionTables.assemble(
+                hierarchicalScriptResource.getContentAsString(StandardCharsets.UTF_8),
+                ACQUIRE_FUNCTIONS_MARKER, "acquire", acquireSources), Long.class);
+
+        // Redis에 공유 한도가 없을 때만 application.yml 설정값으로 채움 (있으면 다른 노드의 현재 값 사용)
+        GlobalLimitStore.LimitSnapshot limit = limitStore.seed(initialRate, initialBurst());
+        log.debug("GlobalRateLimiterService 초기화 완료 algorithm={}, rate={}, capacity={}",
+                algorithm.getName(), limit.rate(), limit.burst());
     }
 
     public boolean tryConsume() {
@@ -102,48 +97,142 @@ public class GlobalRateLimiterService {
     }
 
     public TryConsumeResult tryConsume(boolean isNewRequest) {
-        long now = System.currentTimeMillis();
+        AdmissionEvent event = new AdmissionEvent();
+        event.begin();
+        TryConsumeResult result;
+        try {
+            long code = algorithm.acquire(bucketKey, currentLimit(), 1, TTL_SECONDS,
+                    isNewRequest ? queueGuard() : QueueGuard.NONE);
+            result = TryConsumeResult.fromCode((int) code);
+        } catch (Exception e) {
+            log.error("tryConsume 오류 발생", e);
+            result = TryConsumeResult.ERROR;
+        }
+        commitAdmission(event, result, null, isNewRequest);
+        return result;
+    }
 
-        List<String> keys = Arrays.asList(
-                KEY,
-                ORDER_QUEUE_KEY,
-                OTHER_QUEUE_KEY,
-                ORDER_RETRY_QUEUE_KEY,
-                OTHER_RETRY_QUEUE_KEY
-        );
+    /**
+     * 사용자(userId, 없으면 API key) → 경로 → 전역 한도를 한 번의 스크립트 호출로 검사 (신규 요청 전용)
+     * <p>
+     * 사용자/경로 단계에서 거절되면 어떤 토큰도 소비하지 않습니다.
+     * 대기열/전역 단계에서 거절된 요청은 대기열로 보내지고 드레인 시 단계 검사를 거치지 않으므로,
+     * 이 경우에도 사용자/경로 단계는 차감합니다.
+     */
+    public TryConsumeResult tryConsume(Long userId, String apiKey, RouteRule route) {
+        List<Tier> tiers = resolveTiers(userId, apiKey, route);
+        if (tiers.isEmpty()) {
+            return tryConsume(true);
+        }
+
+        QueueGuard guard = queueGuard();
+        GlobalLimitStore.LimitSnapshot limit = limitStore.current();
+        List<String> keys = new ArrayList<>();
+        keys.add(bucketKey);
+        tiers.forEach(tier -> keys.add(tier.key()));
+        keys.addAll(guard.queueKeys());
+        keys.addAll(guard.retryKeys());
+
+        List<String> args = new ArrayList<>(List.of(
+                String.valueOf(System.currentTimeMillis()),
+                algorithm.getName(),
+                String.valueOf(limit.rate()),
+                String.valueOf(limit.burst()),
+                String.valueOf(TTL_SECONDS),
+                "1",
+                guard.lengthCommand(),
+                String.valueOf(guard.retryKeys().size()),
+                String.valueOf(tiers.size()),
+                guard.consumerGroup()
+        ));
+        for (Tier tier : tiers) {
+            args.add(String.valueOf(tier.rate()));
+            args.add(String.valueOf(tier.burst()));
+            args.add(String.valueOf(tier.deniedResult().getCode()));
+        }
 
+        AdmissionEvent event = new AdmissionEvent();
+        event.begin();
+        TryConsumeResult result;
         try {
-            Long result = redisTemplate.execute(
-                    tryConsumeScript,
-                    keys,
-                    String.valueOf(now),
-                    String.valueOf(leakRate.get()),
-                    String.valueOf(capacity.get()),
-                    String.valueOf(TTL_SECONDS),
-                    String.valueOf(isNewRequest ? 1 : 0)
-            );
-            return TryConsumeResult.fromCode(result != null ? result.intValue() : -999);
+            Long code = redisTemplate.execute(hierarchicalScript, keys, args.toArray());
+            result = TryConsumeResult.fromCode(code != null ? code.intValue() : -999);
         } catch (Exception e) {
-            log.error("tryConsume 오류 발생", e);
-            return TryConsumeResult.ERROR;
+            log.error("계층형 tryConsume 오류 발생 userId={}, route={}", userId, route != null ? route.limitKey() : null, e);
+            result = TryConsumeResult.ERROR;
+        }
+        commitAdmission(event, result, route, true);
+        return result;
+    }
+
+    // 기록 중인 JFR 설정에서 이벤트가 꺼져 있으면 필드도 채우지 않음
+    private static void commitAdmission(AdmissionEvent event, TryConsumeResult result, RouteRule route,
+                                        boolean isNewRequest) {
+        if (!event.shouldCommit()) {
+            return;
+        }
+        event.scope = "global";
+        event.result = result.name();
+        event.route = route != null ? route.limitKey() : null;
+        event.newRequest = isNewRequest;
+        event.commit();
+    }
+
+    private List<Tier> resolveTiers(Long userId, String apiKey, RouteRule route) {
+        List<Tier> tiers = new ArrayList<>(2);
+        if (!hierarchyProperties.isEnabled()) {
+            return tiers;
+        }
+
+        TierLimit user = hierarchyProperties.getUser();
+        if (user != null && user.getRate() > 0) {
+            String subject = null;
+            if (userId != null) {
+                subject = USER_TIER_PREFIX + userId;
+            } else if (apiKey != null && !apiKey.isEmpty()) {
+                // 토큰 원문이 키 이름에 남지 않도록 해시 사용
+                subject = API_KEY_TIER_PREFIX + DigestUtils.md5DigestAsHex(apiKey.getBytes(StandardCharsets.UTF_8));
+            }
+            if (subject != null) {
+                tiers.add(new Tier(subject, user.getRate(), user.getBurst(), TryConsumeResult.DENIED_USER));
+            }
+        }
+
+        if (route != null && route.hasRouteLimit()) {
+            tiers.add(new Tier(ROUTE_TIER_PREFIX + route.limitKey(), route.getRate(), route.getBurst(),
+                    TryConsumeResult.DENIED_ROUTE));
+        }
+        return tiers;
+    }
+
+    private record Tier(String key, double rate, long burst, TryConsumeResult deniedResult) {
+    }
+
+    // 대기 중인 요청이 있으면 신규 요청이 추월하지 못하도록 모든 대기열을 검사
+    // (Stream은 드레인 중 ack 전인 항목을 대기로 세지 않도록 consumer group의 PEL을 제외)
+    private QueueGuard queueGuard() {
+        List<String> queueKeys = new ArrayList<>(List.of(
+                queueBackend.physicalKey(ORDER_QUEUE_KEY),
+                queueBackend.physicalKey(OTHER_QUEUE_KEY)
+        ));
+        // 우선순위 클래스 큐도 대기열 존재 검사에 포함
+        for (QueueSchedulerProperties.QueueClass queueClass : schedulerProperties.getClasses()) {
+            String key = queueClass.getKey();
+            if (!queueClass.isRetry() && !ORDER_QUEUE_KEY.equals(key) && !OTHER_QUEUE_KEY.equals(key)) {
+                queueKeys.add(queueBackend.physicalKey(key));
+            }
         }
+        return new QueueGuard(queueKeys,
+                List.of(ORDER_RETRY_QUEUE_KEY, OTHER_RETRY_QUEUE_KEY),
+                queueBackend.lengthCommand(),
+                queueBackend.consumerGroup());
     }
 
     public long tryConsumeNForQueue(long n) {
-        long now = System.currentTimeMillis();
         if (n <= 0) return 0L;
 
         try {
-            Long result = redisTemplate.execute(
-                    tryConsumeNForQueueScript,
-                    Collections.singletonList(KEY),
-                    String.valueOf(now),
-                    String.valueOf(leakRate.get()),
-                    String.valueOf(capacity.get()),
-                    String.valueOf(TTL_SECONDS),
-                    String.valueOf(n)
-            );
-            return result != null ? result : 0L;
+            return algorithm.acquire(bucketKey, currentLimit(), n, TTL_SECONDS);
         } catch (Exception e) {
             log.error("tryConsumeNForQueue 오류 발생", e);
             return 0L;
@@ -152,16 +241,9 @@ public class GlobalRateLimiterService {
 
     public void refundNForQueue(long n) {
         if (n <= 0) return;
-        long now = System.currentTimeMillis();
 
         try {
-            redisTemplate.execute(
-                    refundNForQueueScript,
-                    Collections.singletonList(KEY),
-                    String.valueOf(now),
-                    String.valueOf(TTL_SECONDS),
-                    String.valueOf(n)
-            );
+            algorithm.refund(bucketKey, currentLimit(), n, TTL_SECONDS);
         } catch (Exception e) {
             log.error("refundNForQueue 오류 발생", e);
         }
@@ -169,7 +251,7 @@ public class GlobalRateLimiterService {
 
     public long getAvailableTokens() {
         long waterLevel = getCurrentWaterLevel();
-        return Math.max(0, capacity.get() - waterLevel);
+        return Math.max(0, limitStore.current().burst() - waterLevel);
     }
 
     public long getCurrentWindowCount() {
@@ -177,63 +259,66 @@ public class GlobalRateLimiterService {
     }
 
     private long getCurrentWaterLevel() {
-        long now = System.currentTimeMillis();
-
         try {
-            Long result = redisTemplate.execute(
-                    getWaterLevelScript,
-                    Collections.singletonList(KEY),
-                    String.valueOf(now),
-                    String.valueOf(leakRate.get())
-            );
-            // Lua에서 waterLevel * 1000을 반환하므로 나눔 (반올림 적용)
-            return result != null ? Math.round(result / 1000.0) : 0L;
+            // Lua에서 사용량 * 1000을 반환하므로 나눔 (반올림 적용)
+            return Math.round(algorithm.level(bucketKey, currentLimit()) / 1000.0);
         } catch (Exception e) {
             log.error("getCurrentWaterLevel 오류 발생", e);
             return 0L;
         }
     }
 
+    public RateLimitAlgorithm.BucketRef getBucketRef() {
+        return new RateLimitAlgorithm.BucketRef(algorithm.getName(), bucketKey, currentLimit());
+    }
+
+    private RateLimitAlgorithm.BucketLimit currentLimit() {
+        GlobalLimitStore.LimitSnapshot limit = limitStore.current();
+        return new RateLimitAlgorithm.BucketLimit(limit.rate(), limit.burst());
+    }
+
+    private int initialBurst() {
+        return fixedBurst > 0 ? fixedBurst : initialCapacity;
+    }
+
     public void increaseLimit(int amount) {
-        int current = leakRate.get();
-        int newRate = Math.min(current + amount, MAX_LIMIT);
-        leakRate.set(newRate);
-        capacity.set(newRate);
-        log.debug("Leak Rate 증가: {} -> {}", current, newRate);
+        GlobalLimitStore.LimitSnapshot limit = limitStore.update(
+                GlobalLimitStore.Mode.DELTA, amount, fixedBurst, MIN_LIMIT, MAX_LIMIT);
+        log.debug("Leak Rate 증가: {} -> {}", limit.previousRate(), limit.rate());
     }
 
     public void decreaseLimit(int amount) {
-        int current = leakRate.get();
-        int newRate = Math.max(MIN_LIMIT, current - amount);
-        leakRate.set(newRate);
-        capacity.set(newRate);
-        log.warn("Leak Rate 감소: {} -> {}", current, newRate);
+        GlobalLimitStore.LimitSnapshot limit = limitStore.update(
+                GlobalLimitStore.Mode.DELTA, -amount, fixedBurst, MIN_LIMIT, MAX_LIMIT);
+        log.warn("Leak Rate 감소: {} -> {}", limit.previousRate(), limit.rate());
     }
 
     public int getCurrentLimit() {
-        return leakRate.get();
+        return limitStore.current().rate();
+    }
+
+    public int getBurstCapacity() {
+        return limitStore.current().burst();
+    }
+
+    public String getAlgorithmName() {
+        return algorithm.getName();
     }
 
     public void setLimitWithFloor(int newLimit, int floor) {
         int safeLimit = Math.max(newLimit, floor);
-        safeLimit = Math.min(safeLimit, MAX_LIMIT);
-        safeLimit = Math.max(safeLimit, MIN_LIMIT);
 
-        int current = leakRate.get();
-        leakRate.set(safeLimit);
-        capacity.set(safeLimit);
-        log.debug("Limit 설정 (floor 적용): {} -> {} (floor={})", current, safeLimit, floor);
+        GlobalLimitStore.LimitSnapshot limit = limitStore.update(
+                GlobalLimitStore.Mode.SET, safeLimit, fixedBurst, MIN_LIMIT, MAX_LIMIT);
+        log.debug("Limit 설정 (floor 적용): {} -> {} (floor={})", limit.previousRate(), limit.rate(), floor);
     }
 
     public void reset() {
         try {
-            redisTemplate.delete(KEY);
-            // 초기 설정값으로 복원
-            leakRate.set(initialRate);
-            capacity.set(initialCapacity);
-            // 버킷 재초기화
-            initializeBucket();
-            log.debug("Rate Limiter 초기화 완료 rate={}, capacity={}", initialRate, initialCapacity);
+            redisTemplate.delete(bucketKey);
+            // 초기 설정값으로 복원 (모든 노드에 전파)
+            limitStore.update(GlobalLimitStore.Mode.RESET, initialRate, initialBurst(), MIN_LIMIT, MAX_LIMIT);
+            log.debug("Rate Limiter 초기화 완료 rate={}, capacity={}", initialRate, initialBurst());
         } catch (Exception e) {
             log.error("Rate Limiter 초기화 오류", e);
         }
@@ -241,7 +326,7 @@ public class GlobalRateLimiterService {
 
     public boolean isTokenSaturated() {
         long level = getCurrentWaterLevel();
-        int cap = capacity.get();
+        int cap = limitStore.current().burst();
         double usage = (double) level / cap;
         return usage >= 0.9;
     }
@@ -251,6 +336,8 @@ public class GlobalRateLimiterService {
         ALLOWED(1),
         DENIED_CAPACITY(0),
         DENIED_QUEUE(-1),
+        DENIED_USER(-2),
+        DENIED_ROUTE(-3),
         ERROR(-999);
 
         private final int code;
@@ -264,6 +351,8 @@ public class GlobalRateLimiterService {
                 case 1 -> ALLOWED;
                 case 0 -> DENIED_CAPACITY;
                 case -1 -> DENIED_QUEUE;
+                case -2 -> DENIED_USER;
+                case -3 -> DENIED_ROUTE;
                 default -> ERROR;
             };
         }
@@ -0,0 +1,32 @@
+package com.jumunhasyeo.ratelimiter.service.global;
+
+import com.jumunhasyeo.ratelimiter.properties.ReliableQueueProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class InflightReclaimScheduler {
+
+    private final GlobalQueueService globalQueueService;
+    private final ReliableQueueProperties reliableProperties;
+
+    @Scheduled(fixedDelayString = "${queue.reliable.reclaim-interval-ms:5000}")
+    public void reclaim() {
+        if (!reliableProperties.isEnabled()) {
+            return;
+        }
+
+        try {
+            long reclaimed = globalQueueService.reclaimExpiredInflight();
+            if (reclaimed > 0) {
+                log.warn("만료된 In-flight 항목 {} 건 대기열로 회수", reclaimed);
+            }
+        } catch (Exception e) {
+            log.error("In-flight 회수 오류", e);
+        }
+    }
+}
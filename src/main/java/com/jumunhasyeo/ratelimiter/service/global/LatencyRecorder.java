@@ -0,0 +1,132 @@
+package com.jumunhasyeo.ratelimiter.service.global;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 로그-선형 버킷 기반 지연 시간 기록기 (단위: us)
+ * <p>
+ * 2의 거듭제곱 구간마다 16개의 선형 하위 버킷을 두어 상대 오차를 약 6% 이내로 유지합니다.
+ * 버킷마다 LongAdder를 사용하므로 요청 스레드는 경합이나 Redis 호출 없이 기록만 합니다.
+ * 누적된 값은 drain()으로 꺼내어 주기적으로 Redis에 반영합니다.
+ */
+public class LatencyRecorder {
+
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int MAX_EXPONENT = 36;
+    // 2^36us (약 19시간) 이상은 마지막 버킷에 기록
+    private static final long MAX_VALUE = (1L << MAX_EXPONENT) - 1;
+
+    public static final int BUCKET_COUNT = (MAX_EXPONENT - SUB_BUCKET_BITS + 1) * SUB_BUCKET_COUNT;
+
+    private final LongAdder[] buckets = new LongAdder[BUCKET_COUNT];
+
+    public LatencyRecorder() {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    public void record(long micros) {
+        buckets[bucketIndex(micros)].increment();
+    }
+
+    /**
+     * 누적된 버킷 값을 target에 더하고 0으로 초기화합니다.
+     * @return 꺼낸 전체 건수
+     */
+    public long drain(long[] target) {
+        long total = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            long count = buckets[i].sumThenReset();
+            target[i] += count;
+            total += count;
+        }
+        return total;
+    }
+
+    /**
+     * Redis 반영에 실패한 값을 다시 누적합니다.
+     */
+    public void restore(long[] counts) {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            if (counts[i] > 0) {
+                buckets[i].add(counts[i]);
+            }
+        }
+    }
+
+    static int bucketIndex(long micros) {
+        if (micros < SUB_BUCKET_COUNT) {
+            return (int) Math.max(micros, 0);
+        }
+        long value = Math.min(micros, MAX_VALUE);
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKET_COUNT - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKET_COUNT + subBucket;
+    }
+
+    static long lowerBound(int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        int exponent = index / SUB_BUCKET_COUNT + SUB_BUCKET_BITS - 1;
+        int subBucket = index % SUB_BUCKET_COUNT;
+        return (long) (SUB_BUCKET_COUNT + subBucket) << (exponent - SUB_BUCKET_BITS);
+    }
+
+    static long upperBound(int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index + 1;
+        }
+        int exponent = index / SUB_BUCKET_COUNT + SUB_BUCKET_BITS - 1;
+        return lowerBound(index) + (1L << (exponent - SUB_BUCKET_BITS));
+    }
+
+    /**
+     * 버킷별 건수에서 백분위 값을 계산합니다. 버킷 내부는 선형 보간합니다.
+     * @return 백분위 지연 시간 (us), 데이터가 없으면 0
+     */
+    public static double percentile(long[] counts, long total, double percentile) {
+        return percentiles(counts, total, percentile)[0];
+    }
+
+    /**
+     * 여러 백분위를 버킷 배열 한 번 순회로 계산합니다.
+     * @param percentiles 오름차순으로 정렬된 백분위 (0~1)
+     * @return 각 백분위 지연 시간 (us), 데이터가 없으면 0
+     */
+    public static double[] percentiles(long[] counts, long total, double... percentiles) {
+        double[] result = new double[percentiles.length];
+        if (total <= 0) {
+            return result;
+        }
+
+        int next = 0;
+        long targetCount = (long) Math.ceil(total * percentiles[next]);
+        long cumulative = 0;
+
+        for (int i = 0; i < counts.length && next < percentiles.length; i++) {
+            long count = counts[i];
+            if (count == 0) {
+                continue;
+            }
+            // 같은 버킷에 여러 백분위가 걸칠 수 있음
+            while (next < percentiles.length && cumulative + count >= targetCount) {
+                double fraction = (double) (targetCount - cumulative) / count;
+                long lower = lowerBound(i);
+                result[next] = lower + fraction * (upperBound(i) - lower);
+                next++;
+                if (next < percentiles.length) {
+                    targetCount = (long) Math.ceil(total * percentiles[next]);
+                }
+            }
+            cumulative += count;
+        }
+
+        for (; next < percentiles.length; next++) {
+            result[next] = upperBound(counts.length - 1);
+        }
+        return result;
+    }
+}
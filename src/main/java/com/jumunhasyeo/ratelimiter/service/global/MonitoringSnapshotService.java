@@ -0,0 +1,174 @@
+package com.jumunhasyeo.ratelimiter.service.global;
+
+import com.jumunhasyeo.ratelimiter.service.algorithm.LuaFunctionTables;
+import com.jumunhasyeo.ratelimiter.service.algorithm.RateLimitAlgorithm;
+import com.jumunhasyeo.ratelimiter.service.algorithm.RateLimitAlgorithm.BucketRef;
+import com.jumunhasyeo.ratelimiter.service.global.GlobalQueueService.QueueType;
+import com.jumunhasyeo.ratelimiter.service.global.queue.QueueBackend;
+import com.jumunhasyeo.ratelimiter.service.pg.PaymentProviderRateLimiter;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 모니터링 지표용 대기열 길이와 버킷 사용량을 스크립트 한 번으로 조회
+ * <p>
+ * 큐 키별 ZCARD/XLEN과 버킷별 level 스크립트를 따로 호출하지 않도록
+ * 모든 키를 metrics_snapshot.lua 한 번에 전달합니다.
+ * 버킷 사용량은 로드 시 각 알고리즘의 level 스크립트 본문을 함수로 끼워 넣어 같은 계산식으로 구합니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class MonitoringSnapshotService {
+
+    private static final String LEVEL_FUNCTIONS_MARKER = "-- @level-functions";
+
+    private final StringRedisTemplate redisTemplate;
+    private final QueueBackend queueBackend;
+    private final GlobalQueueService queueService;
+    private final GlobalRateLimiterService globalRateLimiterService;
+    private final List<PaymentProviderRateLimiter> paymentProviderRateLimiters;
+    private final List<RateLimitAlgorithm> algorithms;
+
+    @Value("classpath:scripts/metrics_snapshot.lua")
+    private Resource snapshotScriptResource;
+
+    @SuppressWarnings("rawtypes")
+    private RedisScript<List> snapshotScript;
+
+    @PostConstruct
+    public void init() throws IOException {
+        Map<String, String> levelSources = new LinkedHashMap<>();
+        for (RateLimitAlgorithm algorithm : algorithms) {
+            levelSources.put(algorithm.getName(), algorithm.levelScriptSource());
+        }
+        snapshotScript = RedisScript.of(
+                assemble(snapshotScriptResource.getContentAsString(StandardCharsets.UTF_8), levelSources), List.class);
+    }
+
+    /**
+     * 표식 줄을 levels[name] = function(KEYS, ARGV) {level 스크립트 본문} end 로 치환
+     */
+    static String assemble(String template, Map<String, String> levelSources) {
+        return LuaFunctionTables.assemble(template, LEVEL_FUNCTIONS_MARKER, "levels", levelSources);
+    }
+
+    public MonitoringSnapshot read() {
+        QueueType[] queueTypes = QueueType.values();
+        List<String> keys = new ArrayList<>();
+        int[] queueKeyCounts = new int[queueTypes.length];
+
+        for (QueueType queueType : queueTypes) {
+            for (String key : queueService.getNormalKeys(queueType)) {
+                keys.add(queueBackend.physicalKey(key));
+                queueKeyCounts[queueType.ordinal()]++;
+            }
+        }
+        int queueCount = keys.size();
+        for (QueueType queueType : queueTypes) {
+            keys.add(queueType.getRetryKey());
+        }
+
+        List<BucketRef> buckets = new ArrayList<>(1 + paymentProviderRateLimiters.size());
+        buckets.add(globalRateLimiterService.getBucketRef());
+        for (PaymentProviderRateLimiter rateLimiter : paymentProviderRateLimiters) {
+            buckets.add(rateLimiter.getBucketRef());
+        }
+
+        List<String> args = new ArrayList<>(List.of(
+                String.valueOf(System.currentTimeMillis()),
+                queueBackend.lengthCommand(),
+                queueBackend.consumerGroup(),
+                String.valueOf(queueCount),
+                String.valueOf(queueTypes.length)
+        ));
+        addBuckets(buckets, keys, args);
+
+        List<?> result = redisTemplate.execute(snapshotScript, keys, args.toArray());
+        if (result == null || result.size() != queueCount + queueTypes.length + buckets.size()) {
+            throw new IllegalStateException("Unexpected metrics snapshot result: " + result);
+        }
+
+        int index = 0;
+        long[] depths = new long[queueTypes.length];
+        for (QueueType queueType : queueTypes) {
+            for (int i = 0; i < queueKeyCounts[queueType.ordinal()]; i++) {
+                depths[queueType.ordinal()] += toLong(result.get(index++));
+            }
+        }
+        long[] retryDepths = new long[queueTypes.length];
+        for (QueueType queueType : queueTypes) {
+            retryDepths[queueType.ordinal()] = toLong(result.get(index++));
+        }
+
+        long globalLevel = toLong(result.get(index++));
+        Map<String, Long> pgLevels = new LinkedHashMap<>();
+        for (PaymentProviderRateLimiter rateLimiter : paymentProviderRateLimiters) {
+            pgLevels.put(rateLimiter.getProviderName(), toLong(result.get(index++)));
+        }
+        return new MonitoringSnapshot(depths, retryDepths, globalLevel, pgLevels);
+    }
+
+    /**
+     * 큐 없이 버킷 사용량만 조회 (level 스크립트와 같은 단위)
+     */
+    long[] readLevels(List<BucketRef> buckets) {
+        List<String> keys = new ArrayList<>(buckets.size());
+        List<String> args = new ArrayList<>(List.of(
+                String.valueOf(System.currentTimeMillis()), queueBackend.lengthCommand(), "", "0", "0"));
+        addBuckets(buckets, keys, args);
+
+        List<?> result = redisTemplate.execute(snapshotScript, keys, args.toArray());
+        if (result == null || result.size() != buckets.size()) {
+            throw new IllegalStateException("Unexpected metrics snapshot result: " + result);
+        }
+        long[] levels = new long[buckets.size()];
+        for (int i = 0; i < levels.length; i++) {
+            levels[i] = toLong(result.get(i));
+        }
+        return levels;
+    }
+
+    private static void addBuckets(List<BucketRef> buckets, List<String> keys, List<String> args) {
+        for (BucketRef bucket : buckets) {
+            keys.add(bucket.stateKey());
+            args.add(bucket.algorithm());
+            args.add(String.valueOf(bucket.limit().rate()));
+            args.add(String.valueOf(bucket.limit().burst()));
+        }
+    }
+
+    private static long toLong(Object value) {
+        return ((Number) value).longValue();
+    }
+
+    /**
+     * @param depths      QueueType ordinal별 일반 큐 대기 길이 (우선순위 클래스 큐 포함)
+     * @param retryDepths QueueType ordinal별 재시도 큐 길이
+     * @param globalLevel 전역 버킷 사용량 * 1000
+     * @param pgLevels    PG별 버킷 사용량 * 1000
+     */
+    public record MonitoringSnapshot(long[] depths, long[] retryDepths, long globalLevel, Map<String, Long> pgLevels) {
+
+        public long depth(QueueType queueType) {
+            return depths[queueType.ordinal()];
+        }
+
+        public long retryDepth(QueueType queueType) {
+            return retryDepths[queueType.ordinal()];
+        }
+    }
+}
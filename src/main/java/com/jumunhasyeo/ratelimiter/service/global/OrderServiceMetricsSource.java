@@ -0,0 +1,30 @@
+package com.jumunhasyeo.ratelimiter.service.global;
+
+import lombok.Data;
+
+/**
+ * 피드백 루프가 사용하는 order-service 지표 공급원
+ * <p>
+ * feedback-loop.metrics-source 설정값(getName)으로 선택합니다.
+ */
+public interface OrderServiceMetricsSource {
+
+    /**
+     * @return 공급원 이름 (prometheus | scrape)
+     */
+    String getName();
+
+    /**
+     * 조회에 실패하거나 데이터가 없으면 모든 값이 0인 스냅샷을 반환합니다.
+     */
+    MetricsSnapshot collectOrderServiceMetrics();
+
+    @Data
+    class MetricsSnapshot {
+        // 초 단위 (http_server_requests_seconds)
+        private double p95Latency;
+        private double p99Latency;
+        // 커넥션 풀 사용률 (%)
+        private double connectionPoolUsage;
+    }
+}
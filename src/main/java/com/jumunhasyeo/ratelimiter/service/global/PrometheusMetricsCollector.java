@@ -1,5 +1,6 @@
 package com.jumunhasyeo.ratelimiter.service.global;
 
+import com.jumunhasyeo.ratelimiter.properties.PrometheusProperties;
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -11,97 +12,127 @@ import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Map;
 
+/**
+ * Prometheus에서 order-service 지표(P95/P99, 커넥션 풀 사용률)를 조회
+ * <p>
+ * 세 지표를 label_replace로 구분한 단일 쿼리로 한 번에 조회하고, 결과는 cacheTtlMs 동안 재사용합니다.
+ * 연속 실패가 failureThreshold에 도달하면 openMs 동안 조회하지 않으며(circuit open),
+ * 그동안에는 maxStalenessMs 이내의 마지막 값 또는 빈 스냅샷을 반환하여 피드백 루프 주기를 지연시키지 않습니다.
+ */
 @Slf4j
 @Service
 @RequiredArgsConstructor
-public class PrometheusMetricsCollector {
+public class PrometheusMetricsCollector implements OrderServiceMetricsSource {
+
+    private static final String SERIES_LABEL = "series";
+    private static final String SERIES_P95 = "p95";
+    private static final String SERIES_P99 = "p99";
+    private static final String SERIES_POOL = "pool";
+
+    private static final String COMBINED_QUERY = """
+            label_replace(histogram_quantile(0.95, sum(rate(http_server_requests_seconds_bucket{service="order"}[1m])) by (le)), "series", "p95", "", "")
+            or label_replace(histogram_quantile(0.99, sum(rate(http_server_requests_seconds_bucket{service="order"}[1m])) by (le)), "series", "p99", "", "")
+            or label_replace(avg(hikaricp_connections_active{service="order"} / hikaricp_connections_max{service="order"}) * 100, "series", "pool", "", "")
+            """;
 
     private final RestClient prometheusRestClient;
+    private final PrometheusProperties properties;
 
-    public MetricsSnapshot collectOrderServiceMetrics() {
-        try {
-            double p95 = getP95Latency();
-            double p99 = getP99Latency();
-            double connPool = getConnectionPoolUsage();
+    private MetricsSnapshot cachedSnapshot;
+    private long cachedAt;
+    private int consecutiveFailures;
+    private long openUntil;
+
+    @Override
+    public String getName() {
+        return "prometheus";
+    }
+
+    @Override
+    public synchronized MetricsSnapshot collectOrderServiceMetrics() {
+        long now = System.currentTimeMillis();
+
+        if (cachedSnapshot != null && now - cachedAt < properties.getCacheTtlMs()) {
+            return cachedSnapshot;
+        }
+
+        if (now < openUntil) {
+            log.debug("Prometheus circuit open - 조회 생략 ({}ms 남음)", openUntil - now);
+            return fallback(now);
+        }
 
-            log.debug("Metric 데이터 수집: p95={}, p99={}, connPool={}", p95, p99, connPool);
+        try {
+            MetricsSnapshot snapshot = queryPrometheus();
+            log.debug("Metric 데이터 수집: p95={}, p99={}, connPool={}",
+                    snapshot.getP95Latency(), snapshot.getP99Latency(), snapshot.getConnectionPoolUsage());
 
-            MetricsSnapshot snapshot = new MetricsSnapshot();
-            snapshot.setP95Latency(p95);
-            snapshot.setP99Latency(p99);
-            snapshot.setConnectionPoolUsage(connPool);
+            if (consecutiveFailures >= properties.getFailureThreshold()) {
+                log.info("Prometheus 조회 복구 - circuit close");
+            }
+            consecutiveFailures = 0;
+            cachedSnapshot = snapshot;
+            cachedAt = now;
             return snapshot;
         } catch (Exception e) {
-            log.error("Prometheus Metrics 수집 실패", e);
-            return new MetricsSnapshot();
+            consecutiveFailures++;
+            if (consecutiveFailures >= properties.getFailureThreshold()) {
+                openUntil = now + properties.getOpenMs();
+                log.warn("Prometheus 조회 {}회 연속 실패 - {}ms 동안 circuit open: {}",
+                        consecutiveFailures, properties.getOpenMs(), e.getMessage());
+            } else {
+                log.error("Prometheus Metrics 수집 실패: {}", e.getMessage());
+            }
+            return fallback(now);
         }
     }
 
-    private double getP95Latency() {
-        String query = """
-                histogram_quantile(0.95, sum(rate(http_server_requests_seconds_bucket{service="order"}[1m])) by (le))
-                """;
-        return queryPrometheus(query);
+    private MetricsSnapshot fallback(long now) {
+        if (cachedSnapshot != null && now - cachedAt <= properties.getMaxStalenessMs()) {
+            return cachedSnapshot;
+        }
+        return new MetricsSnapshot();
     }
 
-    private double getP99Latency() {
-        String query = """
-                histogram_quantile(0.99, sum(rate(http_server_requests_seconds_bucket{service="order"}[1m])) by (le))
-                """;
-        return queryPrometheus(query);
-    }
+    private MetricsSnapshot queryPrometheus() {
+        String encodedQuery = UriUtils.encodeQueryParam(COMBINED_QUERY, StandardCharsets.UTF_8);
 
-    private double getConnectionPoolUsage() {
-        String query = """
-                avg(hikaricp_connections_active{service="order"} / hikaricp_connections_max{service="order"}) * 100
-                """;
-        return queryPrometheus(query);
-    }
+        PrometheusResponse response = prometheusRestClient.get()
+                .uri("/api/v1/query?query=" + encodedQuery)
+                .retrieve()
+                .body(PrometheusResponse.class);
 
-    private double queryPrometheus(String query) {
-        log.debug("Prometheus 쿼리: {}", query.trim());
+        if (response == null || !"success".equals(response.getStatus())) {
+            throw new IllegalStateException("Prometheus 응답 오류: "
+                    + (response != null ? response.getStatus() : "null"));
+        }
 
-        try {
-            String encodedQuery = UriUtils.encodeQueryParam(query, StandardCharsets.UTF_8);
-            String fullUrl = "/api/v1/query?query=" + encodedQuery;
-
-            PrometheusResponse response = prometheusRestClient.get()
-                    .uri(fullUrl)
-                    .retrieve()
-                    .body(PrometheusResponse.class);
-
-            if (response != null) {
-                log.debug("Prometheus 응답: status={}, resultType={}, resultCount={}",
-                        response.getStatus(),
-                        response.getData() != null ? response.getData().getResultType() : "null",
-                        response.getData() != null && response.getData().getResult() != null
-                                ? response.getData().getResult().size()
-                                : 0
-                );
-
-                if (response.getData() != null
-                        && response.getData().getResult() != null
-                        && !response.getData().getResult().isEmpty()) {
-
-                    String value = response.getData().getResult().get(0).getValue()[1].toString();
-                    log.debug("추출된 값: {}", value);
-                    return Double.parseDouble(value);
-                }
-            }
+        MetricsSnapshot snapshot = new MetricsSnapshot();
+        if (response.getData() == null || response.getData().getResult() == null) {
+            log.warn("쿼리 응답 없음");
+            return snapshot;
+        }
 
-            log.warn("쿼리 응답 없음: {}", query.trim());
-            return 0.0;
-        } catch (Exception e) {
-            log.error("Prometheus 쿼리 실패: {}, error: {}", query.trim(), e.getMessage());
-            return 0.0;
+        for (PrometheusResult result : response.getData().getResult()) {
+            String series = result.getMetric() != null ? result.getMetric().get(SERIES_LABEL) : null;
+            double value = parseValue(result.getValue());
+            if (SERIES_P95.equals(series)) {
+                snapshot.setP95Latency(value);
+            } else if (SERIES_P99.equals(series)) {
+                snapshot.setP99Latency(value);
+            } else if (SERIES_POOL.equals(series)) {
+                snapshot.setConnectionPoolUsage(value);
+            }
         }
+        return snapshot;
     }
 
-    @Data
-    public static class MetricsSnapshot {
-        private double p95Latency;
-        private double p99Latency;
-        private double connectionPoolUsage;
+    private double parseValue(Object[] value) {
+        if (value == null || value.length < 2 || value[1] == null) {
+            return 0.0;
+        }
+        double parsed = Double.parseDouble(value[1].toString());
+        // 요청이 없는 구간의 histogram_quantile은 NaN
+        return Double.isNaN(parsed) || Double.isInfinite(parsed) ? 0.0 : parsed;
     }
 
     @Data
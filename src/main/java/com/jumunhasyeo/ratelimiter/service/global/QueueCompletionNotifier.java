@@ -0,0 +1,127 @@
+package com.jumunhasyeo.ratelimiter.service.global;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jumunhasyeo.ratelimiter.dto.QueueCompletion;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * 대기열 처리 결과를 요청 ID 기준으로 전달합니다.
+ * <p>
+ * 처리한 노드가 결과를 Redis에 짧은 TTL로 저장하고 채널에는 요청 ID만 발행하면,
+ * 클라이언트 연결을 가진 노드만 저장된 결과를 조회해 대기 중인 long-poll 요청을 완료합니다.
+ * (백엔드 응답 본문을 모든 노드로 보내지 않음)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class QueueCompletionNotifier {
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final RedisMessageListenerContainer listenerContainer;
+
+    private static final String CHANNEL = "queue:completion";
+    private static final String RESULT_KEY_PREFIX = "queue:result:";
+
+    @Value("${queue.completion.result-ttl-seconds:60}")
+    private int resultTtlSeconds;
+
+    private final Map<String, Queue<DeferredResult<ResponseEntity<QueueCompletion>>>> waiters =
+            new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void init() {
+        listenerContainer.addMessageListener(this::onMessage, new ChannelTopic(CHANNEL));
+        log.debug("QueueCompletionNotifier: {} 채널 구독", CHANNEL);
+    }
+
+    public void publish(QueueCompletion completion) {
+        try {
+            String json = objectMapper.writeValueAsString(completion);
+            // 구독 전에 완료된 경우를 위해 결과를 먼저 저장
+            redisTemplate.opsForValue().set(RESULT_KEY_PREFIX + completion.getRequestId(), json,
+                    Duration.ofSeconds(resultTtlSeconds));
+            redisTemplate.convertAndSend(CHANNEL, completion.getRequestId());
+        } catch (Exception e) {
+            log.warn("처리 결과 발행 실패 requestId={}: {}", completion.getRequestId(), e.getMessage());
+        }
+    }
+
+    /**
+     * 처리 결과를 기다리는 long-poll 응답을 생성합니다.
+     * 결과가 이미 있으면 즉시, 없으면 완료 시점 또는 timeout(204)에 응답합니다.
+     */
+    public DeferredResult<ResponseEntity<QueueCompletion>> await(String requestId, long timeoutMs) {
+        DeferredResult<ResponseEntity<QueueCompletion>> result = new DeferredResult<>(timeoutMs);
+        result.onTimeout(() -> result.setResult(ResponseEntity.noContent().build()));
+        result.onCompletion(() -> removeWaiter(requestId, result));
+
+        waiters.computeIfAbsent(requestId, id -> new ConcurrentLinkedQueue<>()).add(result);
+
+        // 등록 이후 다시 확인하여 등록 전에 발행된 결과를 놓치지 않음
+        QueueCompletion stored = findResult(requestId);
+        if (stored != null) {
+            result.setResult(ResponseEntity.ok(stored));
+        }
+        return result;
+    }
+
+    public QueueCompletion findResult(String requestId) {
+        String json = redisTemplate.opsForValue().get(RESULT_KEY_PREFIX + requestId);
+        return json != null ? parse(json) : null;
+    }
+
+    // 이 노드에 대기 중인 요청이 있을 때만 저장된 결과를 조회
+    private void onMessage(Message message, byte[] pattern) {
+        String requestId = new String(message.getBody(), StandardCharsets.UTF_8);
+        if (!waiters.containsKey(requestId)) {
+            return;
+        }
+        QueueCompletion completion = findResult(requestId);
+        if (completion == null) {
+            return;
+        }
+
+        Queue<DeferredResult<ResponseEntity<QueueCompletion>>> pending = waiters.remove(requestId);
+        if (pending == null) {
+            return;
+        }
+        for (DeferredResult<ResponseEntity<QueueCompletion>> result : pending) {
+            result.setResult(ResponseEntity.ok(completion));
+        }
+    }
+
+    private void removeWaiter(String requestId, DeferredResult<ResponseEntity<QueueCompletion>> result) {
+        waiters.computeIfPresent(requestId, (id, pending) -> {
+            pending.remove(result);
+            return pending.isEmpty() ? null : pending;
+        });
+    }
+
+    private QueueCompletion parse(String json) {
+        try {
+            return objectMapper.readValue(json, QueueCompletion.class);
+        } catch (JsonProcessingException e) {
+            log.warn("처리 결과 파싱 실패: {}", e.getMessage());
+            return null;
+        }
+    }
+}
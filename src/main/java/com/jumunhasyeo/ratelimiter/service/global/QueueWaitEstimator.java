@@ -0,0 +1,90 @@
+package com.jumunhasyeo.ratelimiter.service.global;
+
+import com.jumunhasyeo.ratelimiter.properties.QueueSchedulerProperties;
+import com.jumunhasyeo.ratelimiter.properties.QueueSchedulerProperties.QueueClass;
+import com.jumunhasyeo.ratelimiter.properties.QueueWeightProperties;
+import com.jumunhasyeo.ratelimiter.service.global.GlobalQueueService.QueuePosition;
+import com.jumunhasyeo.ratelimiter.service.global.GlobalQueueService.QueueType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component
+@RequiredArgsConstructor
+public class QueueWaitEstimator {
+
+    private final GlobalRateLimiterService rateLimiterService;
+    private final GlobalQueueService queueService;
+    private final QueueWeightProperties weightProperties;
+    private final QueueSchedulerProperties schedulerProperties;
+
+    /**
+     * 대기열 순번, 현재 누수율, ORDER/OTHER 가중치, 재시도 큐 적체로 예상 대기 시간을 계산합니다.
+     * <p>
+     * - 반대 큐가 비어 있으면 해당 QueueType이 누수율 전체를, 아니면 가중치 비율만큼을 사용
+     * - 같은 QueueType의 재시도 항목은 retryRatio 비율로 일반 항목보다 먼저 처리되므로 앞선 항목으로 계산
+     * - 우선순위 클래스가 설정되어 있으면 순번(rank)은 클래스 키 내 순번이므로 DRR 클래스 가중치로 계산
+     *
+     * @param key 항목이 들어 있는 큐 클래스 논리 키
+     * @return 예상 대기 시간 (ms), 대기열에 없거나 DRR 폴링 대상이 아닌 키이면 null
+     */
+    public Long estimateWaitMs(QueueType queueType, String key, QueuePosition position) {
+        if (position == null || !position.isQueued()) {
+            return null;
+        }
+
+        int leakRate = rateLimiterService.getCurrentLimit();
+        if (leakRate <= 0) {
+            return null;
+        }
+
+        long ahead = position.rank() + 1;
+        List<QueueClass> classes = schedulerProperties.getClasses();
+        if (!classes.isEmpty()) {
+            return estimateClassWaitMs(classes, key, ahead, leakRate);
+        }
+
+        double share = position.peerDepth() > 0
+                ? (queueType == QueueType.ORDER ? weightProperties.getOrderRatio() : weightProperties.getOtherRatio())
+                : 1.0;
+
+        double retryRatio = weightProperties.getRetryRatio();
+        double retryAhead = retryRatio >= 1.0
+                ? position.retryDepth()
+                : Math.min(position.retryDepth(), ahead * retryRatio / (1.0 - retryRatio));
+
+        double drainPerSecond = leakRate * share;
+        return (long) Math.ceil((ahead + retryAhead) / drainPerSecond * 1000);
+    }
+
+    /**
+     * 자기 클래스에서 ahead건이 처리되는 동안, 대기 항목이 있는 다른 클래스(다른 QueueType·재시도 포함)는
+     * DRR 가중치 비율만큼(그 클래스의 대기 깊이까지) 함께 처리되므로 그만큼을 앞선 항목으로 계산합니다.
+     * aging 보정은 반영하지 않습니다.
+     */
+    private Long estimateClassWaitMs(List<QueueClass> classes, String key, long ahead, int leakRate) {
+        QueueClass own = null;
+        for (QueueClass queueClass : classes) {
+            if (!queueClass.isRetry() && queueClass.getKey().equals(key)) {
+                own = queueClass;
+                break;
+            }
+        }
+        if (own == null || own.getWeight() <= 0) {
+            return null;
+        }
+
+        double total = ahead;
+        for (QueueClass queueClass : classes) {
+            if (queueClass == own || queueClass.getWeight() <= 0) {
+                continue;
+            }
+            long depth = queueService.getClassDepth(queueClass);
+            if (depth > 0) {
+                total += Math.min(depth, ahead * queueClass.getWeight() / own.getWeight());
+            }
+        }
+        return (long) Math.ceil(total / leakRate * 1000);
+    }
+}
@@ -8,12 +8,20 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.io.Resource;
 import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.util.*;
 
+/**
+ * order-service 응답 지연 시간 히스토그램
+ * <p>
+ * 요청 경로에서는 노드 로컬 {@link LatencyRecorder}에만 기록하고,
+ * flush 주기마다 0이 아닌 버킷만 현재 시간 구간 키에 누적합니다.
+ * 백분위는 최근 maxSlices 개 구간을 합쳐서 계산하므로 모든 노드의 기록이 반영됩니다.
+ */
 @Slf4j
 @Service
 @RequiredArgsConstructor
@@ -22,135 +30,108 @@ public class RedisLatencyHistogramService {
     private final StringRedisTemplate redisTemplate;
     private final FeedbackLoopProperties properties;
 
-    private static final String HISTOGRAM_KEY_PREFIX = "latency:histogram:";
+    private static final String HISTOGRAM_KEY_PREFIX = "latency:hist:";
 
-    @Value("classpath:scripts/record_latency.lua")
-    private Resource recordLatencyScriptResource;
+    @Value("classpath:scripts/latency_flush.lua")
+    private Resource flushScriptResource;
 
-    private RedisScript<Long> recordLatencyScript;
+    @Value("classpath:scripts/latency_window.lua")
+    private Resource windowScriptResource;
+
+    private RedisScript<Long> flushScript;
+    private RedisScript<List> windowScript;
+
+    private final LatencyRecorder recorder = new LatencyRecorder();
 
     @PostConstruct
     public void init() throws IOException {
-        recordLatencyScript = RedisScript.of(
-                recordLatencyScriptResource.getContentAsString(StandardCharsets.UTF_8), Long.class);
+        flushScript = RedisScript.of(
+                flushScriptResource.getContentAsString(StandardCharsets.UTF_8), Long.class);
+        windowScript = RedisScript.of(
+                windowScriptResource.getContentAsString(StandardCharsets.UTF_8), List.class);
         log.debug("RedisLatencyHistogramService: Lua script 파일 로드 완료");
     }
 
-    public void recordLatency(long latencyMs) {
+    public void recordLatencyMicros(long latencyMicros) {
+        recorder.record(latencyMicros);
+    }
+
+    @Scheduled(fixedDelayString = "${feedback-loop.histogram.flush-interval-ms:1000}")
+    public void flush() {
+        long[] counts = new long[LatencyRecorder.BUCKET_COUNT];
+        if (recorder.drain(counts) == 0) {
+            return;
+        }
+
         var histogramParams = properties.getHistogram();
         long timeSlice = getTimeSlice(histogramParams.getTimeSliceDurationMs());
         String histogramKey = HISTOGRAM_KEY_PREFIX + timeSlice;
-
-        int[] boundaries = histogramParams.getBucketBoundaries();
         int ttlSeconds = (histogramParams.getTimeSliceDurationMs() * histogramParams.getMaxSlices()) / 1000 + 10;
 
         List<String> args = new ArrayList<>();
-        args.add(String.valueOf(latencyMs));
         args.add(String.valueOf(ttlSeconds));
-        args.add(String.valueOf(boundaries.length));
-        for (int boundary : boundaries) {
-            args.add(String.valueOf(boundary));
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] > 0) {
+                args.add(String.valueOf(i));
+                args.add(String.valueOf(counts[i]));
+            }
         }
 
         try {
             redisTemplate.execute(
-                    recordLatencyScript,
+                    flushScript,
                     Collections.singletonList(histogramKey),
                     args.toArray(new String[0])
             );
         } catch (Exception e) {
-            log.warn("Latency 기록 실패: {}", e.getMessage());
+            // 다음 주기에 다시 반영
+            recorder.restore(counts);
+            log.warn("Latency 히스토그램 반영 실패: {}", e.getMessage());
         }
     }
 
-    public double getP95Latency() {
-        return calculatePercentile(0.95);
-    }
-
-    public double getP99Latency() {
-        return calculatePercentile(0.99);
-    }
-
-    private double calculatePercentile(double percentile) {
-        Map<Integer, Long> histogram = aggregateRecentHistograms();
-
-        if (histogram.isEmpty()) {
-            log.debug("P{} Histogram 데이터 없음", (int) (percentile * 100));
-            return 0.0;
-        }
-
-        int[] boundaries = properties.getHistogram().getBucketBoundaries();
-
-        long totalCount = histogram.getOrDefault(boundaries[boundaries.length - 1], 0L);
-
-        if (totalCount == 0) {
-            return 0.0;
-        }
-
-        long targetCount = (long) Math.ceil(totalCount * percentile);
-
-        long prevCount = 0;
-        int prevBoundary = 0;
-
-        for (int boundary : boundaries) {
-            long cumulativeCount = histogram.getOrDefault(boundary, 0L);
-
-            if (cumulativeCount >= targetCount) {
-                if (cumulativeCount == prevCount) {
-                    return (double) boundary;
-                }
-
-                double fraction = (double) (targetCount - prevCount) /
-                        (cumulativeCount - prevCount);
-                return prevBoundary + fraction * (boundary - prevBoundary);
-            }
-
-            prevCount = cumulativeCount;
-            prevBoundary = boundary;
-        }
-
-        return (double) boundaries[boundaries.length - 1];
-    }
-
-    private Map<Integer, Long> aggregateRecentHistograms() {
+    /**
+     * 최근 maxSlices 개 구간을 스크립트 한 번으로 합산하고 P50/P95/P99를 함께 계산합니다.
+     * 조회 실패 시 데이터 없음(EMPTY)으로 처리합니다.
+     */
+    public LatencySnapshot getLatencySnapshot() {
         var histogramParams = properties.getHistogram();
         int timeSliceDurationMs = histogramParams.getTimeSliceDurationMs();
         int maxSlices = histogramParams.getMaxSlices();
-
         long currentSlice = getTimeSlice(timeSliceDurationMs);
 
-        List<Map<Integer, Long>> histogramList = new ArrayList<>();
-
+        List<String> keys = new ArrayList<>(maxSlices);
         for (int i = 0; i < maxSlices; i++) {
-            String key = HISTOGRAM_KEY_PREFIX + (currentSlice - (long) i * timeSliceDurationMs);
-            try {
-                Map<Object, Object> entries = redisTemplate.opsForHash().entries(key);
-                Map<Integer, Long> histogram = new HashMap<>();
-                for (Map.Entry<Object, Object> entry : entries.entrySet()) {
-                    histogram.put(
-                            Integer.parseInt(entry.getKey().toString()),
-                            Long.parseLong(entry.getValue().toString())
-                    );
-                }
-                histogramList.add(histogram);
-            } catch (Exception e) {
-                log.debug("Histogram 조회 실패 key: {}", key);
-            }
+            keys.add(HISTOGRAM_KEY_PREFIX + (currentSlice - (long) i * timeSliceDurationMs));
         }
 
-        return mergeHistograms(histogramList);
-    }
+        List<?> reply;
+        try {
+            reply = redisTemplate.execute(windowScript, keys);
+        } catch (Exception e) {
+            log.debug("Histogram 조회 실패: {}", e.getMessage());
+            return LatencySnapshot.EMPTY;
+        }
 
-    private Map<Integer, Long> mergeHistograms(List<Map<Integer, Long>> histogramList) {
-        Map<Integer, Long> merged = new HashMap<>();
+        if (reply == null || reply.isEmpty()) {
+            log.debug("Histogram 데이터 없음");
+            return LatencySnapshot.EMPTY;
+        }
 
-        for (Map<Integer, Long> histogram : histogramList) {
-            for (Map.Entry<Integer, Long> entry : histogram.entrySet()) {
-                merged.merge(entry.getKey(), entry.getValue(), Long::sum);
+        long[] counts = new long[LatencyRecorder.BUCKET_COUNT];
+        long total = 0;
+        for (int i = 0; i + 1 < reply.size(); i += 2) {
+            int index = (int) ((Number) reply.get(i)).longValue();
+            long count = ((Number) reply.get(i + 1)).longValue();
+            if (index >= 0 && index < counts.length) {
+                counts[index] += count;
+                total += count;
             }
         }
 
-        return merged;
+        double[] micros = LatencyRecorder.percentiles(counts, total, 0.50, 0.95, 0.99);
+        // us -> ms
+        return new LatencySnapshot(total, micros[0] / 1000.0, micros[1] / 1000.0, micros[2] / 1000.0);
     }
 
     private long getTimeSlice(int durationMs) {
@@ -158,6 +139,8 @@ public class RedisLatencyHistogramService {
     }
 
     public void clearHistograms() {
+        recorder.drain(new long[LatencyRecorder.BUCKET_COUNT]);
+
         var histogramParams = properties.getHistogram();
         int timeSliceDurationMs = histogramParams.getTimeSliceDurationMs();
         int maxSlices = histogramParams.getMaxSlices();
@@ -172,4 +155,12 @@ public class RedisLatencyHistogramService {
             }
         }
     }
+
+    /**
+     * 최근 윈도우의 지연 시간 백분위 (ms)
+     * @param count 윈도우 내 전체 응답 건수
+     */
+    public record LatencySnapshot(long count, double p50, double p95, double p99) {
+        public static final LatencySnapshot EMPTY = new LatencySnapshot(0, 0.0, 0.0, 0.0);
+    }
 }
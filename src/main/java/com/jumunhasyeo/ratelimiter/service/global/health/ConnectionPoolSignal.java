@@ -0,0 +1,27 @@
+package com.jumunhasyeo.ratelimiter.service.global.health;
+
+import com.jumunhasyeo.ratelimiter.service.global.OrderServiceMetricsSource.MetricsSnapshot;
+import org.springframework.stereotype.Component;
+
+/**
+ * order-service 커넥션 풀 사용률 신호 (%)
+ */
+@Component
+public class ConnectionPoolSignal implements HealthSignal {
+
+    @Override
+    public String getName() {
+        return "pool-usage";
+    }
+
+    @Override
+    public double sample(HealthContext context) {
+        MetricsSnapshot metrics = context.orderMetrics();
+        // 지표 공급원 조회 실패 시 모든 값이 0
+        if (metrics == null || (metrics.getConnectionPoolUsage() == 0.0
+                && metrics.getP95Latency() == 0.0 && metrics.getP99Latency() == 0.0)) {
+            return Double.NaN;
+        }
+        return metrics.getConnectionPoolUsage();
+    }
+}
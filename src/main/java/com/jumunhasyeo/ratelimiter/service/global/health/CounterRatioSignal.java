@@ -0,0 +1,43 @@
+package com.jumunhasyeo.ratelimiter.service.global.health;
+
+import com.jumunhasyeo.ratelimiter.service.global.BackendLoadTracker.ClusterLoad;
+
+/**
+ * 직전 주기 이후 백엔드 응답 중 특정 응답의 비율 (%)
+ * <p>
+ * 클러스터 누적 카운터의 증가분으로 계산하며, 첫 주기이거나 응답이 없거나 카운터가 초기화되면 NaN입니다.
+ */
+public abstract class CounterRatioSignal implements HealthSignal {
+
+    private long lastCount = -1;
+    private long lastMatched = -1;
+
+    @Override
+    public double sample(HealthContext context) {
+        ClusterLoad load = context.load();
+        if (load == null) {
+            return Double.NaN;
+        }
+
+        long count = load.count();
+        long matched = matched(load);
+        long deltaCount = count - lastCount;
+        long deltaMatched = matched - lastMatched;
+        boolean hasBaseline = lastCount >= 0;
+
+        lastCount = count;
+        lastMatched = matched;
+
+        if (!hasBaseline || deltaCount <= 0 || deltaMatched < 0) {
+            return Double.NaN;
+        }
+        return 100.0 * deltaMatched / deltaCount;
+    }
+
+    @Override
+    public boolean usesBackendLoad() {
+        return true;
+    }
+
+    protected abstract long matched(ClusterLoad load);
+}
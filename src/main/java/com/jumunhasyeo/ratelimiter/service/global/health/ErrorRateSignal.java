@@ -0,0 +1,21 @@
+package com.jumunhasyeo.ratelimiter.service.global.health;
+
+import com.jumunhasyeo.ratelimiter.service.global.BackendLoadTracker.ClusterLoad;
+import org.springframework.stereotype.Component;
+
+/**
+ * 백엔드 오류 응답(5xx, 연결 실패) 비율 신호 (%)
+ */
+@Component
+public class ErrorRateSignal extends CounterRatioSignal {
+
+    @Override
+    public String getName() {
+        return "error-rate";
+    }
+
+    @Override
+    protected long matched(ClusterLoad load) {
+        return load.errors();
+    }
+}
@@ -0,0 +1,23 @@
+package com.jumunhasyeo.ratelimiter.service.global.health;
+
+import com.jumunhasyeo.ratelimiter.service.global.BackendLoadTracker.ClusterLoad;
+import com.jumunhasyeo.ratelimiter.service.global.OrderServiceMetricsSource.MetricsSnapshot;
+import com.jumunhasyeo.ratelimiter.service.global.RedisLatencyHistogramService.LatencySnapshot;
+
+/**
+ * 한 주기에 한 번 수집한 원천 데이터 (신호들이 공유)
+ *
+ * @param latency      최근 윈도우 order-service 응답 지연 시간 (ms)
+ * @param orderMetrics order-service 지표 공급원의 스냅샷
+ * @param load         클러스터 누적 부하 (조회 실패 시 null)
+ * @param queueSize    전체 대기열 크기
+ * @param nowMs        수집 시각
+ */
+public record HealthContext(
+        LatencySnapshot latency,
+        MetricsSnapshot orderMetrics,
+        ClusterLoad load,
+        long queueSize,
+        long nowMs
+) {
+}
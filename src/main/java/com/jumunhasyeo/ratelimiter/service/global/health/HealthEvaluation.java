@@ -0,0 +1,23 @@
+package com.jumunhasyeo.ratelimiter.service.global.health;
+
+import java.util.Map;
+
+/**
+ * @param score        가중 평균 점수 (0~100), 계산 가능한 신호가 없으면 -1
+ * @param context      이번 주기에 수집한 원천 데이터
+ * @param signalScores 신호별 점수 (계산에 포함된 신호만)
+ */
+public record HealthEvaluation(double score, HealthContext context, Map<String, Double> signalScores) {
+
+    public boolean isUnknown() {
+        return score < 0;
+    }
+
+    public String level() {
+        if (score < 0) return "UNKNOWN";
+        if (score >= 80) return "EXCELLENT";
+        if (score >= 60) return "GOOD";
+        if (score >= 30) return "DEGRADED";
+        return "CRITICAL";
+    }
+}
@@ -0,0 +1,28 @@
+package com.jumunhasyeo.ratelimiter.service.global.health;
+
+/**
+ * 피드백 루프 건강도 계산에 쓰이는 신호
+ * <p>
+ * 가중치와 임계값은 feedback-loop.health.signals.{name} 으로 설정하며,
+ * 원시 측정값은 파이프라인에서 EWMA로 평활화한 뒤 good(100점) ~ bad(0점) 사이로 환산합니다.
+ * 리더의 피드백 루프 스레드에서만 호출되므로, 증분 계산을 위한 직전 값은 구현체가 보관해도 됩니다.
+ */
+public interface HealthSignal {
+
+    /**
+     * @return 설정 키로 쓰이는 신호 이름
+     */
+    String getName();
+
+    /**
+     * @return 원시 측정값, 측정할 수 없으면 NaN (이번 주기 계산에서 제외)
+     */
+    double sample(HealthContext context);
+
+    /**
+     * @return 클러스터 백엔드 부하(HealthContext.load)를 사용하는 신호이면 true (활성 시 부하 샘플을 Redis에 반영)
+     */
+    default boolean usesBackendLoad() {
+        return false;
+    }
+}
@@ -0,0 +1,117 @@
+package com.jumunhasyeo.ratelimiter.service.global.health;
+
+import com.jumunhasyeo.ratelimiter.properties.FeedbackLoopProperties;
+import com.jumunhasyeo.ratelimiter.properties.FeedbackLoopProperties.SignalParams;
+import com.jumunhasyeo.ratelimiter.service.global.BackendLoadTracker;
+import com.jumunhasyeo.ratelimiter.service.global.GlobalQueueService;
+import com.jumunhasyeo.ratelimiter.service.global.OrderServiceMetricsSource;
+import com.jumunhasyeo.ratelimiter.service.global.RedisLatencyHistogramService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 등록된 {@link HealthSignal}로 시스템 건강도(0~100)를 계산
+ * <p>
+ * 주기마다 원천 데이터를 한 번 수집해 모든 신호에 전달하고, 신호별 원시값은 EWMA로 평활화합니다.
+ * 비활성 신호도 증분 기준값을 유지하도록 측정은 하되 점수에는 포함하지 않습니다.
+ * 측정할 수 없는 신호는 이번 주기에서 제외하고 나머지 가중치로 정규화하며,
+ * 포함된 신호가 하나도 없으면 UNKNOWN(-1)입니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class HealthSignalPipeline {
+
+    private final List<HealthSignal> signals;
+    private final List<OrderServiceMetricsSource> metricsSources;
+    private final RedisLatencyHistogramService histogramService;
+    private final BackendLoadTracker loadTracker;
+    private final GlobalQueueService queueService;
+    private final FeedbackLoopProperties properties;
+
+    private final Map<String, Double> smoothed = new HashMap<>();
+
+    public HealthEvaluation evaluate() {
+        HealthContext context = collect();
+        var health = properties.getHealth();
+
+        Map<String, Double> signalScores = new LinkedHashMap<>();
+        double weightedSum = 0;
+        double totalWeight = 0;
+
+        for (HealthSignal signal : signals) {
+            String name = signal.getName();
+            double raw = signal.sample(context);
+            if (Double.isNaN(raw)) {
+                continue;
+            }
+            double value = smooth(name, raw, health.getEwmaAlpha());
+
+            SignalParams params = health.getSignals().get(name);
+            if (params == null || !params.isEnabled() || params.getWeight() <= 0) {
+                continue;
+            }
+
+            double score = score(value, params.getGood(), params.getBad());
+            signalScores.put(name, score);
+            weightedSum += score * params.getWeight();
+            totalWeight += params.getWeight();
+        }
+
+        double score = totalWeight > 0 ? weightedSum / totalWeight : -1;
+        return new HealthEvaluation(score, context, signalScores);
+    }
+
+    private HealthContext collect() {
+        BackendLoadTracker.ClusterLoad load;
+        try {
+            load = loadTracker.readClusterLoad();
+        } catch (Exception e) {
+            log.warn("백엔드 부하 조회 실패: {}", e.getMessage());
+            load = null;
+        }
+
+        Long queueSize = queueService.getTotalQueueSize();
+        return new HealthContext(
+                histogramService.getLatencySnapshot(),
+                metricsSource().collectOrderServiceMetrics(),
+                load,
+                queueSize != null ? queueSize : 0L,
+                System.currentTimeMillis()
+        );
+    }
+
+    private OrderServiceMetricsSource metricsSource() {
+        String name = properties.getMetricsSource();
+        for (OrderServiceMetricsSource source : metricsSources) {
+            if (source.getName().equalsIgnoreCase(name)) {
+                return source;
+            }
+        }
+        throw new IllegalArgumentException("Unknown metrics source: " + name);
+    }
+
+    private double smooth(String name, double raw, double alpha) {
+        Double previous = smoothed.get(name);
+        double value = previous == null ? raw : previous + alpha * (raw - previous);
+        smoothed.put(name, value);
+        return value;
+    }
+
+    /**
+     * good → 100점, bad → 0점 사이 선형 환산 (good > bad 이면 값이 클수록 좋은 신호)
+     */
+    static double score(double value, double good, double bad) {
+        if (good == bad) {
+            return value <= good ? 100.0 : 0.0;
+        }
+        double ratio = (bad - value) / (bad - good);
+        return 100.0 * Math.max(0.0, Math.min(1.0, ratio));
+    }
+}
@@ -0,0 +1,25 @@
+package com.jumunhasyeo.ratelimiter.service.global.health;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * 클러스터 전체 백엔드 In-flight 요청 수 신호
+ */
+@Component
+public class InflightSignal implements HealthSignal {
+
+    @Override
+    public String getName() {
+        return "inflight";
+    }
+
+    @Override
+    public double sample(HealthContext context) {
+        return context.load() != null ? context.load().inflight() : Double.NaN;
+    }
+
+    @Override
+    public boolean usesBackendLoad() {
+        return true;
+    }
+}
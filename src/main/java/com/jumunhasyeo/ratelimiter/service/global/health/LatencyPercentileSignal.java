@@ -0,0 +1,20 @@
+package com.jumunhasyeo.ratelimiter.service.global.health;
+
+import com.jumunhasyeo.ratelimiter.service.global.RedisLatencyHistogramService.LatencySnapshot;
+
+/**
+ * order-service 응답 지연 시간 백분위 신호 (ms)
+ */
+public abstract class LatencyPercentileSignal implements HealthSignal {
+
+    @Override
+    public double sample(HealthContext context) {
+        LatencySnapshot latency = context.latency();
+        if (latency == null || latency.count() == 0) {
+            return Double.NaN;
+        }
+        return percentile(latency);
+    }
+
+    protected abstract double percentile(LatencySnapshot latency);
+}
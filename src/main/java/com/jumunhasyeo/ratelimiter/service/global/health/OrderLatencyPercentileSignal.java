@@ -0,0 +1,25 @@
+package com.jumunhasyeo.ratelimiter.service.global.health;
+
+import com.jumunhasyeo.ratelimiter.service.global.OrderServiceMetricsSource.MetricsSnapshot;
+
+/**
+ * order-service가 직접 보고한 응답 지연 시간 백분위 신호 (ms)
+ * <p>
+ * 지표 공급원(prometheus / actuator scrape)의 http_server_requests 히스토그램 기준이며,
+ * 게이트웨이에서 측정한 {@link LatencyPercentileSignal}과 달리 대기열/네트워크 구간을 포함하지 않습니다.
+ * 값이 0이면 수집 실패 또는 윈도우 내 요청 없음으로 보고 NaN입니다.
+ */
+public abstract class OrderLatencyPercentileSignal implements HealthSignal {
+
+    @Override
+    public double sample(HealthContext context) {
+        MetricsSnapshot metrics = context.orderMetrics();
+        if (metrics == null) {
+            return Double.NaN;
+        }
+        double seconds = percentileSeconds(metrics);
+        return seconds > 0 ? seconds * 1000 : Double.NaN;
+    }
+
+    protected abstract double percentileSeconds(MetricsSnapshot metrics);
+}
@@ -0,0 +1,18 @@
+package com.jumunhasyeo.ratelimiter.service.global.health;
+
+import com.jumunhasyeo.ratelimiter.service.global.OrderServiceMetricsSource.MetricsSnapshot;
+import org.springframework.stereotype.Component;
+
+@Component
+public class OrderP95LatencySignal extends OrderLatencyPercentileSignal {
+
+    @Override
+    public String getName() {
+        return "order-p95-latency";
+    }
+
+    @Override
+    protected double percentileSeconds(MetricsSnapshot metrics) {
+        return metrics.getP95Latency();
+    }
+}
@@ -0,0 +1,18 @@
+package com.jumunhasyeo.ratelimiter.service.global.health;
+
+import com.jumunhasyeo.ratelimiter.service.global.OrderServiceMetricsSource.MetricsSnapshot;
+import org.springframework.stereotype.Component;
+
+@Component
+public class OrderP99LatencySignal extends OrderLatencyPercentileSignal {
+
+    @Override
+    public String getName() {
+        return "order-p99-latency";
+    }
+
+    @Override
+    protected double percentileSeconds(MetricsSnapshot metrics) {
+        return metrics.getP99Latency();
+    }
+}
@@ -0,0 +1,18 @@
+package com.jumunhasyeo.ratelimiter.service.global.health;
+
+import com.jumunhasyeo.ratelimiter.service.global.RedisLatencyHistogramService.LatencySnapshot;
+import org.springframework.stereotype.Component;
+
+@Component
+public class P99LatencySignal extends LatencyPercentileSignal {
+
+    @Override
+    public String getName() {
+        return "p99-latency";
+    }
+
+    @Override
+    protected double percentile(LatencySnapshot latency) {
+        return latency.p99();
+    }
+}
@@ -0,0 +1,32 @@
+package com.jumunhasyeo.ratelimiter.service.global.health;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * 대기열 증가 속도 신호 (건/초, 줄어들면 음수)
+ */
+@Component
+public class QueueGrowthSignal implements HealthSignal {
+
+    private long lastQueueSize = -1;
+    private long lastAt;
+
+    @Override
+    public String getName() {
+        return "queue-growth";
+    }
+
+    @Override
+    public double sample(HealthContext context) {
+        long previousSize = lastQueueSize;
+        long previousAt = lastAt;
+        lastQueueSize = context.queueSize();
+        lastAt = context.nowMs();
+
+        long elapsedMs = context.nowMs() - previousAt;
+        if (previousSize < 0 || elapsedMs <= 0) {
+            return Double.NaN;
+        }
+        return (context.queueSize() - previousSize) * 1000.0 / elapsedMs;
+    }
+}
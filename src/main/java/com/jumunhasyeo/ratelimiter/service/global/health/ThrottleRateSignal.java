@@ -0,0 +1,21 @@
+package com.jumunhasyeo.ratelimiter.service.global.health;
+
+import com.jumunhasyeo.ratelimiter.service.global.BackendLoadTracker.ClusterLoad;
+import org.springframework.stereotype.Component;
+
+/**
+ * 백엔드 429 응답 비율 신호 (%) - PG 처리율 제한이 백엔드를 거쳐 돌아온 경우
+ */
+@Component
+public class ThrottleRateSignal extends CounterRatioSignal {
+
+    @Override
+    public String getName() {
+        return "pg-429-rate";
+    }
+
+    @Override
+    protected long matched(ClusterLoad load) {
+        return load.throttled();
+    }
+}
@@ -0,0 +1,122 @@
+package com.jumunhasyeo.ratelimiter.service.global.queue;
+
+import com.jumunhasyeo.ratelimiter.properties.QueueLimitProperties.ShedPolicy;
+import com.jumunhasyeo.ratelimiter.properties.QueueSchedulerProperties.QueueClass;
+import com.jumunhasyeo.ratelimiter.service.global.GlobalQueueService.QueuePosition;
+import com.jumunhasyeo.ratelimiter.service.global.GlobalQueueService.QueueType;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.UnaryOperator;
+
+/**
+ * 일반 대기열(ORDER/OTHER)의 저장 방식.
+ * <p>
+ * 재시도 큐는 지연 실행 큐이므로 backend와 무관하게 항상 ZSET(score = 재시도 가능 시각)을 사용합니다.
+ * 키 인자는 모두 논리 키(queue:global:order 등)이며, 실제 Redis 키는 {@link #physicalKey(String)}로 변환됩니다.
+ */
+public interface QueueBackend {
+
+    String getName();
+
+    String physicalKey(String logicalKey);
+
+    /**
+     * 큐 길이를 구하는 Redis 명령 (처리율 제한 acquire 스크립트의 대기열 존재 검사용)
+     */
+    String lengthCommand();
+
+    /**
+     * 대기 길이에서 제외할 전달 후 미확인(PEL) 항목의 consumer group (없으면 빈 문자열)
+     */
+    String consumerGroup();
+
+    /**
+     * 길이/사용자별 한도는 QueueType 단위이므로 클래스 키 전체의 합으로 검사하고, 축출도 클래스 키 전체에서 고릅니다.
+     * @param key      대상 큐 클래스의 논리 키 (기본 클래스는 queueType.getKey())
+     * @param typeKeys queueType의 일반 큐 논리 키 전체 (key 포함)
+     * @param peerKeys 반대 QueueType의 일반 큐 논리 키 전체 (PRIORITY 축출 대상)
+     */
+    OfferReply offer(QueueType queueType, String key, Collection<String> typeKeys, Collection<String> peerKeys,
+                     String member, long score, Long userId,
+                     ShedPolicy policy, long maxDepth, long peerMaxDepth, long perUserMaxDepth);
+
+    /**
+     * Deficit Round-Robin 폴링 결과를 JSON { items: [...], stats: {...} } 으로 반환합니다.
+     */
+    String pollWeighted(PollRequest request);
+
+    List<String> poll(String logicalKey, int size);
+
+    QueuePosition position(QueueType queueType, String key, Long userId);
+
+    long size(String logicalKey);
+
+    /**
+     * backend 고유의 receipt를 ack 합니다.
+     * @return backend가 처리한 receipt이면 true, in-flight ZSET receipt이면 false
+     */
+    boolean acknowledge(String receipt);
+
+    /**
+     * @param userLimited        사용자별 최대 대기 수 초과로 거절되었으면 true
+     * @param evictedRequestIds  축출된 항목의 requestId (이미 수용 응답을 받은 요청이므로 SHED 결과 발행 대상)
+     */
+    record OfferReply(boolean accepted, long evicted, QueuePosition position, boolean userLimited,
+                      List<String> evictedRequestIds) {
+    }
+
+    /**
+     * @param classes        DRR 폴링 대상 클래스 (key는 레인이 적용된 논리 키)
+     * @param drrStateKey    클래스별 deficit + round-robin 포인터를 저장하는 Hash 키
+     * @param inflightKeys   신뢰 모드이면 [inflightKey, inflightRegistryKey], 아니면 빈 리스트
+     * @param agingPerSec    맨 앞 항목 대기 1초당 가중치 증가율 (0이면 aging 비활성)
+     * @param maxAgingBoost  aging 가중치 배수 상한
+     */
+    record PollRequest(List<QueueClass> classes,
+                       String drrStateKey,
+                       int totalSlots,
+                       long now,
+                       long retryThreshold,
+                       long inflightDeadline,
+                       List<String> inflightKeys,
+                       double agingPerSec,
+                       double maxAgingBoost) {
+
+        /**
+         * KEYS: 클래스 키(일반 큐는 normalKeyMapper 적용) + drrStateKey + inflightKeys
+         */
+        public List<String> scriptKeys(UnaryOperator<String> normalKeyMapper) {
+            List<String> keys = new ArrayList<>(classes.size() + 1 + inflightKeys.size());
+            for (QueueClass queueClass : classes) {
+                keys.add(queueClass.isRetry() ? queueClass.getKey() : normalKeyMapper.apply(queueClass.getKey()));
+            }
+            keys.add(drrStateKey);
+            keys.addAll(inflightKeys);
+            return keys;
+        }
+
+        /**
+         * ARGV: now, totalSlots, retryThreshold, inflightDeadline, classCount,
+         * 클래스별 (name, weight, retry, queueType), agingPerSec, maxAgingBoost
+         */
+        public List<String> scriptArgs() {
+            List<String> args = new ArrayList<>(7 + classes.size() * 4);
+            args.add(String.valueOf(now));
+            args.add(String.valueOf(totalSlots));
+            args.add(String.valueOf(retryThreshold));
+            args.add(String.valueOf(inflightDeadline));
+            args.add(String.valueOf(classes.size()));
+            for (QueueClass queueClass : classes) {
+                args.add(queueClass.getName());
+                args.add(String.valueOf(queueClass.getWeight()));
+                args.add(queueClass.isRetry() ? "1" : "0");
+                args.add(queueClass.getQueueType().name());
+            }
+            args.add(String.valueOf(agingPerSec));
+            args.add(String.valueOf(maxAgingBoost));
+            return args;
+        }
+    }
+}
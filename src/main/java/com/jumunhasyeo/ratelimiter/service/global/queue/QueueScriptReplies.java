@@ -0,0 +1,50 @@
+package com.jumunhasyeo.ratelimiter.service.global.queue;
+
+import com.jumunhasyeo.ratelimiter.service.global.GlobalQueueService.QueuePosition;
+import com.jumunhasyeo.ratelimiter.service.global.queue.QueueBackend.OfferReply;
+
+import java.util.List;
+
+/**
+ * offer/position 스크립트의 공통 반환 형식 변환
+ * <p>
+ * offer: { accepted, evicted, depth, rank, retryDepth, peerDepth, reason, 축출된 requestId... }
+ * position: { rank, depth, retryDepth, peerDepth }
+ */
+final class QueueScriptReplies {
+
+    // offer 스크립트 reason (0: 수용, 1: 큐 가득 참, 2: 사용자별 한도 초과)
+    private static final long REASON_USER_LIMIT = 2L;
+
+    private QueueScriptReplies() {
+    }
+
+    static OfferReply toOfferReply(List<?> result) {
+        if (result == null || result.size() < 7) {
+            throw new IllegalStateException("Unexpected offer script result: " + result);
+        }
+        QueuePosition position = new QueuePosition(
+                toLong(result.get(3)), toLong(result.get(2)), toLong(result.get(4)), toLong(result.get(5)));
+        List<String> evictedRequestIds = result.size() == 7 ? List.of() : result.subList(7, result.size()).stream()
+                .map(String::valueOf)
+                .toList();
+        return new OfferReply(toLong(result.get(0)) == 1L, toLong(result.get(1)), position,
+                toLong(result.get(6)) == REASON_USER_LIMIT, evictedRequestIds);
+    }
+
+    static QueuePosition toQueuePosition(List<?> result, int offset) {
+        if (result == null || result.size() < offset + 4) {
+            return QueuePosition.NOT_FOUND;
+        }
+        return new QueuePosition(
+                toLong(result.get(offset)),
+                toLong(result.get(offset + 1)),
+                toLong(result.get(offset + 2)),
+                toLong(result.get(offset + 3))
+        );
+    }
+
+    private static long toLong(Object value) {
+        return ((Number) value).longValue();
+    }
+}
@@ -0,0 +1,200 @@
+package com.jumunhasyeo.ratelimiter.service.global.queue;
+
+import com.jumunhasyeo.ratelimiter.properties.QueueLimitProperties.ShedPolicy;
+import com.jumunhasyeo.ratelimiter.properties.ReliableQueueProperties;
+import com.jumunhasyeo.ratelimiter.service.global.GlobalQueueService.QueuePosition;
+import com.jumunhasyeo.ratelimiter.service.global.GlobalQueueService.QueueType;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.Resource;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Redis Streams 대기열 (queue.backend=stream)
+ * <p>
+ * 항목 ID는 "&lt;seq&gt;-0"으로 직접 발급하여 엄격한 FIFO를 보장하고,
+ * consumer group(queue-processor)으로 전달합니다. 신뢰 모드에서는 PEL이 in-flight 역할을 하며
+ * visibility timeout이 지난 항목은 폴링 시 XAUTOCLAIM으로 회수됩니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "queue.backend", havingValue = "stream")
+public class StreamQueueBackend implements QueueBackend {
+
+    public static final String CONSUMER_GROUP = "queue-processor";
+    private static final String STREAM_SUFFIX = ":stream";
+    private static final String RECEIPT_PREFIX = "stream|";
+
+    private final StringRedisTemplate redisTemplate;
+    private final ReliableQueueProperties reliableProperties;
+
+    @Value("classpath:scripts/stream_poll.lua")
+    private Resource pollScriptResource;
+
+    @Value("classpath:scripts/stream_offer.lua")
+    private Resource offerScriptResource;
+
+    @Value("classpath:scripts/stream_position.lua")
+    private Resource positionScriptResource;
+
+    @Value("classpath:scripts/stream_pop.lua")
+    private Resource popScriptResource;
+
+    private RedisScript<String> pollScript;
+    private RedisScript<List> offerScript;
+    private RedisScript<List> positionScript;
+    private RedisScript<List> popScript;
+
+    @PostConstruct
+    public void init() throws IOException {
+        pollScript = RedisScript.of(
+                pollScriptResource.getContentAsString(StandardCharsets.UTF_8), String.class);
+        offerScript = RedisScript.of(
+                offerScriptResource.getContentAsString(StandardCharsets.UTF_8), List.class);
+        positionScript = RedisScript.of(
+                positionScriptResource.getContentAsString(StandardCharsets.UTF_8), List.class);
+        popScript = RedisScript.of(
+                popScriptResource.getContentAsString(StandardCharsets.UTF_8), List.class);
+        log.debug("StreamQueueBackend: Lua script 파일 로드 완료");
+    }
+
+    @Override
+    public String getName() {
+        return "stream";
+    }
+
+    @Override
+    public String physicalKey(String logicalKey) {
+        return logicalKey + STREAM_SUFFIX;
+    }
+
+    @Override
+    public String lengthCommand() {
+        return "XLEN";
+    }
+
+    @Override
+    public String consumerGroup() {
+        return CONSUMER_GROUP;
+    }
+
+    @Override
+    public OfferReply offer(QueueType queueType, String key, Collection<String> typeKeys, Collection<String> peerKeys,
+                            String member, long score, Long userId,
+                            ShedPolicy policy, long maxDepth, long peerMaxDepth, long perUserMaxDepth) {
+        List<String> keys = new ArrayList<>(2 + typeKeys.size() + peerKeys.size());
+        keys.add(physicalKey(key));
+        keys.add(queueType.getRetryKey());
+        typeKeys.forEach(typeKey -> keys.add(physicalKey(typeKey)));
+        peerKeys.forEach(peerKey -> keys.add(physicalKey(peerKey)));
+        List<?> result = redisTemplate.execute(
+                offerScript,
+                keys,
+                member,
+                String.valueOf(score),
+                String.valueOf(maxDepth),
+                String.valueOf(peerMaxDepth),
+                policy.name(),
+                queueType == QueueType.ORDER ? "1" : "0",
+                userId != null ? String.valueOf(userId) : "",
+                CONSUMER_GROUP,
+                String.valueOf(perUserMaxDepth),
+                String.valueOf(typeKeys.size())
+        );
+        return QueueScriptReplies.toOfferReply(result);
+    }
+
+    @Override
+    public String pollWeighted(PollRequest request) {
+        // 일반 큐 클래스만 Stream 키로 변환 (재시도 큐는 ZSET)
+        List<String> args = request.scriptArgs();
+        args.add(CONSUMER_GROUP);
+        args.add(reliableProperties.getNodeId());
+        args.add(String.valueOf(reliableProperties.getVisibilityTimeoutMs()));
+
+        return redisTemplate.execute(
+                pollScript,
+                request.scriptKeys(this::physicalKey),
+                args.toArray()
+        );
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<String> poll(String logicalKey, int size) {
+        if (size <= 0) {
+            return Collections.emptyList();
+        }
+        List<String> members = redisTemplate.execute(
+                popScript,
+                List.of(physicalKey(logicalKey)),
+                String.valueOf(size),
+                CONSUMER_GROUP,
+                reliableProperties.getNodeId()
+        );
+        return members != null ? members : Collections.emptyList();
+    }
+
+    @Override
+    public QueuePosition position(QueueType queueType, String logicalKey, Long userId) {
+        String key = physicalKey(logicalKey);
+        List<?> result = redisTemplate.execute(
+                positionScript,
+                List.of(key, userIndexKey(key), queueType.getRetryKey(),
+                        physicalKey(queueType.peer().getKey()), metaKey(key)),
+                String.valueOf(userId),
+                CONSUMER_GROUP
+        );
+        return QueueScriptReplies.toQueuePosition(result, 0);
+    }
+
+    @Override
+    public long size(String logicalKey) {
+        String key = physicalKey(logicalKey);
+        Long length = redisTemplate.opsForStream().size(key);
+        if (length == null || length == 0) {
+            return 0L;
+        }
+        try {
+            // 신뢰 모드에서 전달 후 ack 전인 항목(PEL)은 대기 길이에서 제외
+            return length - redisTemplate.opsForStream().pending(key, CONSUMER_GROUP).getTotalPendingMessages();
+        } catch (Exception e) {
+            // consumer group 생성 전 (첫 폴링 전)
+            return length;
+        }
+    }
+
+    @Override
+    public boolean acknowledge(String receipt) {
+        if (!receipt.startsWith(RECEIPT_PREFIX)) {
+            return false;
+        }
+        int sep = receipt.lastIndexOf('|');
+        String key = receipt.substring(RECEIPT_PREFIX.length(), sep);
+        String id = receipt.substring(sep + 1);
+        redisTemplate.opsForStream().acknowledge(key, CONSUMER_GROUP, id);
+        redisTemplate.opsForStream().delete(key, id);
+        return true;
+    }
+
+    private String userIndexKey(String streamKey) {
+        return streamKey + ":users";
+    }
+
+    private String metaKey(String streamKey) {
+        return streamKey + ":meta";
+    }
+}
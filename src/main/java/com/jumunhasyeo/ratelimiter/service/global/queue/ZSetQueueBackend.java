@@ -0,0 +1,154 @@
+package com.jumunhasyeo.ratelimiter.service.global.queue;
+
+import com.jumunhasyeo.ratelimiter.properties.QueueLimitProperties.ShedPolicy;
+import com.jumunhasyeo.ratelimiter.service.global.GlobalQueueService.QueuePosition;
+import com.jumunhasyeo.ratelimiter.service.global.GlobalQueueService.QueueType;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.Resource;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.UnaryOperator;
+
+/**
+ * score = 원본 타임스탬프(ms)인 ZSET 대기열 (기본값)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "queue.backend", havingValue = "zset", matchIfMissing = true)
+public class ZSetQueueBackend implements QueueBackend {
+
+    private final StringRedisTemplate redisTemplate;
+
+    @Value("classpath:scripts/queue_poll_only.lua")
+    private Resource pollScriptResource;
+
+    @Value("classpath:scripts/queue_offer.lua")
+    private Resource offerScriptResource;
+
+    @Value("classpath:scripts/queue_position.lua")
+    private Resource positionScriptResource;
+
+    @Value("classpath:scripts/queue_pop.lua")
+    private Resource popScriptResource;
+
+    private RedisScript<String> pollScript;
+    private RedisScript<List> offerScript;
+    private RedisScript<List> positionScript;
+    private RedisScript<List> popScript;
+
+    @PostConstruct
+    public void init() throws IOException {
+        pollScript = RedisScript.of(
+                pollScriptResource.getContentAsString(StandardCharsets.UTF_8), String.class);
+        offerScript = RedisScript.of(
+                offerScriptResource.getContentAsString(StandardCharsets.UTF_8), List.class);
+        positionScript = RedisScript.of(
+                positionScriptResource.getContentAsString(StandardCharsets.UTF_8), List.class);
+        popScript = RedisScript.of(
+                popScriptResource.getContentAsString(StandardCharsets.UTF_8), List.class);
+        log.debug("ZSetQueueBackend: Lua script 파일 로드 완료");
+    }
+
+    @Override
+    public String getName() {
+        return "zset";
+    }
+
+    @Override
+    public String physicalKey(String logicalKey) {
+        return logicalKey;
+    }
+
+    @Override
+    public String lengthCommand() {
+        return "ZCARD";
+    }
+
+    @Override
+    public String consumerGroup() {
+        return "";
+    }
+
+    @Override
+    public OfferReply offer(QueueType queueType, String key, Collection<String> typeKeys, Collection<String> peerKeys,
+                            String member, long score, Long userId,
+                            ShedPolicy policy, long maxDepth, long peerMaxDepth, long perUserMaxDepth) {
+        List<String> keys = new ArrayList<>(2 + typeKeys.size() + peerKeys.size());
+        keys.add(key);
+        keys.add(queueType.getRetryKey());
+        keys.addAll(typeKeys);
+        keys.addAll(peerKeys);
+        List<?> result = redisTemplate.execute(
+                offerScript,
+                keys,
+                member,
+                String.valueOf(score),
+                String.valueOf(maxDepth),
+                String.valueOf(peerMaxDepth),
+                policy.name(),
+                queueType == QueueType.ORDER ? "1" : "0",
+                userId != null ? String.valueOf(userId) : "",
+                String.valueOf(perUserMaxDepth),
+                String.valueOf(typeKeys.size())
+        );
+        return QueueScriptReplies.toOfferReply(result);
+    }
+
+    @Override
+    public String pollWeighted(PollRequest request) {
+        return redisTemplate.execute(
+                pollScript,
+                request.scriptKeys(UnaryOperator.identity()),
+                request.scriptArgs().toArray()
+        );
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<String> poll(String logicalKey, int size) {
+        if (size <= 0) {
+            return Collections.emptyList();
+        }
+        List<String> members = redisTemplate.execute(
+                popScript,
+                List.of(logicalKey, logicalKey + ":users", logicalKey + ":user_counts"),
+                String.valueOf(size)
+        );
+        return members != null ? members : Collections.emptyList();
+    }
+
+    @Override
+    public QueuePosition position(QueueType queueType, String key, Long userId) {
+        List<?> result = redisTemplate.execute(
+                positionScript,
+                List.of(key, key + ":users",
+                        queueType.getRetryKey(), queueType.peer().getKey()),
+                String.valueOf(userId)
+        );
+        return QueueScriptReplies.toQueuePosition(result, 0);
+    }
+
+    @Override
+    public long size(String logicalKey) {
+        Long size = redisTemplate.opsForZSet().size(logicalKey);
+        return size != null ? size : 0L;
+    }
+
+    @Override
+    public boolean acknowledge(String receipt) {
+        return false;
+    }
+}
@@ -1,5 +1,7 @@
 package com.jumunhasyeo.ratelimiter.service.pg;
 
+import com.jumunhasyeo.ratelimiter.service.algorithm.RateLimitAlgorithm.BucketRef;
+
 public interface PaymentProviderRateLimiter {
 
     boolean tryConsume();
@@ -13,4 +15,6 @@ public interface PaymentProviderRateLimiter {
     int getRateLimit();
 
     long getAvailableTokens();
+
+    BucketRef getBucketRef();
 }
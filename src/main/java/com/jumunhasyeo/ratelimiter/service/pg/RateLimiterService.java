@@ -1,5 +1,6 @@
 package com.jumunhasyeo.ratelimiter.service.pg;
 
+import com.jumunhasyeo.ratelimiter.metrics.jfr.AdmissionEvent;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -34,8 +35,31 @@ public class RateLimiterService {
         return rl;
     }
 
+    /**
+     * 요청이 지정한 provider가 등록되어 있으면 그대로, 없거나 알 수 없으면 기본 provider를 사용합니다.
+     * 알 수 없는 provider로 getRateLimiter가 실패해 이미 소비한 전역 토큰이 500 응답으로 버려지지 않도록
+     * 전역 한도 통과 후 PG 한도를 확인하기 전에 호출합니다.
+     * @param requested 요청 헤더/본문의 provider (null 가능)
+     * @param fallback  경로 규칙의 provider
+     */
+    public String resolveProvider(String requested, String fallback) {
+        if (requested == null || !rateLimiterMap.containsKey(requested.toUpperCase())) {
+            return fallback;
+        }
+        return requested;
+    }
+
     public boolean tryConsume(String provider) {
-        return getRateLimiter(provider).tryConsume();
+        PaymentProviderRateLimiter rateLimiter = getRateLimiter(provider);
+        AdmissionEvent event = new AdmissionEvent();
+        event.begin();
+        boolean allowed = rateLimiter.tryConsume();
+        if (event.shouldCommit()) {
+            event.scope = "pg:" + rateLimiter.getProviderName();
+            event.result = allowed ? "ALLOWED" : "DENIED_CAPACITY";
+            event.commit();
+        }
+        return allowed;
     }
 
     public long tryConsumeN(String provider, long n) {
@@ -1,75 +1,52 @@
 package com.jumunhasyeo.ratelimiter.service.pg.toss;
 
+import com.jumunhasyeo.ratelimiter.service.algorithm.RateLimitAlgorithm;
+import com.jumunhasyeo.ratelimiter.service.algorithm.RateLimitAlgorithm.BucketLimit;
+import com.jumunhasyeo.ratelimiter.service.algorithm.RateLimitAlgorithm.BucketRef;
+import com.jumunhasyeo.ratelimiter.service.algorithm.RateLimitAlgorithmRegistry;
 import com.jumunhasyeo.ratelimiter.service.pg.PaymentProviderRateLimiter;
 import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.core.io.Resource;
-import org.springframework.data.redis.core.StringRedisTemplate;
-import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.stereotype.Component;
 
-import java.io.IOException;
-import java.nio.charset.StandardCharsets;
-import java.util.Collections;
-
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class TossPaymentRateLimiter implements PaymentProviderRateLimiter {
 
-    private final StringRedisTemplate redisTemplate;
+    private final RateLimitAlgorithmRegistry algorithmRegistry;
 
-    private static final String BUCKET_KEY = "leaky:pg:toss";
-    private static final int RATE_LIMIT = 10;
-    private static final int CAPACITY = 10;
+    private static final String SCOPE = "pg:toss";
     private static final int TTL_SECONDS = 60;
 
-    @Value("classpath:scripts/pg_refund.lua")
-    private Resource refundScriptResource;
-
-    @Value("classpath:scripts/pg_try_consume.lua")
-    private Resource tryConsumeScriptResource;
+    @Value("${ratelimit.pg.toss.algorithm:leaky}")
+    private String algorithmName;
 
-    @Value("classpath:scripts/pg_try_consume_n.lua")
-    private Resource tryConsumeNScriptResource;
+    @Value("${ratelimit.pg.toss.rate:10}")
+    private int rateLimit;
 
-    @Value("classpath:scripts/pg_get_water_level.lua")
-    private Resource getWaterLevelScriptResource;
+    @Value("${ratelimit.pg.toss.burst:10}")
+    private int burst;
 
-    private RedisScript<Long> tryConsumeScript;
-    private RedisScript<Long> getWaterLevelScript;
-    private RedisScript<Long> tryConsumeNScript;
-    private RedisScript<Long> refundNScript;
+    private RateLimitAlgorithm algorithm;
+    private String bucketKey;
+    private BucketLimit limit;
 
     @PostConstruct
-    public void init() throws IOException {
-        tryConsumeScript = RedisScript.of(
-                tryConsumeScriptResource.getContentAsString(StandardCharsets.UTF_8), Long.class);
-        getWaterLevelScript = RedisScript.of(
-                getWaterLevelScriptResource.getContentAsString(StandardCharsets.UTF_8), Long.class);
-        tryConsumeNScript = RedisScript.of(
-                tryConsumeNScriptResource.getContentAsString(StandardCharsets.UTF_8), Long.class);
-        refundNScript = RedisScript.of(
-                refundScriptResource.getContentAsString(StandardCharsets.UTF_8), Long.class);
-        log.debug("TossPaymentRateLimiter: Lua script 파일 로드 완료");
+    public void init() {
+        algorithm = algorithmRegistry.get(algorithmName);
+        bucketKey = algorithm.stateKey(SCOPE);
+        limit = new BucketLimit(rateLimit, burst);
+        log.debug("TossPaymentRateLimiter 초기화 완료 algorithm={}, rate={}, burst={}",
+                algorithm.getName(), rateLimit, burst);
     }
 
     @Override
     public boolean tryConsume() {
-        long now = System.currentTimeMillis();
-
         try {
-            Long result = redisTemplate.execute(
-                    tryConsumeScript,
-                    Collections.singletonList(BUCKET_KEY),
-                    String.valueOf(now),
-                    String.valueOf(RATE_LIMIT),
-                    String.valueOf(CAPACITY),
-                    String.valueOf(TTL_SECONDS)
-            );
-            return result != null && result == 1L;
+            return algorithm.acquire(bucketKey, limit, 1, TTL_SECONDS) == 1L;
         } catch (Exception e) {
             log.error("TOSS tryConsume 오류 발생", e);
             return false;
@@ -78,20 +55,10 @@ public class TossPaymentRateLimiter implements PaymentProviderRateLimiter {
 
     @Override
     public long tryConsumeN(long n) {
-        long now = System.currentTimeMillis();
         if (n <= 0) return 0L;
 
         try {
-            Long result = redisTemplate.execute(
-                    tryConsumeNScript,
-                    Collections.singletonList(BUCKET_KEY),
-                    String.valueOf(now),
-                    String.valueOf(RATE_LIMIT),
-                    String.valueOf(CAPACITY),
-                    String.valueOf(TTL_SECONDS),
-                    String.valueOf(n)
-            );
-            return result != null ? result : 0L;
+            return algorithm.acquire(bucketKey, limit, n, TTL_SECONDS);
         } catch (Exception e) {
             log.error("TOSS tryConsumeN 오류 발생", e);
             return 0L;
@@ -101,16 +68,9 @@ public class TossPaymentRateLimiter implements PaymentProviderRateLimiter {
     @Override
     public void refundN(long n) {
         if (n <= 0) return;
-        long now = System.currentTimeMillis();
 
         try {
-            redisTemplate.execute(
-                    refundNScript,
-                    Collections.singletonList(BUCKET_KEY),
-                    String.valueOf(now),
-                    String.valueOf(TTL_SECONDS),
-                    String.valueOf(n)
-            );
+            algorithm.refund(bucketKey, limit, n, TTL_SECONDS);
         } catch (Exception e) {
             log.error("TOSS refundN 오류 발생", e);
         }
@@ -123,28 +83,22 @@ public class TossPaymentRateLimiter implements PaymentProviderRateLimiter {
 
     @Override
     public int getRateLimit() {
-        return RATE_LIMIT;
+        return rateLimit;
     }
 
     @Override
     public long getAvailableTokens() {
-        long now = System.currentTimeMillis();
-
         try {
-            Long result = redisTemplate.execute(
-                    getWaterLevelScript,
-                    Collections.singletonList(BUCKET_KEY),
-                    String.valueOf(now),
-                    String.valueOf(RATE_LIMIT)
-            );
-            if (result != null) {
-                long waterLevel = result / 1000;
-                return Math.max(0, CAPACITY - waterLevel);
-            }
-            return CAPACITY;
+            long waterLevel = algorithm.level(bucketKey, limit) / 1000;
+            return Math.max(0, burst - waterLevel);
         } catch (Exception e) {
             log.error("TOSS 사용 가능 Token 조회 오류", e);
-            return CAPACITY;
+            return burst;
         }
     }
+
+    @Override
+    public BucketRef getBucketRef() {
+        return new BucketRef(algorithm.getName(), bucketKey, limit);
+    }
 }
@@ -0,0 +1,201 @@
+package com.jumunhasyeo.ratelimiter.service.route;
+
+import com.jumunhasyeo.ratelimiter.properties.RouteRuleProperties.RouteRule;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * pathPrefix를 문자 단위 trie로 컴파일한 불변 매처
+ * <p>
+ * 매칭은 경로 길이에 비례(O(path length))하며 객체를 할당하지 않습니다.
+ * 규칙 변경 시에는 새 매처를 컴파일해 교체합니다.
+ * 경로 규칙(RouteRule)과 우선순위 큐 클래스(QueueClass.match)가 같은 매처를 사용합니다.
+ *
+ * @param <T> 규칙 타입
+ */
+public final class RouteMatcher<T> {
+
+    private static final RouteMatcher<?> EMPTY =
+            new RouteMatcher<>(new Node(new char[0], new Node[0], new Object[0], new String[0], new int[0]), 0);
+
+    private final Node root;
+    private final int ruleCount;
+
+    private RouteMatcher(Node root, int ruleCount) {
+        this.root = root;
+        this.ruleCount = ruleCount;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T> RouteMatcher<T> empty() {
+        return (RouteMatcher<T>) EMPTY;
+    }
+
+    /**
+     * @throws IllegalArgumentException pathPrefix가 없거나 '/'로 시작하지 않는 규칙이 있는 경우
+     */
+    public static RouteMatcher<RouteRule> compile(List<RouteRule> rules) {
+        for (RouteRule rule : rules) {
+            String prefix = rule.getPathPrefix();
+            if (prefix == null || !prefix.startsWith("/")) {
+                throw new IllegalArgumentException("Invalid route pathPrefix: " + prefix);
+            }
+        }
+        return compile(rules, RouteRule::getPathPrefix, RouteRule::getMethod);
+    }
+
+    /**
+     * @param prefixOf pathPrefix (null이면 모든 경로에 일치)
+     * @param methodOf method 조건 (null이면 모든 method에 일치)
+     */
+    public static <T> RouteMatcher<T> compile(List<T> rules, Function<T, String> prefixOf, Function<T, String> methodOf) {
+        BuildNode root = new BuildNode();
+        for (int order = 0; order < rules.size(); order++) {
+            T rule = rules.get(order);
+            String prefix = prefixOf.apply(rule);
+            BuildNode node = root;
+            if (prefix != null) {
+                for (int i = 0; i < prefix.length(); i++) {
+                    node = node.children.computeIfAbsent(prefix.charAt(i), c -> new BuildNode());
+                }
+            }
+            node.rules.add(rule);
+            node.methods.add(methodOf.apply(rule));
+            node.orders.add(order);
+        }
+        return new RouteMatcher<>(root.freeze(), rules.size());
+    }
+
+    /**
+     * 가장 긴 pathPrefix가 일치하고 method 조건을 만족하는 규칙 (쿼리 문자열은 무시)
+     *
+     * @return 일치하는 규칙이 없으면 null
+     */
+    public T match(String method, String path) {
+        if (path == null) {
+            return null;
+        }
+        Node node = root;
+        T best = node.select(method);
+        for (int i = 0; i < path.length(); i++) {
+            char c = path.charAt(i);
+            if (c == '?') {
+                break;
+            }
+            node = node.child(c);
+            if (node == null) {
+                break;
+            }
+            T rule = node.select(method);
+            if (rule != null) {
+                best = rule;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * pathPrefix와 method가 일치하고 추가 조건(header 등)을 만족하는 규칙 중 설정 순서가 가장 앞선 규칙
+     *
+     * @return 일치하는 규칙이 없으면 null
+     */
+    public T matchFirst(String method, String path, Predicate<T> condition) {
+        Node node = root;
+        int bestOrder = Integer.MAX_VALUE;
+        T best = null;
+        int i = 0;
+        while (node != null) {
+            int index = node.firstIndex(method, condition, bestOrder);
+            if (index >= 0) {
+                bestOrder = node.orders[index];
+                best = node.rule(index);
+            }
+            if (path == null || i >= path.length() || path.charAt(i) == '?') {
+                break;
+            }
+            node = node.child(path.charAt(i++));
+        }
+        return best;
+    }
+
+    public int size() {
+        return ruleCount;
+    }
+
+    private static final class Node {
+        // 정렬된 자식 문자 (이진 탐색)
+        private final char[] labels;
+        private final Node[] children;
+        // 이 노드에서 끝나는 pathPrefix의 규칙 (설정 순서)
+        private final Object[] rules;
+        private final String[] methods;
+        private final int[] orders;
+
+        private Node(char[] labels, Node[] children, Object[] rules, String[] methods, int[] orders) {
+            this.labels = labels;
+            this.children = children;
+            this.rules = rules;
+            this.methods = methods;
+            this.orders = orders;
+        }
+
+        private Node child(char c) {
+            int index = Arrays.binarySearch(labels, c);
+            return index >= 0 ? children[index] : null;
+        }
+
+        @SuppressWarnings("unchecked")
+        private <T> T rule(int index) {
+            return (T) rules[index];
+        }
+
+        private boolean matchesMethod(int index, String method) {
+            return methods[index] == null || methods[index].equalsIgnoreCase(method);
+        }
+
+        private <T> T select(String method) {
+            for (int i = 0; i < rules.length; i++) {
+                if (matchesMethod(i, method)) {
+                    return rule(i);
+                }
+            }
+            return null;
+        }
+
+        // 설정 순서가 before보다 앞선 규칙 중 조건을 만족하는 첫 규칙의 인덱스
+        private <T> int firstIndex(String method, Predicate<T> condition, int before) {
+            for (int i = 0; i < rules.length && orders[i] < before; i++) {
+                if (matchesMethod(i, method) && condition.test(rule(i))) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+    }
+
+    private static final class BuildNode {
+        private final Map<Character, BuildNode> children = new TreeMap<>();
+        private final List<Object> rules = new ArrayList<>();
+        private final List<String> methods = new ArrayList<>();
+        private final List<Integer> orders = new ArrayList<>();
+
+        private Node freeze() {
+            char[] labels = new char[children.size()];
+            Node[] frozen = new Node[children.size()];
+            int i = 0;
+            for (Map.Entry<Character, BuildNode> entry : children.entrySet()) {
+                labels[i] = entry.getKey();
+                frozen[i] = entry.getValue().freeze();
+                i++;
+            }
+            return new Node(labels, frozen, rules.toArray(), methods.toArray(new String[0]),
+                    orders.stream().mapToInt(Integer::intValue).toArray());
+        }
+    }
+}
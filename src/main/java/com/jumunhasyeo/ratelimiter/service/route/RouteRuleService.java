@@ -0,0 +1,136 @@
+package com.jumunhasyeo.ratelimiter.service.route;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jumunhasyeo.ratelimiter.properties.RouteRuleProperties;
+import com.jumunhasyeo.ratelimiter.properties.RouteRuleProperties.RouteRule;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * 경로별 처리율 제한 규칙 관리
+ * <p>
+ * Redis(ratelimit:route:rules)에 저장된 규칙이 있으면 사용하고, 없으면 설정(ratelimit.route.rules)을 사용합니다.
+ * 규칙 교체/재적재 시 새 {@link RouteMatcher}를 컴파일해 원자적으로 교체하므로 재시작이 필요 없습니다.
+ * 교체한 노드가 변경 채널(ratelimit:route:rules:changed)로 발행하면 모든 노드가 Redis 규칙을 다시 읽고,
+ * 구독 메시지를 놓친 경우를 대비해 주기적으로 Redis 값과 다시 맞춥니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RouteRuleService {
+
+    public static final String RULES_KEY = "ratelimit:route:rules";
+    private static final String CHANNEL = "ratelimit:route:rules:changed";
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final RouteRuleProperties routeRuleProperties;
+    private final RedisMessageListenerContainer listenerContainer;
+
+    private volatile List<RouteRule> rules = List.of();
+    private volatile RouteMatcher<RouteRule> matcher = RouteMatcher.empty();
+    // 마지막으로 적용한 Redis 규칙 JSON (null이면 설정값 사용 중)
+    private volatile String appliedJson;
+
+    @PostConstruct
+    public void init() {
+        reload();
+        listenerContainer.addMessageListener(this::onMessage, new ChannelTopic(CHANNEL));
+        log.debug("RouteRuleService: {} 채널 구독", CHANNEL);
+    }
+
+    /**
+     * @return 일치하는 규칙이 없으면 null (처리율 제한 대상 아님)
+     */
+    public RouteRule match(String method, String path) {
+        return matcher.match(method, path);
+    }
+
+    public List<RouteRule> getRules() {
+        return rules;
+    }
+
+    /**
+     * Redis에 저장된 규칙(없으면 설정값)으로 매처를 다시 컴파일합니다.
+     * Redis 조회 실패나 잘못된 규칙이면 기존 매처를 유지합니다 (기동 시에는 설정값 사용).
+     */
+    public List<RouteRule> reload() {
+        try {
+            String json = redisTemplate.opsForValue().get(RULES_KEY);
+            List<RouteRule> loaded = json != null
+                    ? objectMapper.readValue(json, new TypeReference<List<RouteRule>>() {})
+                    : routeRuleProperties.getRules();
+            apply(loaded);
+            appliedJson = json;
+        } catch (Exception e) {
+            log.error("Route 규칙 로드 실패, 기존 규칙 유지", e);
+            if (matcher.size() == 0) {
+                apply(routeRuleProperties.getRules());
+            }
+        }
+        return rules;
+    }
+
+    /**
+     * 규칙을 검증/컴파일한 뒤 Redis에 저장하고 즉시 적용합니다.
+     * @throws IllegalArgumentException 컴파일할 수 없는 규칙인 경우 (저장하지 않음)
+     */
+    public List<RouteRule> replace(List<RouteRule> newRules) {
+        RouteMatcher<RouteRule> compiled = RouteMatcher.compile(newRules);
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(newRules);
+            redisTemplate.opsForValue().set(RULES_KEY, json);
+        } catch (Exception e) {
+            throw new IllegalStateException("Route 규칙 저장 실패", e);
+        }
+        rules = List.copyOf(newRules);
+        matcher = compiled;
+        appliedJson = json;
+        log.info("Route 규칙 교체 완료 count={}", compiled.size());
+        try {
+            redisTemplate.convertAndSend(CHANNEL, String.valueOf(compiled.size()));
+        } catch (Exception e) {
+            // 다른 노드는 주기적 재동기화로 반영
+            log.warn("Route 규칙 변경 발행 실패: {}", e.getMessage());
+        }
+        return rules;
+    }
+
+    /**
+     * 구독 메시지를 놓친 경우(재연결 등)를 대비해 Redis에 저장된 규칙이 바뀌었으면 다시 적용합니다.
+     */
+    @Scheduled(fixedDelayString = "${ratelimit.route.resync-interval-ms:30000}")
+    public void resync() {
+        try {
+            if (!Objects.equals(redisTemplate.opsForValue().get(RULES_KEY), appliedJson)) {
+                reload();
+            }
+        } catch (Exception e) {
+            log.warn("Route 규칙 재동기화 실패: {}", e.getMessage());
+        }
+    }
+
+    private void onMessage(Message message, byte[] pattern) {
+        log.debug("Route 규칙 변경 수신, 다시 적용");
+        reload();
+    }
+
+    private void apply(List<RouteRule> newRules) {
+        RouteMatcher<RouteRule> compiled = RouteMatcher.compile(newRules);
+        rules = List.copyOf(newRules);
+        matcher = compiled;
+        log.debug("Route 규칙 적용 완료 count={}", compiled.size());
+    }
+}
@@ -0,0 +1,58 @@
+--[[
+  백엔드 부하 샘플 반영 스크립트
+  용도: 노드별 로컬 지연 시간 합계/건수를 누적하고, 현재 In-flight 수를 노드 필드로 기록
+
+  KEYS[1]: loadKey (adaptive:backend:load, HASH)
+           count / sumMicros : 전체 노드 누적 응답 건수 / 지연 시간 합계(us)
+           errors / throttled : 전체 노드 누적 오류(5xx, 연결 실패) / 429 응답 건수
+           inflight:{nodeId} : "inflight:timestampMs"
+
+  ARGV[1]: nodeId
+  ARGV[2]: inflight (현재 노드의 처리 중인 요청 수)
+  ARGV[3]: deltaCount (마지막 반영 이후 완료된 요청 수)
+  ARGV[4]: deltaSumMicros (마지막 반영 이후 지연 시간 합계 us)
+  ARGV[5]: now (ms)
+  ARGV[6]: staleMs (이 시간 이상 갱신되지 않은 노드 필드는 삭제)
+  ARGV[7]: deltaErrors (마지막 반영 이후 오류 응답 수)
+  ARGV[8]: deltaThrottled (마지막 반영 이후 429 응답 수)
+
+  반환값: 1
+]]
+
+local key = KEYS[1]
+local nodeId = ARGV[1]
+local inflight = ARGV[2]
+local deltaCount = tonumber(ARGV[3])
+local deltaSum = tonumber(ARGV[4])
+local now = tonumber(ARGV[5])
+local staleMs = tonumber(ARGV[6])
+local deltaErrors = tonumber(ARGV[7])
+local deltaThrottled = tonumber(ARGV[8])
+
+if deltaCount > 0 then
+    redis.call('HINCRBY', key, 'count', deltaCount)
+    redis.call('HINCRBY', key, 'sumMicros', deltaSum)
+end
+if deltaErrors > 0 then
+    redis.call('HINCRBY', key, 'errors', deltaErrors)
+end
+if deltaThrottled > 0 then
+    redis.call('HINCRBY', key, 'throttled', deltaThrottled)
+end
+
+redis.call('HSET', key, 'inflight:' .. nodeId, inflight .. ':' .. ARGV[5])
+
+-- 종료된 노드의 In-flight 값 정리
+local fields = redis.call('HGETALL', key)
+for i = 1, #fields, 2 do
+    local field = fields[i]
+    if string.sub(field, 1, 9) == 'inflight:' then
+        local sep = string.find(fields[i + 1], ':', 1, true)
+        local updatedAt = sep and tonumber(string.sub(fields[i + 1], sep + 1)) or 0
+        if now - updatedAt > staleMs then
+            redis.call('HDEL', key, field)
+        end
+    end
+end
+
+return 1
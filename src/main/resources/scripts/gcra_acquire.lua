@@ -0,0 +1,78 @@
+--[[
+  GCRA (Generic Cell Rate Algorithm) - 토큰 소비 스크립트
+  용도: 전역/PG 처리율 제한기의 토큰 소비 (키당 TAT 정수 1개만 유지)
+
+  KEYS[1]: tatKey (gcra:global:bucket, gcra:pg:{provider})
+  KEYS[2..]: 대기열 키 (선택, checkQueue=1일 때만 검사)
+             앞쪽은 queueLengthCommand로, 마지막 retryQueueCount개는 ZCARD로 길이 검사
+
+  ARGV[1]: now (현재 시간 ms)
+  ARGV[2]: rate (초당 허용량, emission interval = 1/rate)
+  ARGV[3]: burst (유휴 상태에서 한 번에 허용하는 최대 요청 수)
+  ARGV[4]: ttl (최소 TTL 초)
+  ARGV[5]: requested (요청 토큰 수)
+  ARGV[6]: checkQueue (1: 대기열이 있으면 거절, 0: 검사 안 함)
+  ARGV[7]: queueLengthCommand (일반 큐 길이 명령, ZCARD | XLEN, 기본 ZCARD)
+  ARGV[8]: retryQueueCount (KEYS 끝의 재시도 ZSET 개수, 기본 0)
+  ARGV[9]: group (XLEN일 때 대기 길이에서 제외할 PEL의 consumer group, 기본 빈 문자열)
+
+  반환값: 실제 소비된 토큰 수 (0 ~ requested), -1(큐 존재)
+  상태: STRING TAT(theoretical arrival time, µs), 허용 시 SET 1회 / 거절 시 쓰기 없음
+]]
+
+local key = KEYS[1]
+local now = tonumber(ARGV[1])
+local rate = tonumber(ARGV[2])
+local burst = tonumber(ARGV[3])
+local ttl = tonumber(ARGV[4])
+local requested = tonumber(ARGV[5])
+local checkQueue = tonumber(ARGV[6] or '0')
+local queueLengthCommand = ARGV[7] or 'ZCARD'
+local retryQueueCount = tonumber(ARGV[8] or '0')
+local group = ARGV[9] or ''
+
+-- Stream 대기열은 XLEN에서 전달 후 ack 전(PEL) 항목을 빼서 실제로 대기 중인 항목만 본다
+local function waiting(command, queueKey)
+    local len = redis.call(command, queueKey)
+    if len == 0 or command ~= 'XLEN' or group == '' then
+        return len
+    end
+    local pending = redis.pcall('XPENDING', queueKey, group)
+    if type(pending) == 'table' and not pending.err then
+        len = len - pending[1]
+    end
+    return len
+end
+
+if checkQueue == 1 then
+    local lastNormal = #KEYS - retryQueueCount
+    for i = 2, #KEYS do
+        local command = i <= lastNormal and queueLengthCommand or 'ZCARD'
+        if waiting(command, KEYS[i]) > 0 then
+            return -1
+        end
+    end
+end
+
+-- 정밀도를 위해 µs 단위로 계산 (Lua number는 double, 2^53 µs 이내)
+local nowUs = now * 1000
+local interval = 1000000 / rate
+local tolerance = interval * burst
+
+local tat = tonumber(redis.call('GET', key) or '0')
+local base = math.max(tat, nowUs)
+
+-- 부동소수점 오차로 정확히 k개가 k-1개로 내려가지 않도록 보정
+local allowed = math.floor((tolerance - (base - nowUs)) / interval + 0.000001)
+if allowed <= 0 then
+    return 0
+end
+
+local consume = math.min(requested, allowed)
+local newTat = math.floor(base + consume * interval)
+local ttlMs = math.max(ttl * 1000, math.ceil((newTat - nowUs) / 1000))
+
+-- tostring은 큰 정수를 지수 표기로 바꾸므로 %.0f 사용
+redis.call('SET', key, string.format('%.0f', newTat), 'PX', ttlMs)
+
+return consume
@@ -0,0 +1,24 @@
+--[[
+  GCRA - 사용량 조회 스크립트
+  용도: TAT와 현재 시간의 차이를 사용 중인 토큰 수로 환산 (읽기 전용)
+
+  KEYS[1]: tatKey (gcra:global:bucket, gcra:pg:{provider})
+
+  ARGV[1]: now (현재 시간 ms)
+  ARGV[2]: rate (초당 허용량)
+  ARGV[3]: burst (최대 버스트)
+
+  반환값: 현재 사용량 * 1000 (leaky bucket 수위와 같은 단위)
+]]
+
+local key = KEYS[1]
+local now = tonumber(ARGV[1])
+local rate = tonumber(ARGV[2])
+
+local nowUs = now * 1000
+local interval = 1000000 / rate
+
+local tat = tonumber(redis.call('GET', key) or '0')
+local ahead = math.max(0, tat - nowUs)
+
+return math.floor(ahead / interval * 1000)
@@ -0,0 +1,37 @@
+--[[
+  GCRA - 토큰 환불 스크립트
+  용도: 예약했지만 사용하지 않은 토큰만큼 TAT를 되돌림
+
+  KEYS[1]: tatKey (gcra:global:bucket, gcra:pg:{provider})
+
+  ARGV[1]: now (현재 시간 ms)
+  ARGV[2]: rate (초당 허용량)
+  ARGV[3]: burst (최대 버스트)
+  ARGV[4]: ttl (최소 TTL 초)
+  ARGV[5]: refund (환불할 토큰 수)
+
+  반환값: 환불 후 사용량 * 1000
+]]
+
+local key = KEYS[1]
+local now = tonumber(ARGV[1])
+local rate = tonumber(ARGV[2])
+local ttl = tonumber(ARGV[4])
+local refund = tonumber(ARGV[5])
+
+local nowUs = now * 1000
+local interval = 1000000 / rate
+
+local tat = tonumber(redis.call('GET', key) or '0')
+tat = math.floor(tat - refund * interval)
+
+-- TAT가 현재 이전이면 버킷이 완전히 비어 있는 상태와 같음
+if tat <= nowUs then
+    redis.call('DEL', key)
+    return 0
+end
+
+local ttlMs = math.max(ttl * 1000, math.ceil((tat - nowUs) / 1000))
+redis.call('SET', key, string.format('%.0f', tat), 'PX', ttlMs)
+
+return math.floor((tat - nowUs) / interval * 1000)
@@ -0,0 +1,94 @@
+--[[
+  계층형 처리율 제한 - 단일 토큰 소비 스크립트
+  용도: 사용자 → 경로 → 전역 한도를 한 번의 호출로 검사하고, 모두 통과할 때만 소비
+
+  KEYS[1]: 전역 상태 키 (leaky:global:bucket | gcra:global:bucket | token:global:bucket)
+  KEYS[2..1+tierCount]: 단계별 GCRA TAT 키 (rl:user:{userId}, rl:route:{pathPrefix})
+  KEYS[2+tierCount..]: 대기열 키 (checkQueue=1일 때만 검사)
+                       앞쪽은 queueLengthCommand로, 마지막 retryQueueCount개는 ZCARD로 길이 검사
+
+  ARGV[1]: now (현재 시간 ms)
+  ARGV[2]: globalAlgorithm (leaky | gcra | token, 등록되지 않은 이름이면 오류)
+  ARGV[3]: globalRate (초당 허용량)
+  ARGV[4]: globalBurst (전역 버킷 용량)
+  ARGV[5]: ttl (전역 상태 TTL 초)
+  ARGV[6]: checkQueue (1: 대기열이 있으면 거절, 0: 검사 안 함)
+  ARGV[7]: queueLengthCommand (일반 큐 길이 명령, ZCARD | XLEN)
+  ARGV[8]: retryQueueCount (KEYS 끝의 재시도 ZSET 개수)
+  ARGV[9]: tierCount
+  ARGV[10]: group (XLEN일 때 대기 길이에서 제외할 PEL의 consumer group, 없으면 빈 문자열)
+  ARGV[11+(i-1)*3 .. 13+(i-1)*3]: i번째 단계의 rate, burst, deniedCode
+
+  반환값: 1(허용), 0(전역 용량 초과), -1(큐 존재), 단계별 deniedCode(-2 사용자, -3 경로)
+  전역 단계: 알고리즘별 *_acquire.lua를 acquire[globalAlgorithm] 함수로 끼워 넣어 같은 계산식과 상태 형식을 사용
+  단계 키: 사용자/경로 단계를 모두 통과하면 SET, TTL = TAT - now (TAT가 지나면 키가 없는 상태와 같으므로 바로 만료)
+           0/-1을 받은 요청은 대기열로 보내져 드레인 시 단계 검사 없이 전달되므로, 전역 결과와 무관하게 여기서 차감한다.
+           (과부하 중에도 사용자/경로 한도를 넘는 요청은 대기열에 들어가지 못하고 거절된다)
+]]
+
+-- 알고리즘별 *_acquire.lua 본문을 감싼 함수 (GlobalRateLimiterService가 기동 시 아래 표식 줄을 치환)
+local acquire = {}
+-- @acquire-functions
+
+local globalAcquire = acquire[ARGV[2]]
+if globalAcquire == nil then
+    return redis.error_reply('unknown global algorithm: ' .. tostring(ARGV[2]))
+end
+
+local now = tonumber(ARGV[1])
+local checkQueue = tonumber(ARGV[6])
+local queueLengthCommand = ARGV[7]
+local retryQueueCount = tonumber(ARGV[8])
+local tierCount = tonumber(ARGV[9])
+local group = ARGV[10]
+
+local nowUs = now * 1000
+
+-- 1. 사용자/경로 단계 (모든 단계를 검사한 뒤 한꺼번에 기록)
+local newTats = {}
+for i = 1, tierCount do
+    local offset = 10 + (i - 1) * 3
+    local rate = tonumber(ARGV[offset + 1])
+    local burst = tonumber(ARGV[offset + 2])
+    local deniedCode = tonumber(ARGV[offset + 3])
+
+    local interval = 1000000 / rate
+    local tat = tonumber(redis.call('GET', KEYS[1 + i]) or '0')
+    local base = math.max(tat, nowUs)
+    if (interval * burst - (base - nowUs)) / interval + 0.000001 < 1 then
+        return deniedCode
+    end
+    newTats[i] = math.floor(base + interval)
+end
+
+-- 2. 모든 단계 통과, 사용자/경로 TAT 기록 (허용/대기열 모두 차감)
+for i = 1, tierCount do
+    local ttlMs = math.max(1, math.ceil((newTats[i] - nowUs) / 1000))
+    redis.call('SET', KEYS[1 + i], string.format('%.0f', newTats[i]), 'PX', ttlMs)
+end
+
+-- 3. 대기열 존재 검사 (Stream은 전달 후 ack 전인 PEL 항목 제외)
+local function waiting(command, queueKey)
+    local len = redis.call(command, queueKey)
+    if len == 0 or command ~= 'XLEN' or group == '' then
+        return len
+    end
+    local pending = redis.pcall('XPENDING', queueKey, group)
+    if type(pending) == 'table' and not pending.err then
+        len = len - pending[1]
+    end
+    return len
+end
+
+if checkQueue == 1 then
+    local lastNormal = #KEYS - retryQueueCount
+    for i = 2 + tierCount, #KEYS do
+        local command = i <= lastNormal and queueLengthCommand or 'ZCARD'
+        if waiting(command, KEYS[i]) > 0 then
+            return -1
+        end
+    end
+end
+
+-- 4. 전역 단계 (대기열 검사는 3에서 끝났으므로 checkQueue=0으로 1개 소비, 반환값 1 허용 / 0 용량 초과)
+return globalAcquire({ KEYS[1] }, { ARGV[1], ARGV[3], ARGV[4], ARGV[5], '1', '0' })
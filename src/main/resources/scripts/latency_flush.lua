@@ -0,0 +1,23 @@
+--[[
+  지연 시간 히스토그램 반영 스크립트
+  용도: 노드별로 모아 둔 로그-선형 히스토그램 스냅샷을 시간 구간 키에 누적
+
+  KEYS[1]: histogramKey (latency:hist:{timeSlice}, HASH {bucketIndex: count})
+
+  ARGV[1]: ttlSeconds (TTL 초)
+  ARGV[2..]: bucketIndex, count 쌍 (0이 아닌 버킷만 전달)
+
+  반환값: 누적한 버킷 개수
+]]
+
+local histogramKey = KEYS[1]
+local ttlSeconds = tonumber(ARGV[1])
+
+local buckets = 0
+for i = 2, #ARGV, 2 do
+    redis.call('HINCRBY', histogramKey, ARGV[i], ARGV[i + 1])
+    buckets = buckets + 1
+end
+
+redis.call('EXPIRE', histogramKey, ttlSeconds)
+return buckets
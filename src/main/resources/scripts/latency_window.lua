@@ -0,0 +1,26 @@
+--[[
+  지연 시간 히스토그램 윈도우 조회 스크립트
+  용도: 최근 시간 구간 히스토그램들을 한 번에 읽어 버킷별로 합산
+
+  KEYS[1..N]: histogramKey (latency:hist:{timeSlice}, 최근 구간부터)
+
+  반환값: {bucketIndex, count, bucketIndex, count, ...} (0이 아닌 버킷만, 순서 없음)
+]]
+
+local merged = {}
+
+for i = 1, #KEYS do
+    local entries = redis.call('HGETALL', KEYS[i])
+    for j = 1, #entries, 2 do
+        local index = tonumber(entries[j])
+        merged[index] = (merged[index] or 0) + tonumber(entries[j + 1])
+    end
+end
+
+local result = {}
+for index, count in pairs(merged) do
+    result[#result + 1] = index
+    result[#result + 1] = count
+end
+
+return result
@@ -0,0 +1,28 @@
+--[[
+  리더 선출 - 리스 획득/갱신 스크립트
+  용도: 피드백 루프 리더 리스를 획득하거나, 이미 리더이면 리스를 연장
+
+  KEYS[1]: leaderKey (feedback:loop:leader)
+
+  ARGV[1]: nodeId
+  ARGV[2]: leaseMs (리스 유지 시간 ms)
+
+  반환값: 1(리더), 0(다른 노드가 리더)
+]]
+
+local key = KEYS[1]
+local nodeId = ARGV[1]
+local leaseMs = tonumber(ARGV[2])
+
+local owner = redis.call('GET', key)
+if owner == nodeId then
+    redis.call('PEXPIRE', key, leaseMs)
+    return 1
+end
+
+if not owner then
+    redis.call('SET', key, nodeId, 'PX', leaseMs)
+    return 1
+end
+
+return 0
@@ -0,0 +1,17 @@
+--[[
+  리더 선출 - 리스 반납 스크립트
+  용도: 자신이 보유한 리더 리스만 삭제 (다른 노드의 리스는 건드리지 않음)
+
+  KEYS[1]: leaderKey (feedback:loop:leader)
+
+  ARGV[1]: nodeId
+
+  반환값: 1(반납), 0(리더 아님)
+]]
+
+if redis.call('GET', KEYS[1]) == ARGV[1] then
+    redis.call('DEL', KEYS[1])
+    return 1
+end
+
+return 0
@@ -0,0 +1,25 @@
+--[[
+  Leaky Bucket - 사용량 조회 스크립트
+  용도: 버킷 수위 조회 (누수 반영, 읽기 전용)
+
+  KEYS[1]: bucketKey (leaky:global:bucket, leaky:pg:{provider})
+
+  ARGV[1]: now (현재 시간 ms)
+  ARGV[2]: leakRate (초당 누수량)
+  ARGV[3]: burst (버킷 용량)
+
+  반환값: 현재 수위 * 1000 (소수점 정밀도 유지)
+]]
+
+local key = KEYS[1]
+local now = tonumber(ARGV[1])
+local leakRate = tonumber(ARGV[2])
+
+local state = redis.call('HMGET', key, 'water_level', 'last_leak_time')
+local waterLevel = tonumber(state[1] or '0')
+local lastLeakTime = tonumber(state[2] or ARGV[1])
+
+local elapsedMs = math.max(0, now - lastLeakTime)
+waterLevel = math.max(0, waterLevel - leakRate * elapsedMs / 1000.0)
+
+return math.floor(waterLevel * 1000)
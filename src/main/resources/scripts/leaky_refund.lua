@@ -0,0 +1,32 @@
+--[[
+  Leaky Bucket - 토큰 환불 스크립트
+  용도: 예약했지만 사용하지 않은 토큰 반환 (누수 반영 후 차감)
+
+  KEYS[1]: bucketKey (leaky:global:bucket, leaky:pg:{provider})
+
+  ARGV[1]: now (현재 시간 ms)
+  ARGV[2]: leakRate (초당 누수량)
+  ARGV[3]: burst (버킷 용량)
+  ARGV[4]: ttl (TTL 초)
+  ARGV[5]: refund (환불할 토큰 수)
+
+  반환값: 환불 후 수위 * 1000
+]]
+
+local key = KEYS[1]
+local now = tonumber(ARGV[1])
+local leakRate = tonumber(ARGV[2])
+local ttl = tonumber(ARGV[4])
+local refund = tonumber(ARGV[5])
+
+local state = redis.call('HMGET', key, 'water_level', 'last_leak_time')
+local waterLevel = tonumber(state[1] or '0')
+local lastLeakTime = tonumber(state[2] or ARGV[1])
+
+local elapsedMs = math.max(0, now - lastLeakTime)
+waterLevel = math.max(0, waterLevel - leakRate * elapsedMs / 1000.0 - refund)
+
+redis.call('HSET', key, 'water_level', tostring(waterLevel), 'last_leak_time', ARGV[1])
+redis.call('EXPIRE', key, ttl)
+
+return math.floor(waterLevel * 1000)
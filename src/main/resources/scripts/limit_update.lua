@@ -0,0 +1,58 @@
+--[[
+  전역 한도 갱신 스크립트
+  용도: 모든 노드가 공유하는 전역 rate/burst를 갱신하고 변경 사항을 채널로 발행
+
+  KEYS[1]: limitKey (ratelimit:global:limit, HASH {rate, burst, version})
+
+  ARGV[1]: mode (seed: 없을 때만 설정 | reset: 범위 검사 없이 설정 | set: 범위 내로 설정 | delta: 현재 값에 증감)
+  ARGV[2]: value (seed/reset/set: 새 rate, delta: 증감량)
+  ARGV[3]: fixedBurst (양수이면 고정 burst, 0 이하이면 burst = rate)
+  ARGV[4]: minLimit
+  ARGV[5]: maxLimit
+  ARGV[6]: channel (변경 알림 채널)
+  ARGV[7]: defaultRate (limitKey가 없을 때 delta 기준값)
+
+  반환값: {version, rate, burst, previousRate}
+  발행 메시지: "version:rate:burst" (값이 바뀐 경우에만 version 증가 + 발행)
+]]
+
+local key = KEYS[1]
+local mode = ARGV[1]
+local value = tonumber(ARGV[2])
+local fixedBurst = tonumber(ARGV[3])
+local minLimit = tonumber(ARGV[4])
+local maxLimit = tonumber(ARGV[5])
+local channel = ARGV[6]
+
+local state = redis.call('HMGET', key, 'rate', 'burst', 'version')
+local rate = tonumber(state[1])
+local burst = tonumber(state[2])
+local version = tonumber(state[3] or '0')
+
+if rate and mode == 'seed' then
+    return {version, rate, burst, rate}
+end
+
+local previousRate = rate or tonumber(ARGV[7])
+local newRate = value
+if mode == 'delta' then
+    newRate = previousRate + value
+end
+if mode == 'set' or mode == 'delta' then
+    newRate = math.max(minLimit, math.min(maxLimit, newRate))
+end
+
+local newBurst = newRate
+if fixedBurst > 0 then
+    newBurst = fixedBurst
+end
+
+if rate == newRate and burst == newBurst then
+    return {version, rate, burst, previousRate}
+end
+
+version = redis.call('HINCRBY', key, 'version', 1)
+redis.call('HSET', key, 'rate', newRate, 'burst', newBurst)
+redis.call('PUBLISH', channel, version .. ':' .. newRate .. ':' .. newBurst)
+
+return {version, newRate, newBurst, previousRate}
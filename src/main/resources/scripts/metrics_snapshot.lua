@@ -0,0 +1,61 @@
+--[[
+  모니터링 스냅샷 스크립트
+  용도: 대기열/재시도 큐 길이와 버킷 사용량을 한 번의 호출로 조회 (읽기 전용)
+
+  KEYS[1..queueCount]: 일반 큐 키 (queueLengthCommand로 길이 조회)
+  KEYS[queueCount+1..queueCount+retryCount]: 재시도 ZSET 키 (ZCARD)
+  KEYS[queueCount+retryCount+1..]: 버킷 상태 키 (leaky:global:bucket, gcra:pg:toss 등)
+
+  ARGV[1]: now (현재 시간 ms)
+  ARGV[2]: queueLengthCommand (ZCARD | XLEN)
+  ARGV[3]: group (XLEN일 때 대기 길이에서 제외할 PEL의 consumer group, 없으면 빈 문자열)
+  ARGV[4]: queueCount
+  ARGV[5]: retryCount
+  ARGV[6+(i-1)*3 .. 8+(i-1)*3]: i번째 버킷의 algorithm(leaky | gcra | token), rate, burst
+
+  반환값: { 키 순서대로 큐 길이..., 버킷별 사용량 * 1000... } (*_level.lua와 같은 단위)
+
+  버킷 사용량 계산식은 복제하지 않는다. 로드 시 MonitoringSnapshotService가 아래 표식 줄을
+  알고리즘별 *_level.lua 본문을 감싼 함수(levels[algorithm] = function(KEYS, ARGV) ... end)로 치환한다.
+]]
+
+local levels = {}
+-- @level-functions
+
+local queueLengthCommand = ARGV[2]
+local group = ARGV[3]
+local queueCount = tonumber(ARGV[4])
+local retryCount = tonumber(ARGV[5])
+local bucketCount = #KEYS - queueCount - retryCount
+
+local function waiting(key)
+  local len = redis.call(queueLengthCommand, key)
+  if len == 0 or queueLengthCommand ~= 'XLEN' or group == '' then
+    return len
+  end
+  local pending = redis.pcall('XPENDING', key, group)
+  if type(pending) == 'table' and not pending.err then
+    len = len - pending[1]
+  end
+  return len
+end
+
+local result = {}
+
+for i = 1, queueCount do
+  result[#result + 1] = waiting(KEYS[i])
+end
+
+for i = queueCount + 1, queueCount + retryCount do
+  result[#result + 1] = redis.call('ZCARD', KEYS[i])
+end
+
+for i = 1, bucketCount do
+  local key = KEYS[queueCount + retryCount + i]
+  local offset = 5 + (i - 1) * 3
+  local level = levels[ARGV[offset + 1]] or levels['leaky']
+
+  result[#result + 1] = level({ key }, { ARGV[1], ARGV[offset + 2], ARGV[offset + 3] })
+end
+
+return result
@@ -0,0 +1,184 @@
+--[[
+  대기열 추가 스크립트 (최대 길이 제한 + 부하 차단)
+  용도: 큐 최대 길이를 원자적으로 검사하고 정책에 따라 거절/축출 후 항목 추가
+
+  KEYS[1]: targetKey (추가할 클래스 키, queue:global:order | queue:global:other | 우선순위 클래스 키)
+  KEYS[2]: retryKey (대상 QueueType의 재시도 큐, 예상 대기 시간 계산용)
+  KEYS[3 .. 2 + targetCount]: 대상 QueueType의 일반 큐 키 전체 (기본 키 + 우선순위 클래스 키, targetKey 포함)
+  KEYS[3 + targetCount ..]: 반대 QueueType의 일반 큐 키 전체 (PRIORITY 정책에서 사용)
+
+  ARGV[1]: member (직렬화된 QueueItem)
+  ARGV[2]: score (원본 타임스탬프 ms)
+  ARGV[3]: maxDepth (대상 QueueType 최대 길이, 0 이하이면 무제한)
+  ARGV[4]: peerMaxDepth (반대 QueueType 최대 길이)
+  ARGV[5]: policy (REJECT | DROP_OLDEST | PRIORITY)
+  ARGV[6]: isPriority (1: ORDER, 0: OTHER)
+  ARGV[7]: userId (사용자 위치 인덱스 키, 비어 있으면 인덱스 미사용)
+  ARGV[8]: perUserMaxDepth (사용자별 최대 대기 항목 수, 0 이하이면 무제한)
+  ARGV[9]: targetCount (대상 QueueType의 일반 큐 키 수)
+
+  키별 부가 키 (단일 Redis 전제로 스크립트에서 조합):
+    {key}:users:{userId}  사용자별 대기 항목 ZSET (requestId -> score)
+    {key}:user_counts     userId -> 대기 항목 수
+
+  길이 한도와 사용자별 한도는 QueueType 단위이므로 클래스 키 전체의 합으로 검사한다.
+  사용자별 한도: 한 사용자가 대상 QueueType에 perUserMaxDepth개 이상 대기 중이면 큐 정책과 무관하게 거절한다.
+  대기 수는 항목이 들어간 클래스 키에서 추가 시 증가, 폴링/축출 시 감소한다 (0이 되면 필드 삭제).
+  사용자별 대기 항목 ZSET은 원본 score 순이므로 맨 앞이 사용자의 가장 오래된 항목이다 (위치 조회 기준).
+
+  DROP_OLDEST 정책: 대상 QueueType의 클래스 키 전체에서 score가 가장 작은 항목부터 축출
+
+  PRIORITY 정책:
+    - 두 QueueType은 maxDepth + peerMaxDepth 전체 한도를 공유
+    - ORDER는 자기 한도를 넘어도 전체 한도 내라면 수용, 전체 한도 초과 시 OTHER 클래스 키 전체에서 최신 항목을 축출
+    - OTHER는 자기 한도 또는 전체 한도 초과 시 거절
+
+  반환값: { accepted(1/0), evicted(축출 수), depth(추가 후 대상 QueueType 길이),
+           rank(추가된 항목의 클래스 키 내 0-based 순번, 거절 시 -1), retryDepth, peerDepth,
+           reason(0: 수용, 1: 큐 가득 참, 2: 사용자별 한도 초과), 축출된 항목의 requestId... }
+  축출된 항목은 이미 202로 수용된 요청이므로 호출 측이 requestId로 SHED 결과를 발행한다.
+]]
+
+local targetKey = KEYS[1]
+local retryKey  = KEYS[2]
+
+local member       = ARGV[1]
+local score        = ARGV[2]
+local maxDepth     = tonumber(ARGV[3])
+local peerMaxDepth = tonumber(ARGV[4])
+local policy       = ARGV[5]
+local isPriority   = tonumber(ARGV[6]) == 1
+local userId       = ARGV[7] or ''
+local perUserMaxDepth = tonumber(ARGV[8] or '0')
+local targetCount  = tonumber(ARGV[9] or '1')
+
+local targetKeys = {}
+local peerKeys = {}
+for i = 3, #KEYS do
+  if i < 3 + targetCount then
+    targetKeys[#targetKeys + 1] = KEYS[i]
+  else
+    peerKeys[#peerKeys + 1] = KEYS[i]
+  end
+end
+
+local function totalDepth(keys)
+  local total = 0
+  for _, key in ipairs(keys) do
+    total = total + redis.call('ZCARD', key)
+  end
+  return total
+end
+
+local function userCount(keys)
+  local total = 0
+  for _, key in ipairs(keys) do
+    total = total + tonumber(redis.call('HGET', key .. ':user_counts', userId) or '0')
+  end
+  return total
+end
+
+local depth = totalDepth(targetKeys)
+local evicted = 0
+local victims = {}
+
+-- 축출된 항목의 requestId를 기록하고 사용자별 대기 항목 인덱스에서 제거, 대기 수 차감
+local function releaseUsers(key, popped)
+  for i = 1, #popped, 2 do
+    local requestId = string.match(popped[i], '"requestId":"([^"]+)"')
+    if requestId then
+      victims[#victims + 1] = requestId
+    end
+    local owner = string.match(popped[i], '"userId":(%d+)')
+    if owner then
+      if requestId then
+        redis.call('ZREM', key .. ':users:' .. owner, requestId)
+      end
+      if redis.call('HINCRBY', key .. ':user_counts', owner, -1) <= 0 then
+        redis.call('HDEL', key .. ':user_counts', owner)
+      end
+    end
+  end
+end
+
+-- 클래스 키 전체에서 가장 오래된(oldest) / 최신(newest) 항목 하나를 축출
+local function evictOne(keys, newest)
+  local victim, victimScore
+  for _, key in ipairs(keys) do
+    local edge = newest and redis.call('ZRANGE', key, -1, -1, 'WITHSCORES')
+                         or redis.call('ZRANGE', key, 0, 0, 'WITHSCORES')
+    if #edge > 0 then
+      local s = tonumber(edge[2])
+      if victim == nil or (newest and s > victimScore) or (not newest and s < victimScore) then
+        victim, victimScore = key, s
+      end
+    end
+  end
+  if victim == nil then return 0 end
+  releaseUsers(victim, redis.call(newest and 'ZPOPMAX' or 'ZPOPMIN', victim, 1))
+  return 1
+end
+
+local function accept()
+  redis.call('ZADD', targetKey, score, member)
+  if userId ~= '' then
+    local requestId = string.match(member, '"requestId":"([^"]+)"')
+    if requestId then
+      redis.call('ZADD', targetKey .. ':users:' .. userId, score, requestId)
+    end
+    redis.call('HINCRBY', targetKey .. ':user_counts', userId, 1)
+  end
+  local result = { 1, evicted, totalDepth(targetKeys), redis.call('ZRANK', targetKey, member),
+                   redis.call('ZCARD', retryKey), totalDepth(peerKeys), 0 }
+  for _, requestId in ipairs(victims) do
+    result[#result + 1] = requestId
+  end
+  return result
+end
+
+local function reject(reason)
+  return { 0, 0, depth, -1, redis.call('ZCARD', retryKey), totalDepth(peerKeys), reason or 1 }
+end
+
+if userId ~= '' and perUserMaxDepth > 0 and userCount(targetKeys) >= perUserMaxDepth then
+  return reject(2)
+end
+
+if maxDepth <= 0 then
+  return accept()
+end
+
+if policy == 'DROP_OLDEST' then
+  for _ = 1, depth - maxDepth + 1 do
+    evicted = evicted + evictOne(targetKeys, false)
+  end
+  return accept()
+end
+
+if policy == 'PRIORITY' and peerMaxDepth > 0 then
+  local peerDepth = totalDepth(peerKeys)
+  local budget = maxDepth + peerMaxDepth
+  local total = depth + peerDepth
+
+  if isPriority then
+    if depth < maxDepth or total < budget then
+      return accept()
+    end
+    if peerDepth > 0 then
+      evicted = evictOne(peerKeys, true)
+      return accept()
+    end
+    return reject()
+  end
+
+  if depth < maxDepth and total < budget then
+    return accept()
+  end
+  return reject()
+end
+
+-- REJECT (기본)
+if depth >= maxDepth then
+  return reject()
+end
+return accept()
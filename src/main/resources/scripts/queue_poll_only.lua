@@ -1,52 +1,116 @@
 --[[
-  가중치 기반 큐 폴링 스크립트 (폴링 전용)
-  용도: 가중치 기반 큐 폴링 (토큰 버킷 업데이트 없음)
+  가중치 기반 큐 폴링 스크립트 (폴링 전용, Deficit Round-Robin)
+  용도: N개의 큐 클래스를 DRR로 공정하게 폴링 (토큰 버킷 업데이트 없음)
 
-  KEYS[1]: orderNormalKey (queue:global:order)
-  KEYS[2]: orderRetryKey (queue:global:order:retry)
-  KEYS[3]: otherNormalKey (queue:global:other)
-  KEYS[4]: otherRetryKey (queue:global:other:retry)
+  KEYS[1..N]: 클래스별 큐 키 (기본: queue:global:order:retry, queue:global:order,
+              queue:global:other:retry, queue:global:other)
+  KEYS[N+1]: drrStateKey (queue:drr:{lane}, 클래스별 deficit + round-robin 포인터)
+  KEYS[N+2]: inflightKey (queue:inflight:{nodeId}) - 신뢰 모드 전용
+  KEYS[N+3]: inflightRegistryKey (queue:inflight:nodes) - 신뢰 모드 전용
 
   ARGV[1]: now (현재 시간 ms)
   ARGV[2]: totalSlots (총 슬롯 수)
-  ARGV[3]: orderWeight (ORDER 가중치)
-  ARGV[4]: otherWeight (OTHER 가중치)
-  ARGV[5]: retryRatio (재시도 비율)
-  ARGV[6]: retryThreshold (재시도 임계값)
+  ARGV[3]: retryThreshold (재시도 임계값)
+  ARGV[4]: inflightDeadline (in-flight 만료 시각 ms, 0이면 신뢰 모드 비활성)
+  ARGV[5]: classCount (N)
+  ARGV[6 + (i-1)*4 ..]: 클래스 i의 name, weight, retry(1/0), queueType(ORDER/OTHER)
+  ARGV[6 + N*4]: agingPerSec (맨 앞 항목 대기 1초당 가중치 증가율, 0이면 aging 비활성)
+  ARGV[7 + N*4]: maxAgingBoost (aging 가중치 배수 상한)
 
-  반환값: JSON { items: [...], stats: {...} }
+  DRR:
+    - 라운드마다 대기 항목이 있는 클래스에 weight 비율만큼 남은 슬롯을 deficit으로 적립하고
+      floor(deficit)개까지 폴링한 뒤 폴링 수만큼 차감한다.
+    - 소수점 deficit은 drrStateKey에 저장되어 다음 tick으로 이월된다 (낮은 limit에서도 가중치 비율 유지).
+    - 대기 항목이 없는 클래스의 deficit은 0으로 초기화한다 (유휴 클래스의 적립 방지).
+    - 다음 tick은 마지막으로 폴링한 클래스의 다음 클래스부터 시작한다.
+    - weight > 0인 클래스가 모두 비어 있으면 weight 0 클래스끼리 균등 배분한다 (work-conserving).
+
+  Aging:
+    - tick 시작 시 클래스마다 맨 앞 항목 1개만 조회하여 (클래스당 명령 1회) 대기 시간을 구하고
+      weight x min(maxAgingBoost, 1 + agingPerSec x 대기 시간(초))을 이번 tick의 가중치로 사용한다.
+    - 재시도 클래스의 대기 시간은 재시도 가능 시점(score + retryDelay)부터 계산한다.
+    - 오래 기다린 낮은 우선순위 클래스의 몫이 커져 대기 시간 꼬리(p99)가 제한된다.
+
+  신뢰 모드: 폴링한 항목을 원래 큐에서 제거하는 동시에 in-flight ZSET에
+  "원본키|원본score|member" 형태의 receipt로 옮긴다. 처리 완료 시 receipt를 ZREM(ack)하고,
+  만료된 receipt는 queue_reclaim_inflight.lua가 원래 큐로 되돌린다.
+
+  일반 큐에서 폴링된 항목은 사용자별 대기 항목 인덱스(원본키:users:{userId})에서 제거하고
+  사용자별 대기 수(원본키:user_counts)를 차감한다.
+
+  반환값: JSON { items: [{queue=클래스명, data, score, receipt}], stats: {...} }
+    stats의 order_retry/order_normal/other_retry/other_normal은 (queueType, retry)별 합계,
+    classes는 클래스별 폴링 수
 ]]
 
-local orderNormalKey = KEYS[1]
-local orderRetryKey  = KEYS[2]
-local otherNormalKey = KEYS[3]
-local otherRetryKey  = KEYS[4]
-
-local now            = tonumber(ARGV[1])
-local totalSlots     = tonumber(ARGV[2])
-local orderWeight    = tonumber(ARGV[3])
-local otherWeight    = tonumber(ARGV[4])
-local retryRatio     = tonumber(ARGV[5])
-local retryThreshold = tonumber(ARGV[6])
-
-if totalSlots <= 0 then
-  return cjson.encode({
-    items = {},
-    stats = { order_retry=0, order_normal=0, other_retry=0, other_normal=0, total_polled=0, remaining_slots=0 }
-  })
+local now              = tonumber(ARGV[1])
+local totalSlots       = tonumber(ARGV[2])
+local retryThreshold   = tonumber(ARGV[3])
+local inflightDeadline = tonumber(ARGV[4])
+local classCount       = tonumber(ARGV[5])
+
+local classes = {}
+for i = 1, classCount do
+  local base = 5 + (i - 1) * 4
+  classes[i] = {
+    key = KEYS[i],
+    name = ARGV[base + 1],
+    weight = tonumber(ARGV[base + 2]),
+    retry = ARGV[base + 3] == '1',
+    stat = string.lower(ARGV[base + 4]) .. (ARGV[base + 3] == '1' and '_retry' or '_normal')
+  }
 end
 
-local result = {
-  items = {},
-  stats = { order_retry=0, order_normal=0, other_retry=0, other_normal=0, total_polled=0, remaining_slots=totalSlots }
-}
+local agingPerSec   = tonumber(ARGV[6 + classCount * 4] or '0')
+local maxAgingBoost = tonumber(ARGV[7 + classCount * 4] or '1')
+
+local drrStateKey         = KEYS[classCount + 1]
+local inflightKey         = KEYS[classCount + 2]
+local inflightRegistryKey = KEYS[classCount + 3]
+local reliable = inflightDeadline > 0 and inflightKey ~= nil
+
+local MAX_ROUNDS = 64
+
+local stats = { order_retry=0, order_normal=0, other_retry=0, other_normal=0,
+                total_polled=0, remaining_slots=totalSlots, classes={} }
+
+if totalSlots <= 0 or classCount == 0 then
+  return '{"items":[],"stats":' .. cjson.encode(stats) .. '}'
+end
+
+-- 사용자별 대기 항목 인덱스(key:users:{userId})에서 폴링된 항목 제거 + 사용자별 대기 수 차감
+-- (인덱스 맨 앞이 다음으로 오래된 항목으로 넘어감)
+local function releaseUsers(key, members)
+  local indexKey = key .. ':users'
+  local countKey = key .. ':user_counts'
+  for _, member in ipairs(members) do
+    local userId = string.match(member, '"userId":(%d+)')
+    if userId then
+      local requestId = string.match(member, '"requestId":"([^"]+)"')
+      if requestId then
+        redis.call('ZREM', indexKey .. ':' .. userId, requestId)
+      end
+      if redis.call('HINCRBY', countKey, userId, -1) <= 0 then
+        redis.call('HDEL', countKey, userId)
+      end
+    end
+  end
+end
+
+local function backlog(c)
+  if c.retry then
+    return redis.call('ZCOUNT', c.key, '-inf', retryThreshold)
+  end
+  return redis.call('ZCARD', c.key)
+end
 
-local function pollFromQueue(key, count, isRetry, threshold)
+local function pollFromQueue(c, count)
   if count <= 0 then return {} end
 
+  local key = c.key
   local items
-  if isRetry then
-    items = redis.call('ZRANGEBYSCORE', key, '-inf', threshold, 'WITHSCORES', 'LIMIT', 0, count)
+  if c.retry then
+    items = redis.call('ZRANGEBYSCORE', key, '-inf', retryThreshold, 'WITHSCORES', 'LIMIT', 0, count)
   else
     items = redis.call('ZRANGE', key, 0, count - 1, 'WITHSCORES')
   end
@@ -57,96 +121,143 @@ local function pollFromQueue(key, count, isRetry, threshold)
   for i = 1, #items, 2 do
     local member = items[i]
     local score = items[i + 1]
-    table.insert(polled, { data = member, score = tonumber(score) })
+    local it = { data = member, score = tonumber(score) }
+    if reliable then
+      it.receipt = key .. '|' .. score .. '|' .. member
+      redis.call('ZADD', inflightKey, inflightDeadline, it.receipt)
+    end
+    table.insert(polled, it)
     table.insert(toRemove, member)
   end
 
   if #toRemove > 0 then
     redis.call('ZREM', key, unpack(toRemove))
+    if not c.retry then
+      releaseUsers(key, toRemove)
+    end
+    if reliable then
+      redis.call('SADD', inflightRegistryKey, inflightKey)
+    end
   end
 
   return polled
 end
 
-local function calculateSlots(total, orderW, otherW, retryR)
-  local totalWeight = orderW + otherW
-  local orderTotal = math.floor(total * orderW / totalWeight + 0.5)
-  local otherTotal = total - orderTotal
+-- 맨 앞 대기 항목의 대기 시간 (재시도 큐는 재시도 가능 시점부터)
+local function headAgeMs(c)
+  if c.retry then
+    local head = redis.call('ZRANGEBYSCORE', c.key, '-inf', retryThreshold, 'WITHSCORES', 'LIMIT', 0, 1)
+    if #head == 0 then return 0 end
+    return math.max(0, retryThreshold - tonumber(head[2]))
+  end
+  local head = redis.call('ZRANGE', c.key, 0, 0, 'WITHSCORES')
+  if #head == 0 then return 0 end
+  return math.max(0, now - tonumber(head[2]))
+end
 
-  local orderRetrySlots  = math.floor(orderTotal * retryR + 0.5)
-  local orderNormalSlots = orderTotal - orderRetrySlots
+-- DRR 상태 로드
+local state = {}
+local raw = redis.call('HGETALL', drrStateKey)
+for i = 1, #raw, 2 do
+  state[raw[i]] = raw[i + 1]
+end
 
-  local otherRetrySlots  = math.floor(otherTotal * retryR + 0.5)
-  local otherNormalSlots = otherTotal - otherRetrySlots
+local ptr = tonumber(state['ptr'] or '1')
+if ptr < 1 or ptr > classCount then ptr = 1 end
 
-  return {
-    order_retry  = orderRetrySlots,
-    order_normal = orderNormalSlots,
-    other_retry  = otherRetrySlots,
-    other_normal = otherNormalSlots
-  }
+local deficit = {}
+local pending = {}
+for i, c in ipairs(classes) do
+  deficit[i] = tonumber(state['d:' .. c.name] or '0')
+  pending[i] = backlog(c)
+  stats.classes[c.name] = 0
+
+  c.effWeight = c.weight
+  if agingPerSec > 0 and c.weight > 0 and pending[i] > 0 then
+    c.effWeight = c.weight * math.min(maxAgingBoost, 1 + agingPerSec * headAgeMs(c) / 1000)
+  end
 end
 
-local slots = calculateSlots(totalSlots, orderWeight, otherWeight, retryRatio)
-local remainingSlots = totalSlots
 local polledItems = {}
+local remaining = totalSlots
+local lastServed = nil
+local rounds = 0
+
+while remaining > 0 and rounds < MAX_ROUNDS do
+  local activeWeight = 0
+  local activeCount = 0
+  for i, c in ipairs(classes) do
+    if pending[i] > 0 then
+      activeWeight = activeWeight + c.effWeight
+      activeCount = activeCount + 1
+    end
+  end
+  if activeCount == 0 then break end
+  local zeroFallback = activeWeight <= 0
+
+  local roundBudget = remaining
+  for step = 0, classCount - 1 do
+    local i = (ptr - 1 + step) % classCount + 1
+    local c = classes[i]
+    local share = 0
+    if pending[i] > 0 then
+      if zeroFallback then
+        share = 1 / activeCount
+      elseif c.effWeight > 0 then
+        share = c.effWeight / activeWeight
+      end
+    end
+
+    if share > 0 then
+      deficit[i] = deficit[i] + share * roundBudget
+      local n = math.min(math.floor(deficit[i] + 1e-9), pending[i], remaining)
+      if n > 0 then
+        local items = pollFromQueue(c, n)
+        for _, it in ipairs(items) do
+          it.queue = c.name
+          table.insert(polledItems, it)
+        end
+        deficit[i] = deficit[i] - #items
+        pending[i] = #items < n and 0 or pending[i] - #items
+        remaining = remaining - #items
+        stats.classes[c.name] = stats.classes[c.name] + #items
+        stats[c.stat] = stats[c.stat] + #items
+        lastServed = i
+      end
+    end
+
+    if pending[i] <= 0 then
+      deficit[i] = 0
+    end
+    if remaining <= 0 then break end
+  end
+
+  rounds = rounds + 1
+end
+
+-- DRR 상태 저장
+if lastServed then
+  ptr = lastServed % classCount + 1
+end
+local save = { 'ptr', ptr }
+for i, c in ipairs(classes) do
+  table.insert(save, 'd:' .. c.name)
+  table.insert(save, tostring(deficit[i]))
+end
+redis.call('HSET', drrStateKey, unpack(save))
 
--- 1) ORDER retry
-local orderRetryItems = pollFromQueue(orderRetryKey, slots.order_retry, true, retryThreshold)
-for _, it in ipairs(orderRetryItems) do it.queue='order_retry'; table.insert(polledItems, it) end
-result.stats.order_retry = #orderRetryItems
-remainingSlots = remainingSlots - #orderRetryItems
-
--- ORDER retry unused -> ORDER normal
-local orderNormalSlots = slots.order_normal + (slots.order_retry - #orderRetryItems)
-
--- 2) ORDER normal
-local orderNormalItems = pollFromQueue(orderNormalKey, orderNormalSlots, false, 0)
-for _, it in ipairs(orderNormalItems) do it.queue='order_normal'; table.insert(polledItems, it) end
-result.stats.order_normal = #orderNormalItems
-remainingSlots = remainingSlots - #orderNormalItems
-
--- ORDER unused -> OTHER split by retryRatio
-local orderTotalUsed = #orderRetryItems + #orderNormalItems
-local orderTotalAllocated = slots.order_retry + slots.order_normal
-local orderUnused = orderTotalAllocated - orderTotalUsed
-if orderUnused < 0 then orderUnused = 0 end
-
-local extraOtherRetry = math.floor(orderUnused * retryRatio + 0.5)
-local extraOtherNormal = orderUnused - extraOtherRetry
-
--- 3) OTHER retry
-local otherRetrySlots = slots.other_retry + extraOtherRetry
-local otherRetryItems = pollFromQueue(otherRetryKey, otherRetrySlots, true, retryThreshold)
-for _, it in ipairs(otherRetryItems) do it.queue='other_retry'; table.insert(polledItems, it) end
-result.stats.other_retry = #otherRetryItems
-remainingSlots = remainingSlots - #otherRetryItems
-
--- OTHER retry unused -> OTHER normal (+ extraOtherNormal)
-local otherRetryUnused = otherRetrySlots - #otherRetryItems
-if otherRetryUnused < 0 then otherRetryUnused = 0 end
-
-local otherNormalSlots = slots.other_normal + otherRetryUnused + extraOtherNormal
-
--- 4) OTHER normal
-local otherNormalItems = pollFromQueue(otherNormalKey, otherNormalSlots, false, 0)
-for _, it in ipairs(otherNormalItems) do it.queue='other_normal'; table.insert(polledItems, it) end
-result.stats.other_normal = #otherNormalItems
-remainingSlots = remainingSlots - #otherNormalItems
-
-result.stats.total_polled = #polledItems
-result.stats.remaining_slots = remainingSlots
-result.items = polledItems
+stats.total_polled = #polledItems
+stats.remaining_slots = remaining
 
 local itemsJson = "[]"
 if #polledItems > 0 then
   local parts = {}
   for i, it in ipairs(polledItems) do
-    -- it has fields: queue, data, score
+    -- it has fields: queue, data, score (+ receipt)
     parts[i] = cjson.encode(it)
   end
   itemsJson = "[" .. table.concat(parts, ",") .. "]"
 end
 
-local statsJson = cjson.encode(result.stats)
+local statsJson = cjson.encode(stats)
 return '{"items":' .. itemsJson .. ',"stats":' .. statsJson .. '}'
@@ -0,0 +1,47 @@
+--[[
+  대기열 단순 폴링 스크립트 (ZSET backend)
+  용도: 가중치 없이 대기열 앞에서 size개를 꺼냄 (Lua 폴링 비활성 시 경로)
+
+  KEYS[1]: queueKey (queue:global:{type})
+  KEYS[2]: userIndexKey (queue:global:{type}:users, 사용자별 대기 항목 ZSET prefix)
+  KEYS[3]: userCountKey (queue:global:{type}:user_counts)
+
+  ARGV[1]: size (최대 폴링 수)
+
+  꺼낸 항목은 사용자별 대기 항목 인덱스에서 제거하고 사용자별 대기 수를 차감한다.
+  in-flight receipt를 기록하지 않으므로 신뢰 모드(queue.reliable.enabled)에서는 사용하지 않는다.
+
+  반환값: member 목록
+]]
+
+local queueKey = KEYS[1]
+local userIndexKey = KEYS[2]
+local userCountKey = KEYS[3]
+
+local size = tonumber(ARGV[1])
+
+if size <= 0 then
+  return {}
+end
+
+local members = redis.call('ZRANGE', queueKey, 0, size - 1)
+if #members == 0 then
+  return {}
+end
+
+redis.call('ZREM', queueKey, unpack(members))
+
+for _, member in ipairs(members) do
+  local userId = string.match(member, '"userId":(%d+)')
+  if userId then
+    local requestId = string.match(member, '"requestId":"([^"]+)"')
+    if requestId then
+      redis.call('ZREM', userIndexKey .. ':' .. userId, requestId)
+    end
+    if redis.call('HINCRBY', userCountKey, userId, -1) <= 0 then
+      redis.call('HDEL', userCountKey, userId)
+    end
+  end
+end
+
+return members
@@ -0,0 +1,44 @@
+--[[
+  대기열 위치 조회 스크립트
+  용도: 사용자별 대기 항목 인덱스로 O(log N) 순번 조회 + 예상 대기 시간 계산용 큐 길이 반환
+
+  KEYS[1]: queueKey (queue:global:{type})
+  KEYS[2]: userIndexKey (queue:global:{type}:users, 사용자별 대기 항목 ZSET prefix)
+  KEYS[3]: retryKey (queue:global:{type}:retry)
+  KEYS[4]: peerKey (반대 QueueType의 큐)
+
+  ARGV[1]: userId
+
+  사용자의 가장 오래된 대기 항목(인덱스 맨 앞) 기준 순번을 반환한다.
+  인덱스 맨 앞 항목이 이미 대기열에 없으면 인덱스에서 정리하고 다음 항목을 확인한다.
+
+  반환값: { rank(0-based, 없으면 -1), depth, retryDepth, peerDepth }
+]]
+
+local queueKey = KEYS[1]
+local userIndexKey = KEYS[2]
+local retryKey = KEYS[3]
+local peerKey = KEYS[4]
+
+local userId = ARGV[1]
+
+local MAX_STALE = 16
+
+local indexKey = userIndexKey .. ':' .. userId
+local rank = -1
+
+for _ = 1, MAX_STALE do
+  local head = redis.call('ZRANGE', indexKey, 0, 0, 'WITHSCORES')
+  if #head == 0 then break end
+  local needle = '"requestId":"' .. head[1] .. '"'
+  for _, member in ipairs(redis.call('ZRANGEBYSCORE', queueKey, head[2], head[2])) do
+    if string.find(member, needle, 1, true) then
+      rank = redis.call('ZRANK', queueKey, member)
+      break
+    end
+  end
+  if rank >= 0 then break end
+  redis.call('ZREM', indexKey, head[1])
+end
+
+return { rank, redis.call('ZCARD', queueKey), redis.call('ZCARD', retryKey), redis.call('ZCARD', peerKey) }
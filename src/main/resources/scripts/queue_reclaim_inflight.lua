@@ -0,0 +1,70 @@
+--[[
+  in-flight 항목 회수 스크립트
+  용도: visibility timeout이 지난 in-flight receipt를 원래 큐로 되돌림 (노드 장애 시 요청 유실 방지)
+
+  KEYS[1]: inflightKey (queue:inflight:{nodeId})
+  KEYS[2]: inflightRegistryKey (queue:inflight:nodes)
+
+  ARGV[1]: now (현재 시간 ms)
+  ARGV[2]: limit (1회 최대 회수 건수)
+  ARGV[3]: retryMaxDepth (재시도 큐 최대 길이, 0 이하이면 무제한)
+
+  receipt 형식: "원본키|원본score|member"
+  원본 큐 키는 receipt에서 복원하므로 KEYS로 선언되지 않는다 (단일 Redis 전제).
+  원래 score로 복원하므로 회수된 항목은 대기열의 원래 위치로 돌아간다.
+  일반 큐 항목은 사용자별 대기 항목 인덱스(원본키:users:{userId})에 원래 score로 복원하고
+  사용자별 대기 수(원본키:user_counts)를 다시 증가시킨다.
+  재시도 큐 항목은 재시도 큐가 retryMaxDepth 이상이면 되돌리지 않고 버린다.
+
+  반환값: { 회수된 항목 수, 버려진 항목의 원본 재시도 큐 키, requestId, ... } (버려진 항목마다 키와 requestId 한 쌍)
+]]
+
+local inflightKey = KEYS[1]
+local inflightRegistryKey = KEYS[2]
+
+local now = tonumber(ARGV[1])
+local limit = tonumber(ARGV[2])
+local retryMaxDepth = tonumber(ARGV[3] or '0')
+
+local expired = redis.call('ZRANGEBYSCORE', inflightKey, '-inf', now, 'LIMIT', 0, limit)
+local reclaimed = 0
+local shed = {}
+
+for _, receipt in ipairs(expired) do
+  local sep1 = string.find(receipt, '|', 1, true)
+  local sep2 = sep1 and string.find(receipt, '|', sep1 + 1, true)
+  if sep2 then
+    local key = string.sub(receipt, 1, sep1 - 1)
+    local score = string.sub(receipt, sep1 + 1, sep2 - 1)
+    local member = string.sub(receipt, sep2 + 1)
+    local isRetry = string.sub(key, -6) == ':retry'
+    if isRetry and retryMaxDepth > 0 and redis.call('ZCARD', key) >= retryMaxDepth then
+      table.insert(shed, key)
+      table.insert(shed, string.match(member, '"requestId":"([^"]+)"') or '')
+    else
+      redis.call('ZADD', key, score, member)
+      reclaimed = reclaimed + 1
+    end
+    if not isRetry then
+      local userId = string.match(member, '"userId":(%d+)')
+      if userId then
+        local requestId = string.match(member, '"requestId":"([^"]+)"')
+        if requestId then
+          redis.call('ZADD', key .. ':users:' .. userId, score, requestId)
+        end
+        redis.call('HINCRBY', key .. ':user_counts', userId, 1)
+      end
+    end
+  end
+  redis.call('ZREM', inflightKey, receipt)
+end
+
+if redis.call('ZCARD', inflightKey) == 0 then
+  redis.call('SREM', inflightRegistryKey, inflightKey)
+end
+
+local result = { reclaimed }
+for _, value in ipairs(shed) do
+  table.insert(result, value)
+end
+return result
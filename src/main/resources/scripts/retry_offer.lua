@@ -0,0 +1,25 @@
+--[[
+  재시도 큐 추가 스크립트 (최대 길이 제한)
+  용도: 재시도 큐 길이를 원자적으로 검사하고 가득 찬 경우 거절
+
+  KEYS[1]: retryKey (queue:global:{type}:retry)
+
+  ARGV[1]: member (직렬화된 QueueItem)
+  ARGV[2]: score (재시도 큐 추가 시각 ms, retryDelay 경과 후 폴링 대상)
+  ARGV[3]: maxDepth (재시도 큐 최대 길이, 0 이하이면 무제한)
+
+  반환값: 1 (추가), 0 (가득 차서 거절)
+]]
+
+local retryKey = KEYS[1]
+
+local member   = ARGV[1]
+local score    = ARGV[2]
+local maxDepth = tonumber(ARGV[3])
+
+if maxDepth > 0 and redis.call('ZCARD', retryKey) >= maxDepth then
+  return 0
+end
+
+redis.call('ZADD', retryKey, score, member)
+return 1
@@ -0,0 +1,222 @@
+--[[
+  대기열 추가 스크립트 (Redis Streams backend, 최대 길이 제한 + 부하 차단)
+  용도: queue_offer.lua와 동일한 정책을 Stream 대기열에 적용
+
+  KEYS[1]: targetKey (추가할 클래스의 Stream, queue:global:order:stream 등)
+  KEYS[2]: retryKey (대상 QueueType의 재시도 큐, ZSET)
+  KEYS[3 .. 2 + targetCount]: 대상 QueueType의 일반 큐 Stream 전체 (기본 + 우선순위 클래스, targetKey 포함)
+  KEYS[3 + targetCount ..]: 반대 QueueType의 일반 큐 Stream 전체 (PRIORITY 정책에서 사용)
+
+  ARGV[1]: member (직렬화된 QueueItem)
+  ARGV[2]: score (원본 타임스탬프 ms)
+  ARGV[3]: maxDepth (대상 QueueType 최대 길이, 0 이하이면 무제한)
+  ARGV[4]: peerMaxDepth (반대 QueueType 최대 길이)
+  ARGV[5]: policy (REJECT | DROP_OLDEST | PRIORITY)
+  ARGV[6]: isPriority (1: ORDER, 0: OTHER)
+  ARGV[7]: userId (사용자 위치 인덱스 키, 비어 있으면 인덱스 미사용)
+  ARGV[8]: group (consumer group 이름)
+  ARGV[9]: perUserMaxDepth (사용자별 최대 대기 항목 수, 0 이하이면 무제한)
+  ARGV[10]: targetCount (대상 QueueType의 일반 큐 Stream 수)
+
+  Stream별 부가 키 (단일 Redis 전제로 스크립트에서 조합):
+    {key}:meta            seq/cursor
+    {key}:users:{userId}  사용자별 대기 항목 ZSET (항목 ID -> seq)
+    {key}:user_counts     userId -> 대기 항목 수
+
+  항목 ID는 meta의 seq를 증가시킨 "<seq>-0"으로 직접 발급한다 (엄격한 FIFO + 순번 계산).
+  대기 길이 = XLEN - PEL 크기 (신뢰 모드에서 전달 후 ack 전인 항목 제외)
+  아직 전달되지 않은 항목은 ID가 meta cursor보다 크다.
+  길이/사용자별 한도와 축출 대상은 queue_offer.lua와 같이 QueueType의 Stream 전체 기준이다.
+  Stream마다 seq가 따로 발급되므로 Stream 간 오래됨/최신 비교는 항목의 원본 타임스탬프(s 필드)로 한다.
+
+  반환값: { accepted(1/0), evicted(축출 수), depth(추가 후 대상 QueueType 대기 길이),
+           rank(추가된 항목의 Stream 내 0-based 순번, 거절 시 -1), retryDepth, peerDepth,
+           reason(0: 수용, 1: 큐 가득 참, 2: 사용자별 한도 초과), 축출된 항목의 requestId... }
+  축출된 항목은 이미 202로 수용된 요청이므로 호출 측이 requestId로 SHED 결과를 발행한다.
+]]
+
+local targetKey = KEYS[1]
+local retryKey  = KEYS[2]
+local targetMetaKey = targetKey .. ':meta'
+
+local member       = ARGV[1]
+local score        = ARGV[2]
+local maxDepth     = tonumber(ARGV[3])
+local peerMaxDepth = tonumber(ARGV[4])
+local policy       = ARGV[5]
+local isPriority   = tonumber(ARGV[6]) == 1
+local userId       = ARGV[7] or ''
+local group        = ARGV[8]
+local perUserMaxDepth = tonumber(ARGV[9] or '0')
+local targetCount  = tonumber(ARGV[10] or '1')
+
+local targetKeys = {}
+local peerKeys = {}
+for i = 3, #KEYS do
+  if i < 3 + targetCount then
+    targetKeys[#targetKeys + 1] = KEYS[i]
+  else
+    peerKeys[#peerKeys + 1] = KEYS[i]
+  end
+end
+
+local function waiting(key)
+  local len = redis.call('XLEN', key)
+  if len == 0 then return 0 end
+  local pending = redis.pcall('XPENDING', key, group)
+  if type(pending) == 'table' and not pending.err then
+    len = len - pending[1]
+  end
+  return len
+end
+
+local function totalWaiting(keys)
+  local total = 0
+  for _, key in ipairs(keys) do
+    total = total + waiting(key)
+  end
+  return total
+end
+
+local function userCount(keys)
+  local total = 0
+  for _, key in ipairs(keys) do
+    total = total + tonumber(redis.call('HGET', key .. ':user_counts', userId) or '0')
+  end
+  return total
+end
+
+local function cursorOf(key)
+  return redis.call('HGET', key .. ':meta', 'cursor') or '0'
+end
+
+-- meta가 유실된 경우 Stream의 last-generated-id에서 seq를 복원
+local function nextSeq()
+  if redis.call('HEXISTS', targetMetaKey, 'seq') == 0 and redis.call('EXISTS', targetKey) == 1 then
+    local info = redis.call('XINFO', 'STREAM', targetKey)
+    for i = 1, #info, 2 do
+      if info[i] == 'last-generated-id' then
+        redis.call('HSET', targetMetaKey, 'seq', string.match(info[i + 1], '^(%d+)'))
+      end
+    end
+  end
+  return redis.call('HINCRBY', targetMetaKey, 'seq', 1)
+end
+
+local function field(entry, name)
+  local fields = entry[2]
+  for i = 1, #fields, 2 do
+    if fields[i] == name then
+      return fields[i + 1]
+    end
+  end
+  return nil
+end
+
+local victims = {}
+
+-- 삭제된 항목의 requestId를 기록하고 사용자별 대기 항목 인덱스(key:users:{userId})에서 제거, 대기 수 차감
+local function releaseUsers(key, entries)
+  for _, e in ipairs(entries) do
+    local data = field(e, 'd')
+    local requestId = data and string.match(data, '"requestId":"([^"]+)"')
+    if requestId then
+      victims[#victims + 1] = requestId
+    end
+    local owner = data and string.match(data, '"userId":(%d+)')
+    if owner then
+      redis.call('ZREM', key .. ':users:' .. owner, e[1])
+      if redis.call('HINCRBY', key .. ':user_counts', owner, -1) <= 0 then
+        redis.call('HDEL', key .. ':user_counts', owner)
+      end
+    end
+  end
+end
+
+-- Stream 전체에서 아직 전달되지 않은 항목 중 가장 오래된(oldest) / 최신(newest) 항목 하나를 삭제
+local function evictOne(keys, newest)
+  local victimKey, victim, victimScore
+  for _, key in ipairs(keys) do
+    local floor = '(' .. cursorOf(key) .. '-0'
+    local edge = newest and redis.call('XREVRANGE', key, '+', floor, 'COUNT', 1)
+                         or redis.call('XRANGE', key, floor, '+', 'COUNT', 1)
+    if #edge > 0 then
+      local s = tonumber(field(edge[1], 's') or '0')
+      if victim == nil or (newest and s > victimScore) or (not newest and s < victimScore) then
+        victimKey, victim, victimScore = key, edge[1], s
+      end
+    end
+  end
+  if victim == nil then return 0 end
+  redis.call('XDEL', victimKey, victim[1])
+  releaseUsers(victimKey, { victim })
+  return 1
+end
+
+local depth = totalWaiting(targetKeys)
+local evicted = 0
+
+local function accept()
+  local seq = nextSeq()
+  local id = seq .. '-0'
+  redis.call('XADD', targetKey, id, 'd', member, 's', score)
+  if userId ~= '' then
+    redis.call('ZADD', targetKey .. ':users:' .. userId, seq, id)
+    redis.call('HINCRBY', targetKey .. ':user_counts', userId, 1)
+  end
+  local result = { 1, evicted, totalWaiting(targetKeys), waiting(targetKey) - 1,
+                   redis.call('ZCARD', retryKey), totalWaiting(peerKeys), 0 }
+  for _, requestId in ipairs(victims) do
+    result[#result + 1] = requestId
+  end
+  return result
+end
+
+local function reject(reason)
+  return { 0, 0, depth, -1, redis.call('ZCARD', retryKey), totalWaiting(peerKeys), reason or 1 }
+end
+
+if userId ~= '' and perUserMaxDepth > 0 and userCount(targetKeys) >= perUserMaxDepth then
+  return reject(2)
+end
+
+if maxDepth <= 0 then
+  return accept()
+end
+
+if policy == 'DROP_OLDEST' then
+  for _ = 1, depth - maxDepth + 1 do
+    evicted = evicted + evictOne(targetKeys, false)
+  end
+  return accept()
+end
+
+if policy == 'PRIORITY' and peerMaxDepth > 0 then
+  local peerDepth = totalWaiting(peerKeys)
+  local budget = maxDepth + peerMaxDepth
+  local total = depth + peerDepth
+
+  if isPriority then
+    if depth < maxDepth or total < budget then
+      return accept()
+    end
+    if peerDepth > 0 then
+      evicted = evictOne(peerKeys, true)
+      if evicted > 0 then
+        return accept()
+      end
+    end
+    return reject()
+  end
+
+  if depth < maxDepth and total < budget then
+    return accept()
+  end
+  return reject()
+end
+
+-- REJECT (기본)
+if depth >= maxDepth then
+  return reject()
+end
+return accept()
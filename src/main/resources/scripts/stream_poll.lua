@@ -0,0 +1,364 @@
+--[[
+  가중치 기반 큐 폴링 스크립트 (Redis Streams backend, Deficit Round-Robin)
+  용도: queue_poll_only.lua와 동일한 DRR로 폴링하되, 일반 큐 클래스는 Stream에서 읽음
+
+  KEYS[1..N]: 클래스별 큐 키 (일반 큐: queue:global:{type}:stream, 재시도 큐: queue:global:{type}:retry ZSET)
+  KEYS[N+1]: drrStateKey (queue:drr:{lane}, 클래스별 deficit + round-robin 포인터)
+  KEYS[N+2]: inflightKey (queue:inflight:{nodeId}) - 신뢰 모드 전용 (재시도 큐 항목용)
+  KEYS[N+3]: inflightRegistryKey (queue:inflight:nodes) - 신뢰 모드 전용
+
+  ARGV[1]: now (현재 시간 ms)
+  ARGV[2]: totalSlots (총 슬롯 수)
+  ARGV[3]: retryThreshold (재시도 임계값)
+  ARGV[4]: inflightDeadline (in-flight 만료 시각 ms, 0이면 신뢰 모드 비활성)
+  ARGV[5]: classCount (N)
+  ARGV[6 + (i-1)*4 ..]: 클래스 i의 name, weight, retry(1/0), queueType(ORDER/OTHER)
+  ARGV[6 + N*4]: agingPerSec (맨 앞 항목 대기 1초당 가중치 증가율, 0이면 aging 비활성)
+  ARGV[7 + N*4]: maxAgingBoost (aging 가중치 배수 상한)
+  ARGV[8 + N*4]: group (consumer group 이름)
+  ARGV[9 + N*4]: consumer (consumer 이름 = nodeId)
+  ARGV[10 + N*4]: minIdleMs (신뢰 모드 XAUTOCLAIM 기준 = visibility timeout)
+
+  DRR + aging 규칙은 queue_poll_only.lua와 동일하다 (스크립트 간 include 불가로 중복).
+  일반 큐 클래스의 대기 수 = XLEN - PEL 크기.
+
+  Stream 항목: ID "<seq>-0" (stream_offer.lua가 발급), 필드 d(member), s(원본 score)
+  폴링 시 stream:meta의 cursor를 마지막으로 전달된 seq로 갱신한다 (순번 계산용).
+
+  신뢰 모드: XREADGROUP으로 읽은 항목은 consumer group PEL에 남고,
+  receipt "stream|streamKey|id"로 XACK + XDEL 한다. visibility timeout이 지난 PEL 항목은
+  다음 폴링에서 XAUTOCLAIM으로 회수하여 다시 전달한다 (별도 회수 스크립트 불필요).
+  비신뢰 모드: NOACK으로 읽고 즉시 XDEL 한다.
+
+  재시도 큐는 queue_poll_only.lua와 동일하게 ZSET + in-flight receipt를 사용한다.
+
+  반환값: JSON { items: [...], stats: {...} } (queue_poll_only.lua와 동일)
+]]
+
+local now              = tonumber(ARGV[1])
+local totalSlots       = tonumber(ARGV[2])
+local retryThreshold   = tonumber(ARGV[3])
+local inflightDeadline = tonumber(ARGV[4])
+local classCount       = tonumber(ARGV[5])
+
+local classes = {}
+for i = 1, classCount do
+  local base = 5 + (i - 1) * 4
+  classes[i] = {
+    key = KEYS[i],
+    name = ARGV[base + 1],
+    weight = tonumber(ARGV[base + 2]),
+    retry = ARGV[base + 3] == '1',
+    stat = string.lower(ARGV[base + 4]) .. (ARGV[base + 3] == '1' and '_retry' or '_normal')
+  }
+end
+
+local agingPerSec   = tonumber(ARGV[6 + classCount * 4] or '0')
+local maxAgingBoost = tonumber(ARGV[7 + classCount * 4] or '1')
+
+local drrStateKey         = KEYS[classCount + 1]
+local inflightKey         = KEYS[classCount + 2]
+local inflightRegistryKey = KEYS[classCount + 3]
+local reliable = inflightDeadline > 0 and inflightKey ~= nil
+
+local streamArgBase = 7 + classCount * 4
+local group     = ARGV[streamArgBase + 1]
+local consumer  = ARGV[streamArgBase + 2]
+local minIdleMs = ARGV[streamArgBase + 3] or '0'
+
+local MAX_ROUNDS = 64
+
+local stats = { order_retry=0, order_normal=0, other_retry=0, other_normal=0,
+                total_polled=0, remaining_slots=totalSlots, classes={} }
+
+if totalSlots <= 0 or classCount == 0 then
+  return '{"items":[],"stats":' .. cjson.encode(stats) .. '}'
+end
+
+-- 사용자별 대기 항목 인덱스(key:users:{userId}, 항목 ID -> seq)에서 전달된 항목 제거
+-- + 사용자별 대기 수(key:user_counts) 차감
+local function releaseUser(key, userId, id)
+  if not userId then return end
+  local indexKey = key .. ':users'
+  local countKey = key .. ':user_counts'
+  redis.call('ZREM', indexKey .. ':' .. userId, id)
+  if redis.call('HINCRBY', countKey, userId, -1) <= 0 then
+    redis.call('HDEL', countKey, userId)
+  end
+end
+
+local function pollFromRetry(key, count)
+  if count <= 0 then return {} end
+
+  local items = redis.call('ZRANGEBYSCORE', key, '-inf', retryThreshold, 'WITHSCORES', 'LIMIT', 0, count)
+
+  local polled = {}
+  local toRemove = {}
+
+  for i = 1, #items, 2 do
+    local member = items[i]
+    local score = items[i + 1]
+    local it = { data = member, score = tonumber(score) }
+    if reliable then
+      it.receipt = key .. '|' .. score .. '|' .. member
+      redis.call('ZADD', inflightKey, inflightDeadline, it.receipt)
+    end
+    table.insert(polled, it)
+    table.insert(toRemove, member)
+  end
+
+  if #toRemove > 0 then
+    redis.call('ZREM', key, unpack(toRemove))
+    if reliable then
+      redis.call('SADD', inflightRegistryKey, inflightKey)
+    end
+  end
+
+  return polled
+end
+
+local function readGroup(key, count)
+  local args = { 'XREADGROUP', 'GROUP', group, consumer, 'COUNT', count }
+  if not reliable then
+    table.insert(args, 'NOACK')
+  end
+  table.insert(args, 'STREAMS')
+  table.insert(args, key)
+  table.insert(args, '>')
+
+  local res = redis.pcall(unpack(args))
+  if type(res) == 'table' and res.err then
+    if not string.find(res.err, 'NOGROUP', 1, true) then
+      error(res.err)
+    end
+    redis.call('XGROUP', 'CREATE', key, group, '0', 'MKSTREAM')
+    res = redis.call(unpack(args))
+  end
+  if not res then return {} end
+  return res[1][2]
+end
+
+local function pollFromStream(key, count)
+  if count <= 0 then return {} end
+
+  local entries = {}
+  local claimedCount = 0
+
+  -- 신뢰 모드: visibility timeout이 지난 PEL 항목(장애 노드 포함)을 먼저 회수
+  if reliable then
+    local claimed = redis.pcall('XAUTOCLAIM', key, group, consumer, minIdleMs, '0-0', 'COUNT', count)
+    if type(claimed) == 'table' and not claimed.err then
+      for _, e in ipairs(claimed[2]) do
+        if e[2] then table.insert(entries, e) end
+      end
+    end
+    claimedCount = #entries
+  end
+
+  if #entries < count then
+    for _, e in ipairs(readGroup(key, count - #entries)) do
+      table.insert(entries, e)
+    end
+  end
+
+  local polled = {}
+  local toDelete = {}
+  local metaKey = key .. ':meta'
+  local cursor = tonumber(redis.call('HGET', metaKey, 'cursor') or '0')
+
+  for idx, e in ipairs(entries) do
+    local id = e[1]
+    local fields = e[2]
+    local member, score
+    for i = 1, #fields, 2 do
+      if fields[i] == 'd' then member = fields[i + 1]
+      elseif fields[i] == 's' then score = fields[i + 1] end
+    end
+
+    local seq = tonumber(string.match(id, '^(%d+)'))
+    if seq > cursor then cursor = seq end
+
+    if member then
+      local it = { data = member, score = tonumber(score or '0') }
+      if reliable then
+        it.receipt = 'stream|' .. key .. '|' .. id
+      else
+        table.insert(toDelete, id)
+      end
+      -- 재전달(XAUTOCLAIM) 항목은 최초 전달 시 이미 차감됨
+      if idx > claimedCount then
+        releaseUser(key, string.match(member, '"userId":(%d+)'), id)
+      end
+      table.insert(polled, it)
+    else
+      table.insert(toDelete, id)
+    end
+  end
+
+  if #toDelete > 0 then
+    redis.call('XDEL', key, unpack(toDelete))
+  end
+  if #entries > 0 then
+    redis.call('HSET', metaKey, 'cursor', cursor)
+  end
+
+  return polled
+end
+
+local function waiting(key)
+  local len = redis.call('XLEN', key)
+  if len == 0 then return 0 end
+  local p = redis.pcall('XPENDING', key, group)
+  if type(p) == 'table' and not p.err then
+    len = len - p[1]
+  end
+  return len
+end
+
+-- 신뢰 모드에서는 XAUTOCLAIM 대상(visibility timeout 초과 PEL 항목)도 대기 수에 포함
+local function backlog(c)
+  if c.retry then
+    return redis.call('ZCOUNT', c.key, '-inf', retryThreshold)
+  end
+  local n = waiting(c.key)
+  if reliable and n < totalSlots then
+    local expired = redis.pcall('XPENDING', c.key, group, 'IDLE', minIdleMs, '-', '+', totalSlots)
+    if type(expired) == 'table' and not expired.err then
+      n = n + #expired
+    end
+  end
+  return n
+end
+
+local function pollFromQueue(c, count)
+  if c.retry then
+    return pollFromRetry(c.key, count)
+  end
+  return pollFromStream(c.key, count)
+end
+
+-- 맨 앞 대기 항목의 대기 시간 (재시도 큐는 재시도 가능 시점부터)
+local function headAgeMs(c)
+  if c.retry then
+    local head = redis.call('ZRANGEBYSCORE', c.key, '-inf', retryThreshold, 'WITHSCORES', 'LIMIT', 0, 1)
+    if #head == 0 then return 0 end
+    return math.max(0, retryThreshold - tonumber(head[2]))
+  end
+  local cursor = redis.call('HGET', c.key .. ':meta', 'cursor') or '0'
+  local head = redis.call('XRANGE', c.key, '(' .. cursor .. '-0', '+', 'COUNT', 1)
+  if #head == 0 then return 0 end
+  local fields = head[1][2]
+  for i = 1, #fields, 2 do
+    if fields[i] == 's' then
+      return math.max(0, now - tonumber(fields[i + 1]))
+    end
+  end
+  return 0
+end
+
+-- DRR 상태 로드
+local state = {}
+local raw = redis.call('HGETALL', drrStateKey)
+for i = 1, #raw, 2 do
+  state[raw[i]] = raw[i + 1]
+end
+
+local ptr = tonumber(state['ptr'] or '1')
+if ptr < 1 or ptr > classCount then ptr = 1 end
+
+local deficit = {}
+local pending = {}
+for i, c in ipairs(classes) do
+  deficit[i] = tonumber(state['d:' .. c.name] or '0')
+  pending[i] = backlog(c)
+  stats.classes[c.name] = 0
+
+  c.effWeight = c.weight
+  if agingPerSec > 0 and c.weight > 0 and pending[i] > 0 then
+    c.effWeight = c.weight * math.min(maxAgingBoost, 1 + agingPerSec * headAgeMs(c) / 1000)
+  end
+end
+
+local polledItems = {}
+local remaining = totalSlots
+local lastServed = nil
+local rounds = 0
+
+while remaining > 0 and rounds < MAX_ROUNDS do
+  local activeWeight = 0
+  local activeCount = 0
+  for i, c in ipairs(classes) do
+    if pending[i] > 0 then
+      activeWeight = activeWeight + c.effWeight
+      activeCount = activeCount + 1
+    end
+  end
+  if activeCount == 0 then break end
+  local zeroFallback = activeWeight <= 0
+
+  local roundBudget = remaining
+  for step = 0, classCount - 1 do
+    local i = (ptr - 1 + step) % classCount + 1
+    local c = classes[i]
+    local share = 0
+    if pending[i] > 0 then
+      if zeroFallback then
+        share = 1 / activeCount
+      elseif c.effWeight > 0 then
+        share = c.effWeight / activeWeight
+      end
+    end
+
+    if share > 0 then
+      deficit[i] = deficit[i] + share * roundBudget
+      local n = math.min(math.floor(deficit[i] + 1e-9), pending[i], remaining)
+      if n > 0 then
+        local items = pollFromQueue(c, n)
+        for _, it in ipairs(items) do
+          it.queue = c.name
+          table.insert(polledItems, it)
+        end
+        deficit[i] = deficit[i] - #items
+        pending[i] = #items < n and 0 or pending[i] - #items
+        remaining = remaining - #items
+        stats.classes[c.name] = stats.classes[c.name] + #items
+        stats[c.stat] = stats[c.stat] + #items
+        lastServed = i
+      end
+    end
+
+    if pending[i] <= 0 then
+      deficit[i] = 0
+    end
+    if remaining <= 0 then break end
+  end
+
+  rounds = rounds + 1
+end
+
+-- DRR 상태 저장
+if lastServed then
+  ptr = lastServed % classCount + 1
+end
+local save = { 'ptr', ptr }
+for i, c in ipairs(classes) do
+  table.insert(save, 'd:' .. c.name)
+  table.insert(save, tostring(deficit[i]))
+end
+redis.call('HSET', drrStateKey, unpack(save))
+
+stats.total_polled = #polledItems
+stats.remaining_slots = remaining
+
+local itemsJson = "[]"
+if #polledItems > 0 then
+  local parts = {}
+  for i, it in ipairs(polledItems) do
+    -- it has fields: queue, data, score (+ receipt)
+    parts[i] = cjson.encode(it)
+  end
+  itemsJson = "[" .. table.concat(parts, ",") .. "]"
+end
+
+local statsJson = cjson.encode(stats)
+return '{"items":' .. itemsJson .. ',"stats":' .. statsJson .. '}'
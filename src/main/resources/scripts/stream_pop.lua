@@ -0,0 +1,73 @@
+--[[
+  대기열 단순 폴링 스크립트 (Redis Streams backend)
+  용도: 가중치 없이 Stream 대기열 앞에서 size개를 꺼냄 (Lua 폴링 비활성 시 경로)
+
+  KEYS[1]: queueKey (queue:global:{type}:stream)
+
+  ARGV[1]: size (최대 폴링 수)
+  ARGV[2]: group (consumer group 이름)
+  ARGV[3]: consumer (consumer 이름 = nodeId)
+
+  NOACK으로 읽고 즉시 XDEL 한다 (in-flight 추적 없음).
+  meta cursor, 사용자별 대기 항목 인덱스, 사용자별 대기 수를 stream_poll.lua와 동일하게 갱신한다.
+
+  반환값: member 목록
+]]
+
+local queueKey = KEYS[1]
+
+local size = tonumber(ARGV[1])
+local group = ARGV[2]
+local consumer = ARGV[3]
+
+if size <= 0 then
+  return {}
+end
+
+local args = { 'XREADGROUP', 'GROUP', group, consumer, 'COUNT', size, 'NOACK', 'STREAMS', queueKey, '>' }
+local res = redis.pcall(unpack(args))
+if type(res) == 'table' and res.err then
+  if not string.find(res.err, 'NOGROUP', 1, true) then
+    error(res.err)
+  end
+  redis.call('XGROUP', 'CREATE', queueKey, group, '0', 'MKSTREAM')
+  res = redis.call(unpack(args))
+end
+if not res then
+  return {}
+end
+
+local metaKey = queueKey .. ':meta'
+local indexKey = queueKey .. ':users'
+local countKey = queueKey .. ':user_counts'
+local cursor = tonumber(redis.call('HGET', metaKey, 'cursor') or '0')
+local members = {}
+local ids = {}
+
+for _, e in ipairs(res[1][2]) do
+  local id = e[1]
+  local fields = e[2]
+  local seq = tonumber(string.match(id, '^(%d+)'))
+  if seq > cursor then cursor = seq end
+  table.insert(ids, id)
+  for i = 1, #fields, 2 do
+    if fields[i] == 'd' then
+      local member = fields[i + 1]
+      local userId = string.match(member, '"userId":(%d+)')
+      if userId then
+        redis.call('ZREM', indexKey .. ':' .. userId, id)
+        if redis.call('HINCRBY', countKey, userId, -1) <= 0 then
+          redis.call('HDEL', countKey, userId)
+        end
+      end
+      table.insert(members, member)
+    end
+  end
+end
+
+if #ids > 0 then
+  redis.call('XDEL', queueKey, unpack(ids))
+  redis.call('HSET', metaKey, 'cursor', cursor)
+end
+
+return members
@@ -0,0 +1,60 @@
+--[[
+  대기열 위치 조회 스크립트 (Redis Streams backend)
+  용도: 사용자별 대기 항목 인덱스(항목 ID -> seq)와 meta cursor로 순번 계산
+
+  KEYS[1]: queueKey (queue:global:{type}:stream)
+  KEYS[2]: userIndexKey (queueKey:users, 사용자별 대기 항목 ZSET prefix)
+  KEYS[3]: retryKey (queue:global:{type}:retry, ZSET)
+  KEYS[4]: peerKey (반대 QueueType의 Stream)
+  KEYS[5]: metaKey (queueKey:meta)
+
+  ARGV[1]: userId
+  ARGV[2]: group (consumer group 이름)
+
+  순번 = seq - cursor - 1 (발급 순서 기준). 축출로 중간 항목이 삭제된 경우 실제 순번보다
+  클 수 있으므로 대기 길이 - 1로 상한을 둔다.
+  사용자의 가장 오래된 대기 항목(인덱스 맨 앞) 기준 순번을 반환한다.
+  인덱스 맨 앞 항목이 이미 전달/삭제되었으면 인덱스에서 정리하고 다음 항목을 확인한다.
+
+  반환값: { rank(0-based, 없으면 -1), depth, retryDepth, peerDepth }
+]]
+
+local queueKey = KEYS[1]
+local userIndexKey = KEYS[2]
+local retryKey = KEYS[3]
+local peerKey = KEYS[4]
+local metaKey = KEYS[5]
+
+local userId = ARGV[1]
+local group = ARGV[2]
+
+local function waiting(key)
+  local len = redis.call('XLEN', key)
+  if len == 0 then return 0 end
+  local pending = redis.pcall('XPENDING', key, group)
+  if type(pending) == 'table' and not pending.err then
+    len = len - pending[1]
+  end
+  return len
+end
+
+local MAX_STALE = 16
+
+local depth = waiting(queueKey)
+local indexKey = userIndexKey .. ':' .. userId
+local cursor = tonumber(redis.call('HGET', metaKey, 'cursor') or '0')
+local rank = -1
+
+for _ = 1, MAX_STALE do
+  local head = redis.call('ZRANGE', indexKey, 0, 0)
+  if #head == 0 then break end
+  local id = head[1]
+  local seq = tonumber(string.match(id, '^(%d+)'))
+  if seq > cursor and #redis.call('XRANGE', queueKey, id, id) > 0 then
+    rank = math.min(seq - cursor - 1, depth - 1)
+    break
+  end
+  redis.call('ZREM', indexKey, id)
+end
+
+return { rank, depth, redis.call('ZCARD', retryKey), waiting(peerKey) }
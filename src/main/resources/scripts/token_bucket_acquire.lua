@@ -0,0 +1,71 @@
+--[[
+  Token Bucket - 토큰 소비 스크립트
+  용도: 전역/PG 처리율 제한기의 토큰 소비 (충전 속도와 버스트 용량을 분리)
+
+  KEYS[1]: bucketKey (token:global:bucket, token:pg:{provider})
+  KEYS[2..]: 대기열 키 (선택, checkQueue=1일 때만 검사)
+             앞쪽은 queueLengthCommand로, 마지막 retryQueueCount개는 ZCARD로 길이 검사
+
+  ARGV[1]: now (현재 시간 ms)
+  ARGV[2]: refillRate (초당 충전량)
+  ARGV[3]: burst (버킷 최대 토큰 수, 새 버킷은 가득 찬 상태로 시작)
+  ARGV[4]: ttl (TTL 초)
+  ARGV[5]: requested (요청 토큰 수)
+  ARGV[6]: checkQueue (1: 대기열이 있으면 거절, 0: 검사 안 함)
+  ARGV[7]: queueLengthCommand (일반 큐 길이 명령, ZCARD | XLEN, 기본 ZCARD)
+  ARGV[8]: retryQueueCount (KEYS 끝의 재시도 ZSET 개수, 기본 0)
+  ARGV[9]: group (XLEN일 때 대기 길이에서 제외할 PEL의 consumer group, 기본 빈 문자열)
+
+  반환값: 실제 소비된 토큰 수 (0 ~ requested), -1(큐 존재)
+  상태: HASH {tokens, ts}
+]]
+
+local key = KEYS[1]
+local now = tonumber(ARGV[1])
+local refillRate = tonumber(ARGV[2])
+local burst = tonumber(ARGV[3])
+local ttl = tonumber(ARGV[4])
+local requested = tonumber(ARGV[5])
+local checkQueue = tonumber(ARGV[6] or '0')
+local queueLengthCommand = ARGV[7] or 'ZCARD'
+local retryQueueCount = tonumber(ARGV[8] or '0')
+local group = ARGV[9] or ''
+
+-- Stream 대기열은 XLEN에서 전달 후 ack 전(PEL) 항목을 빼서 실제로 대기 중인 항목만 본다
+local function waiting(command, queueKey)
+    local len = redis.call(command, queueKey)
+    if len == 0 or command ~= 'XLEN' or group == '' then
+        return len
+    end
+    local pending = redis.pcall('XPENDING', queueKey, group)
+    if type(pending) == 'table' and not pending.err then
+        len = len - pending[1]
+    end
+    return len
+end
+
+if checkQueue == 1 then
+    local lastNormal = #KEYS - retryQueueCount
+    for i = 2, #KEYS do
+        local command = i <= lastNormal and queueLengthCommand or 'ZCARD'
+        if waiting(command, KEYS[i]) > 0 then
+            return -1
+        end
+    end
+end
+
+local state = redis.call('HMGET', key, 'tokens', 'ts')
+local tokens = tonumber(state[1] or ARGV[3])
+local lastRefill = tonumber(state[2] or ARGV[1])
+
+local elapsedMs = math.max(0, now - lastRefill)
+tokens = math.min(burst, tokens + refillRate * elapsedMs / 1000.0)
+
+local consume = math.min(requested, math.floor(tokens))
+if consume < 0 then consume = 0 end
+tokens = tokens - consume
+
+redis.call('HSET', key, 'tokens', tostring(tokens), 'ts', ARGV[1])
+redis.call('EXPIRE', key, ttl)
+
+return consume
@@ -0,0 +1,26 @@
+--[[
+  Token Bucket - 사용량 조회 스크립트
+  용도: 충전을 반영한 사용량 조회 (읽기 전용)
+
+  KEYS[1]: bucketKey (token:global:bucket, token:pg:{provider})
+
+  ARGV[1]: now (현재 시간 ms)
+  ARGV[2]: refillRate (초당 충전량)
+  ARGV[3]: burst (버킷 최대 토큰 수)
+
+  반환값: 현재 사용량(burst - tokens) * 1000 (leaky bucket 수위와 같은 단위)
+]]
+
+local key = KEYS[1]
+local now = tonumber(ARGV[1])
+local refillRate = tonumber(ARGV[2])
+local burst = tonumber(ARGV[3])
+
+local state = redis.call('HMGET', key, 'tokens', 'ts')
+local tokens = tonumber(state[1] or ARGV[3])
+local lastRefill = tonumber(state[2] or ARGV[1])
+
+local elapsedMs = math.max(0, now - lastRefill)
+tokens = math.min(burst, tokens + refillRate * elapsedMs / 1000.0)
+
+return math.floor((burst - tokens) * 1000)
@@ -0,0 +1,33 @@
+--[[
+  Token Bucket - 토큰 환불 스크립트
+  용도: 예약했지만 사용하지 않은 토큰 반환 (burst 초과분은 버림)
+
+  KEYS[1]: bucketKey (token:global:bucket, token:pg:{provider})
+
+  ARGV[1]: now (현재 시간 ms)
+  ARGV[2]: refillRate (초당 충전량)
+  ARGV[3]: burst (버킷 최대 토큰 수)
+  ARGV[4]: ttl (TTL 초)
+  ARGV[5]: refund (환불할 토큰 수)
+
+  반환값: 환불 후 사용량(burst - tokens) * 1000
+]]
+
+local key = KEYS[1]
+local now = tonumber(ARGV[1])
+local refillRate = tonumber(ARGV[2])
+local burst = tonumber(ARGV[3])
+local ttl = tonumber(ARGV[4])
+local refund = tonumber(ARGV[5])
+
+local state = redis.call('HMGET', key, 'tokens', 'ts')
+local tokens = tonumber(state[1] or ARGV[3])
+local lastRefill = tonumber(state[2] or ARGV[1])
+
+local elapsedMs = math.max(0, now - lastRefill)
+tokens = math.min(burst, tokens + refillRate * elapsedMs / 1000.0 + refund)
+
+redis.call('HSET', key, 'tokens', tostring(tokens), 'ts', ARGV[1])
+redis.call('EXPIRE', key, ttl)
+
+return math.floor((burst - tokens) * 1000)
@@ -0,0 +1,165 @@
+package com.jumunhasyeo.ratelimiter.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jumunhasyeo.ratelimiter.domain.HttpRequestData;
+import com.jumunhasyeo.ratelimiter.domain.QueueItem;
+import com.jumunhasyeo.ratelimiter.dto.RateLimitResponse;
+import com.jumunhasyeo.ratelimiter.service.global.GlobalQueueService.QueueType;
+import com.jumunhasyeo.ratelimiter.service.global.GlobalRateLimiterService;
+import com.jumunhasyeo.ratelimiter.support.RedisTestBase;
+import com.jumunhasyeo.ratelimiter.support.StubOrderService;
+import com.jumunhasyeo.ratelimiter.support.StubOrderService.RecordedRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.web.client.RestClient;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OrderProxyControllerIntegrationTest extends RedisTestBase {
+
+    static StubOrderService orderService = StubOrderService.start();
+
+    @DynamicPropertySource
+    static void orderServiceProperties(DynamicPropertyRegistry registry) {
+        registry.add("backend.order-service.url", orderService::url);
+    }
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private GlobalRateLimiterService rateLimiterService;
+
+    @Autowired
+    private StringRedisTemplate redisTemplate;
+
+    private RestClient restClient;
+
+    @BeforeEach
+    void setUp() {
+        restClient = RestClient.create("http://localhost:" + port);
+        orderService.reset();
+        rateLimiterService.reset();
+        redisTemplate.delete(List.of(
+                "queue:global:order", "queue:global:other",
+                "queue:global:order:retry", "queue:global:other:retry",
+                QueueType.ORDER.getUserCountKey(), QueueType.OTHER.getUserCountKey(),
+                "leaky:pg:toss"));
+        redisTemplate.delete(redisTemplate.keys("queue:global:*:users:*"));
+    }
+
+    @Test
+    @DisplayName("한도를 통과한 요청은 원본 본문 그대로 백엔드로 전달되고, 백엔드 응답을 그대로 돌려줘야 한다")
+    void proxy_shouldForwardWhenAllowed() throws Exception {
+        orderService.respond(201, Map.of("Content-Type", "application/json", "X-Backend", "stub"), "{\"id\":1}");
+
+        restClient.post()
+                .uri("/api/v1/orders?source=test")
+                .header("X-User-Id", "1")
+                .header("Authorization", "Bearer token")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body("{\"orderId\": 1}")
+                .exchange((req, res) -> {
+                    assertThat(res.getStatusCode().value()).isEqualTo(201);
+                    assertThat(res.getHeaders().getFirst("X-Backend")).isEqualTo("stub");
+                    assertThat(new String(res.getBody().readAllBytes())).isEqualTo("{\"id\":1}");
+                    return null;
+                });
+
+        RecordedRequest received = orderService.takeRequest();
+        assertThat(received).isNotNull();
+        assertThat(received.method()).isEqualTo("POST");
+        assertThat(received.uri()).isEqualTo("/api/v1/orders?source=test");
+        assertThat(received.body()).isEqualTo("{\"orderId\": 1}");
+        assertThat(received.header("Authorization")).isEqualTo("Bearer token");
+    }
+
+    @Test
+    @DisplayName("알 수 없는 PG 헤더는 경로 규칙의 provider로 대체해 전달해야 한다")
+    void proxy_shouldFallBackToRouteProviderForUnknownProvider() throws Exception {
+        orderService.respond(200, Map.of(), "ok");
+
+        restClient.post()
+                .uri("/api/v1/orders/bf")
+                .header("X-User-Id", "3")
+                .header("X-Payment-Provider", "UNKNOWN")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body("{\"orderId\": 3}")
+                .exchange((req, res) -> {
+                    assertThat(res.getStatusCode().value()).isEqualTo(200);
+                    assertThat(new String(res.getBody().readAllBytes())).isEqualTo("ok");
+                    return null;
+                });
+
+        assertThat(orderService.takeRequest()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("큐에 아이템이 있으면 원본 본문을 버퍼링해 대기열에 추가하고, Authorization과 hop-by-hop 헤더는 저장하지 않아야 한다")
+    void proxy_shouldQueueWhenQueueHasItems() throws Exception {
+        redisTemplate.opsForZSet().add("queue:global:order", "test-item", System.currentTimeMillis());
+
+        String responseBody = restClient.post()
+                .uri("/api/v1/orders?source=test")
+                .header("X-User-Id", "2")
+                .header("Authorization", "Bearer token")
+                .header("X-Trace-Id", "trace-2")
+                .header("TE", "trailers")
+                .header("Proxy-Authorization", "Basic secret")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body("{\"orderId\": 2}")
+                .exchange((req, res) -> {
+                    assertThat(res.getStatusCode().value()).isEqualTo(202);
+                    return new String(res.getBody().readAllBytes());
+                });
+
+        RateLimitResponse response = objectMapper.readValue(responseBody, RateLimitResponse.class);
+        assertThat(response.isAllowed()).isFalse();
+        assertThat(response.isQueued()).isTrue();
+        assertThat(response.getRequestId()).isNotNull();
+
+        QueueItem item = findQueued("queue:global:order", response.getRequestId());
+        assertThat(item.getUserId()).isEqualTo(2L);
+        assertThat(item.getAccessToken()).isEqualTo("token");
+
+        HttpRequestData captured = item.getHttpRequest();
+        assertThat(captured.getMethod()).isEqualTo("POST");
+        assertThat(captured.getUri()).isEqualTo("/api/v1/orders?source=test");
+        assertThat(captured.getBody()).isEqualTo("{\"orderId\": 2}");
+
+        Map<String, String> headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        headers.putAll(captured.getHeaders());
+        assertThat(headers).containsEntry("X-Trace-Id", "trace-2");
+        assertThat(headers).doesNotContainKeys("Authorization", "TE", "Proxy-Authorization",
+                "Connection", "Host", "Content-Length");
+
+        // 대기열에만 추가되고 백엔드로는 전달되지 않음
+        assertThat(orderService.pendingRequests()).isZero();
+    }
+
+    private QueueItem findQueued(String key, String requestId) throws Exception {
+        Set<String> members = redisTemplate.opsForZSet().range(key, 0, -1);
+        assertThat(members).isNotNull();
+        for (String member : members) {
+            if (member.contains(requestId)) {
+                return objectMapper.readValue(member, QueueItem.class);
+            }
+        }
+        throw new AssertionError("Queued item not found: " + requestId);
+    }
+}
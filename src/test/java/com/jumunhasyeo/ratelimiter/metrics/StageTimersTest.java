@@ -0,0 +1,47 @@
+package com.jumunhasyeo.ratelimiter.metrics;
+
+import com.jumunhasyeo.ratelimiter.properties.StageTimingProperties;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StageTimersTest {
+
+    private enum Stage {
+        FIRST, SECOND
+    }
+
+    @Test
+    @DisplayName("이어지는 구간은 이전 구간의 종료 시각부터 기록되어야 한다")
+    void record_shouldChainSpans() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        StageTimers<Stage> timers = StageTimers.register(registry, "test.stage.time", "test",
+                "check", Stage.class, new StageTimingProperties());
+
+        long start = timers.start();
+        long afterFirst = timers.record(Stage.FIRST, start);
+        long afterSecond = timers.record(Stage.SECOND, afterFirst);
+
+        Timer first = registry.get("test.stage.time").tag("stage", "first").tag("pipeline", "check").timer();
+        Timer second = registry.get("test.stage.time").tag("stage", "second").timer();
+        assertThat(first.count()).isEqualTo(1);
+        assertThat(second.count()).isEqualTo(1);
+        assertThat(afterSecond).isGreaterThanOrEqualTo(afterFirst).isGreaterThanOrEqualTo(start);
+    }
+
+    @Test
+    @DisplayName("비활성이면 타이머를 등록하지 않고 기록도 하지 않아야 한다")
+    void disabled_shouldSkipRegistrationAndRecording() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        StageTimingProperties properties = new StageTimingProperties();
+        properties.setEnabled(false);
+        StageTimers<Stage> timers = StageTimers.register(registry, "test.stage.time", "test",
+                "check", Stage.class, properties);
+
+        assertThat(timers.record(Stage.FIRST, timers.start())).isZero();
+        assertThat(registry.find("test.stage.time").timers()).isEmpty();
+    }
+}
@@ -0,0 +1,145 @@
+package com.jumunhasyeo.ratelimiter.service.algorithm;
+
+import com.jumunhasyeo.ratelimiter.service.algorithm.RateLimitAlgorithm.BucketLimit;
+import com.jumunhasyeo.ratelimiter.service.algorithm.RateLimitAlgorithm.QueueGuard;
+import com.jumunhasyeo.ratelimiter.support.RedisTestBase;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.connection.DataType;
+import org.springframework.data.redis.connection.stream.Consumer;
+import org.springframework.data.redis.connection.stream.ReadOffset;
+import org.springframework.data.redis.connection.stream.StreamOffset;
+import org.springframework.data.redis.connection.stream.StreamReadOptions;
+import org.springframework.data.redis.connection.stream.StreamRecords;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimitAlgorithmTest extends RedisTestBase {
+
+    private static final String SCOPE = "test:bucket";
+    private static final String QUEUE_KEY = "test:algorithm:queue";
+    private static final String STREAM_KEY = "test:algorithm:stream";
+    private static final String GROUP = "test-group";
+    private static final int TTL_SECONDS = 60;
+
+    @Autowired
+    private RateLimitAlgorithmRegistry registry;
+
+    @Autowired
+    private StringRedisTemplate redisTemplate;
+
+    @AfterEach
+    void tearDown() {
+        for (String name : List.of("leaky", "gcra", "token")) {
+            redisTemplate.delete(registry.get(name).stateKey(SCOPE));
+        }
+        redisTemplate.delete(List.of(QUEUE_KEY, STREAM_KEY));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"leaky", "gcra", "token"})
+    @DisplayName("rate와 별개로 burst만큼 즉시 허용하고 이후 요청은 거절해야 한다")
+    void acquire_shouldAllowBurstIndependentOfRate(String name) {
+        RateLimitAlgorithm algorithm = registry.get(name);
+        String key = algorithm.stateKey(SCOPE);
+        BucketLimit limit = new BucketLimit(1, 20);
+
+        long consumed = algorithm.acquire(key, limit, 30, TTL_SECONDS);
+
+        assertThat(consumed).isEqualTo(20);
+        assertThat(algorithm.acquire(key, limit, 1, TTL_SECONDS)).isZero();
+        assertThat(algorithm.level(key, limit) / 1000).isBetween(19L, 20L);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"leaky", "gcra", "token"})
+    @DisplayName("환불한 토큰은 다시 소비할 수 있어야 한다")
+    void refund_shouldRestoreTokens(String name) {
+        RateLimitAlgorithm algorithm = registry.get(name);
+        String key = algorithm.stateKey(SCOPE);
+        BucketLimit limit = new BucketLimit(1, 10);
+
+        algorithm.acquire(key, limit, 10, TTL_SECONDS);
+        algorithm.refund(key, limit, 4, TTL_SECONDS);
+
+        assertThat(algorithm.acquire(key, limit, 10, TTL_SECONDS)).isEqualTo(4);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"leaky", "gcra", "token"})
+    @DisplayName("대기열에 항목이 있으면 -1을 반환하고 토큰을 소비하지 않아야 한다")
+    void acquire_shouldReturnMinusOneWhenQueued(String name) {
+        RateLimitAlgorithm algorithm = registry.get(name);
+        String key = algorithm.stateKey(SCOPE);
+        BucketLimit limit = new BucketLimit(10, 10);
+        redisTemplate.opsForZSet().add(QUEUE_KEY, "item", 1);
+
+        long result = algorithm.acquire(key, limit, 1, TTL_SECONDS,
+                new QueueGuard(List.of(), List.of(QUEUE_KEY), "ZCARD"));
+
+        assertThat(result).isEqualTo(-1);
+        assertThat(algorithm.level(key, limit)).isZero();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"leaky", "gcra", "token"})
+    @DisplayName("Stream 대기열은 전달 후 ack 전(PEL)인 항목을 대기 중으로 보지 않아야 한다")
+    void acquire_shouldIgnorePendingStreamEntries(String name) {
+        RateLimitAlgorithm algorithm = registry.get(name);
+        String key = algorithm.stateKey(SCOPE);
+        BucketLimit limit = new BucketLimit(10, 10);
+        QueueGuard guard = new QueueGuard(List.of(STREAM_KEY), List.of(), "XLEN", GROUP);
+        redisTemplate.opsForStream().add(StreamRecords.string(Map.of("d", "item")).withStreamKey(STREAM_KEY));
+        redisTemplate.opsForStream().createGroup(STREAM_KEY, ReadOffset.from("0"), GROUP);
+
+        // 아직 전달되지 않은 항목은 대기 중
+        assertThat(algorithm.acquire(key, limit, 1, TTL_SECONDS, guard)).isEqualTo(-1);
+
+        // 드레인이 읽어 간 뒤 ack 전이면 대기 중이 아님
+        redisTemplate.opsForStream().read(Consumer.from(GROUP, "drain"),
+                StreamReadOptions.empty().count(1), StreamOffset.create(STREAM_KEY, ReadOffset.lastConsumed()));
+        assertThat(algorithm.acquire(key, limit, 1, TTL_SECONDS, guard)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("GCRA는 TAT 문자열 하나만 TTL과 함께 저장하고 거절 시에는 쓰지 않아야 한다")
+    void gcra_shouldStoreSingleTatWithTtl() {
+        RateLimitAlgorithm algorithm = registry.get(GcraAlgorithm.NAME);
+        String key = algorithm.stateKey(SCOPE);
+        BucketLimit limit = new BucketLimit(10, 2);
+
+        assertThat(algorithm.acquire(key, limit, 2, TTL_SECONDS)).isEqualTo(2);
+        String tat = redisTemplate.opsForValue().get(key);
+
+        assertThat(redisTemplate.type(key)).isEqualTo(DataType.STRING);
+        assertThat(tat).matches("\\d+");
+        assertThat(redisTemplate.getExpire(key)).isPositive();
+
+        assertThat(algorithm.acquire(key, limit, 1, TTL_SECONDS)).isZero();
+        assertThat(redisTemplate.opsForValue().get(key)).isEqualTo(tat);
+    }
+
+    @Test
+    @DisplayName("GCRA는 emission interval이 지나면 다시 허용해야 한다")
+    void gcra_shouldAllowAfterEmissionInterval() throws InterruptedException {
+        RateLimitAlgorithm algorithm = registry.get(GcraAlgorithm.NAME);
+        String key = algorithm.stateKey(SCOPE);
+        BucketLimit limit = new BucketLimit(20, 1);
+
+        assertThat(algorithm.acquire(key, limit, 1, TTL_SECONDS)).isEqualTo(1);
+        assertThat(algorithm.acquire(key, limit, 1, TTL_SECONDS)).isZero();
+
+        // interval = 50ms
+        Thread.sleep(80);
+
+        assertThat(algorithm.acquire(key, limit, 1, TTL_SECONDS)).isEqualTo(1);
+    }
+}
@@ -0,0 +1,112 @@
+package com.jumunhasyeo.ratelimiter.service.forward;
+
+import com.jumunhasyeo.ratelimiter.domain.HttpRequestData;
+import com.jumunhasyeo.ratelimiter.support.RedisTestBase;
+import com.jumunhasyeo.ratelimiter.support.StubOrderService;
+import com.jumunhasyeo.ratelimiter.support.StubOrderService.RecordedRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BackendForwarderTest extends RedisTestBase {
+
+    static StubOrderService orderService = StubOrderService.start();
+
+    @DynamicPropertySource
+    static void orderServiceProperties(DynamicPropertyRegistry registry) {
+        registry.add("backend.order-service.url", orderService::url);
+    }
+
+    @Autowired
+    private BackendForwarder forwarder;
+
+    @BeforeEach
+    void setUp() {
+        orderService.reset();
+    }
+
+    @Test
+    @DisplayName("원본 URI의 경로와 쿼리만 order-service 기준 URL로 옮겨야 한다")
+    void targetUri_shouldKeepOnlyPathAndQuery() {
+        String base = orderService.url();
+
+        assertThat(forwarder.targetUri("/api/v1/orders?page=1&q=a%20b"))
+                .hasToString(base + "/api/v1/orders?page=1&q=a%20b");
+        // 절대 URI의 scheme/host는 무시
+        assertThat(forwarder.targetUri("http://other.example:9000/api/v1/orders?page=2"))
+                .hasToString(base + "/api/v1/orders?page=2");
+        // '/'로 시작하지 않는 경로
+        assertThat(forwarder.targetUri("api/v1/orders")).hasToString(base + "/api/v1/orders");
+    }
+
+    @Test
+    @DisplayName("리버스 프록시 요청은 본문과 헤더를 전달하고 응답 상태/헤더/본문을 그대로 돌려주되 hop-by-hop 헤더는 제외해야 한다")
+    void proxy_shouldRelayResponseAndStripHopByHopHeaders() throws Exception {
+        orderService.respond(201, Map.of(
+                "Content-Type", "application/json",
+                "X-Backend", "stub",
+                "Keep-Alive", "timeout=5",
+                "Proxy-Authenticate", "Basic"), "{\"id\":1}");
+
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/orders");
+        request.setQueryString("source=test");
+        request.addHeader("Content-Type", "application/json");
+        request.addHeader("X-Trace-Id", "trace-1");
+        request.addHeader("TE", "trailers");
+        request.addHeader("Proxy-Authorization", "Basic secret");
+        request.setContent("{\"orderId\": 1}".getBytes(StandardCharsets.UTF_8));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        int status = forwarder.proxy(request, "/api/v1/orders?source=test", response);
+
+        assertThat(status).isEqualTo(201);
+        assertThat(response.getStatus()).isEqualTo(201);
+        assertThat(response.getHeader("X-Backend")).isEqualTo("stub");
+        assertThat(response.getHeader("Keep-Alive")).isNull();
+        assertThat(response.getHeader("Proxy-Authenticate")).isNull();
+        assertThat(response.getContentAsString()).isEqualTo("{\"id\":1}");
+
+        RecordedRequest received = orderService.takeRequest();
+        assertThat(received).isNotNull();
+        assertThat(received.method()).isEqualTo("POST");
+        assertThat(received.uri()).isEqualTo("/api/v1/orders?source=test");
+        assertThat(received.body()).isEqualTo("{\"orderId\": 1}");
+        assertThat(received.header("X-Trace-Id")).isEqualTo("trace-1");
+        assertThat(received.header("TE")).isNull();
+        assertThat(received.header("Proxy-Authorization")).isNull();
+    }
+
+    @Test
+    @DisplayName("대기열에서 재전송하는 요청은 accessToken을 Bearer 헤더로 붙이고 오류 응답도 그대로 돌려줘야 한다")
+    void forward_shouldRelayErrorResponseWithBearerToken() throws Exception {
+        orderService.respond(409, Map.of("X-Backend", "stub"), "conflict");
+        HttpRequestData request = new HttpRequestData("PUT", "/api/v1/orders/7",
+                Map.of("Content-Type", "text/plain", "Proxy-Authorization", "Basic secret"), "payload");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        int status = forwarder.forward(request, "token-7", response);
+
+        assertThat(status).isEqualTo(409);
+        assertThat(response.getStatus()).isEqualTo(409);
+        assertThat(response.getHeader("X-Backend")).isEqualTo("stub");
+        assertThat(response.getContentAsString()).isEqualTo("conflict");
+
+        RecordedRequest received = orderService.takeRequest();
+        assertThat(received).isNotNull();
+        assertThat(received.method()).isEqualTo("PUT");
+        assertThat(received.uri()).isEqualTo("/api/v1/orders/7");
+        assertThat(received.body()).isEqualTo("payload");
+        assertThat(received.header("Authorization")).isEqualTo("Bearer token-7");
+        assertThat(received.header("Proxy-Authorization")).isNull();
+    }
+}
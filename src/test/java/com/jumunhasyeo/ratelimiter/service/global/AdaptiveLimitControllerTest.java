@@ -0,0 +1,45 @@
+package com.jumunhasyeo.ratelimiter.service.global;
+
+import com.jumunhasyeo.ratelimiter.properties.FeedbackLoopProperties.AdaptiveParams;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdaptiveLimitControllerTest {
+
+    private final AdaptiveParams params = new AdaptiveParams();
+
+    @Test
+    @DisplayName("지연이 기준 이내이고 수요가 있으면 sqrt(limit) 여유만큼 한도를 늘려야 한다")
+    void nextLimit_shouldIncreaseWhenHealthyWithDemand() {
+        int next = AdaptiveLimitController.nextLimit(params, 100, 50_000, 50_000, 0, true, 10, 1000);
+
+        assertThat(next).isEqualTo(102);
+    }
+
+    @Test
+    @DisplayName("단기 지연이 기준보다 크게 늘면 gradient 하한까지 한도를 줄여야 한다")
+    void nextLimit_shouldDecreaseWhenLatencyGrows() {
+        int next = AdaptiveLimitController.nextLimit(params, 100, 200_000, 50_000, 20, true, 10, 1000);
+
+        assertThat(next).isEqualTo(92);
+    }
+
+    @Test
+    @DisplayName("한도를 다 쓰지 않는 상태에서는 한도를 늘리지 않아야 한다")
+    void nextLimit_shouldHoldWhenAppLimited() {
+        int next = AdaptiveLimitController.nextLimit(params, 100, 50_000, 50_000, 1, false, 10, 1000);
+
+        assertThat(next).isEqualTo(100);
+    }
+
+    @Test
+    @DisplayName("계산 결과는 floor와 최대 한도 범위로 제한되어야 한다")
+    void nextLimit_shouldClampToBounds() {
+        assertThat(AdaptiveLimitController.nextLimit(params, 1000, 50_000, 50_000, 0, true, 10, 1000))
+                .isEqualTo(1000);
+        assertThat(AdaptiveLimitController.nextLimit(params, 100, 200_000, 50_000, 20, true, 150, 1000))
+                .isEqualTo(150);
+    }
+}
@@ -0,0 +1,58 @@
+package com.jumunhasyeo.ratelimiter.service.global;
+
+import com.jumunhasyeo.ratelimiter.properties.FeedbackLoopProperties;
+import com.jumunhasyeo.ratelimiter.support.RedisTestBase;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BackendLoadTrackerTest extends RedisTestBase {
+
+    private static final String LOAD_KEY = "adaptive:backend:load";
+
+    @Autowired
+    private BackendLoadTracker loadTracker;
+
+    @Autowired
+    private FeedbackLoopProperties properties;
+
+    @Autowired
+    private StringRedisTemplate redisTemplate;
+
+    @BeforeEach
+    void setUp() {
+        redisTemplate.delete(LOAD_KEY);
+    }
+
+    @AfterEach
+    void tearDown() {
+        properties.getAdaptive().setEnabled(false);
+        properties.getHealth().getSignals().get("inflight").setEnabled(false);
+    }
+
+    @Test
+    @DisplayName("적응형 한도와 부하 기반 신호가 모두 꺼져 있으면 Redis에 반영하지 않아야 한다")
+    void flush_shouldSkipWhenNoConsumer() {
+        loadTracker.end(loadTracker.begin(), 200);
+
+        loadTracker.flush();
+
+        assertThat(redisTemplate.hasKey(LOAD_KEY)).isFalse();
+    }
+
+    @Test
+    @DisplayName("부하 기반 신호가 켜져 있으면 샘플을 Redis에 반영해야 한다")
+    void flush_shouldWriteWhenLoadSignalEnabled() {
+        properties.getHealth().getSignals().get("inflight").setEnabled(true);
+        loadTracker.end(loadTracker.begin(), 200);
+
+        loadTracker.flush();
+
+        assertThat(loadTracker.readClusterLoad().count()).isEqualTo(1L);
+    }
+}
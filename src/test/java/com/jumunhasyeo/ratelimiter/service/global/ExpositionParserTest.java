@@ -0,0 +1,57 @@
+package com.jumunhasyeo.ratelimiter.service.global;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ExpositionParserTest {
+
+    private static final String BODY = """
+            # HELP http_server_requests_seconds Duration of HTTP server request handling
+            # TYPE http_server_requests_seconds histogram
+            http_server_requests_seconds_bucket{method="POST",status="200",uri="/api/v1/orders",le="0.1"} 40.0
+            http_server_requests_seconds_bucket{method="POST",status="200",uri="/api/v1/orders",le="+Inf"} 50.0
+            http_server_requests_seconds_bucket{method="GET",status="200",uri="/actuator/prometheus",le="0.1"} 9.0
+            http_server_requests_seconds_count{method="POST",status="200",uri="/api/v1/orders"} 50.0
+            hikaricp_connections_active{pool="HikariPool-1",note="a}b"} 3.0
+            hikaricp_connections_max{pool="HikariPool-1"} 10.0 1700000000000
+            """;
+
+    private static final byte[] LE = "le".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] URI = "uri".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] ACTUATOR = "/actuator".getBytes(StandardCharsets.US_ASCII);
+
+    @Test
+    @DisplayName("관심 메트릭의 샘플만 라벨과 값을 파싱해야 한다")
+    void parse_shouldReportMatchingSamples() throws IOException {
+        ExpositionParser parser = new ExpositionParser(
+                "http_server_requests_seconds_bucket", "hikaricp_connections_active", "hikaricp_connections_max");
+        List<String> samples = new ArrayList<>();
+
+        parser.parse(new ByteArrayInputStream(BODY.getBytes(StandardCharsets.UTF_8)),
+                (metric, line, labelStart, labelEnd, value) -> {
+                    if (metric == 0) {
+                        boolean actuator = ExpositionParser.labelStartsWith(line, labelStart, labelEnd, URI, ACTUATOR);
+                        double le = ExpositionParser.labelAsDouble(line, labelStart, labelEnd, LE);
+                        samples.add("bucket le=" + le + " actuator=" + actuator + " value=" + value);
+                    } else {
+                        samples.add(metric + " value=" + value);
+                    }
+                });
+
+        assertThat(samples).containsExactly(
+                "bucket le=0.1 actuator=false value=40.0",
+                "bucket le=Infinity actuator=false value=50.0",
+                "bucket le=0.1 actuator=true value=9.0",
+                "1 value=3.0",
+                "2 value=10.0"
+        );
+    }
+}
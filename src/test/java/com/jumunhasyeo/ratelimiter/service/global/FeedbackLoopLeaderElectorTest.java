@@ -0,0 +1,59 @@
+package com.jumunhasyeo.ratelimiter.service.global;
+
+import com.jumunhasyeo.ratelimiter.support.RedisTestBase;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FeedbackLoopLeaderElectorTest extends RedisTestBase {
+
+    private static final String LEADER_KEY = "feedback:loop:leader";
+
+    @Autowired
+    private FeedbackLoopLeaderElector leaderElector;
+
+    @Autowired
+    private FeedbackLoopStateManager stateManager;
+
+    @Autowired
+    private StringRedisTemplate redisTemplate;
+
+    @AfterEach
+    void tearDown() {
+        redisTemplate.delete(LEADER_KEY);
+        stateManager.deactivate();
+    }
+
+    @Test
+    @DisplayName("리더가 없으면 리스를 획득하고, 다른 노드가 보유 중이면 획득하지 못해야 한다")
+    void tryAcquireOrRenew_shouldRespectExistingLease() {
+        redisTemplate.delete(LEADER_KEY);
+
+        assertThat(leaderElector.tryAcquireOrRenew()).isTrue();
+        assertThat(redisTemplate.getExpire(LEADER_KEY)).isPositive();
+
+        redisTemplate.opsForValue().set(LEADER_KEY, "other-node", Duration.ofSeconds(10));
+
+        assertThat(leaderElector.tryAcquireOrRenew()).isFalse();
+        assertThat(leaderElector.getLeaderNodeId()).isEqualTo("other-node");
+    }
+
+    @Test
+    @DisplayName("연속 판정 횟수는 Redis에 공유되어 리더가 바뀌어도 이어져야 한다")
+    void consecutiveCounts_shouldBeSharedInRedis() {
+        stateManager.resetConsecutiveCounts();
+
+        assertThat(stateManager.recordHealthy()).isEqualTo(1);
+        assertThat(stateManager.recordHealthy()).isEqualTo(2);
+        assertThat(redisTemplate.opsForHash().get("feedback:loop:state", "healthyCount")).isEqualTo("2");
+
+        assertThat(stateManager.recordUnhealthy()).isEqualTo(1);
+        assertThat(redisTemplate.opsForHash().get("feedback:loop:state", "healthyCount")).isEqualTo("0");
+    }
+}
@@ -0,0 +1,75 @@
+package com.jumunhasyeo.ratelimiter.service.global;
+
+import com.jumunhasyeo.ratelimiter.support.RedisTestBase;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+class GlobalLimitStoreTest extends RedisTestBase {
+
+    @Autowired
+    private GlobalLimitStore limitStore;
+
+    @Autowired
+    private GlobalRateLimiterService rateLimiterService;
+
+    @Autowired
+    private StringRedisTemplate redisTemplate;
+
+    @AfterEach
+    void tearDown() {
+        rateLimiterService.reset();
+    }
+
+    @Test
+    @DisplayName("한도 변경은 Redis에 저장되고 version이 증가해야 한다")
+    void increaseLimit_shouldPersistToRedis() {
+        rateLimiterService.reset();
+        long versionBefore = limitStore.current().version();
+
+        rateLimiterService.increaseLimit(5);
+
+        assertThat(rateLimiterService.getCurrentLimit()).isEqualTo(20);
+        assertThat(redisTemplate.opsForHash().get(GlobalLimitStore.LIMIT_KEY, "rate")).isEqualTo("20");
+        assertThat(limitStore.current().version()).isGreaterThan(versionBefore);
+    }
+
+    @Test
+    @DisplayName("다른 노드가 발행한 한도 변경은 구독으로 즉시 반영되어야 한다")
+    void onMessage_shouldApplyRemoteChange() {
+        long nextVersion = limitStore.current().version() + 100;
+
+        redisTemplate.convertAndSend("ratelimit:global:limit:changed", nextVersion + ":42:42");
+
+        await().untilAsserted(() -> assertThat(rateLimiterService.getCurrentLimit()).isEqualTo(42));
+    }
+
+    @Test
+    @DisplayName("구독 메시지를 놓쳐도 재동기화로 Redis 값을 반영해야 한다")
+    void resync_shouldApplyRedisValue() {
+        redisTemplate.opsForHash().putAll(GlobalLimitStore.LIMIT_KEY, Map.of("rate", "33", "burst", "40"));
+
+        limitStore.resync();
+
+        assertThat(rateLimiterService.getCurrentLimit()).isEqualTo(33);
+        assertThat(rateLimiterService.getBurstCapacity()).isEqualTo(40);
+    }
+
+    @Test
+    @DisplayName("Redis 한도 키가 사라지면 재동기화 시 기본값으로 다시 채워야 한다")
+    void resync_shouldReseedWhenKeyMissing() {
+        redisTemplate.delete(GlobalLimitStore.LIMIT_KEY);
+
+        limitStore.resync();
+
+        assertThat(redisTemplate.opsForHash().get(GlobalLimitStore.LIMIT_KEY, "rate")).isEqualTo("15");
+        assertThat(rateLimiterService.getCurrentLimit()).isEqualTo(15);
+    }
+}
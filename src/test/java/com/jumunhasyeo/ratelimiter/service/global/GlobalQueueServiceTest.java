@@ -1,15 +1,29 @@
 package com.jumunhasyeo.ratelimiter.service.global;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.jumunhasyeo.ratelimiter.domain.HttpRequestData;
 import com.jumunhasyeo.ratelimiter.domain.QueueItem;
+import com.jumunhasyeo.ratelimiter.domain.QueuePollResult;
+import com.jumunhasyeo.ratelimiter.dto.QueueCompletion;
+import com.jumunhasyeo.ratelimiter.properties.QueueLimitProperties;
+import com.jumunhasyeo.ratelimiter.properties.QueueLimitProperties.ShedPolicy;
+import com.jumunhasyeo.ratelimiter.properties.QueueSchedulerProperties;
+import com.jumunhasyeo.ratelimiter.properties.QueueSchedulerProperties.QueueClass;
+import com.jumunhasyeo.ratelimiter.properties.QueueWeightProperties;
+import com.jumunhasyeo.ratelimiter.properties.ReliableQueueProperties;
+import com.jumunhasyeo.ratelimiter.service.global.GlobalQueueService.OfferResult;
 import com.jumunhasyeo.ratelimiter.service.global.GlobalQueueService.QueueType;
 import com.jumunhasyeo.ratelimiter.support.RedisTestBase;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.redis.core.StringRedisTemplate;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
@@ -23,6 +37,33 @@ class GlobalQueueServiceTest extends RedisTestBase {
     @Autowired
     private StringRedisTemplate redisTemplate;
 
+    @Autowired
+    private QueueWeightProperties weightProperties;
+
+    @Autowired
+    private ReliableQueueProperties reliableProperties;
+
+    @Autowired
+    private QueueLimitProperties limitProperties;
+
+    @Autowired
+    private QueueSchedulerProperties schedulerProperties;
+
+    @Autowired
+    private QueueCompletionNotifier completionNotifier;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private QueueWaitEstimator queueWaitEstimator;
+
+    @Autowired
+    private GlobalRateLimiterService rateLimiterService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     @BeforeEach
     void setUp() {
         // 모든 큐 초기화
@@ -34,6 +75,28 @@ class GlobalQueueServiceTest extends RedisTestBase {
         redisTemplate.delete("queue:pg:other");
         redisTemplate.delete("queue:pg:order:retry");
         redisTemplate.delete("queue:pg:other:retry");
+        redisTemplate.delete("queue:inflight:" + reliableProperties.getNodeId());
+        redisTemplate.delete("queue:inflight:nodes");
+        redisTemplate.delete(redisTemplate.keys("queue:global:*:users:*"));
+        redisTemplate.delete(QueueType.ORDER.getUserCountKey());
+        redisTemplate.delete(QueueType.OTHER.getUserCountKey());
+        redisTemplate.delete("queue:drr:global");
+        redisTemplate.delete(List.of("queue:global:vip", "queue:global:vip:user_counts",
+                "queue:global:bulk", "queue:global:bulk:user_counts"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        reliableProperties.setEnabled(false);
+        reliableProperties.setVisibilityTimeoutMs(60000);
+        limitProperties.setPolicy(ShedPolicy.REJECT);
+        limitProperties.setOrderMaxDepth(100000);
+        limitProperties.setOtherMaxDepth(50000);
+        limitProperties.setPerUserMaxDepth(100);
+        limitProperties.setRetryMaxDepth(20000);
+        schedulerProperties.setClasses(new ArrayList<>());
+        schedulerProperties.setAgingPerSec(0.2);
+        rateLimiterService.reset();
     }
 
     @Test
@@ -113,6 +176,19 @@ class GlobalQueueServiceTest extends RedisTestBase {
         assertThat(queueService.getRetryQueueSize(QueueType.ORDER)).isEqualTo(1);
     }
 
+    @Test
+    @DisplayName("재시도 큐가 최대 길이에 도달하면 추가를 거절해야 한다")
+    void offerToRetry_shouldRejectWhenRetryQueueFull() {
+        limitProperties.setRetryMaxDepth(1);
+
+        assertThat(queueService.offerToRetry(createQueueItem(1L), QueueType.ORDER)).isTrue();
+        assertThat(queueService.offerToRetry(createQueueItem(2L), QueueType.ORDER)).isFalse();
+
+        assertThat(queueService.getRetryQueueSize(QueueType.ORDER)).isEqualTo(1);
+        // QueueType별 한도
+        assertThat(queueService.offerToRetry(createQueueItem(3L), QueueType.OTHER)).isTrue();
+    }
+
     @Test
     @DisplayName("재시도 큐에서 4초 이상 경과한 아이템만 가져와야 한다")
     void pollRetryEligible_shouldOnlyReturnEligibleItems() throws InterruptedException {
@@ -206,6 +282,475 @@ class GlobalQueueServiceTest extends RedisTestBase {
         assertThat(queueService.getQueueSize(QueueType.ORDER)).isEqualTo(1);
     }
 
+    @Test
+    @DisplayName("신뢰 모드에서 폴링된 항목은 ack 전까지 in-flight에 남아야 한다")
+    void pollReliable_shouldMoveItemsToInflightUntilAck() {
+        reliableProperties.setEnabled(true);
+        queueService.offer(createQueueItem(1L), QueueType.ORDER);
+        queueService.offer(createQueueItem(2L), QueueType.ORDER);
+
+        QueuePollResult result = queueService.pollWeightedGlobalOnly(2, weightProperties);
+
+        assertThat(result.getItems()).hasSize(2);
+        assertThat(result.getItems()).allSatisfy(item -> assertThat(item.getReceipt()).isNotNull());
+        assertThat(queueService.getQueueSize(QueueType.ORDER)).isZero();
+        assertThat(queueService.getInflightSize()).isEqualTo(2L);
+
+        result.getItems().forEach(item -> queueService.ack(item.getReceipt()));
+
+        assertThat(queueService.getInflightSize()).isZero();
+    }
+
+    @Test
+    @DisplayName("visibility timeout이 지난 in-flight 항목은 원래 큐로 회수되어야 한다")
+    void reclaimExpiredInflight_shouldReturnItemsToOriginalQueue() throws InterruptedException {
+        reliableProperties.setEnabled(true);
+        reliableProperties.setVisibilityTimeoutMs(1);
+        queueService.offer(createQueueItem(1L), QueueType.ORDER);
+        queueService.offer(createQueueItem(2L), QueueType.OTHER);
+
+        QueuePollResult result = queueService.pollWeightedGlobalOnly(10, weightProperties);
+        assertThat(result.getItems()).hasSize(2);
+        assertThat(queueService.getTotalQueueSize()).isZero();
+
+        Thread.sleep(10);
+        long reclaimed = queueService.reclaimExpiredInflight();
+
+        assertThat(reclaimed).isEqualTo(2L);
+        assertThat(queueService.getQueueSize(QueueType.ORDER)).isEqualTo(1L);
+        assertThat(queueService.getQueueSize(QueueType.OTHER)).isEqualTo(1L);
+        assertThat(queueService.getInflightSize()).isZero();
+        assertThat(queueService.findSequence(1L, QueueType.ORDER)).isEqualTo(0L);
+    }
+
+    @Test
+    @DisplayName("재시도 큐가 가득 차 회수하지 못한 in-flight 재시도 항목은 SHED 결과를 발행해야 한다")
+    void reclaimExpiredInflight_shouldPublishShedWhenRetryQueueFull() throws Exception {
+        reliableProperties.setEnabled(true);
+        reliableProperties.setVisibilityTimeoutMs(1);
+        limitProperties.setRetryMaxDepth(1);
+        QueueItem retried = createQueueItem(1L);
+        // 재시도 대기 시간이 지난 항목으로 추가 후 폴링하여 in-flight로 이동
+        redisTemplate.opsForZSet().add(QueueType.ORDER.getRetryKey(),
+                objectMapper.writeValueAsString(retried), System.currentTimeMillis() - 60_000);
+        assertThat(queueService.pollWeightedGlobalOnly(10, weightProperties).getItems()).hasSize(1);
+        // 회수 전에 재시도 큐가 다시 가득 참
+        redisTemplate.opsForZSet().add(QueueType.ORDER.getRetryKey(), "other", System.currentTimeMillis() + 60_000);
+
+        Thread.sleep(10);
+        assertThat(queueService.reclaimExpiredInflight()).isZero();
+
+        assertThat(queueService.getInflightSize()).isZero();
+        assertThat(completionNotifier.findResult(retried.getRequestId()).getStatus())
+                .isEqualTo(QueueCompletion.Status.SHED);
+    }
+
+    @Test
+    @DisplayName("REJECT 정책에서 최대 길이를 넘는 요청은 거절되어야 한다")
+    void tryOffer_shouldRejectWhenQueueFull() {
+        limitProperties.setOrderMaxDepth(2);
+        queueService.offer(createQueueItem(1L), QueueType.ORDER);
+        queueService.offer(createQueueItem(2L), QueueType.ORDER);
+
+        OfferResult result = queueService.tryOffer(createQueueItem(3L), QueueType.ORDER).result();
+
+        assertThat(result).isEqualTo(OfferResult.REJECTED_FULL);
+        assertThat(queueService.getQueueSize(QueueType.ORDER)).isEqualTo(2L);
+        assertThat(queueService.findSequence(3L, QueueType.ORDER)).isEqualTo(-1L);
+    }
+
+    @Test
+    @DisplayName("부하 차단 카운터는 기동 시 미리 등록되어 거절 시 같은 카운터가 증가해야 한다")
+    void tryOffer_shouldIncrementPreRegisteredShedCounter() {
+        Counter rejected = meterRegistry.find("queue.shed")
+                .tags("queue_type", "ORDER", "policy", "REJECT", "outcome", "rejected")
+                .counter();
+        assertThat(rejected).isNotNull();
+        assertThat(meterRegistry.find("queue.requeue.failed").tags("queue_type", "OTHER", "retry", "true").counter())
+                .isNotNull();
+        double before = rejected.count();
+
+        limitProperties.setOrderMaxDepth(1);
+        queueService.offer(createQueueItem(1L), QueueType.ORDER);
+        queueService.tryOffer(createQueueItem(2L), QueueType.ORDER);
+
+        assertThat(rejected.count()).isEqualTo(before + 1);
+    }
+
+    @Test
+    @DisplayName("DROP_OLDEST 정책에서는 가장 오래된 항목을 버리고 수용해야 한다")
+    void tryOffer_shouldDropOldestWhenQueueFull() throws InterruptedException {
+        limitProperties.setPolicy(ShedPolicy.DROP_OLDEST);
+        limitProperties.setOrderMaxDepth(2);
+        QueueItem oldest = createQueueItem(1L);
+        queueService.offer(oldest, QueueType.ORDER);
+        Thread.sleep(5);
+        queueService.offer(createQueueItem(2L), QueueType.ORDER);
+        Thread.sleep(5);
+
+        OfferResult result = queueService.tryOffer(createQueueItem(3L), QueueType.ORDER).result();
+
+        assertThat(result).isEqualTo(OfferResult.ACCEPTED);
+        assertThat(queueService.getQueueSize(QueueType.ORDER)).isEqualTo(2L);
+        assertThat(queueService.findSequence(1L, QueueType.ORDER)).isEqualTo(-1L);
+        assertThat(queueService.findSequence(3L, QueueType.ORDER)).isEqualTo(1L);
+        // 이미 202를 받은 요청이므로 long-poll에 SHED 결과 전달
+        assertThat(completionNotifier.findResult(oldest.getRequestId()).getStatus())
+                .isEqualTo(QueueCompletion.Status.SHED);
+    }
+
+    @Test
+    @DisplayName("PRIORITY 정책에서는 OTHER를 축출하여 ORDER를 수용해야 한다")
+    void tryOffer_shouldShedOtherInFavourOfOrder() {
+        limitProperties.setPolicy(ShedPolicy.PRIORITY);
+        limitProperties.setOrderMaxDepth(1);
+        limitProperties.setOtherMaxDepth(1);
+        queueService.offer(createQueueItem(1L), QueueType.ORDER);
+        QueueItem other = createQueueItem(2L);
+        queueService.offer(other, QueueType.OTHER);
+
+        // 전체 한도(2) 도달: OTHER는 거절, ORDER는 OTHER를 축출하고 수용
+        assertThat(queueService.tryOffer(createQueueItem(3L), QueueType.OTHER).result())
+                .isEqualTo(OfferResult.REJECTED_FULL);
+        assertThat(queueService.tryOffer(createQueueItem(4L), QueueType.ORDER).result())
+                .isEqualTo(OfferResult.ACCEPTED);
+
+        assertThat(queueService.getQueueSize(QueueType.ORDER)).isEqualTo(2L);
+        assertThat(queueService.getQueueSize(QueueType.OTHER)).isZero();
+        assertThat(completionNotifier.findResult(other.getRequestId()).getStatus())
+                .isEqualTo(QueueCompletion.Status.SHED);
+    }
+
+    @Test
+    @DisplayName("추가 결과는 ZRANK 기반 위치와 큐 길이를 포함해야 한다")
+    void tryOffer_shouldReturnRankAndDepths() throws InterruptedException {
+        queueService.offer(createQueueItem(1L), QueueType.ORDER);
+        Thread.sleep(5);
+        queueService.offer(createQueueItem(2L), QueueType.OTHER);
+        queueService.offerToRetry(createQueueItem(3L), QueueType.ORDER);
+
+        GlobalQueueService.OfferOutcome outcome = queueService.tryOffer(createQueueItem(4L), QueueType.ORDER);
+
+        assertThat(outcome.isAccepted()).isTrue();
+        assertThat(outcome.position().rank()).isEqualTo(1L);
+        assertThat(outcome.position().depth()).isEqualTo(2L);
+        assertThat(outcome.position().retryDepth()).isEqualTo(1L);
+        assertThat(outcome.position().peerDepth()).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("폴링된 사용자의 위치 인덱스는 제거되어야 한다")
+    void getQueuePosition_shouldNotFindPolledUser() {
+        queueService.offer(createQueueItem(1L), QueueType.ORDER);
+
+        queueService.pollWeightedGlobalOnly(1, weightProperties);
+
+        assertThat(queueService.getQueuePosition(1L, QueueType.ORDER).isQueued()).isFalse();
+        assertThat(redisTemplate.hasKey(QueueType.ORDER.getUserIndexKey() + ":1")).isFalse();
+    }
+
+    @Test
+    @DisplayName("같은 사용자의 항목이 여러 개이면 가장 오래된 항목 위치를 반환하고, 폴링되면 다음 항목으로 넘어가야 한다")
+    void getQueuePosition_shouldReportOldestItemAndAdvanceOnPoll() throws InterruptedException {
+        queueService.offer(createQueueItem(1L), QueueType.ORDER);
+        Thread.sleep(5);
+        queueService.offer(createQueueItem(2L), QueueType.ORDER);
+        Thread.sleep(5);
+        queueService.offer(createQueueItem(1L), QueueType.ORDER);
+
+        assertThat(queueService.findSequence(1L, QueueType.ORDER)).isEqualTo(0L);
+
+        queueService.pollWeightedGlobalOnly(1, weightProperties);
+
+        // 첫 항목이 빠지고 남은 [2, 1] 중 사용자 1의 항목은 1번 위치
+        assertThat(queueService.findSequence(1L, QueueType.ORDER)).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("사용자별 최대 대기 수를 넘으면 거절되고, 폴링되면 다시 수용되어야 한다")
+    void tryOffer_shouldRejectWhenUserLimitReached() {
+        limitProperties.setPerUserMaxDepth(2);
+        queueService.offer(createQueueItem(1L), QueueType.ORDER);
+        queueService.offer(createQueueItem(1L), QueueType.ORDER);
+
+        assertThat(queueService.tryOffer(createQueueItem(1L), QueueType.ORDER).result())
+                .isEqualTo(OfferResult.REJECTED_USER_LIMIT);
+        assertThat(queueService.tryOffer(createQueueItem(2L), QueueType.ORDER).result())
+                .isEqualTo(OfferResult.ACCEPTED);
+
+        queueService.pollWeightedGlobalOnly(1, weightProperties);
+
+        assertThat(queueService.tryOffer(createQueueItem(1L), QueueType.ORDER).result())
+                .isEqualTo(OfferResult.ACCEPTED);
+        assertThat(redisTemplate.opsForHash().get(QueueType.ORDER.getUserCountKey(), "1")).isEqualTo("2");
+    }
+
+    @Test
+    @DisplayName("축출되거나 Java 경로로 폴링된 항목은 사용자별 대기 수에서 차감되어야 한다")
+    void userCount_shouldBeReleasedOnEvictionAndPoll() {
+        limitProperties.setPolicy(ShedPolicy.DROP_OLDEST);
+        limitProperties.setOrderMaxDepth(1);
+        queueService.offer(createQueueItem(1L), QueueType.ORDER);
+        queueService.offer(createQueueItem(2L), QueueType.ORDER);
+
+        assertThat(redisTemplate.opsForHash().hasKey(QueueType.ORDER.getUserCountKey(), "1")).isFalse();
+
+        queueService.poll(QueueType.ORDER, 1);
+
+        assertThat(redisTemplate.opsForHash().size(QueueType.ORDER.getUserCountKey())).isZero();
+    }
+
+    @Test
+    @DisplayName("슬롯이 1개여도 DRR deficit 이월로 ORDER/OTHER가 가중치 비율(7:3)로 폴링되어야 한다")
+    void pollWeighted_shouldKeepWeightRatioAtLowSlots() {
+        schedulerProperties.setAgingPerSec(0);
+        for (long i = 1; i <= 10; i++) {
+            queueService.offer(createQueueItem(i), QueueType.ORDER);
+            queueService.offer(createQueueItem(100 + i), QueueType.OTHER);
+        }
+
+        int order = 0;
+        int other = 0;
+        for (int tick = 0; tick < 10; tick++) {
+            QueuePollResult result = queueService.pollWeightedGlobalOnly(1, weightProperties);
+            assertThat(result.getItems()).hasSize(1);
+            order += result.getStats().getOrderNormal();
+            other += result.getStats().getOtherNormal();
+        }
+
+        assertThat(order).isEqualTo(7);
+        assertThat(other).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("설정한 N개의 큐 클래스를 가중치대로 폴링하고 클래스명을 라벨로 반환해야 한다")
+    void pollWeighted_shouldSupportConfiguredClasses() {
+        schedulerProperties.setAgingPerSec(0);
+        schedulerProperties.setClasses(new ArrayList<>(List.of(
+                new QueueClass("vip", "queue:global:vip", 2, false, QueueType.ORDER),
+                new QueueClass("order_normal", "queue:global:order", 1, false, QueueType.ORDER),
+                new QueueClass("other_normal", "queue:global:other", 1, false, QueueType.OTHER)
+        )));
+        for (long i = 1; i <= 4; i++) {
+            redisTemplate.opsForZSet().add("queue:global:vip", "vip-" + i, i);
+            queueService.offer(createQueueItem(i), QueueType.ORDER);
+            queueService.offer(createQueueItem(100 + i), QueueType.OTHER);
+        }
+
+        QueuePollResult result = queueService.pollWeightedGlobalOnly(4, weightProperties);
+
+        assertThat(result.getStats().getClasses())
+                .containsEntry("vip", 2)
+                .containsEntry("order_normal", 1)
+                .containsEntry("other_normal", 1);
+        assertThat(result.getStats().getOrderNormal()).isEqualTo(3);
+        assertThat(queueService.findQueueClass("vip", weightProperties))
+                .hasValueSatisfying(queueClass -> assertThat(queueClass.getQueueType()).isEqualTo(QueueType.ORDER));
+    }
+
+    @Test
+    @DisplayName("오래 기다린 클래스는 aging으로 가중치보다 많은 슬롯을 받아야 한다")
+    void pollWeighted_shouldBoostAgedClass() {
+        for (long i = 1; i <= 10; i++) {
+            queueService.offer(createQueueItem(i), QueueType.ORDER);
+            QueueItem aged = createQueueItem(100 + i);
+            aged.setOriginalTimestamp(System.currentTimeMillis() - 20_000);
+            queueService.offer(aged, QueueType.OTHER);
+        }
+
+        QueuePollResult result = queueService.pollWeightedGlobalOnly(10, weightProperties);
+
+        // aging 없이는 ORDER:OTHER = 7:3
+        assertThat(result.getStats().getOtherNormal()).isGreaterThanOrEqualTo(6);
+        assertThat(result.getStats().getTotalPolled()).isEqualTo(10);
+    }
+
+    @Test
+    @DisplayName("헤더가 일치하는 요청은 우선순위 클래스 큐에 추가되고 위치/크기 조회에 포함되어야 한다")
+    void resolveQueueClass_shouldRouteByHeader() {
+        schedulerProperties.setClasses(new ArrayList<>(List.of(
+                new QueueClass("vip", "queue:global:vip", 5, false, QueueType.ORDER,
+                        new QueueSchedulerProperties.Match("/api/v1/orders", null, "X-Tier=vip")),
+                new QueueClass("order_normal", "queue:global:order", 2, false, QueueType.ORDER),
+                new QueueClass("other_normal", "queue:global:other", 1, false, QueueType.OTHER)
+        )));
+
+        QueueClass vip = queueService.resolveQueueClass("POST", "/api/v1/orders", Map.of("x-tier", "vip"));
+        QueueClass normal = queueService.resolveQueueClass("POST", "/api/v1/orders", Map.of());
+
+        assertThat(vip.getName()).isEqualTo("vip");
+        assertThat(normal.getKey()).isEqualTo("queue:global:order");
+
+        queueService.offer(createQueueItem(1L), QueueType.ORDER);
+        assertThat(queueService.tryOffer(createQueueItem(2L), vip).isAccepted()).isTrue();
+
+        assertThat(redisTemplate.opsForZSet().size("queue:global:vip")).isEqualTo(1L);
+        assertThat(queueService.getQueueSize(QueueType.ORDER)).isEqualTo(2L);
+        assertThat(queueService.getQueuePosition(2L, QueueType.ORDER).isQueued()).isTrue();
+    }
+
+    @Test
+    @DisplayName("requeue는 최대 길이/사용자별 한도와 무관하게 원래 클래스 키의 원래 위치로 되돌려야 한다")
+    void requeue_shouldBypassLimitsAndKeepClassKey() {
+        limitProperties.setOrderMaxDepth(1);
+        limitProperties.setPerUserMaxDepth(1);
+        QueueItem polled = createQueueItem(1L);
+        polled.setOriginalTimestamp(System.currentTimeMillis() - 1_000);
+        queueService.offer(createQueueItem(1L), QueueType.ORDER);
+
+        assertThat(queueService.requeue(polled, QueueType.ORDER, "queue:global:vip")).isTrue();
+        assertThat(queueService.requeue(createQueueItem(2L), QueueType.ORDER, "queue:global:order")).isTrue();
+
+        assertThat(redisTemplate.opsForZSet().size("queue:global:vip")).isEqualTo(1L);
+        assertThat(redisTemplate.opsForZSet().size("queue:global:order")).isEqualTo(2L);
+        assertThat(queueService.poll("queue:global:vip", 1))
+                .extracting(QueueItem::getRequestId)
+                .containsExactly(polled.getRequestId());
+    }
+
+    @Test
+    @DisplayName("재시도 큐 requeue는 재시도 큐 최대 길이와 무관하게 추가되어야 한다")
+    void requeueToRetry_shouldBypassRetryMaxDepth() {
+        limitProperties.setRetryMaxDepth(1);
+        queueService.offerToRetry(createQueueItem(1L), QueueType.ORDER);
+
+        assertThat(queueService.requeueToRetry(createQueueItem(2L), QueueType.ORDER)).isTrue();
+        assertThat(queueService.getRetryQueueSize(QueueType.ORDER)).isEqualTo(2L);
+    }
+
+    @Test
+    @DisplayName("최대 길이는 우선순위 클래스 키를 포함한 QueueType 전체 길이로 검사해야 한다")
+    void tryOffer_shouldCountClassKeysTowardMaxDepth() {
+        configurePriorityClasses();
+        limitProperties.setOrderMaxDepth(2);
+        QueueClass vip = queueService.resolveQueueClass("POST", "/api/v1/orders", Map.of("x-tier", "vip"));
+
+        queueService.offer(createQueueItem(1L), QueueType.ORDER);
+        assertThat(queueService.tryOffer(createQueueItem(2L), vip).isAccepted()).isTrue();
+
+        GlobalQueueService.OfferOutcome outcome = queueService.tryOffer(createQueueItem(3L), vip);
+        assertThat(outcome.result()).isEqualTo(OfferResult.REJECTED_FULL);
+        assertThat(outcome.position().depth()).isEqualTo(2L);
+    }
+
+    @Test
+    @DisplayName("사용자별 최대 대기 수는 우선순위 클래스 키를 포함해 합산해야 한다")
+    void tryOffer_shouldCountClassKeysTowardUserLimit() {
+        configurePriorityClasses();
+        limitProperties.setPerUserMaxDepth(2);
+        QueueClass vip = queueService.resolveQueueClass("POST", "/api/v1/orders", Map.of("x-tier", "vip"));
+
+        queueService.offer(createQueueItem(1L), QueueType.ORDER);
+        assertThat(queueService.tryOffer(createQueueItem(1L), vip).isAccepted()).isTrue();
+
+        assertThat(queueService.tryOffer(createQueueItem(1L), vip).result())
+                .isEqualTo(OfferResult.REJECTED_USER_LIMIT);
+        assertThat(queueService.tryOffer(createQueueItem(1L), QueueType.ORDER).result())
+                .isEqualTo(OfferResult.REJECTED_USER_LIMIT);
+    }
+
+    @Test
+    @DisplayName("DROP_OLDEST 정책은 클래스 키 전체에서 가장 오래된 항목을 축출해야 한다")
+    void tryOffer_dropOldestShouldEvictAcrossClassKeys() {
+        configurePriorityClasses();
+        limitProperties.setPolicy(ShedPolicy.DROP_OLDEST);
+        limitProperties.setOrderMaxDepth(2);
+        QueueClass vip = queueService.resolveQueueClass("POST", "/api/v1/orders", Map.of("x-tier", "vip"));
+
+        QueueItem oldest = createQueueItem(1L);
+        oldest.setOriginalTimestamp(System.currentTimeMillis() - 10_000);
+        queueService.tryOffer(oldest, vip);
+        queueService.offer(createQueueItem(2L), QueueType.ORDER);
+
+        assertThat(queueService.offer(createQueueItem(3L), QueueType.ORDER)).isTrue();
+
+        assertThat(redisTemplate.opsForZSet().size("queue:global:vip")).isZero();
+        assertThat(queueService.getQueueSize(QueueType.ORDER)).isEqualTo(2L);
+        assertThat(redisTemplate.opsForHash().hasKey("queue:global:vip:user_counts", "1")).isFalse();
+    }
+
+    @Test
+    @DisplayName("PRIORITY 정책은 반대 QueueType의 클래스 키 전체에서 최신 항목을 축출해야 한다")
+    void tryOffer_priorityShouldEvictAcrossPeerClassKeys() {
+        configurePriorityClasses();
+        limitProperties.setPolicy(ShedPolicy.PRIORITY);
+        limitProperties.setOrderMaxDepth(1);
+        limitProperties.setOtherMaxDepth(2);
+
+        queueService.offer(createQueueItem(10L), QueueType.OTHER);
+        QueueItem newest = createQueueItem(11L);
+        newest.setOriginalTimestamp(System.currentTimeMillis() + 10_000);
+        assertThat(queueService.tryOffer(newest,
+                queueService.resolveQueueClass("GET", "/api/v1/bulk", Map.of())).isAccepted()).isTrue();
+
+        queueService.offer(createQueueItem(1L), QueueType.ORDER);
+
+        // 전체 한도(1 + 2) 초과: OTHER 클래스 키 중 가장 최신(bulk의 newest) 항목 축출
+        assertThat(queueService.offer(createQueueItem(2L), QueueType.ORDER)).isTrue();
+        assertThat(redisTemplate.opsForZSet().size("queue:global:bulk")).isZero();
+        assertThat(redisTemplate.opsForZSet().size("queue:global:other")).isEqualTo(1L);
+        assertThat(redisTemplate.opsForHash().hasKey("queue:global:bulk:user_counts", "11")).isFalse();
+    }
+
+    @Test
+    @DisplayName("Java 폴링은 우선순위 클래스 키부터 꺼내야 한다")
+    void poll_shouldDrainClassKeysInPriorityOrder() throws InterruptedException {
+        configurePriorityClasses();
+        QueueClass vip = queueService.resolveQueueClass("POST", "/api/v1/orders", Map.of("x-tier", "vip"));
+
+        queueService.offer(createQueueItem(1L), QueueType.ORDER);
+        Thread.sleep(5);
+        queueService.tryOffer(createQueueItem(2L), vip);
+
+        assertThat(queueService.poll(QueueType.ORDER, 2))
+                .extracting(QueueItem::getUserId)
+                .containsExactly(2L, 1L);
+    }
+
+    @Test
+    @DisplayName("우선순위 클래스가 있으면 예상 대기 시간은 다른 클래스 적체를 DRR 가중치 비율만큼 앞선 항목으로 계산해야 한다")
+    void estimateWaitMs_shouldWeighOtherClassBacklogs() {
+        configurePriorityClasses();
+        rateLimiterService.setLimitWithFloor(100, 0);
+        QueueClass vip = queueService.resolveQueueClass("POST", "/api/v1/orders", Map.of("X-Tier", "vip"));
+        long base = System.currentTimeMillis();
+
+        for (long i = 1; i <= 4; i++) {
+            QueueItem item = createQueueItem(i);
+            item.setOriginalTimestamp(base + i);
+            queueService.offer(item, QueueType.ORDER);
+        }
+        for (long i = 101; i <= 110; i++) {
+            QueueItem item = createQueueItem(i);
+            item.setOriginalTimestamp(base + i);
+            queueService.tryOffer(item, vip);
+        }
+
+        // order_normal(가중치 2)의 4번째: 자기 4건 + vip(가중치 5) min(10, 4 x 5/2) = 14건 / 100 rps
+        GlobalQueueService.ClassPosition order = queueService.findClassPosition(4L, QueueType.ORDER);
+        assertThat(order.key()).isEqualTo("queue:global:order");
+        assertThat(order.position().rank()).isEqualTo(3);
+        assertThat(queueWaitEstimator.estimateWaitMs(QueueType.ORDER, order.key(), order.position()))
+                .isBetween(140L, 141L);
+
+        // vip의 첫 번째: 자기 1건 + order_normal min(4, 1 x 2/5) = 1.4건 / 100 rps
+        GlobalQueueService.ClassPosition first = queueService.findClassPosition(101L, QueueType.ORDER);
+        assertThat(first.key()).isEqualTo("queue:global:vip");
+        assertThat(queueWaitEstimator.estimateWaitMs(QueueType.ORDER, first.key(), first.position()))
+                .isBetween(14L, 15L);
+    }
+
+    private void configurePriorityClasses() {
+        schedulerProperties.setClasses(new ArrayList<>(List.of(
+                new QueueClass("vip", "queue:global:vip", 5, false, QueueType.ORDER,
+                        new QueueSchedulerProperties.Match("/api/v1/orders", null, "X-Tier=vip")),
+                new QueueClass("order_normal", "queue:global:order", 2, false, QueueType.ORDER),
+                new QueueClass("bulk", "queue:global:bulk", 1, false, QueueType.OTHER,
+                        new QueueSchedulerProperties.Match("/api/v1/bulk", null, null)),
+                new QueueClass("other_normal", "queue:global:other", 1, false, QueueType.OTHER)
+        )));
+    }
+
     private QueueItem createQueueItem(Long userId) {
         HttpRequestData httpRequest = new HttpRequestData(
                 "POST",
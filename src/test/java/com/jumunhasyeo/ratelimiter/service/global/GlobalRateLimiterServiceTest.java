@@ -1,23 +1,61 @@
 package com.jumunhasyeo.ratelimiter.service.global;
 
+import com.jumunhasyeo.ratelimiter.properties.HierarchicalLimitProperties;
+import com.jumunhasyeo.ratelimiter.properties.HierarchicalLimitProperties.TierLimit;
+import com.jumunhasyeo.ratelimiter.properties.RouteRuleProperties.RouteRule;
+import com.jumunhasyeo.ratelimiter.service.algorithm.LuaFunctionTables;
+import com.jumunhasyeo.ratelimiter.service.algorithm.RateLimitAlgorithm;
+import com.jumunhasyeo.ratelimiter.service.algorithm.RateLimitAlgorithmRegistry;
+import com.jumunhasyeo.ratelimiter.service.global.GlobalQueueService.QueueType;
 import com.jumunhasyeo.ratelimiter.service.global.GlobalRateLimiterService.TryConsumeResult;
 import com.jumunhasyeo.ratelimiter.support.RedisTestBase;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.dao.DataAccessException;
 import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 class GlobalRateLimiterServiceTest extends RedisTestBase {
 
+    private static final RouteRule ORDERS_ROUTE = new RouteRule("orders", "/api/v1/orders", null, QueueType.OTHER, null);
+    private static final RouteRule BF_ROUTE =
+            new RouteRule("orders-bf", "/api/v1/orders/bf", null, true, QueueType.OTHER, null, "TOSS", 1, 2);
+
+    private static final String HIERARCHICAL_STATE_KEY = "test:hierarchical:bucket";
+
     @Autowired
     private GlobalRateLimiterService rateLimiterService;
 
     @Autowired
     private StringRedisTemplate redisTemplate;
 
+    @Autowired
+    private HierarchicalLimitProperties hierarchyProperties;
+
+    @Autowired
+    private RateLimitAlgorithmRegistry algorithmRegistry;
+
     @BeforeEach
     void setUp() {
         rateLimiterService.reset();
@@ -26,6 +64,12 @@ class GlobalRateLimiterServiceTest extends RedisTestBase {
         redisTemplate.delete("queue:global:other");
         redisTemplate.delete("queue:global:order:retry");
         redisTemplate.delete("queue:global:other:retry");
+        redisTemplate.delete(List.of("rl:user:1", "rl:user:2", "rl:route:orders-bf", HIERARCHICAL_STATE_KEY));
+    }
+
+    @AfterEach
+    void tearDown() {
+        hierarchyProperties.setUser(new TierLimit(0, 0));
     }
 
     @Test
@@ -174,4 +218,134 @@ class GlobalRateLimiterServiceTest extends RedisTestBase {
         consumed = rateLimiterService.tryConsumeNForQueue(-5);
         assertThat(consumed).isEqualTo(0);
     }
+
+    @Test
+    @DisplayName("사용자 한도를 초과한 사용자만 거절되고 다른 사용자는 허용되어야 한다")
+    void tryConsume_shouldIsolateNoisyUser() {
+        hierarchyProperties.setUser(new TierLimit(1, 3));
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(rateLimiterService.tryConsume(1L, null, ORDERS_ROUTE)).isEqualTo(TryConsumeResult.ALLOWED);
+        }
+
+        assertThat(rateLimiterService.tryConsume(1L, null, ORDERS_ROUTE)).isEqualTo(TryConsumeResult.DENIED_USER);
+        assertThat(rateLimiterService.tryConsume(2L, null, ORDERS_ROUTE)).isEqualTo(TryConsumeResult.ALLOWED);
+    }
+
+    @Test
+    @DisplayName("대기열이 있어 대기열로 보내지는 요청도 사용자 한도를 차감하여, 한도를 넘은 사용자는 거절되어야 한다")
+    void tryConsume_shouldChargeUserTierWhileQueueExists() {
+        hierarchyProperties.setUser(new TierLimit(1, 2));
+        redisTemplate.opsForZSet().add("queue:global:order", "test-item", System.currentTimeMillis());
+
+        assertThat(rateLimiterService.tryConsume(1L, null, ORDERS_ROUTE)).isEqualTo(TryConsumeResult.DENIED_QUEUE);
+        assertThat(rateLimiterService.tryConsume(1L, null, ORDERS_ROUTE)).isEqualTo(TryConsumeResult.DENIED_QUEUE);
+
+        assertThat(rateLimiterService.tryConsume(1L, null, ORDERS_ROUTE)).isEqualTo(TryConsumeResult.DENIED_USER);
+        assertThat(rateLimiterService.tryConsume(2L, null, ORDERS_ROUTE)).isEqualTo(TryConsumeResult.DENIED_QUEUE);
+    }
+
+    @Test
+    @DisplayName("기본 설정에서는 사용자 단계가 적용되지 않아야 한다")
+    void tryConsume_shouldSkipUserTierByDefault() {
+        assertThat(rateLimiterService.tryConsume(1L, null, ORDERS_ROUTE)).isEqualTo(TryConsumeResult.ALLOWED);
+        assertThat(redisTemplate.hasKey("rl:user:1")).isFalse();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"leaky", "gcra", "token"})
+    @DisplayName("계층형 스크립트의 전역 단계는 알고리즘별 acquire 스크립트로 버스트만큼 허용해야 한다")
+    void hierarchicalScript_shouldUseAlgorithmAcquireFunction(String algorithmName) throws IOException {
+        RedisScript<Long> script = hierarchicalScript();
+
+        assertThat(executeGlobalStep(script, algorithmName)).isEqualTo(1L);
+        assertThat(executeGlobalStep(script, algorithmName)).isEqualTo(1L);
+        assertThat(executeGlobalStep(script, algorithmName)).isZero();
+    }
+
+    @Test
+    @DisplayName("계층형 스크립트는 등록되지 않은 전역 알고리즘이면 오류를 반환해야 한다")
+    void hierarchicalScript_shouldFailForUnknownAlgorithm() throws IOException {
+        RedisScript<Long> script = hierarchicalScript();
+
+        assertThatThrownBy(() -> executeGlobalStep(script, "unknown"))
+                .isInstanceOf(DataAccessException.class)
+                .rootCause()
+                .hasMessageContaining("unknown global algorithm");
+        assertThat(redisTemplate.hasKey(HIERARCHICAL_STATE_KEY)).isFalse();
+    }
+
+    @Test
+    @DisplayName("사용자/경로 단계에서 거절되면 전역 토큰을 소비하지 않아야 한다")
+    void tryConsume_shouldNotConsumeGlobalWhenTierDenied() {
+        hierarchyProperties.setUser(new TierLimit(1, 1));
+        rateLimiterService.tryConsume(1L, null, ORDERS_ROUTE);
+        long availableBefore = rateLimiterService.getAvailableTokens();
+
+        TryConsumeResult result = rateLimiterService.tryConsume(1L, null, ORDERS_ROUTE);
+
+        assertThat(result).isEqualTo(TryConsumeResult.DENIED_USER);
+        assertThat(rateLimiterService.getAvailableTokens()).isGreaterThanOrEqualTo(availableBefore);
+    }
+
+    @Test
+    @DisplayName("경로 한도는 여러 사용자가 공유해야 한다")
+    void tryConsume_shouldShareRouteLimitAcrossUsers() {
+        assertThat(rateLimiterService.tryConsume(1L, null, BF_ROUTE)).isEqualTo(TryConsumeResult.ALLOWED);
+        assertThat(rateLimiterService.tryConsume(2L, null, BF_ROUTE)).isEqualTo(TryConsumeResult.ALLOWED);
+        assertThat(rateLimiterService.tryConsume(1L, null, BF_ROUTE)).isEqualTo(TryConsumeResult.DENIED_ROUTE);
+        // 다른 경로는 경로 단계 없음
+        assertThat(rateLimiterService.tryConsume(2L, null, ORDERS_ROUTE)).isEqualTo(TryConsumeResult.ALLOWED);
+    }
+
+    @Test
+    @DisplayName("사용자 단계 TAT 키는 TTL과 함께 저장되어야 한다")
+    void tryConsume_shouldExpireUserTierKey() {
+        // interval = 10초, 1회 소비 후 TAT는 now + 10초
+        hierarchyProperties.setUser(new TierLimit(0.1, 10));
+        rateLimiterService.tryConsume(1L, null, ORDERS_ROUTE);
+
+        Long ttlMs = redisTemplate.getExpire("rl:user:1", TimeUnit.MILLISECONDS);
+        assertThat(ttlMs).isPositive().isLessThanOrEqualTo(10_000L);
+    }
+
+    @Test
+    @DisplayName("JFR 기록 중에는 소비 결과가 Admission 이벤트로 남아야 한다")
+    void tryConsume_shouldEmitAdmissionEvent() throws Exception {
+        Path dump = Files.createTempFile("admission", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("ratelimiter.Admission");
+            recording.start();
+            rateLimiterService.tryConsume(1L, null, BF_ROUTE);
+            recording.stop();
+            recording.dump(dump);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(dump);
+        Files.deleteIfExists(dump);
+        assertThat(events)
+                .filteredOn(event -> "ratelimiter.Admission".equals(event.getEventType().getName()))
+                .anySatisfy(event -> {
+                    assertThat(event.getString("scope")).isEqualTo("global");
+                    assertThat(event.getString("result")).isEqualTo("ALLOWED");
+                    assertThat(event.getString("route")).isEqualTo(BF_ROUTE.limitKey());
+                });
+    }
+
+    private RedisScript<Long> hierarchicalScript() throws IOException {
+        Map<String, String> sources = new LinkedHashMap<>();
+        for (RateLimitAlgorithm algorithm : algorithmRegistry.getAll()) {
+            sources.put(algorithm.getName(), algorithm.acquireScriptSource());
+        }
+        String template = new ClassPathResource("scripts/hierarchical_acquire.lua")
+                .getContentAsString(StandardCharsets.UTF_8);
+        return RedisScript.of(LuaFunctionTables.assemble(template, "-- @acquire-functions", "acquire", sources),
+                Long.class);
+    }
+
+    // 단계 없음, 대기열 검사 없음, rate 1 / burst 2
+    private Long executeGlobalStep(RedisScript<Long> script, String algorithmName) {
+        return redisTemplate.execute(script, List.of(HIERARCHICAL_STATE_KEY),
+                String.valueOf(System.currentTimeMillis()), algorithmName, "1", "2", "60", "0", "ZCARD", "0", "0", "");
+    }
 }
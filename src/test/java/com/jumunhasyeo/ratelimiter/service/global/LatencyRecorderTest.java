@@ -0,0 +1,76 @@
+package com.jumunhasyeo.ratelimiter.service.global;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class LatencyRecorderTest {
+
+    @Test
+    @DisplayName("모든 값은 하한 이상, 상한 미만인 버킷에 기록되어야 한다")
+    void bucketIndex_shouldContainValue() {
+        long[] samples = {0, 1, 15, 16, 17, 31, 32, 1_000, 123_456, 5_000_000, 1L << 40};
+
+        for (long sample : samples) {
+            int index = LatencyRecorder.bucketIndex(sample);
+            long value = Math.min(sample, (1L << 36) - 1);
+
+            assertThat(index).isBetween(0, LatencyRecorder.BUCKET_COUNT - 1);
+            assertThat(LatencyRecorder.lowerBound(index)).isLessThanOrEqualTo(value);
+            assertThat(LatencyRecorder.upperBound(index)).isGreaterThan(value);
+        }
+    }
+
+    @Test
+    @DisplayName("백분위는 상대 오차 약 6% 이내로 계산되어야 한다")
+    void percentile_shouldBeWithinRelativeError() {
+        LatencyRecorder recorder = new LatencyRecorder();
+        for (long micros = 1_000; micros <= 100_000; micros += 1_000) {
+            recorder.record(micros);
+        }
+
+        long[] counts = new long[LatencyRecorder.BUCKET_COUNT];
+        long total = recorder.drain(counts);
+
+        assertThat(total).isEqualTo(100);
+        assertThat(LatencyRecorder.percentile(counts, total, 0.95)).isCloseTo(95_000, within(95_000 * 0.0625));
+        assertThat(LatencyRecorder.percentile(counts, total, 0.99)).isCloseTo(99_000, within(99_000 * 0.0625));
+    }
+
+    @Test
+    @DisplayName("drain 이후에는 비워지고, restore 하면 다시 누적되어야 한다")
+    void drain_shouldResetAndRestore() {
+        LatencyRecorder recorder = new LatencyRecorder();
+        recorder.record(500);
+        recorder.record(500);
+
+        long[] counts = new long[LatencyRecorder.BUCKET_COUNT];
+        assertThat(recorder.drain(counts)).isEqualTo(2);
+        assertThat(recorder.drain(new long[LatencyRecorder.BUCKET_COUNT])).isZero();
+
+        recorder.restore(counts);
+        assertThat(recorder.drain(new long[LatencyRecorder.BUCKET_COUNT])).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("여러 백분위를 한 번에 계산한 결과는 개별 계산과 같아야 한다")
+    void percentiles_shouldMatchSinglePercentile() {
+        LatencyRecorder recorder = new LatencyRecorder();
+        for (long micros = 100; micros <= 50_000; micros += 100) {
+            recorder.record(micros);
+        }
+        recorder.record(2_000_000);
+
+        long[] counts = new long[LatencyRecorder.BUCKET_COUNT];
+        long total = recorder.drain(counts);
+
+        double[] result = LatencyRecorder.percentiles(counts, total, 0.50, 0.95, 0.99, 1.0);
+
+        assertThat(result[0]).isEqualTo(LatencyRecorder.percentile(counts, total, 0.50));
+        assertThat(result[1]).isEqualTo(LatencyRecorder.percentile(counts, total, 0.95));
+        assertThat(result[2]).isEqualTo(LatencyRecorder.percentile(counts, total, 0.99));
+        assertThat(result[3]).isGreaterThanOrEqualTo(2_000_000);
+    }
+}
@@ -0,0 +1,127 @@
+package com.jumunhasyeo.ratelimiter.service.global;
+
+import com.jumunhasyeo.ratelimiter.domain.HttpRequestData;
+import com.jumunhasyeo.ratelimiter.domain.QueueItem;
+import com.jumunhasyeo.ratelimiter.service.algorithm.RateLimitAlgorithm;
+import com.jumunhasyeo.ratelimiter.service.algorithm.RateLimitAlgorithm.BucketLimit;
+import com.jumunhasyeo.ratelimiter.service.algorithm.RateLimitAlgorithm.BucketRef;
+import com.jumunhasyeo.ratelimiter.service.algorithm.RateLimitAlgorithmRegistry;
+import com.jumunhasyeo.ratelimiter.service.global.GlobalQueueService.QueueType;
+import com.jumunhasyeo.ratelimiter.service.global.MonitoringSnapshotService.MonitoringSnapshot;
+import com.jumunhasyeo.ratelimiter.support.RedisTestBase;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MonitoringSnapshotServiceTest extends RedisTestBase {
+
+    @Autowired
+    private MonitoringSnapshotService snapshotService;
+
+    @Autowired
+    private GlobalQueueService queueService;
+
+    @Autowired
+    private GlobalRateLimiterService rateLimiterService;
+
+    @Autowired
+    private RateLimitAlgorithmRegistry algorithmRegistry;
+
+    @Autowired
+    private StringRedisTemplate redisTemplate;
+
+    @BeforeEach
+    void setUp() {
+        rateLimiterService.reset();
+        redisTemplate.delete(List.of(
+                "queue:global:order", "queue:global:other",
+                "queue:global:order:retry", "queue:global:other:retry",
+                QueueType.ORDER.getUserCountKey(), QueueType.OTHER.getUserCountKey()));
+        redisTemplate.delete(redisTemplate.keys("queue:global:*:users:*"));
+    }
+
+    @Test
+    @DisplayName("스냅샷의 큐 길이는 개별 조회 결과와 같아야 한다")
+    void read_shouldMatchIndividualQueueSizes() {
+        queueService.offer(createQueueItem(1L), QueueType.ORDER);
+        queueService.offer(createQueueItem(2L), QueueType.ORDER);
+        queueService.offer(createQueueItem(3L), QueueType.OTHER);
+        // 재시도 가능 시각을 미래로 두어 대기 상태 유지
+        double future = System.currentTimeMillis() + 60_000;
+        redisTemplate.opsForZSet().add("queue:global:other:retry", "retry-1", future);
+        redisTemplate.opsForZSet().add("queue:global:other:retry", "retry-2", future);
+
+        MonitoringSnapshot snapshot = snapshotService.read();
+
+        assertThat(snapshot.depth(QueueType.ORDER)).isEqualTo(queueService.getQueueSize(QueueType.ORDER)).isEqualTo(2);
+        assertThat(snapshot.depth(QueueType.OTHER)).isEqualTo(1);
+        assertThat(snapshot.retryDepth(QueueType.ORDER)).isZero();
+        assertThat(snapshot.retryDepth(QueueType.OTHER)).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("스냅샷의 버킷 사용량은 level 스크립트와 같은 단위여야 한다")
+    void read_shouldReportBucketLevels() {
+        rateLimiterService.tryConsumeNForQueue(5);
+
+        MonitoringSnapshot snapshot = snapshotService.read();
+
+        // 누수로 조회 사이에 조금 줄어들 수 있음
+        assertThat(Math.round(snapshot.globalLevel() / 1000.0)).isBetween(4L, 5L);
+        assertThat(snapshot.pgLevels()).containsKey("TOSS");
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"leaky", "gcra", "token"})
+    @DisplayName("스냅샷의 버킷 사용량은 알고리즘별 level 조회 결과와 같아야 한다")
+    void readLevels_shouldMatchAlgorithmLevel(String name) {
+        RateLimitAlgorithm algorithm = algorithmRegistry.get(name);
+        String key = algorithm.stateKey("test:snapshot");
+        // 조회 사이의 누수/충전이 1/1000 단위로 1을 넘지 않도록 느린 rate 사용
+        BucketLimit limit = new BucketLimit(0.001, 20);
+        List<BucketRef> buckets = List.of(new BucketRef(name, key, limit));
+        try {
+            assertThat(snapshotService.readLevels(buckets)).containsExactly(algorithm.level(key, limit));
+
+            algorithm.acquire(key, limit, 7, 60);
+
+            long level = algorithm.level(key, limit);
+            long snapshotLevel = snapshotService.readLevels(buckets)[0];
+            assertThat(Math.round(level / 1000.0)).isEqualTo(7);
+            // 두 조회 사이에 흐른 시간만큼만 줄어들 수 있음 (1초 미만이면 1 이하)
+            assertThat(snapshotLevel).isBetween(level - 1, level);
+        } finally {
+            redisTemplate.delete(key);
+        }
+    }
+
+    @Test
+    @DisplayName("offer 결과로 노드별 관측 길이가 갱신되어야 한다")
+    void offer_shouldUpdateObservedDepths() {
+        queueService.offer(createQueueItem(1L), QueueType.OTHER);
+        queueService.offer(createQueueItem(2L), QueueType.ORDER);
+
+        assertThat(queueService.getObservedDepth(QueueType.ORDER)).isEqualTo(1);
+        assertThat(queueService.getObservedDepth(QueueType.OTHER)).isEqualTo(1);
+        assertThat(queueService.getObservedRetryDepth(QueueType.ORDER)).isZero();
+    }
+
+    private QueueItem createQueueItem(Long userId) {
+        HttpRequestData httpRequest = new HttpRequestData(
+                "POST",
+                "/api/v1/orders",
+                Map.of("Content-Type", "application/json"),
+                "{\"orderId\": " + userId + "}"
+        );
+        return new QueueItem(userId, "token-" + userId, httpRequest);
+    }
+}
@@ -0,0 +1,70 @@
+package com.jumunhasyeo.ratelimiter.service.global;
+
+import com.jumunhasyeo.ratelimiter.properties.PrometheusProperties;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.client.ExpectedCount;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestClient;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.startsWith;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withServerError;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+class PrometheusMetricsCollectorTest {
+
+    private static final String QUERY_URL = "http://prometheus/api/v1/query";
+
+    private static final String COMBINED_RESPONSE = """
+            {"status":"success","data":{"resultType":"vector","result":[
+              {"metric":{"series":"p95"},"value":[1700000000,"0.25"]},
+              {"metric":{"series":"p99"},"value":[1700000000,"NaN"]},
+              {"metric":{"series":"pool"},"value":[1700000000,"42.5"]}
+            ]}}
+            """;
+
+    private final RestClient.Builder builder = RestClient.builder().baseUrl("http://prometheus");
+    private final MockRestServiceServer server = MockRestServiceServer.bindTo(builder).build();
+    private final PrometheusProperties properties = new PrometheusProperties();
+
+    @Test
+    @DisplayName("한 번의 쿼리로 세 지표를 읽고, 캐시 유효 시간 안에서는 다시 조회하지 않아야 한다")
+    void collect_shouldParseCombinedQueryAndCache() {
+        properties.setCacheTtlMs(60000);
+        server.expect(ExpectedCount.once(), requestTo(startsWith(QUERY_URL)))
+                .andRespond(withSuccess(COMBINED_RESPONSE, MediaType.APPLICATION_JSON));
+        PrometheusMetricsCollector collector = new PrometheusMetricsCollector(builder.build(), properties);
+
+        OrderServiceMetricsSource.MetricsSnapshot first = collector.collectOrderServiceMetrics();
+        OrderServiceMetricsSource.MetricsSnapshot second = collector.collectOrderServiceMetrics();
+
+        assertThat(first.getP95Latency()).isEqualTo(0.25);
+        assertThat(first.getP99Latency()).isZero();
+        assertThat(first.getConnectionPoolUsage()).isEqualTo(42.5);
+        assertThat(second).isSameAs(first);
+        server.verify();
+    }
+
+    @Test
+    @DisplayName("연속 실패가 임계치에 도달하면 circuit이 열려 조회하지 않고 마지막 값을 반환해야 한다")
+    void collect_shouldOpenCircuitAfterConsecutiveFailures() {
+        properties.setCacheTtlMs(0);
+        properties.setFailureThreshold(2);
+        server.expect(ExpectedCount.once(), requestTo(startsWith(QUERY_URL)))
+                .andRespond(withSuccess(COMBINED_RESPONSE, MediaType.APPLICATION_JSON));
+        server.expect(ExpectedCount.twice(), requestTo(startsWith(QUERY_URL)))
+                .andRespond(withServerError());
+        PrometheusMetricsCollector collector = new PrometheusMetricsCollector(builder.build(), properties);
+
+        OrderServiceMetricsSource.MetricsSnapshot healthy = collector.collectOrderServiceMetrics();
+        collector.collectOrderServiceMetrics();
+        collector.collectOrderServiceMetrics();
+        OrderServiceMetricsSource.MetricsSnapshot whileOpen = collector.collectOrderServiceMetrics();
+
+        assertThat(whileOpen).isSameAs(healthy);
+        server.verify();
+    }
+}
@@ -0,0 +1,91 @@
+package com.jumunhasyeo.ratelimiter.service.global;
+
+import com.jumunhasyeo.ratelimiter.dto.QueueCompletion;
+import com.jumunhasyeo.ratelimiter.support.RedisTestBase;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+class QueueCompletionNotifierTest extends RedisTestBase {
+
+    @Autowired
+    private QueueCompletionNotifier completionNotifier;
+
+    @Autowired
+    private RedisMessageListenerContainer listenerContainer;
+
+    @Test
+    @DisplayName("이미 처리된 요청은 즉시 결과를 반환해야 한다")
+    void await_shouldReturnStoredResultImmediately() {
+        String requestId = UUID.randomUUID().toString();
+        completionNotifier.publish(completion(requestId));
+
+        DeferredResult<ResponseEntity<QueueCompletion>> result = completionNotifier.await(requestId, 1000);
+
+        assertThat(result.hasResult()).isTrue();
+        @SuppressWarnings("unchecked")
+        ResponseEntity<QueueCompletion> response = (ResponseEntity<QueueCompletion>) result.getResult();
+        assertThat(response.getBody().getStatus()).isEqualTo(QueueCompletion.Status.COMPLETED);
+        assertThat(response.getBody().getBackendResponse()).isEqualTo("{\"ok\":true}");
+    }
+
+    @Test
+    @DisplayName("대기 중인 요청은 발행된 결과로 완료되어야 한다")
+    void await_shouldCompleteWhenResultPublished() {
+        String requestId = UUID.randomUUID().toString();
+        DeferredResult<ResponseEntity<QueueCompletion>> result = completionNotifier.await(requestId, 10000);
+        assertThat(result.hasResult()).isFalse();
+
+        completionNotifier.publish(completion(requestId));
+
+        await().untilAsserted(() -> assertThat(result.hasResult()).isTrue());
+    }
+
+    @Test
+    @DisplayName("채널에는 요청 ID만 발행하고 결과 본문은 저장소에서 조회해야 한다")
+    void publish_shouldSendOnlyRequestId() {
+        List<String> messages = new CopyOnWriteArrayList<>();
+        MessageListener listener = (message, pattern) ->
+                messages.add(new String(message.getBody(), StandardCharsets.UTF_8));
+        ChannelTopic topic = new ChannelTopic("queue:completion");
+        listenerContainer.addMessageListener(listener, topic);
+        try {
+            String requestId = UUID.randomUUID().toString();
+            // 구독이 등록될 때까지 대기
+            await().pollDelay(Duration.ofMillis(200)).until(() -> true);
+
+            completionNotifier.publish(completion(requestId));
+
+            await().untilAsserted(() -> assertThat(messages).contains(requestId));
+            assertThat(messages).noneMatch(body -> body.contains("backendResponse"));
+            assertThat(completionNotifier.findResult(requestId).getBackendResponse()).isEqualTo("{\"ok\":true}");
+        } finally {
+            listenerContainer.removeMessageListener(listener, topic);
+        }
+    }
+
+    private QueueCompletion completion(String requestId) {
+        return QueueCompletion.builder()
+                .requestId(requestId)
+                .userId(1L)
+                .status(QueueCompletion.Status.COMPLETED)
+                .backendStatus(200)
+                .backendResponse("{\"ok\":true}")
+                .completedAt(System.currentTimeMillis())
+                .build();
+    }
+}
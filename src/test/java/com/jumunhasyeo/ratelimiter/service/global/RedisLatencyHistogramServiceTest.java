@@ -0,0 +1,49 @@
+package com.jumunhasyeo.ratelimiter.service.global;
+
+import com.jumunhasyeo.ratelimiter.support.RedisTestBase;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class RedisLatencyHistogramServiceTest extends RedisTestBase {
+
+    @Autowired
+    private RedisLatencyHistogramService histogramService;
+
+    @BeforeEach
+    void setUp() {
+        histogramService.clearHistograms();
+    }
+
+    @AfterEach
+    void tearDown() {
+        histogramService.clearHistograms();
+    }
+
+    @Test
+    @DisplayName("로컬에 기록한 지연 시간은 flush 후 윈도우 조회 한 번으로 백분위가 계산되어야 한다")
+    void flush_thenSnapshot_shouldReturnPercentiles() {
+        for (long ms = 1; ms <= 100; ms++) {
+            histogramService.recordLatencyMicros(ms * 1000);
+        }
+
+        histogramService.flush();
+        RedisLatencyHistogramService.LatencySnapshot snapshot = histogramService.getLatencySnapshot();
+
+        assertThat(snapshot.count()).isEqualTo(100);
+        assertThat(snapshot.p50()).isCloseTo(50.0, within(50.0 * 0.0625));
+        assertThat(snapshot.p95()).isCloseTo(95.0, within(95.0 * 0.0625));
+        assertThat(snapshot.p99()).isCloseTo(99.0, within(99.0 * 0.0625));
+    }
+
+    @Test
+    @DisplayName("기록이 없으면 빈 스냅샷을 반환해야 한다")
+    void snapshot_shouldBeEmptyWithoutData() {
+        assertThat(histogramService.getLatencySnapshot()).isEqualTo(RedisLatencyHistogramService.LatencySnapshot.EMPTY);
+    }
+}
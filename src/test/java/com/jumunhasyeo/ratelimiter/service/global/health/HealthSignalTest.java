@@ -0,0 +1,69 @@
+package com.jumunhasyeo.ratelimiter.service.global.health;
+
+import com.jumunhasyeo.ratelimiter.service.global.BackendLoadTracker.ClusterLoad;
+import com.jumunhasyeo.ratelimiter.service.global.OrderServiceMetricsSource.MetricsSnapshot;
+import com.jumunhasyeo.ratelimiter.service.global.RedisLatencyHistogramService.LatencySnapshot;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HealthSignalTest {
+
+    @Test
+    @DisplayName("점수는 good에서 100, bad에서 0이고 그 사이는 선형이어야 한다")
+    void score_shouldMapLinearlyBetweenGoodAndBad() {
+        assertThat(HealthSignalPipeline.score(400, 500, 1000)).isEqualTo(100.0);
+        assertThat(HealthSignalPipeline.score(750, 500, 1000)).isEqualTo(50.0);
+        assertThat(HealthSignalPipeline.score(1500, 500, 1000)).isZero();
+        // 값이 클수록 좋은 신호
+        assertThat(HealthSignalPipeline.score(75, 100, 50)).isEqualTo(50.0);
+    }
+
+    @Test
+    @DisplayName("오류율은 직전 주기 이후 증가분으로 계산하고, 첫 주기와 카운터 초기화 시에는 NaN이어야 한다")
+    void errorRate_shouldUseDeltasSinceLastSample() {
+        ErrorRateSignal signal = new ErrorRateSignal();
+
+        assertThat(signal.sample(context(new ClusterLoad(100, 0, 5, 0, 0), 0))).isNaN();
+        assertThat(signal.sample(context(new ClusterLoad(200, 0, 15, 0, 0), 0))).isEqualTo(10.0);
+        assertThat(signal.sample(context(new ClusterLoad(200, 0, 15, 0, 0), 0))).isNaN();
+        assertThat(signal.sample(context(new ClusterLoad(10, 0, 0, 0, 0), 0))).isNaN();
+    }
+
+    @Test
+    @DisplayName("대기열 증가 속도는 초당 변화량이어야 한다")
+    void queueGrowth_shouldBePerSecond() {
+        QueueGrowthSignal signal = new QueueGrowthSignal();
+
+        assertThat(signal.sample(new HealthContext(null, null, null, 10, 1_000))).isNaN();
+        assertThat(signal.sample(new HealthContext(null, null, null, 30, 3_000))).isEqualTo(10.0);
+        assertThat(signal.sample(new HealthContext(null, null, null, 20, 4_000))).isEqualTo(-10.0);
+    }
+
+    @Test
+    @DisplayName("지연 시간 데이터가 없으면 지연 시간 신호는 NaN이어야 한다")
+    void latency_shouldBeNaNWithoutData() {
+        assertThat(new P99LatencySignal().sample(new HealthContext(LatencySnapshot.EMPTY, null, null, 0, 0))).isNaN();
+        assertThat(new P99LatencySignal().sample(
+                new HealthContext(new LatencySnapshot(10, 5.0, 9.0, 12.0), null, null, 0, 0))).isEqualTo(12.0);
+    }
+
+    @Test
+    @DisplayName("order-service 지연 시간 신호는 지표 공급원의 초 단위 백분위를 ms로 환산하고, 값이 없으면 NaN이어야 한다")
+    void orderLatency_shouldReadMetricsSnapshot() {
+        MetricsSnapshot metrics = new MetricsSnapshot();
+        metrics.setP95Latency(0.25);
+        metrics.setP99Latency(0.8);
+
+        assertThat(new OrderP95LatencySignal().sample(new HealthContext(null, metrics, null, 0, 0))).isEqualTo(250.0);
+        assertThat(new OrderP99LatencySignal().sample(new HealthContext(null, metrics, null, 0, 0))).isEqualTo(800.0);
+        assertThat(new OrderP99LatencySignal().sample(
+                new HealthContext(null, new MetricsSnapshot(), null, 0, 0))).isNaN();
+        assertThat(new OrderP95LatencySignal().sample(new HealthContext(null, null, null, 0, 0))).isNaN();
+    }
+
+    private HealthContext context(ClusterLoad load, long queueSize) {
+        return new HealthContext(LatencySnapshot.EMPTY, null, load, queueSize, System.currentTimeMillis());
+    }
+}
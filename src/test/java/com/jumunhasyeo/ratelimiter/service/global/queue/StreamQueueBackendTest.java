@@ -0,0 +1,154 @@
+package com.jumunhasyeo.ratelimiter.service.global.queue;
+
+import com.jumunhasyeo.ratelimiter.domain.HttpRequestData;
+import com.jumunhasyeo.ratelimiter.domain.QueueItem;
+import com.jumunhasyeo.ratelimiter.domain.QueuePollResult;
+import com.jumunhasyeo.ratelimiter.properties.QueueWeightProperties;
+import com.jumunhasyeo.ratelimiter.properties.ReliableQueueProperties;
+import com.jumunhasyeo.ratelimiter.service.global.GlobalQueueService;
+import com.jumunhasyeo.ratelimiter.service.global.GlobalQueueService.QueuePosition;
+import com.jumunhasyeo.ratelimiter.service.global.GlobalQueueService.QueueType;
+import com.jumunhasyeo.ratelimiter.service.global.GlobalRateLimiterService;
+import com.jumunhasyeo.ratelimiter.service.global.GlobalRateLimiterService.TryConsumeResult;
+import com.jumunhasyeo.ratelimiter.support.RedisTestBase;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@TestPropertySource(properties = "queue.backend=stream")
+class StreamQueueBackendTest extends RedisTestBase {
+
+    @Autowired
+    private GlobalQueueService queueService;
+
+    @Autowired
+    private GlobalRateLimiterService rateLimiterService;
+
+    @Autowired
+    private QueueBackend queueBackend;
+
+    @Autowired
+    private StringRedisTemplate redisTemplate;
+
+    @Autowired
+    private QueueWeightProperties weightProperties;
+
+    @Autowired
+    private ReliableQueueProperties reliableProperties;
+
+    @BeforeEach
+    void setUp() {
+        for (QueueType type : QueueType.values()) {
+            String key = queueBackend.physicalKey(type.getKey());
+            redisTemplate.delete(List.of(key, key + ":user_counts", key + ":meta", type.getRetryKey()));
+            redisTemplate.delete(redisTemplate.keys(key + ":users:*"));
+        }
+        redisTemplate.delete("queue:inflight:" + reliableProperties.getNodeId());
+        redisTemplate.delete("queue:inflight:nodes");
+        redisTemplate.delete("queue:drr:global");
+        rateLimiterService.reset();
+    }
+
+    @AfterEach
+    void tearDown() {
+        reliableProperties.setEnabled(false);
+        reliableProperties.setVisibilityTimeoutMs(60000);
+    }
+
+    @Test
+    @DisplayName("queue.backend=stream 이면 Stream backend가 사용되어야 한다")
+    void backend_shouldBeStream() {
+        assertThat(queueBackend).isInstanceOf(StreamQueueBackend.class);
+        assertThat(queueBackend.physicalKey(QueueType.ORDER.getKey())).isEqualTo("queue:global:order:stream");
+    }
+
+    @Test
+    @DisplayName("Stream 대기열은 FIFO 순서로 폴링되고 폴링된 항목은 삭제되어야 한다")
+    void pollWeighted_shouldReturnItemsInFifoOrder() {
+        for (long userId = 1; userId <= 3; userId++) {
+            queueService.tryOffer(createQueueItem(userId), QueueType.ORDER);
+        }
+
+        QueuePollResult result = queueService.pollWeightedGlobalOnly(10, weightProperties);
+
+        assertThat(result.getItems()).hasSize(3);
+        assertThat(result.getItems()).extracting(QueuePollResult.QueuePollItem::getQueue)
+                .containsOnly("order_normal");
+        assertThat(result.getItems().get(0).getData()).contains("\"userId\":1");
+        assertThat(result.getItems().get(2).getData()).contains("\"userId\":3");
+        assertThat(queueService.getQueueSize(QueueType.ORDER)).isZero();
+        assertThat(redisTemplate.opsForStream().size("queue:global:order:stream")).isZero();
+    }
+
+    @Test
+    @DisplayName("순번은 offer 순서이며 앞 항목이 폴링되면 줄어들어야 한다")
+    void getQueuePosition_shouldTrackCursor() {
+        for (long userId = 1; userId <= 3; userId++) {
+            queueService.tryOffer(createQueueItem(userId), QueueType.ORDER);
+        }
+        assertThat(queueService.getQueuePosition(3L, QueueType.ORDER).rank()).isEqualTo(2);
+
+        queueService.poll(QueueType.ORDER, 1);
+
+        QueuePosition position = queueService.getQueuePosition(3L, QueueType.ORDER);
+        assertThat(position.rank()).isEqualTo(1);
+        assertThat(position.depth()).isEqualTo(2);
+        assertThat(queueService.getQueuePosition(1L, QueueType.ORDER).isQueued()).isFalse();
+    }
+
+    @Test
+    @DisplayName("신뢰 모드에서 ack 전 항목은 대기 길이에서 제외되고 ack 시 Stream에서 삭제되어야 한다")
+    void reliableMode_shouldKeepPendingUntilAck() {
+        reliableProperties.setEnabled(true);
+        queueService.tryOffer(createQueueItem(1L), QueueType.ORDER);
+
+        QueuePollResult result = queueService.pollWeightedGlobalOnly(10, weightProperties);
+
+        assertThat(result.getItems()).hasSize(1);
+        String receipt = result.getItems().get(0).getReceipt();
+        assertThat(receipt).startsWith("stream|queue:global:order:stream|");
+        assertThat(queueService.getQueueSize(QueueType.ORDER)).isZero();
+        assertThat(redisTemplate.opsForStream().size("queue:global:order:stream")).isEqualTo(1);
+
+        queueService.ack(receipt);
+
+        assertThat(redisTemplate.opsForStream().size("queue:global:order:stream")).isZero();
+    }
+
+    @Test
+    @DisplayName("신뢰 모드에서 visibility timeout이 지난 미ack 항목은 다음 폴링에서 다시 전달되어야 한다")
+    void reliableMode_shouldRedeliverExpiredPending() throws InterruptedException {
+        reliableProperties.setEnabled(true);
+        reliableProperties.setVisibilityTimeoutMs(50);
+        queueService.tryOffer(createQueueItem(1L), QueueType.ORDER);
+        assertThat(queueService.pollWeightedGlobalOnly(10, weightProperties).getItems()).hasSize(1);
+
+        Thread.sleep(100);
+
+        QueuePollResult redelivered = queueService.pollWeightedGlobalOnly(10, weightProperties);
+        assertThat(redelivered.getItems()).hasSize(1);
+        assertThat(redelivered.getItems().get(0).getData()).contains("\"userId\":1");
+    }
+
+    @Test
+    @DisplayName("Stream 대기열에 항목이 있으면 신규 요청은 DENIED_QUEUE 여야 한다")
+    void tryConsume_shouldSeeStreamQueue() {
+        queueService.tryOffer(createQueueItem(1L), QueueType.OTHER);
+
+        assertThat(rateLimiterService.tryConsume(true)).isEqualTo(TryConsumeResult.DENIED_QUEUE);
+    }
+
+    private QueueItem createQueueItem(Long userId) {
+        HttpRequestData httpRequest = new HttpRequestData("POST", "/api/v1/orders", Map.of(), "{}");
+        return new QueueItem(userId, "token-" + userId, httpRequest);
+    }
+}
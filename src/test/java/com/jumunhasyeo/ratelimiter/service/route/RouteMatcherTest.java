@@ -0,0 +1,82 @@
+package com.jumunhasyeo.ratelimiter.service.route;
+
+import com.jumunhasyeo.ratelimiter.properties.RouteRuleProperties;
+import com.jumunhasyeo.ratelimiter.properties.RouteRuleProperties.RouteRule;
+import com.jumunhasyeo.ratelimiter.service.global.GlobalQueueService.QueueType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RouteMatcherTest {
+
+    private final RouteMatcher<RouteRule> matcher = RouteMatcher.compile(new RouteRuleProperties().getRules());
+
+    @Test
+    @DisplayName("가장 긴 prefix와 method가 일치하는 규칙을 선택해야 한다")
+    void match_shouldPreferLongestPrefixAndMethod() {
+        assertThat(matcher.match("POST", "/api/v1/orders/bf/123").getName()).isEqualTo("orders-bf-post");
+        assertThat(matcher.match("GET", "/api/v1/orders/bf").getName()).isEqualTo("orders-bf");
+        assertThat(matcher.match("post", "/api/v1/orders").getName()).isEqualTo("orders-post");
+        assertThat(matcher.match("GET", "/api/v1/orders/42").getName()).isEqualTo("orders");
+    }
+
+    @Test
+    @DisplayName("일치하는 규칙이 없거나 경로가 null이면 null을 반환해야 한다")
+    void match_shouldReturnNullWhenNoRule() {
+        assertThat(matcher.match("POST", "/api/v1/users")).isNull();
+        assertThat(matcher.match("POST", "/api/v1/order")).isNull();
+        assertThat(matcher.match("POST", null)).isNull();
+    }
+
+    @Test
+    @DisplayName("쿼리 문자열은 매칭에서 제외되어야 한다")
+    void match_shouldIgnoreQueryString() {
+        RouteMatcher<RouteRule> queryRules = RouteMatcher.compile(List.of(
+                new RouteRule("short", "/a", null, QueueType.OTHER, null),
+                new RouteRule("long", "/a?b", null, QueueType.OTHER, null)
+        ));
+
+        assertThat(queryRules.match("GET", "/a?b=1").getName()).isEqualTo("short");
+    }
+
+    @Test
+    @DisplayName("더 긴 prefix의 method가 맞지 않으면 짧은 prefix 규칙으로 대체되어야 한다")
+    void match_shouldFallBackToShorterPrefix() {
+        RouteMatcher<RouteRule> postOnly = RouteMatcher.compile(List.of(
+                new RouteRule("all", "/api", null, QueueType.OTHER, null),
+                new RouteRule("post", "/api/v1", "POST", QueueType.ORDER, null)
+        ));
+
+        assertThat(postOnly.match("GET", "/api/v1/x").getName()).isEqualTo("all");
+        assertThat(postOnly.match("POST", "/api/v1/x").getName()).isEqualTo("post");
+    }
+
+    @Test
+    @DisplayName("matchFirst는 prefix/method/조건이 일치하는 규칙 중 설정 순서가 앞선 규칙을 선택해야 한다")
+    void matchFirst_shouldPreferConfigOrder() {
+        List<RouteRule> rules = List.of(
+                new RouteRule("any-post", null, "POST", QueueType.ORDER, null),
+                new RouteRule("orders", "/api/v1/orders", null, QueueType.ORDER, null),
+                new RouteRule("orders-bf", "/api/v1/orders/bf", null, QueueType.OTHER, null)
+        );
+        RouteMatcher<RouteRule> first = RouteMatcher.compile(rules, RouteRule::getPathPrefix, RouteRule::getMethod);
+
+        assertThat(first.matchFirst("POST", "/api/v1/orders/bf", rule -> true).getName()).isEqualTo("any-post");
+        assertThat(first.matchFirst("GET", "/api/v1/orders/bf", rule -> true).getName()).isEqualTo("orders");
+        assertThat(first.matchFirst("GET", "/api/v1/orders/bf", rule -> !rule.getName().equals("orders"))
+                .getName()).isEqualTo("orders-bf");
+        assertThat(first.matchFirst("GET", "/api/v2", rule -> true)).isNull();
+    }
+
+    @Test
+    @DisplayName("'/'로 시작하지 않는 prefix는 컴파일에 실패해야 한다")
+    void compile_shouldRejectInvalidPrefix() {
+        assertThatThrownBy(() -> RouteMatcher.compile(List.of(
+                new RouteRule("bad", "api", null, QueueType.OTHER, null))))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
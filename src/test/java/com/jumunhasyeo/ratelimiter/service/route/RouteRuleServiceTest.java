@@ -0,0 +1,59 @@
+package com.jumunhasyeo.ratelimiter.service.route;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jumunhasyeo.ratelimiter.properties.RouteRuleProperties.RouteRule;
+import com.jumunhasyeo.ratelimiter.service.global.GlobalQueueService.QueueType;
+import com.jumunhasyeo.ratelimiter.support.RedisTestBase;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+class RouteRuleServiceTest extends RedisTestBase {
+
+    private static final List<RouteRule> REMOTE_RULES = List.of(
+            new RouteRule("remote", "/api/v1/remote", null, QueueType.ORDER, null));
+
+    @Autowired
+    private RouteRuleService routeRuleService;
+
+    @Autowired
+    private StringRedisTemplate redisTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @AfterEach
+    void tearDown() {
+        redisTemplate.delete(RouteRuleService.RULES_KEY);
+        routeRuleService.reload();
+    }
+
+    @Test
+    @DisplayName("다른 노드가 교체한 규칙은 변경 채널 구독으로 즉시 반영되어야 한다")
+    void onMessage_shouldReloadRemoteRules() throws Exception {
+        // 다른 노드의 replace: Redis 저장 후 발행
+        redisTemplate.opsForValue().set(RouteRuleService.RULES_KEY, objectMapper.writeValueAsString(REMOTE_RULES));
+        redisTemplate.convertAndSend("ratelimit:route:rules:changed", "1");
+
+        await().untilAsserted(() ->
+                assertThat(routeRuleService.match("GET", "/api/v1/remote/1")).isNotNull());
+        assertThat(routeRuleService.match("GET", "/api/v1/orders")).isNull();
+    }
+
+    @Test
+    @DisplayName("구독 메시지를 놓쳐도 재동기화로 Redis 규칙을 반영해야 한다")
+    void resync_shouldApplyChangedRules() throws Exception {
+        redisTemplate.opsForValue().set(RouteRuleService.RULES_KEY, objectMapper.writeValueAsString(REMOTE_RULES));
+
+        routeRuleService.resync();
+
+        assertThat(routeRuleService.getRules()).extracting(RouteRule::getName).containsExactly("remote");
+    }
+}
@@ -0,0 +1,96 @@
+package com.jumunhasyeo.ratelimiter.support;
+
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 전달 테스트용 order-service 대역
+ * <p>
+ * 받은 요청(method/URI/헤더/본문)을 기록하고 지정한 상태 코드/헤더/본문으로 응답합니다.
+ */
+public class StubOrderService {
+
+    private final HttpServer server;
+    private final BlockingQueue<RecordedRequest> requests = new LinkedBlockingQueue<>();
+
+    private volatile int status = 200;
+    private volatile Map<String, String> responseHeaders = Map.of();
+    private volatile String responseBody = "";
+
+    private StubOrderService(HttpServer server) {
+        this.server = server;
+        server.createContext("/", this::handle);
+        server.start();
+    }
+
+    public static StubOrderService start() {
+        try {
+            return new StubOrderService(HttpServer.create(new InetSocketAddress("localhost", 0), 0));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public String url() {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+
+    public void respond(int status, Map<String, String> headers, String body) {
+        this.status = status;
+        this.responseHeaders = headers;
+        this.responseBody = body;
+    }
+
+    public void reset() {
+        requests.clear();
+        respond(200, Map.of(), "");
+    }
+
+    /**
+     * @return 5초 안에 받은 요청 (없으면 null)
+     */
+    public RecordedRequest takeRequest() throws InterruptedException {
+        return requests.poll(5, TimeUnit.SECONDS);
+    }
+
+    /**
+     * @return 아직 takeRequest로 꺼내지 않은 요청 수
+     */
+    public int pendingRequests() {
+        return requests.size();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        String body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+        requests.add(new RecordedRequest(exchange.getRequestMethod(), exchange.getRequestURI().toString(),
+                exchange.getRequestHeaders(), body));
+
+        byte[] bytes = responseBody.getBytes(StandardCharsets.UTF_8);
+        responseHeaders.forEach(exchange.getResponseHeaders()::add);
+        exchange.sendResponseHeaders(status, bytes.length == 0 ? -1 : bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    /**
+     * @param headers 헤더 이름은 대소문자 구분 없이 조회
+     */
+    public record RecordedRequest(String method, String uri, Headers headers, String body) {
+
+        public String header(String name) {
+            return headers.getFirst(name);
+        }
+    }
+}